@@ -1,39 +1,120 @@
+import snake.GameCanvas;
 import snake.GamePanel;
-import snake.core.Board;
+import snake.TournamentPanel;
+import snake.core.StartupLog;
+import snake.enums.RenderMode;
 
 import javax.swing.*;
-import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Klasa {@code Main} zawiera metodę główną uruchamiającą grę Snake.
- * Tworzy planszę, ustala rozmiar okna i wyświetla główny panel gry.
+ * Tworzy okno i wyświetla główny panel gry
+ * w wybranym trybie renderowania (pasywnym lub aktywnym). Rozmiar okna gry można zmieniać – widok
+ * skaluje się do okna i skali ekranu. Przy zamykaniu okna
+ * trwająca rozgrywka jest zawieszana do pliku i wznawiana przy następnym uruchomieniu.
+ * Zamiast gry można uruchomić turniej wielu plansz AI ({@link TournamentPanel}).
  */
 public class Main {
 
     /**
      * Punkt wejścia do programu. Uruchamia aplikację Snake w osobnym wątku graficznym.
+     * Tryb renderowania można wybrać argumentem {@code --render=active|passive}
+     * lub właściwością systemową {@code snake.render}; domyślnie używany jest tryb pasywny.
+     * Argument {@code --tournament=4x4} (lub właściwość {@code snake.tournament}) uruchamia turniej plansz AI.
      *
-     * @param args argumenty wiersza poleceń (nieużywane)
+     * @param args argumenty wiersza poleceń
      */
     public static void main(String[] args) {
+        StartupLog.mark("main");
+        RenderMode mode = parseRenderMode(args);
+        String tournament = parseTournament(args);
         SwingUtilities.invokeLater(() -> {
-            // 1. Utwórz planszę, żeby obliczyć rozmiar
-            Board board = new Board();
-            int width = board.getCellCount() * board.getCellSize();
-            int height = width + board.getScoreHeight();
-
-            // 2. Utwórz panel i ustaw preferowany rozmiar
-            GamePanel panel = new GamePanel();
-            panel.setPreferredSize(new Dimension(width, height));
-
-            // 3. Utwórz okno i przypnij panel
+            // 1. Utwórz okno
             JFrame frame = new JFrame("Snake");
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-            frame.setResizable(false);
-            frame.setContentPane(panel);
-            frame.pack(); // dopasowuje się do preferowanego rozmiaru
-            frame.setLocationRelativeTo(null);
-            frame.setVisible(true);
+
+            // 2. Utwórz panel w wybranym trybie (sam ustala swój rozmiar) i przypnij go do okna
+            if (tournament != null) {
+                TournamentPanel panel = new TournamentPanel(tournament);
+                frame.setTitle("Snake – tournament " + tournament);
+                frame.setResizable(false);
+                frame.setContentPane(panel);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                frame.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowClosing(WindowEvent e) {
+                        panel.stop();
+                    }
+                });
+            } else if (mode == RenderMode.ACTIVE) {
+                GameCanvas canvas = new GameCanvas();
+                frame.add(canvas);
+                frame.pack(); // dopasowuje się do preferowanego rozmiaru
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                StartupLog.mark("okno widoczne");
+                frame.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowClosing(WindowEvent e) {
+                        canvas.suspend();
+                    }
+                });
+                canvas.start();
+            } else {
+                GamePanel panel = new GamePanel();
+                frame.setContentPane(panel);
+                frame.pack(); // dopasowuje się do preferowanego rozmiaru
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                StartupLog.mark("okno widoczne");
+                frame.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowClosing(WindowEvent e) {
+                        panel.suspend();
+                    }
+                });
+            }
         });
     }
+
+    /**
+     * Odczytuje rozmiar siatki turnieju z argumentu {@code --tournament=} lub właściwości {@code snake.tournament}.
+     *
+     * @param args argumenty wiersza poleceń
+     * @return rozmiar siatki (np. {@code 4x4}) lub {@code null}, jeśli turniej nie został wybrany
+     */
+    private static String parseTournament(String[] args) {
+        String value = System.getProperty("snake.tournament");
+        for (String arg : args) {
+            if (arg.startsWith("--tournament=")) {
+                value = arg.substring("--tournament=".length());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Odczytuje tryb renderowania z argumentów lub właściwości systemowej {@code snake.render}.
+     *
+     * @param args argumenty wiersza poleceń
+     * @return wybrany tryb renderowania
+     */
+    private static RenderMode parseRenderMode(String[] args) {
+        String value = System.getProperty("snake.render", "passive");
+        for (String arg : args) {
+            if (arg.startsWith("--render=")) {
+                value = arg.substring("--render=".length());
+            }
+        }
+        try {
+            return RenderMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Nieznany tryb renderowania: " + value + ", używam PASSIVE");
+            return RenderMode.PASSIVE;
+        }
+    }
 }
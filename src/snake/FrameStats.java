@@ -0,0 +1,206 @@
+package snake;
+
+import snake.core.StartupLog;
+import snake.enums.GameScreen;
+import snake.enums.RenderMode;
+import snake.metrics.GameMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Arrays;
+
+/**
+ * Klasa {@code FrameStats} mierzy czas renderowania klatek i odstępy między nimi.
+ * Co kilka sekund wylicza podsumowanie (średnia, p95, FPS), co pozwala porównać
+ * tryb pasywny i aktywny na danej maszynie. Zlicza też czas procesora zużyty przez cały proces
+ * na każdym ekranie gry ({@link #sample(GameScreen)}), aby było widać koszt ekranów bezczynnych.
+ *
+ * <p>Pomiary dostępne są zawsze przez {@link #getLastAverageMillis()} i metryki gry ({@link GameMetrics}),
+ * a na konsolę podsumowania wypisywane są tylko po włączeniu ({@code -Dsnake.stats=true}).</p>
+ */
+public class FrameStats {
+
+    /** Czy podsumowania pomiarów są wypisywane na konsolę ({@code -Dsnake.stats=true}). */
+    static final boolean CONSOLE = Boolean.parseBoolean(System.getProperty("snake.stats", "false"));
+
+    /** Odstęp między kolejnymi raportami (w nanosekundach). */
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+
+    /** Maksymalna liczba próbek przechowywanych między raportami. */
+    private static final int MAX_SAMPLES = 1024;
+
+    /** Ekrany gry według numeru. */
+    private static final GameScreen[] SCREENS = GameScreen.values();
+
+    /** Tryb renderowania, którego dotyczą pomiary. */
+    private final RenderMode mode;
+
+    /** Czasy renderowania kolejnych klatek (w nanosekundach). */
+    private final long[] renderNanos = new long[MAX_SAMPLES];
+
+    /** Liczba zapisanych próbek od ostatniego raportu. */
+    private int samples = 0;
+
+    /** Liczba klatek od ostatniego raportu (także tych, które nie zmieściły się w buforze próbek). */
+    private int frames = 0;
+
+    /** Początek bieżącego okna pomiarowego. */
+    private long windowStart = System.nanoTime();
+
+    /** Czas rozpoczęcia aktualnie mierzonej klatki. */
+    private long frameStart;
+
+    /** Ostatnio wyliczony średni czas renderowania klatki (w milisekundach). */
+    private volatile double lastAverageMillis = 0;
+
+    /** Dostęp do czasu procesora procesu (pobierany przy pierwszej próbce, aby nie opóźniać startu). */
+    private OperatingSystemMXBean os;
+
+    /** Czas procesora procesu zużyty na każdym ekranie od ostatniego raportu (w nanosekundach). */
+    private final long[] cpuNanos = new long[SCREENS.length];
+
+    /** Czas spędzony na każdym ekranie od ostatniego raportu (w nanosekundach). */
+    private final long[] wallNanos = new long[SCREENS.length];
+
+    /** Ekran z poprzedniej próbki ({@code null} przed pierwszą próbką). */
+    private GameScreen lastScreen;
+
+    /** Czas procesora procesu w poprzedniej próbce. */
+    private long lastCpuNanos;
+
+    /** Chwila poprzedniej próbki. */
+    private long lastSampleNanos;
+
+    /** Początek bieżącego okna pomiaru procesora. */
+    private long cpuWindowStart = System.nanoTime();
+
+    /** Metryki gry, do których zapisywany jest czas klatek i procesora ({@code null} – bez metryk). */
+    private volatile GameMetrics metrics;
+
+    /**
+     * Tworzy nowy licznik klatek dla podanego trybu renderowania.
+     *
+     * @param mode tryb renderowania
+     */
+    public FrameStats(RenderMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Włącza zapis czasu klatek i czasu procesora na ekranach do metryk gry.
+     *
+     * @param metrics metryki gry lub {@code null}, aby wyłączyć zapis
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Oznacza początek renderowania klatki.
+     */
+    public void beginFrame() {
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Oznacza koniec renderowania klatki i co kilka sekund wylicza podsumowanie.
+     * Pierwsza klatka jest dodatkowo zgłaszana do {@link StartupLog} (czas do pierwszej klatki).
+     */
+    public void endFrame() {
+        long now = System.nanoTime();
+        StartupLog.frameDrawn();
+        if (samples < MAX_SAMPLES) {
+            renderNanos[samples++] = now - frameStart;
+        }
+        GameMetrics m = metrics;
+        if (m != null) {
+            m.recordFrame(now - frameStart);
+        }
+        frames++;
+
+        long elapsed = now - windowStart;
+        if (elapsed >= REPORT_INTERVAL_NANOS) {
+            report(elapsed);
+            samples = 0;
+            frames = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Zapisuje próbkę czasu procesora: czas od poprzedniej próbki przypisywany jest ekranowi,
+     * który był wtedy aktywny, i doliczany do metryk gry ({@link GameMetrics#recordScreenCpu(GameScreen, long)}).
+     * Wywoływana w każdym obiegu pętli gry (także gdy klatka nie jest rysowana);
+     * co kilka sekund wypisuje zużycie procesora na poszczególnych ekranach (jeśli włączono {@link #CONSOLE}).
+     *
+     * @param screen aktualny ekran gry
+     */
+    public void sample(GameScreen screen) {
+        if (os == null) {
+            os = ManagementFactory.getOperatingSystemMXBean();
+        }
+        if (!(os instanceof com.sun.management.OperatingSystemMXBean sunOs)) return;
+        long now = System.nanoTime();
+        long cpu = sunOs.getProcessCpuTime();
+        if (lastScreen != null && cpu >= 0) {
+            cpuNanos[lastScreen.ordinal()] += cpu - lastCpuNanos;
+            wallNanos[lastScreen.ordinal()] += now - lastSampleNanos;
+            GameMetrics m = metrics;
+            if (m != null) {
+                m.recordScreenCpu(lastScreen, cpu - lastCpuNanos);
+            }
+        }
+        lastScreen = screen;
+        lastCpuNanos = cpu;
+        lastSampleNanos = now;
+
+        if (now - cpuWindowStart >= REPORT_INTERVAL_NANOS) {
+            if (CONSOLE) reportCpu();
+            Arrays.fill(cpuNanos, 0);
+            Arrays.fill(wallNanos, 0);
+            cpuWindowStart = now;
+        }
+    }
+
+    /**
+     * Wypisuje zużycie procesora (w procentach jednego rdzenia) na ekranach odwiedzonych w bieżącym oknie.
+     */
+    private void reportCpu() {
+        StringBuilder line = new StringBuilder("[cpu ").append(mode).append(']');
+        for (int i = 0; i < SCREENS.length; i++) {
+            if (wallNanos[i] == 0) continue;
+            line.append(String.format(" %s %.1f%% (%.1f s)",
+                    SCREENS[i], 100.0 * cpuNanos[i] / wallNanos[i], wallNanos[i] / 1e9));
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Zwraca średni czas renderowania klatki z ostatniego okna pomiarowego.
+     *
+     * @return średni czas klatki w milisekundach
+     */
+    public double getLastAverageMillis() {
+        return lastAverageMillis;
+    }
+
+    /**
+     * Wylicza podsumowanie pomiarów z bieżącego okna i wypisuje je, jeśli włączono {@link #CONSOLE}.
+     *
+     * @param elapsed długość okna pomiarowego w nanosekundach
+     */
+    private void report(long elapsed) {
+        if (samples == 0) return;
+        long[] sorted = Arrays.copyOf(renderNanos, samples);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long v : sorted) sum += v;
+
+        double avg = sum / (double) samples / 1_000_000.0;
+        double p95 = sorted[Math.min(samples - 1, (int) (samples * 0.95))] / 1_000_000.0;
+        double fps = frames * 1_000_000_000.0 / elapsed;
+        lastAverageMillis = avg;
+
+        if (CONSOLE) System.out.printf("[render %s] frame avg %.3f ms, p95 %.3f ms, %.1f FPS%n", mode, avg, p95, fps);
+    }
+}
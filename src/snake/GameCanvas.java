@@ -0,0 +1,249 @@
+package snake;
+
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.Pictures;
+import snake.enums.RenderMode;
+import snake.metrics.MetricsServer;
+import snake.net.BotServer;
+import snake.state.SaveGame;
+
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Klasa {@code GameCanvas} realizuje aktywne renderowanie gry Snake.
+ * Rysuje na {@code Canvas} przez {@link BufferStrategy} (przełączanie stron, jeśli sprzęt je wspiera)
+ * we własnym wątku, którego tempo jest dopasowane do częstotliwości odświeżania ekranu;
+ * klatka jest rysowana tylko wtedy, gdy widok mógł się zmienić ({@link RenderThrottle}).
+ * Logika gry wykonywana jest w osobnym wątku ({@link SimulationLoop}), więc rysowanie klatki
+ * i kolejny krok gry mogą przebiegać równocześnie.
+ * Zasoby graficzne są konwertowane do obrazów zgodnych z {@link GraphicsConfiguration} urządzenia,
+ * a widok gry skalowany do rozmiaru komponentu ({@link Viewport}).
+ */
+public class GameCanvas extends Canvas implements Runnable {
+
+    /** Wersja serializacji klasy. */
+    private static final long serialVersionUID = 1L;
+
+    /** Domyślna częstotliwość odświeżania, gdy urządzenie jej nie raportuje. */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    /** Główna logika gry. */
+    private final Game game;
+
+    /** Zasoby graficzne. */
+    private final Pictures pictures;
+
+    /** Dopasowanie widoku gry do rozmiaru komponentu. */
+    private final Viewport viewport;
+
+    /** Pomiar czasu renderowania klatek. */
+    private final FrameStats frameStats = new FrameStats(RenderMode.ACTIVE);
+
+    /** Ogranicznik klatek – rysowanie tylko wtedy, gdy widok mógł się zmienić. */
+    private final RenderThrottle throttle = new RenderThrottle(null);
+
+    /** Zapis zawieszonej rozgrywki. */
+    private final SaveGame saveGame = new SaveGame();
+
+    /** Serwer metryk ({@code null}, jeśli nie ustawiono właściwości {@code snake.metrics.port}). */
+    private final MetricsServer metricsServer;
+
+    /** Serwer botów ({@code null}, jeśli nie ustawiono właściwości {@code snake.bots}). */
+    private final BotServer botServer;
+
+    /** Pętla symulacji gry. */
+    private final SimulationLoop loop;
+
+    /** Czy pętla symulacji zgłosiła potrzebę narysowania klatki. */
+    private volatile boolean frameRequested = true;
+
+    /** Czy pętla renderowania ma działać. */
+    private volatile boolean running = false;
+
+    /** Wątek pętli renderowania. */
+    private Thread renderThread;
+
+    /**
+     * Konstruktor. Inicjalizuje planszę, zasoby graficzne, logikę gry i obsługę wejścia
+     * oraz wznawia zawieszoną rozgrywkę, jeśli istnieje.
+     * Pętla renderowania startuje dopiero po wywołaniu {@link #start()}.
+     */
+    public GameCanvas() {
+        setIgnoreRepaint(true);
+        setFocusable(true);
+
+        Board board = new Board();
+        this.pictures = new Pictures();
+        this.game = new Game(board, pictures);
+        pictures.enableScaledCache(board.getCellSize());
+        this.viewport = new Viewport(board);
+        setPreferredSize(viewport.getPreferredSize());
+        setBackground(Color.BLACK);
+        saveGame.resume(game);
+        loop = new SimulationLoop(game, throttle, frameStats, this::requestRender);
+        metricsServer = MetricsServer.fromProperty(game);
+        if (metricsServer != null) {
+            loop.setMetrics(metricsServer.getMetrics());
+            frameStats.setMetrics(metricsServer.getMetrics());
+        }
+        botServer = BotServer.fromProperty(game);
+        loop.setBots(botServer);
+        new GameInput(game, this, loop, throttle::requestFrame, viewport);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                requestRender(); // nowy rozmiar – widok w nowej skali
+            }
+        });
+    }
+
+    /**
+     * Tworzy {@code BufferStrategy} i uruchamia wątki symulacji i renderowania.
+     * Musi zostać wywołana, gdy komponent jest już wyświetlany (po {@code setVisible(true)}).
+     */
+    public void start() {
+        if (running) return;
+        createBufferStrategy(2);
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        pictures.accelerate(gc);
+
+        if (FrameStats.CONSOLE) {
+            BufferCapabilities caps = getBufferStrategy().getCapabilities();
+            System.out.printf("[render ACTIVE] page flipping: %b, accelerated back buffer: %b, refresh %d Hz%n",
+                    caps.isPageFlipping(), caps.getBackBufferCapabilities().isAccelerated(), refreshRate(gc));
+        }
+
+        running = true;
+        renderThread = new Thread(this, "snake-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+        loop.start();
+        requestFocus();
+    }
+
+    /**
+     * Zatrzymuje wątki symulacji i renderowania i czeka na ich zakończenie.
+     */
+    public void stop() {
+        loop.stop();
+        running = false;
+        if (renderThread != null) {
+            LockSupport.unpark(renderThread);
+            try {
+                renderThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Zatrzymuje wątki gry, zawiesza trwającą rozgrywkę do pliku i zwalnia zasoby gry (np. przy zamykaniu okna).
+     */
+    public void suspend() {
+        stop();
+        synchronized (game) {
+            saveGame.suspend(game);
+            game.close();
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        if (botServer != null) {
+            botServer.stop();
+        }
+    }
+
+    /**
+     * Po dodaniu komponentu do okna zaczyna obserwować jego stan (minimalizacja, aktywność).
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        throttle.attach(this);
+    }
+
+    /**
+     * Zgłasza potrzebę narysowania klatki i budzi wątek renderowania (wywoływana przez pętlę symulacji).
+     */
+    private void requestRender() {
+        frameRequested = true;
+        Thread t = renderThread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    /**
+     * Pętla renderowania – rysuje klatkę, gdy pętla symulacji zgłosi zmianę widoku ({@link RenderThrottle})
+     * lub zawartość bufora zostanie utracona, najwyżej raz na okres odświeżania ekranu.
+     * Gdy okno jest zminimalizowane lub nieaktywne, pętla czeka bez rysowania.
+     */
+    @Override
+    public void run() {
+        long period = 1_000_000_000L / refreshRate(getGraphicsConfiguration());
+        while (running) {
+            if (!throttle.isActive()) {
+                try {
+                    throttle.awaitActive(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+            BufferStrategy strategy = getBufferStrategy();
+            if (frameRequested || (strategy != null && strategy.contentsLost())) {
+                frameRequested = false;
+                long start = System.nanoTime();
+                render();
+                LockSupport.parkNanos(period - (System.nanoTime() - start));
+            } else {
+                LockSupport.parkNanos(period);
+            }
+        }
+    }
+
+    /**
+     * Rysuje jedną klatkę do bufora (widok gry przeskalowany do rozmiaru komponentu) i wyświetla ją.
+     * Powtarza rysowanie, jeśli zawartość bufora została utracona lub odtworzona.
+     */
+    private void render() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) return;
+        frameStats.beginFrame();
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    int width = getWidth();
+                    int height = getHeight();
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, width, height);
+                    if (viewport.apply(g, width, height)) {
+                        game.draw(g, viewport.getWidth(), viewport.getHeight());
+                    }
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+        } while (strategy.contentsLost());
+        frameStats.endFrame();
+    }
+
+    /**
+     * Zwraca częstotliwość odświeżania ekranu, na którym wyświetlany jest komponent.
+     *
+     * @param gc konfiguracja graficzna komponentu
+     * @return częstotliwość w Hz
+     */
+    private static int refreshRate(GraphicsConfiguration gc) {
+        if (gc == null) return DEFAULT_REFRESH_RATE;
+        int hz = gc.getDevice().getDisplayMode().getRefreshRate();
+        return (hz == DisplayMode.REFRESH_RATE_UNKNOWN || hz <= 0) ? DEFAULT_REFRESH_RATE : hz;
+    }
+}
@@ -0,0 +1,191 @@
+package snake;
+
+import snake.core.Game;
+import snake.enums.GameScreen;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Klasa {@code GameInput} obsługuje klawiaturę, mysz i kółko myszy
+ * i przekazuje zdarzenia do klasy {@link Game}.
+ * Jest wspólna dla trybu pasywnego ({@link GamePanel}) i aktywnego ({@link GameCanvas}).
+ * Zdarzenia nie zmieniają gry w wątku EDT – dane zdarzenia (pozycja przeliczona na piksele logiczne gry, klawisz)
+ * są odczytywane od razu, a wywołanie na obiekcie gry kolejkowane jako polecenie dla wątku symulacji
+ * ({@link SimulationLoop}), który jako jedyny zmienia stan gry.
+ */
+public class GameInput implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener {
+
+    /** Główna logika gry. */
+    private final Game game;
+
+    /** Komponent, do którego podpięta jest obsługa wejścia (dostarcza rozmiar do przeliczania współrzędnych). */
+    private final Component host;
+
+    /** Wykonawca poleceń zmieniających stan gry (wątek symulacji). */
+    private final Executor commands;
+
+    /** Akcja wywoływana (w wątku symulacji) po zmianie stanu wymagającej odświeżenia widoku. */
+    private final Runnable onChange;
+
+    /** Dopasowanie widoku gry do komponentu (przeliczanie współrzędnych myszy na piksele logiczne). */
+    private final Viewport viewport;
+
+    /**
+     * Tworzy obsługę wejścia i rejestruje ją w komponencie.
+     *
+     * @param game logika gry
+     * @param host komponent odbierający zdarzenia
+     * @param commands wykonawca poleceń zmieniających stan gry
+     * @param onChange akcja zgłoszenia potrzeby odświeżenia widoku
+     * @param viewport dopasowanie widoku gry do komponentu
+     */
+    GameInput(Game game, Component host, Executor commands, Runnable onChange, Viewport viewport) {
+        this.game = game;
+        this.host = host;
+        this.commands = commands;
+        this.onChange = onChange;
+        this.viewport = viewport;
+        host.addKeyListener(this);
+        host.addMouseListener(this);
+        host.addMouseMotionListener(this);
+        host.addMouseWheelListener(this);
+    }
+
+    // === Obsługa klawiatury ===
+
+    /**
+     * Obsługuje naciśnięcie klawisza i przekazuje je do logiki gry.
+     * Widok jest odświeżany, jeśli klawisz zmienił ekran lub dotyczył ekranu poza rozgrywką
+     * (w trakcie gry zmiana kierunku będzie widoczna w następnym kroku).
+     */
+    @Override
+    public void keyPressed(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+        commands.execute(() -> {
+            GameScreen before = game.getGameScreen();
+            game.onKeyPress(keyCode);
+            if (before != GameScreen.GAME || game.getGameScreen() != before) onChange.run();
+        });
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        // nieużywane
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+        // nieużywane
+    }
+
+    // === Obsługa kliknięć myszy ===
+
+    /**
+     * Obsługuje kliknięcie myszy i przekazuje je do logiki gry.
+     */
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        int x = logicalX(e);
+        int y = logicalY(e);
+        int width = viewport.getWidth();
+        commands.execute(() -> {
+            game.onMouseClick(x, y, width);
+            onChange.run();
+        });
+    }
+
+    /**
+     * Obsługuje naciśnięcie przycisku myszy.
+     * Aktywuje przeciąganie paska przewijania w scoreboardzie.
+     */
+    @Override
+    public void mousePressed(MouseEvent e) {
+        int x = logicalX(e);
+        int y = logicalY(e);
+        int width = viewport.getWidth();
+        int height = viewport.getHeight();
+        commands.execute(() -> {
+            if (game.getGameScreen() == GameScreen.SCORE_BOARD) {
+                game.startDraggingScrollbar(x, y, width, height);
+            }
+        });
+    }
+
+    /**
+     * Zatrzymuje przeciąganie scrollbara po puszczeniu przycisku myszy.
+     */
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        commands.execute(game::stopDraggingScrollbar);
+    }
+
+    @Override public void mouseEntered(MouseEvent e) {}
+    @Override public void mouseExited(MouseEvent e) {}
+
+    // === Obsługa ruchu myszy ===
+
+    /**
+     * Obsługuje ruch myszy – aktualizuje pozycję hovera w menu/scoreboardzie.
+     * Widok jest odświeżany tylko wtedy, gdy podświetlenie faktycznie się zmieniło.
+     */
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        int x = logicalX(e);
+        int y = logicalY(e);
+        int width = viewport.getWidth();
+        commands.execute(() -> {
+            if (game.onMouseMove(x, y, width)) onChange.run(); // odśwież, aby ramka była aktualna
+        });
+    }
+
+    /**
+     * Obsługuje przeciąganie scrollbara w widoku SCORE_BOARD.
+     */
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        int y = logicalY(e);
+        int height = viewport.getHeight();
+        commands.execute(() -> {
+            if (game.getGameScreen() != GameScreen.SCORE_BOARD) return;
+            game.dragScrollbar(y, height);
+            onChange.run();
+        });
+    }
+
+    // === Obsługa scrolla myszy ===
+
+    /**
+     * Obsługuje przewijanie kółkiem myszy w scoreboardzie.
+     */
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        int rotation = e.getWheelRotation();
+        commands.execute(() -> {
+            if (game.getGameScreen() != GameScreen.SCORE_BOARD) return;
+            game.adjustScrollOffset(rotation);
+            onChange.run();
+        });
+    }
+
+    /**
+     * Przelicza współrzędną X zdarzenia myszy na piksele logiczne gry.
+     *
+     * @param e zdarzenie myszy
+     * @return współrzędna X w pikselach logicznych
+     */
+    private int logicalX(MouseEvent e) {
+        return viewport.toLogicalX(e.getX(), host.getWidth(), host.getHeight());
+    }
+
+    /**
+     * Przelicza współrzędną Y zdarzenia myszy na piksele logiczne gry.
+     *
+     * @param e zdarzenie myszy
+     * @return współrzędna Y w pikselach logicznych
+     */
+    private int logicalY(MouseEvent e) {
+        return viewport.toLogicalY(e.getY(), host.getWidth(), host.getHeight());
+    }
+}
@@ -3,143 +3,128 @@ package snake;
 import snake.core.Board;
 import snake.core.Game;
 import snake.core.Pictures;
-import snake.enums.GameScreen;
+import snake.enums.RenderMode;
+import snake.metrics.MetricsServer;
+import snake.net.BotServer;
+import snake.state.SaveGame;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.*;
 
 /**
- * Klasa {@code GamePanel} jest głównym panelem graficznym gry Snake.
- * Odpowiada za wyświetlanie gry, obsługę klawiatury, myszy oraz uruchamianie pętli gry (repaint + update).
- * Implementuje obsługę wejścia użytkownika i przekazuje zdarzenia do klasy {@link Game}.
+ * Klasa {@code GamePanel} jest głównym panelem graficznym gry Snake w trybie pasywnym.
+ * Odpowiada za wyświetlanie gry; logika gry wykonywana jest we własnym wątku ({@link SimulationLoop}),
+ * który po zmianie widoku zleca odświeżenie panelu. Obsługa wejścia użytkownika jest delegowana do klasy {@link GameInput}.
  */
-public class GamePanel extends JPanel implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener {
+public class GamePanel extends JPanel {
 
     /** Główna logika gry. */
     private final Game game;
 
-    /**
-     * Konstruktor. Inicjalizuje planszę, zasoby graficzne i logikę gry.
-     * Ustawia obsługę zdarzeń i uruchamia pętlę odświeżania (~60 FPS).
-     */
-    public GamePanel() {
-        setFocusable(true);
-        requestFocusInWindow();
-        addKeyListener(this);
-        addMouseListener(this);
-        addMouseMotionListener(this);
-        addMouseWheelListener(this);
-
-        Board board = new Board();
-        Pictures pictures = new Pictures();
-        this.game = new Game(board, pictures);
+    /** Dopasowanie widoku gry do rozmiaru komponentu. */
+    private final Viewport viewport;
 
-        int delayMs = 16; // ok. 60 FPS
-        Timer timer = new Timer(delayMs, e -> {
-            if (game.shouldMove()) {
-                game.update();
-            }
-            repaint();
-        });
-        timer.start();
-    }
-
-    /**
-     * Nadpisana metoda {@code paintComponent}, odpowiedzialna za rysowanie zawartości panelu.
-     *
-     * @param g kontekst graficzny
-     */
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        game.draw((Graphics2D) g, getWidth(), getHeight());
-    }
+    /** Pomiar czasu renderowania klatek. */
+    private final FrameStats frameStats = new FrameStats(RenderMode.PASSIVE);
 
-    // === Obsługa klawiatury ===
+    /** Ogranicznik klatek – rysowanie tylko wtedy, gdy widok mógł się zmienić. */
+    private final RenderThrottle throttle = new RenderThrottle(this::onActivityChange);
 
-    /**
-     * Obsługuje naciśnięcie klawisza i przekazuje je do logiki gry.
-     */
-    @Override
-    public void keyPressed(KeyEvent e) {
-        game.onKeyPress(e.getKeyCode());
-    }
+    /** Pętla symulacji gry. */
+    private final SimulationLoop loop;
 
-    @Override
-    public void keyReleased(KeyEvent e) {
-        // nieużywane
-    }
+    /** Zapis zawieszonej rozgrywki. */
+    private final SaveGame saveGame = new SaveGame();
 
-    @Override
-    public void keyTyped(KeyEvent e) {
-        // nieużywane
-    }
+    /** Serwer metryk ({@code null}, jeśli nie ustawiono właściwości {@code snake.metrics.port}). */
+    private final MetricsServer metricsServer;
 
-    // === Obsługa kliknięć myszy ===
+    /** Serwer botów ({@code null}, jeśli nie ustawiono właściwości {@code snake.bots}). */
+    private final BotServer botServer;
 
     /**
-     * Obsługuje kliknięcie myszy i przekazuje je do logiki gry.
+     * Konstruktor. Inicjalizuje planszę, zasoby graficzne i logikę gry,
+     * wznawia zawieszoną rozgrywkę (jeśli istnieje), ustawia obsługę zdarzeń i uruchamia pętlę symulacji (~60 obiegów/s).
+     * Panel jest odświeżany tylko wtedy, gdy widok mógł się zmienić (zob. {@link RenderThrottle}),
+     * a widok gry skalowany do rozmiaru panelu ({@link Viewport}).
      */
-    @Override
-    public void mouseClicked(MouseEvent e) {
-        game.onMouseClick(e.getX(), e.getY(), getWidth());
-    }
+    public GamePanel() {
+        setFocusable(true);
+        requestFocusInWindow();
 
-    /**
-     * Obsługuje naciśnięcie przycisku myszy.
-     * Aktywuje przeciąganie paska przewijania w scoreboardzie.
-     */
-    @Override
-    public void mousePressed(MouseEvent e) {
-        if (game.getGameScreen() == GameScreen.SCORE_BOARD) {
-            game.startDraggingScrollbar(e.getX(), e.getY(), getWidth(), getHeight());
+        Board board = new Board();
+        Pictures pictures = new Pictures();
+        this.game = new Game(board, pictures);
+        pictures.enableScaledCache(board.getCellSize());
+        this.viewport = new Viewport(board);
+        setPreferredSize(viewport.getPreferredSize());
+        setBackground(Color.BLACK);
+        saveGame.resume(game);
+        loop = new SimulationLoop(game, throttle, frameStats, this::repaint);
+        metricsServer = MetricsServer.fromProperty(game);
+        if (metricsServer != null) {
+            loop.setMetrics(metricsServer.getMetrics());
+            frameStats.setMetrics(metricsServer.getMetrics());
         }
+        botServer = BotServer.fromProperty(game);
+        loop.setBots(botServer);
+        new GameInput(game, this, loop, throttle::requestFrame, viewport);
+        loop.start();
     }
 
     /**
-     * Zatrzymuje przeciąganie scrollbara po puszczeniu przycisku myszy.
+     * Po dodaniu panelu do okna zaczyna obserwować jego stan (minimalizacja, aktywność).
      */
     @Override
-    public void mouseReleased(MouseEvent e) {
-        game.stopDraggingScrollbar();
+    public void addNotify() {
+        super.addNotify();
+        throttle.attach(this);
     }
 
-    @Override public void mouseEntered(MouseEvent e) {}
-    @Override public void mouseExited(MouseEvent e) {}
-
-    // === Obsługa ruchu myszy ===
-
     /**
-     * Obsługuje ruch myszy – aktualizuje pozycję hovera w menu/scoreboardzie.
+     * Odświeża widok, gdy okno znów jest aktywne (pętla symulacji sama wstrzymuje rysowanie, gdy okno jest nieaktywne).
      */
-    @Override
-    public void mouseMoved(MouseEvent e) {
-        game.onMouseMove(e.getX(), e.getY(), getWidth());
-        repaint(); // odśwież, aby ramka była aktualna
+    private void onActivityChange() {
+        if (throttle.isActive()) {
+            repaint();
+        }
     }
 
     /**
-     * Obsługuje przeciąganie scrollbara w widoku SCORE_BOARD.
+     * Zatrzymuje pętlę symulacji, zawiesza trwającą rozgrywkę do pliku i zwalnia zasoby gry (np. przy zamykaniu okna).
      */
-    @Override
-    public void mouseDragged(MouseEvent e) {
-        if (game.getGameScreen() == GameScreen.SCORE_BOARD) {
-            game.dragScrollbar(e.getY(), getHeight());
-            repaint();
+    public void suspend() {
+        loop.stop();
+        synchronized (game) {
+            saveGame.suspend(game);
+            game.close();
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        if (botServer != null) {
+            botServer.stop();
         }
     }
 
-    // === Obsługa scrolla myszy ===
-
     /**
-     * Obsługuje przewijanie kółkiem myszy w scoreboardzie.
+     * Nadpisana metoda {@code paintComponent}, odpowiedzialna za rysowanie zawartości panelu
+     * (rozgrywka z ostatniej opublikowanej klatki, bez czekania na krok gry), przeskalowanej do rozmiaru panelu.
+     *
+     * @param g kontekst graficzny
      */
     @Override
-    public void mouseWheelMoved(MouseWheelEvent e) {
-        if (game.getGameScreen() == GameScreen.SCORE_BOARD) {
-            game.adjustScrollOffset(e.getWheelRotation());
-            repaint();
+    protected void paintComponent(Graphics g) {
+        frameStats.beginFrame();
+        super.paintComponent(g);
+        Graphics2D view = (Graphics2D) g.create();
+        try {
+            if (viewport.apply(view, getWidth(), getHeight())) {
+                game.draw(view, viewport.getWidth(), viewport.getHeight());
+            }
+        } finally {
+            view.dispose();
         }
+        frameStats.endFrame();
     }
 }
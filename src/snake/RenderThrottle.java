@@ -0,0 +1,144 @@
+package snake;
+
+import snake.enums.GameScreen;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * Klasa {@code RenderThrottle} decyduje, kiedy warto rysować klatkę, aby nie zużywać procesora
+ * na powtarzanie identycznego obrazu. Jest wspólna dla trybu pasywnego ({@link GamePanel})
+ * i aktywnego ({@link GameCanvas}).
+ *
+ * <ul>
+ *     <li>GAME, REPLAY – klatka tylko po kroku symulacji (lub zmianie wywołanej wejściem), więc liczba klatek
+ *     nie przekracza tempa gry,</li>
+ *     <li>MULTIPLAYER_MENU – klatka w każdym obiegu pętli (stan przychodzi z sieci i jest przewidywany),</li>
+ *     <li>MENU, SCORE_BOARD – klatka tylko na żądanie, po zdarzeniu wejścia, które zmieniło widok.</li>
+ * </ul>
+ *
+ * <p>Gdy okno jest zminimalizowane lub nieaktywne, pętla nie rysuje klatek, a zwykle także nie aktualizuje gry
+ * (wyjątki opisuje {@link SimulationLoop}).</p>
+ */
+public class RenderThrottle {
+
+    /** Czy trzeba narysować klatkę niezależnie od ekranu (wejście, odsłonięcie okna, start). */
+    private volatile boolean dirty = true;
+
+    /** Czy okno jest widoczne i aktywne. */
+    private volatile boolean active = true;
+
+    /** Akcja wywoływana w wątku EDT po zmianie aktywności okna (może być {@code null}). */
+    private final Runnable onActivityChange;
+
+    /** Okno, którego stan jest obserwowany. */
+    private Window window;
+
+    /**
+     * Tworzy ogranicznik klatek.
+     *
+     * @param onActivityChange akcja wywoływana po zminimalizowaniu, przywróceniu lub zmianie aktywności okna
+     *                         (np. zatrzymanie i wznowienie timera); może być {@code null}
+     */
+    public RenderThrottle(Runnable onActivityChange) {
+        this.onActivityChange = onActivityChange;
+    }
+
+    /**
+     * Zaczyna obserwować okno, w którym znajduje się komponent.
+     * Wywoływana z {@code addNotify} komponentu, gdy okno już istnieje.
+     *
+     * @param host komponent gry
+     */
+    public void attach(Component host) {
+        Window w = SwingUtilities.getWindowAncestor(host);
+        if (w == null || w == window) return;
+        window = w;
+        w.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowIconified(WindowEvent e) {
+                setActive(false);
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                setActive(true);
+            }
+
+            @Override
+            public void windowDeactivated(WindowEvent e) {
+                setActive(false);
+            }
+
+            @Override
+            public void windowActivated(WindowEvent e) {
+                setActive(true);
+            }
+        });
+    }
+
+    /**
+     * Zgłasza, że widok się zmienił i trzeba narysować klatkę.
+     */
+    public void requestFrame() {
+        dirty = true;
+    }
+
+    /**
+     * Sprawdza, czy okno jest widoczne i aktywne.
+     *
+     * @return {@code true}, jeśli gra powinna być rysowana (i zwykle aktualizowana)
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Decyduje, czy narysować klatkę w bieżącym obiegu pętli; kasuje żądanie klatki.
+     *
+     * @param screen aktualny ekran gry
+     * @param ticked czy w tym obiegu wykonano krok symulacji
+     * @return {@code true}, jeśli klatkę należy narysować
+     */
+    public boolean shouldRender(GameScreen screen, boolean ticked) {
+        if (!active) return false;
+        boolean requested = dirty;
+        dirty = false;
+        return switch (screen) {
+            case GAME, REPLAY -> ticked || requested;
+            case MULTIPLAYER_MENU -> true;
+            case MENU, SCORE_BOARD -> requested;
+        };
+    }
+
+    /**
+     * Czeka (najwyżej podany czas), aż okno znów będzie aktywne. Używana przez wątek pętli aktywnej.
+     *
+     * @param timeoutMillis najdłuższy czas oczekiwania w milisekundach
+     * @throws InterruptedException jeśli wątek został przerwany
+     */
+    public synchronized void awaitActive(long timeoutMillis) throws InterruptedException {
+        if (!active) {
+            wait(timeoutMillis);
+        }
+    }
+
+    /**
+     * Zmienia aktywność okna, budzi czekającą pętlę i wywołuje akcję zmiany aktywności.
+     *
+     * @param value nowa aktywność
+     */
+    private void setActive(boolean value) {
+        if (value && window instanceof Frame f && (f.getExtendedState() & Frame.ICONIFIED) != 0) return;
+        synchronized (this) {
+            active = value;
+            dirty = true;
+            notifyAll();
+        }
+        if (onActivityChange != null) {
+            onActivityChange.run();
+        }
+    }
+}
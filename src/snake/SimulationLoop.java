@@ -0,0 +1,200 @@
+package snake;
+
+import snake.core.Game;
+import snake.enums.GameScreen;
+import snake.metrics.GameMetrics;
+import snake.net.BotServer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Klasa {@code SimulationLoop} wykonuje logikę gry we własnym wątku, niezależnie od rysowania.
+ * Po każdym kroku gra publikuje klatkę ({@link Game#publish()}), którą wątek rysujący odczytuje bez blokad,
+ * więc wolne rysowanie nie opóźnia kroków gry, a krok gry nie blokuje rysowania.
+ *
+ * <p>Zdarzenia wejścia nie zmieniają gry bezpośrednio – są kolejkowane jako polecenia ({@link #execute(Runnable)})
+ * i wykonywane przez ten wątek na początku obiegu, przed krokiem gry. Dzięki temu stan gry zmienia
+ * tylko jeden wątek. Gdy okno jest zminimalizowane lub nieaktywne, pętla czeka bez aktualizowania gry – chyba że
+ * podłączone są boty ({@link #runsWhileInactive()}): wtedy gra toczy się dalej, a wstrzymane jest
+ * tylko rysowanie.</p>
+ */
+public class SimulationLoop implements Runnable, Executor {
+
+    /** Okres obiegu pętli (ok. 60 obiegów/s) w nanosekundach. */
+    private static final long PERIOD_NANOS = 16_000_000L;
+
+    /** Gra aktualizowana przez pętlę. */
+    private final Game game;
+
+    /** Ogranicznik klatek (decyduje, czy po obiegu potrzebna jest nowa klatka). */
+    private final RenderThrottle throttle;
+
+    /** Pomiar czasu procesora na ekranach gry. */
+    private final FrameStats frameStats;
+
+    /** Akcja wywoływana, gdy trzeba narysować nową klatkę (np. {@code repaint}). */
+    private final Runnable onFrame;
+
+    /** Polecenia z wątku EDT oczekujące na wykonanie w wątku symulacji. */
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    /** Metryki gry, do których zapisywany jest czas każdego kroku ({@code null} – bez metryk). */
+    private volatile GameMetrics metrics;
+
+    /** Serwer botów sterujących wężem gracza ({@code null} – bez botów). */
+    private volatile BotServer bots;
+
+    /** Czy pętla ma działać. */
+    private volatile boolean running = false;
+
+    /** Wątek pętli. */
+    private Thread thread;
+
+    /**
+     * Tworzy pętlę symulacji.
+     *
+     * @param game       gra
+     * @param throttle   ogranicznik klatek
+     * @param frameStats pomiar czasu procesora
+     * @param onFrame    akcja zlecająca narysowanie klatki
+     */
+    public SimulationLoop(Game game, RenderThrottle throttle, FrameStats frameStats, Runnable onFrame) {
+        this.game = game;
+        this.throttle = throttle;
+        this.frameStats = frameStats;
+        this.onFrame = onFrame;
+    }
+
+    /**
+     * Włącza zapis czasu kroków do metryk gry.
+     *
+     * @param metrics metryki gry lub {@code null}, aby wyłączyć zapis
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Podłącza serwer botów: przed każdym krokiem przekazuje grze ich kierunki (w trybie lockstep czekając
+     * na odpowiedzi), a po kroku rozsyła im stan gry.
+     *
+     * @param bots serwer botów lub {@code null}, aby odłączyć boty
+     */
+    public void setBots(BotServer bots) {
+        this.bots = bots;
+    }
+
+    /**
+     * Uruchamia wątek symulacji.
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "snake-sim");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Zatrzymuje wątek symulacji i czeka na jego zakończenie. Polecenia, które nie zostały wykonane, są porzucane.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Kolejkuje polecenie do wykonania w wątku symulacji (na początku najbliższego obiegu).
+     *
+     * @param command polecenie zmieniające stan gry
+     */
+    @Override
+    public void execute(Runnable command) {
+        commands.add(command);
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    /**
+     * Sprawdza, czy gra ma być aktualizowana także przy nieaktywnym oknie. Boty sterowane są zwykle z innego,
+     * aktywnego okna i czekają na stan gry po każdym kroku, więc wstrzymanie gry zatrzymałoby je (lockstep,
+     * pomiar RTT). Metryki tylko obserwują grę i nie zmieniają jej przebiegu.
+     *
+     * @return {@code true}, jeśli podłączono serwer botów
+     */
+    private boolean runsWhileInactive() {
+        return bots != null;
+    }
+
+    /**
+     * Pętla symulacji: wykonuje oczekujące polecenia, w razie potrzeby krok gry, a następnie zleca
+     * narysowanie klatki, jeśli widok mógł się zmienić ({@link RenderThrottle}). Przy nieaktywnym oknie czeka
+     * na jego aktywację, chyba że gra ma toczyć się dalej ({@link #runsWhileInactive()}) – wtedy klatki
+     * nie są rysowane, ale polecenia i kroki gry są wykonywane jak zwykle.
+     * Błąd w poleceniu lub kroku jest wypisywany i nie zatrzymuje pętli.
+     */
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        while (running) {
+            if (!throttle.isActive() && !runsWhileInactive()) {
+                try {
+                    throttle.awaitActive(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                next = System.nanoTime();
+                continue;
+            }
+            boolean ticked = false;
+            try {
+                synchronized (game) {
+                    Runnable command;
+                    while ((command = commands.poll()) != null) {
+                        command.run();
+                    }
+                    ticked = game.shouldMove();
+                    if (ticked) {
+                        BotServer b = bots;
+                        if (b != null) {
+                            b.beforeTick();
+                        }
+                        long start = System.nanoTime();
+                        game.update();
+                        GameMetrics m = metrics;
+                        if (m != null) {
+                            m.recordTick(System.nanoTime() - start);
+                        }
+                        if (b != null) {
+                            b.afterTick();
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            GameScreen screen = game.getGameScreen();
+            frameStats.sample(screen);
+            if (throttle.shouldRender(screen, ticked)) {
+                onFrame.run();
+            }
+
+            // polecenie budzi pętlę przed terminem – termin przesuwa się tylko po jego upływie
+            long now = System.nanoTime();
+            if (now - next >= 0) {
+                next = now - next > PERIOD_NANOS ? now + PERIOD_NANOS : next + PERIOD_NANOS;
+            }
+            LockSupport.parkNanos(next - now);
+        }
+    }
+}
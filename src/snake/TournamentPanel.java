@@ -0,0 +1,173 @@
+package snake;
+
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.Pictures;
+import snake.enums.GameScreen;
+import snake.enums.RenderMode;
+import snake.sim.Tournament;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Klasa {@code TournamentPanel} wyświetla turniej ({@link Tournament}) – siatkę niezależnych gier węży AI
+ * rysowanych w zmniejszonej skali – wraz z kosztem kroku i tempem każdej planszy oraz łącznym tempem turnieju.
+ * Gry symulowane są we własnych wątkach; panel co {@value #REPAINT_MILLIS} ms rysuje ostatnie opublikowane
+ * klatki wszystkich plansz, nie blokując symulacji. Obrazy plansz rysowane są z warstw przeskalowanych
+ * raz do rozdzielczości urządzenia ({@link Pictures#enableScaledCache(int)}), a nie skalowane przy każdym rysowaniu.
+ *
+ * <p>Tryb włącza argument {@code --tournament=4x4} lub właściwość {@code snake.tournament};
+ * skalę plansz ustala właściwość {@code snake.tournament.scale} (domyślnie {@value #DEFAULT_SCALE}).</p>
+ */
+public class TournamentPanel extends JPanel {
+
+    /** Wersja serializacji klasy. */
+    private static final long serialVersionUID = 1L;
+
+    /** Odstęp między klatkami panelu w milisekundach. */
+    private static final int REPAINT_MILLIS = 33;
+
+    /** Odstęp między próbkami statystyk plansz w milisekundach. */
+    private static final int SAMPLE_MILLIS = 1000;
+
+    /** Domyślna skala plansz względem pełnego rozmiaru. */
+    private static final double DEFAULT_SCALE = 0.25;
+
+    /** Wysokość wiersza opisu pod każdą planszą w pikselach (opis ma dwa wiersze). */
+    private static final int LABEL_LINE = 12;
+
+    /** Wysokość opisu pod każdą planszą w pikselach. */
+    private static final int LABEL_HEIGHT = 2 * LABEL_LINE + 4;
+
+    /** Wysokość paska podsumowania pod siatką w pikselach. */
+    private static final int FOOTER_HEIGHT = 28;
+
+    /** Czcionka opisów plansz. */
+    private static final Font LABEL_FONT = new Font("Arial", Font.PLAIN, 10);
+
+    /** Czcionka paska podsumowania. */
+    private static final Font FOOTER_FONT = new Font("Arial", Font.BOLD, 14);
+
+    /** Wyświetlany turniej. */
+    private final Tournament tournament;
+
+    /** Szerokość planszy w pełnym rozmiarze. */
+    private final int boardWidth;
+
+    /** Wysokość planszy (z paskiem wyniku) w pełnym rozmiarze. */
+    private final int boardHeight;
+
+    /** Skala rysowania plansz. */
+    private final double scale;
+
+    /** Szerokość planszy na ekranie. */
+    private final int tileWidth;
+
+    /** Wysokość planszy na ekranie (bez opisu). */
+    private final int tileHeight;
+
+    /** Pomiar czasu rysowania klatek panelu. */
+    private final FrameStats frameStats = new FrameStats(RenderMode.PASSIVE);
+
+    /** Zegar odświeżania panelu. */
+    private final Timer repaintTimer;
+
+    /** Zegar próbkowania statystyk plansz. */
+    private final Timer sampleTimer;
+
+    /**
+     * Tworzy panel turnieju o podanej siatce i uruchamia gry.
+     *
+     * @param grid rozmiar siatki, np. {@code 4x4}
+     * @throws IllegalArgumentException jeśli rozmiar siatki lub ustawienia turnieju są niepoprawne
+     */
+    public TournamentPanel(String grid) {
+        Pictures pictures = new Pictures();
+        this.tournament = Tournament.fromSpec(grid, pictures);
+        this.scale = Double.parseDouble(System.getProperty("snake.tournament.scale", String.valueOf(DEFAULT_SCALE)));
+        Board board = new Board();
+        pictures.enableScaledCache(board.getCellSize());
+        this.boardWidth = board.getCellCount() * board.getCellSize();
+        this.boardHeight = boardWidth + board.getScoreHeight();
+        this.tileWidth = (int) Math.round(boardWidth * scale);
+        this.tileHeight = (int) Math.round(boardHeight * scale);
+        setBackground(Color.DARK_GRAY);
+        setPreferredSize(new Dimension(tournament.getColumns() * tileWidth,
+                tournament.getRows() * (tileHeight + LABEL_HEIGHT) + FOOTER_HEIGHT));
+        repaintTimer = new Timer(REPAINT_MILLIS, e -> repaint());
+        sampleTimer = new Timer(SAMPLE_MILLIS, e -> tournament.sample());
+        tournament.start();
+        repaintTimer.start();
+        sampleTimer.start();
+    }
+
+    /**
+     * Zatrzymuje gry i odświeżanie panelu (np. przy zamykaniu okna).
+     */
+    public void stop() {
+        repaintTimer.stop();
+        sampleTimer.stop();
+        tournament.stop();
+    }
+
+    /**
+     * Rysuje wszystkie plansze w siatce (każdą z ostatniej opublikowanej klatki, w zmniejszonej skali),
+     * opisy plansz i pasek podsumowania.
+     *
+     * @param g kontekst graficzny
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        frameStats.beginFrame();
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        double cost = 0;
+        for (int row = 0; row < tournament.getRows(); row++) {
+            for (int col = 0; col < tournament.getColumns(); col++) {
+                Tournament.Match match = tournament.getMatch(row * tournament.getColumns() + col);
+                int x = col * tileWidth;
+                int y = row * (tileHeight + LABEL_HEIGHT);
+                drawMatch(g2, match, x, y);
+                cost += match.getTickMicros();
+            }
+        }
+        int matches = tournament.getRows() * tournament.getColumns();
+        String footer = String.format("%d boards / %d threads | %.0f ticks/s | avg tick %.1f µs | frame %.1f ms",
+                matches, tournament.getThreads(), tournament.getTotalTicksPerSecond(), cost / matches,
+                frameStats.getLastAverageMillis());
+        g2.setColor(Color.WHITE);
+        g2.setFont(FOOTER_FONT);
+        g2.drawString(footer, 8, getHeight() - 9);
+        frameStats.endFrame();
+    }
+
+    /**
+     * Rysuje jedną planszę z opisem: numer, ziarno bieżącej gry, koszt kroku, tempo, liczba gier i najlepszy wynik.
+     *
+     * @param g     kontekst graficzny
+     * @param match plansza turnieju
+     * @param x     lewa krawędź planszy na panelu
+     * @param y     górna krawędź planszy na panelu
+     */
+    private void drawMatch(Graphics2D g, Tournament.Match match, int x, int y) {
+        Game game = match.getGame();
+        if (game != null && game.getGameScreen() == GameScreen.GAME) {
+            Graphics2D tile = (Graphics2D) g.create(x, y, tileWidth, tileHeight);
+            try {
+                tile.scale(scale, scale);
+                game.draw(tile, boardWidth, boardHeight);
+            } finally {
+                tile.dispose();
+            }
+        }
+        String cost = String.format("#%d  %.1f µs/tick  %.0f ticks/s",
+                match.getIndex() + 1, match.getTickMicros(), match.getTicksPerSecond());
+        String games = String.format("seed %d  games %d  best %d", match.getSeed(), match.getGames(), match.getBestScore());
+        g.setColor(Color.WHITE);
+        g.setFont(LABEL_FONT);
+        g.drawString(cost, x + 4, y + tileHeight + LABEL_LINE);
+        g.drawString(games, x + 4, y + tileHeight + 2 * LABEL_LINE);
+    }
+}
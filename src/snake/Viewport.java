@@ -0,0 +1,134 @@
+package snake;
+
+import snake.core.Board;
+
+import java.awt.*;
+
+/**
+ * Klasa {@code Viewport} dopasowuje widok gry do rozmiaru okna. Gra rysuje w stałym układzie pikseli logicznych
+ * (plansza z paskiem wyniku, np. 676 × 776), a widok skaluje go jednakowo w obu osiach tak, aby zmieścił się
+ * w komponencie, i wyśrodkowuje go (pozostałe pasy mają kolor tła komponentu). Skala ekranu (HiDPI) jest już
+ * zawarta w przekształceniu kontekstu graficznego, więc plansza rysowana jest w rozdzielczości urządzenia.
+ *
+ * <p>Współrzędne myszy przeliczane są odwrotnie – do pikseli logicznych – więc menu, wyniki i pasek przewijania
+ * działają tak samo przy każdym rozmiarze okna.</p>
+ */
+final class Viewport {
+
+    /** Szerokość widoku gry w pikselach logicznych. */
+    private final int width;
+
+    /** Wysokość widoku gry w pikselach logicznych. */
+    private final int height;
+
+    /**
+     * Tworzy widok dla planszy (plansza z paskiem wyniku).
+     *
+     * @param board plansza gry
+     */
+    Viewport(Board board) {
+        this.width = board.getCellCount() * board.getCellSize();
+        this.height = width + board.getScoreHeight();
+    }
+
+    /**
+     * Zwraca szerokość widoku w pikselach logicznych.
+     *
+     * @return szerokość widoku
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * Zwraca wysokość widoku w pikselach logicznych.
+     *
+     * @return wysokość widoku
+     */
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Zwraca preferowany rozmiar komponentu (widok w skali 1).
+     *
+     * @return rozmiar widoku
+     */
+    Dimension getPreferredSize() {
+        return new Dimension(width, height);
+    }
+
+    /**
+     * Wyznacza skalę, w której widok mieści się w komponencie.
+     *
+     * @param componentWidth  szerokość komponentu
+     * @param componentHeight wysokość komponentu
+     * @return skala widoku
+     */
+    double scale(int componentWidth, int componentHeight) {
+        return Math.min(componentWidth / (double) width, componentHeight / (double) height);
+    }
+
+    /**
+     * Wyznacza przesunięcie widoku w poziomie (wyśrodkowanie, w całych pikselach).
+     *
+     * @param componentWidth  szerokość komponentu
+     * @param componentHeight wysokość komponentu
+     * @return lewa krawędź widoku w komponencie
+     */
+    private int offsetX(int componentWidth, int componentHeight) {
+        return (int) ((componentWidth - width * scale(componentWidth, componentHeight)) / 2);
+    }
+
+    /**
+     * Wyznacza przesunięcie widoku w pionie (wyśrodkowanie, w całych pikselach).
+     *
+     * @param componentWidth  szerokość komponentu
+     * @param componentHeight wysokość komponentu
+     * @return górna krawędź widoku w komponencie
+     */
+    private int offsetY(int componentWidth, int componentHeight) {
+        return (int) ((componentHeight - height * scale(componentWidth, componentHeight)) / 2);
+    }
+
+    /**
+     * Ustawia w kontekście graficznym przekształcenie z pikseli logicznych gry do komponentu.
+     *
+     * @param g               kontekst graficzny komponentu
+     * @param componentWidth  szerokość komponentu
+     * @param componentHeight wysokość komponentu
+     * @return {@code false}, jeśli komponent jest zbyt mały, by cokolwiek narysować
+     */
+    boolean apply(Graphics2D g, int componentWidth, int componentHeight) {
+        double scale = scale(componentWidth, componentHeight);
+        if (scale <= 0) return false;
+        g.translate(offsetX(componentWidth, componentHeight), offsetY(componentWidth, componentHeight));
+        g.scale(scale, scale);
+        g.clipRect(0, 0, width, height);
+        return true;
+    }
+
+    /**
+     * Przelicza współrzędną X komponentu na piksele logiczne gry.
+     *
+     * @param x               współrzędna X w komponencie
+     * @param componentWidth  szerokość komponentu
+     * @param componentHeight wysokość komponentu
+     * @return współrzędna X w pikselach logicznych
+     */
+    int toLogicalX(int x, int componentWidth, int componentHeight) {
+        return (int) Math.floor((x - offsetX(componentWidth, componentHeight)) / scale(componentWidth, componentHeight));
+    }
+
+    /**
+     * Przelicza współrzędną Y komponentu na piksele logiczne gry.
+     *
+     * @param y               współrzędna Y w komponencie
+     * @param componentWidth  szerokość komponentu
+     * @param componentHeight wysokość komponentu
+     * @return współrzędna Y w pikselach logicznych
+     */
+    int toLogicalY(int y, int componentWidth, int componentHeight) {
+        return (int) Math.floor((y - offsetY(componentWidth, componentHeight)) / scale(componentWidth, componentHeight));
+    }
+}
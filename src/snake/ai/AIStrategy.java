@@ -0,0 +1,33 @@
+package snake.ai;
+
+import snake.core.Game;
+import snake.core.Snake;
+import snake.enums.Direction;
+
+/**
+ * Interfejs {@code AIStrategy} opisuje sposób sterowania wężem przez komputer.
+ * Strategia jest pytana o kierunek raz na krok gry, przed ruchem węża.
+ * Instancje mogą mieć własny stan, dlatego każda gra (i każdy wąż) powinna mieć własną instancję.
+ * Strategia korzystająca z własnych wątków zwalnia je w {@link #close()}, które gra wywołuje
+ * na końcu rozgrywki i przy zamykaniu.
+ */
+public interface AIStrategy extends AutoCloseable {
+
+    /**
+     * Wybiera kierunek ruchu węża w bieżącym kroku gry.
+     *
+     * @param game stan gry (tylko do odczytu)
+     * @param self sterowany wąż
+     * @return nowy kierunek lub {@code null}, jeśli wąż ma zachować dotychczasowy
+     */
+    Direction decide(Game game, Snake self);
+
+    /**
+     * Zwalnia zasoby strategii (np. wątki symulacji). Wywoływana przez grę po zakończeniu rozgrywki
+     * i przy jej zamykaniu; jeśli gra rozpocznie się od nowa, strategia może utworzyć je ponownie
+     * przy następnej decyzji. Domyślnie nic nie robi.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,72 @@
+package snake.ai;
+
+import snake.core.Bitboard;
+import snake.core.Cell;
+import snake.core.Game;
+import snake.core.Occupancy;
+import snake.core.Snake;
+import snake.enums.Direction;
+
+/**
+ * Klasa {@code FloodFillStrategy} rozszerza logikę {@link GreedyStrategy} o ocenę przestrzeni:
+ * dla każdego bezpiecznego ruchu liczy wielkość obszaru osiągalnego z nowej pozycji głowy
+ * (wypełnienie na mapach bitowych {@link Occupancy}). Ruch w stronę celu wybierany jest tylko spośród tych,
+ * po których obszar mieści całego węża; gdy takiego nie ma, wąż wybiera ruch z największym obszarem,
+ * aby jak najdłużej odsunąć zamknięcie się w ślepym zaułku.
+ *
+ * <p>Plansze o boku większym niż {@value Bitboard#MAX_SIZE} są obsługiwane tak jak w {@link GreedyStrategy}.</p>
+ */
+public class FloodFillStrategy implements AIStrategy {
+
+    /** Kierunki rozważane przez AI (w kolejności preferencji przy remisie). */
+    private static final Direction[] DIRECTIONS = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+
+    /** Strategia używana, gdy plansza jest za duża na mapy bitowe. */
+    private final GreedyStrategy fallback = new GreedyStrategy();
+
+    /** Warstwy zajętości tej instancji strategii (tworzone przy pierwszej decyzji). */
+    private Occupancy occupancy;
+
+    /**
+     * Wybiera kierunek do najbliższego celu spośród ruchów, po których wąż ma dość miejsca.
+     *
+     * @param game stan gry
+     * @param self sterowany wąż
+     * @return wybrany kierunek lub {@code null}, jeśli brak bezpiecznego ruchu
+     */
+    @Override
+    public Direction decide(Game game, Snake self) {
+        if (game.getBoard().getCellCount() > Bitboard.MAX_SIZE) {
+            return fallback.decide(game, self);
+        }
+        if (occupancy == null) {
+            occupancy = new Occupancy(game.getBoard());
+        }
+        occupancy.update(game);
+
+        int head = self.getHead();
+        int target = GreedyStrategy.nearestTarget(game, head);
+        int needed = self.getBody().size();
+
+        Direction chosen = null;
+        int bestDist = Integer.MAX_VALUE;
+        Direction roomiest = null;
+        int bestRegion = 0;
+        for (Direction dir : DIRECTIONS) {
+            int cand = Cell.offset(head, dir.getDx(), dir.getDy());
+            if (!game.isFree(cand, self)) continue;
+            int region = occupancy.regionSize(cand, self);
+            if (region > bestRegion) {
+                bestRegion = region;
+                roomiest = dir;
+            }
+            if (region < needed) continue;
+            int d = target == Cell.NONE ? 0 : Cell.manhattan(target, cand);
+            if (d < bestDist) {
+                bestDist = d;
+                chosen = dir;
+            }
+        }
+        return chosen != null ? chosen : roomiest;
+    }
+}
@@ -0,0 +1,70 @@
+package snake.ai;
+
+import snake.core.Cell;
+import snake.core.Food;
+import snake.core.Game;
+import snake.core.Snake;
+import snake.enums.Direction;
+
+/**
+ * Klasa {@code GreedyStrategy} to prosta logika poruszania się węża w stronę najbliższego celu
+ * (owocu lub żaby), z omijaniem przeszkód i kolizji. Patrzy tylko jeden krok do przodu.
+ */
+public class GreedyStrategy implements AIStrategy {
+
+    /** Kierunki rozważane przez AI (w kolejności preferencji przy remisie). */
+    private static final Direction[] DIRECTIONS = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+
+    /**
+     * Wybiera bezpieczny kierunek minimalizujący odległość Manhattan do najbliższego celu.
+     *
+     * @param game stan gry
+     * @param self sterowany wąż
+     * @return wybrany kierunek lub {@code null}, jeśli brak celu albo bezpiecznego ruchu
+     */
+    @Override
+    public Direction decide(Game game, Snake self) {
+        int head = self.getHead();
+        int target = nearestTarget(game, head);
+        if (target == Cell.NONE) return null;
+
+        Direction chosen = null;
+        int bestDist = Integer.MAX_VALUE;
+        for (Direction dir : DIRECTIONS) {
+            int cand = Cell.offset(head, dir.getDx(), dir.getDy());
+            if (!game.isFree(cand, self)) continue;
+            int d = Cell.manhattan(target, cand);
+            if (d < bestDist) {
+                bestDist = d;
+                chosen = dir;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Wyszukuje najbliższy cel (owoc lub żabę) w metryce Manhattan.
+     *
+     * @param game stan gry
+     * @param head komórka głowy węża
+     * @return komórka celu lub {@link Cell#NONE}
+     */
+    static int nearestTarget(Game game, int head) {
+        Food food = game.getFood();
+        int target = Cell.NONE;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < food.getCount(); i++) {
+            int fruit = food.getPosition(i);
+            int dist = Cell.manhattan(fruit, head);
+            if (dist < best) {
+                best = dist;
+                target = fruit;
+            }
+        }
+        int frog = game.getFrog().getPosition();
+        if (frog != Cell.NONE && Cell.manhattan(frog, head) < best) {
+            target = frog;
+        }
+        return target;
+    }
+}
@@ -0,0 +1,211 @@
+package snake.ai;
+
+import snake.core.Cell;
+
+import java.util.Arrays;
+
+/**
+ * Klasa {@code HamiltonianCycle} to cykl przechodzący przez komórki planszy dokładnie raz, omijający przeszkody.
+ * Plansza dzielona jest na bloki 2x2; bloki bez przeszkód tworzą graf, z którego największej spójnej części
+ * budowane jest drzewo rozpinające. Cykl obchodzi to drzewo dookoła (przeciwnie do ruchu wskazówek zegara
+ * wewnątrz każdego bloku, przechodząc do sąsiedniego bloku wzdłuż krawędzi drzewa), więc obejmuje wszystkie
+ * cztery komórki każdego bloku drzewa.
+ *
+ * <p>Komórki bloków z przeszkodą (oraz ostatni wiersz i kolumna planszy o nieparzystym boku) nie należą do cyklu.
+ * Obiekt jest niezmienny, więc jeden cykl może być współdzielony przez wiele strategii i wątków.</p>
+ */
+final class HamiltonianCycle {
+
+    /** Krawędź drzewa do bloku po lewej. */
+    private static final int LEFT = 1;
+
+    /** Krawędź drzewa do bloku poniżej. */
+    private static final int DOWN = 2;
+
+    /** Krawędź drzewa do bloku po prawej. */
+    private static final int RIGHT = 4;
+
+    /** Krawędź drzewa do bloku powyżej. */
+    private static final int UP = 8;
+
+    /** Komórki w kolejności cyklu. */
+    private final int[] order;
+
+    /** Pozycja komórki w cyklu (indeks y * size + x) lub -1, jeśli komórka nie należy do cyklu. */
+    private final int[] index;
+
+    /** Liczba komórek w wierszu/kolumnie planszy. */
+    private final int size;
+
+    /**
+     * Tworzy cykl z gotowej kolejności komórek.
+     *
+     * @param size  bok planszy
+     * @param order komórki w kolejności cyklu
+     */
+    private HamiltonianCycle(int size, int[] order) {
+        this.size = size;
+        this.order = order;
+        this.index = new int[size * size];
+        Arrays.fill(index, -1);
+        for (int i = 0; i < order.length; i++) {
+            index[Cell.y(order[i]) * size + Cell.x(order[i])] = i;
+        }
+    }
+
+    /**
+     * Buduje cykl dla planszy z przeszkodami.
+     *
+     * @param size      bok planszy
+     * @param obstacles komórki przeszkód
+     * @param count     liczba przeszkód
+     * @return cykl lub {@code null}, jeśli żadne dwa wolne bloki 2x2 nie sąsiadują
+     */
+    static HamiltonianCycle build(int size, int[] obstacles, int count) {
+        int blocks = size / 2;
+        if (blocks < 1) return null;
+        boolean[] free = new boolean[blocks * blocks];
+        Arrays.fill(free, true);
+        for (int i = 0; i < count; i++) {
+            int bx = Cell.x(obstacles[i]) / 2;
+            int by = Cell.y(obstacles[i]) / 2;
+            if (Cell.inside(obstacles[i], size) && bx < blocks && by < blocks) {
+                free[by * blocks + bx] = false;
+            }
+        }
+
+        // największa spójna część wolnych bloków, drzewo rozpinające przeszukiwaniem wszerz
+        int[] parent = new int[blocks * blocks];
+        int[] component = new int[blocks * blocks];
+        int[] queue = new int[blocks * blocks];
+        Arrays.fill(component, -1);
+        int bestRoot = -1, bestSize = 0;
+        for (int b = 0; b < free.length; b++) {
+            if (!free[b] || component[b] >= 0) continue;
+            int tail = bfs(b, blocks, free, component, parent, queue);
+            if (tail > bestSize) {
+                bestSize = tail;
+                bestRoot = b;
+            }
+        }
+        if (bestSize < 2) return null;
+
+        // krawędzie drzewa: bity LEFT, DOWN, RIGHT, UP dla każdego bloku
+        int[] edges = new int[blocks * blocks];
+        for (int b = 0; b < free.length; b++) {
+            if (component[b] != bestRoot || parent[b] == b) continue;
+            link(edges, b, parent[b], blocks);
+        }
+
+        int[] order = new int[bestSize * 4];
+        int rx = bestRoot % blocks * 2, ry = bestRoot / blocks * 2;
+        int x = rx, y = ry;
+        for (int i = 0; i < order.length; i++) {
+            order[i] = Cell.of(x, y);
+            int e = edges[(y / 2) * blocks + x / 2];
+            int lx = x & 1, ly = y & 1;
+            if (lx == 0 && ly == 0) {
+                if ((e & LEFT) != 0) x--; else y++;
+            } else if (lx == 0) {
+                if ((e & DOWN) != 0) y++; else x++;
+            } else if (ly == 1) {
+                if ((e & RIGHT) != 0) x++; else y--;
+            } else {
+                if ((e & UP) != 0) y--; else x--;
+            }
+        }
+        if (x != rx || y != ry) {
+            throw new IllegalStateException("Obejście drzewa bloków nie zamknęło cyklu");
+        }
+        return new HamiltonianCycle(size, order);
+    }
+
+    /**
+     * Przeszukuje wszerz spójną część wolnych bloków, oznaczając ją numerem bloku startowego
+     * i zapisując rodzica każdego bloku w drzewie przeszukiwania.
+     *
+     * @param root      blok startowy
+     * @param blocks    liczba bloków w wierszu
+     * @param free      wolne bloki
+     * @param component numer części (blok startowy) dla każdego bloku
+     * @param parent    rodzic bloku w drzewie (blok startowy jest swoim rodzicem)
+     * @param queue     kolejka robocza
+     * @return liczba bloków w części
+     */
+    private static int bfs(int root, int blocks, boolean[] free, int[] component, int[] parent, int[] queue) {
+        int tail = 0;
+        queue[tail++] = root;
+        component[root] = root;
+        parent[root] = root;
+        for (int head = 0; head < tail; head++) {
+            int b = queue[head];
+            int bx = b % blocks, by = b / blocks;
+            int[] neighbours = {
+                    bx > 0 ? b - 1 : -1, by < blocks - 1 ? b + blocks : -1,
+                    bx < blocks - 1 ? b + 1 : -1, by > 0 ? b - blocks : -1};
+            for (int n : neighbours) {
+                if (n < 0 || !free[n] || component[n] >= 0) continue;
+                component[n] = root;
+                parent[n] = b;
+                queue[tail++] = n;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Zapisuje krawędź drzewa między sąsiednimi blokami w obu blokach.
+     *
+     * @param edges  bity krawędzi bloków
+     * @param a      pierwszy blok
+     * @param b      drugi blok
+     * @param blocks liczba bloków w wierszu
+     */
+    private static void link(int[] edges, int a, int b, int blocks) {
+        if (b == a - 1) { edges[a] |= LEFT; edges[b] |= RIGHT; }
+        else if (b == a + 1) { edges[a] |= RIGHT; edges[b] |= LEFT; }
+        else if (b == a + blocks) { edges[a] |= DOWN; edges[b] |= UP; }
+        else { edges[a] |= UP; edges[b] |= DOWN; }
+    }
+
+    /**
+     * Zwraca długość cyklu.
+     *
+     * @return liczba komórek cyklu
+     */
+    int length() {
+        return order.length;
+    }
+
+    /**
+     * Zwraca pozycję komórki w cyklu.
+     *
+     * @param cell upakowana komórka
+     * @return pozycja 0..{@link #length()}-1 albo -1, jeśli komórka nie należy do cyklu lub leży poza planszą
+     */
+    int indexOf(int cell) {
+        return Cell.inside(cell, size) ? index[Cell.y(cell) * size + Cell.x(cell)] : -1;
+    }
+
+    /**
+     * Zwraca komórkę na pozycji cyklu.
+     *
+     * @param position pozycja (dowolna liczba nieujemna, liczona modulo długość)
+     * @return upakowana komórka
+     */
+    int cellAt(int position) {
+        return order[position % order.length];
+    }
+
+    /**
+     * Zwraca odległość wzdłuż cyklu (w kierunku ruchu) między pozycjami.
+     *
+     * @param from pozycja początkowa
+     * @param to   pozycja końcowa
+     * @return liczba kroków 0..{@link #length()}-1
+     */
+    int distance(int from, int to) {
+        int d = to - from;
+        return d < 0 ? d + order.length : d;
+    }
+}
@@ -0,0 +1,121 @@
+package snake.ai;
+
+import snake.core.Obstacle;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Klasa {@code HamiltonianCycles} to wspólna pamięć podręczna cykli {@link HamiltonianCycle}, kluczowana
+ * rozmiarem planszy i haszem rozmieszczenia przeszkód ({@link Obstacle#getHash()}). Cykl dla nowego
+ * rozmieszczenia liczony jest w osobnym wątku tła, więc ani krok gry, ani zmiana przeszkód na niego nie czekają;
+ * do czasu jego wyliczenia {@link #get(int, Obstacle)} zwraca {@code null}. Gry odtwarzane z ziarna
+ * korzystają z {@link #await(int, Obstacle)}, które czeka na wyliczenie cyklu.
+ *
+ * <p>Wszystkie gry i strategie korzystają z tej samej pamięci, więc powtarzające się rozmieszczenia
+ * (np. te same ziarna w testach) liczone są raz.</p>
+ */
+final class HamiltonianCycles {
+
+    /** Największa liczba zapamiętanych cykli (po przekroczeniu pamięć jest czyszczona). */
+    private static final int MAX_ENTRIES = 64;
+
+    /** Cykle (lub trwające obliczenia) według klucza rozmieszczenia. */
+    private static final Map<Long, CompletableFuture<HamiltonianCycle>> CACHE = new ConcurrentHashMap<>();
+
+    /** Wątek tła liczący cykle. */
+    private static final Executor BUILDER = Executors.newSingleThreadExecutor(task -> {
+        Thread t = new Thread(task, "snake-cycle");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private HamiltonianCycles() {
+    }
+
+    /**
+     * Zleca wyliczenie cyklu dla bieżącego rozmieszczenia przeszkód, jeśli nie ma go w pamięci.
+     * Komórki przeszkód są kopiowane w wątku wywołującym, a cykl liczony w tle.
+     *
+     * @param size     bok planszy
+     * @param obstacle przeszkody
+     * @return obliczenie cyklu (zakończone wartością {@code null}, jeśli cykl nie istnieje)
+     */
+    static CompletableFuture<HamiltonianCycle> request(int size, Obstacle obstacle) {
+        long key = key(size, obstacle);
+        CompletableFuture<HamiltonianCycle> cached = CACHE.get(key);
+        if (cached != null) return cached;
+        int count = obstacle.getCount();
+        int[] cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = obstacle.getCell(i);
+        }
+        if (CACHE.size() >= MAX_ENTRIES) {
+            CACHE.clear();
+        }
+        return CACHE.computeIfAbsent(key, k ->
+                CompletableFuture.supplyAsync(() -> HamiltonianCycle.build(size, cells, count), BUILDER));
+    }
+
+    /**
+     * Zwraca gotowy cykl dla bieżącego rozmieszczenia przeszkód, a jeśli go nie ma – zleca obliczenie.
+     *
+     * @param size     bok planszy
+     * @param obstacle przeszkody
+     * @return cykl albo {@code null}, jeśli jeszcze się liczy lub nie istnieje
+     */
+    static HamiltonianCycle get(int size, Obstacle obstacle) {
+        return request(size, obstacle).getNow(null);
+    }
+
+    /**
+     * Zwraca cykl dla bieżącego rozmieszczenia przeszkód, a jeśli go nie ma – liczy go w wątku wywołującym
+     * (albo czeka na trwające już obliczenie). Wynik nie zależy od tempa wątku tła ani od tego, czy
+     * inna gra policzyła już ten cykl, więc nadaje się do gier odtwarzanych z ziarna.
+     *
+     * @param size     bok planszy
+     * @param obstacle przeszkody
+     * @return cykl albo {@code null}, jeśli nie istnieje
+     */
+    static HamiltonianCycle await(int size, Obstacle obstacle) {
+        long key = key(size, obstacle);
+        CompletableFuture<HamiltonianCycle> cached = CACHE.get(key);
+        if (cached == null) {
+            if (CACHE.size() >= MAX_ENTRIES) {
+                CACHE.clear();
+            }
+            CompletableFuture<HamiltonianCycle> own = new CompletableFuture<>();
+            cached = CACHE.putIfAbsent(key, own);
+            if (cached == null) {
+                int count = obstacle.getCount();
+                int[] cells = new int[count];
+                for (int i = 0; i < count; i++) {
+                    cells[i] = obstacle.getCell(i);
+                }
+                try {
+                    own.complete(HamiltonianCycle.build(size, cells, count));
+                } catch (RuntimeException e) {
+                    own.completeExceptionally(e);
+                    CACHE.remove(key, own);
+                    throw e;
+                }
+                return own.join();
+            }
+        }
+        return cached.join();
+    }
+
+    /**
+     * Wyznacza klucz rozmieszczenia.
+     *
+     * @param size     bok planszy
+     * @param obstacle przeszkody
+     * @return klucz pamięci podręcznej
+     */
+    static long key(int size, Obstacle obstacle) {
+        return obstacle.getHash() * 31 + size;
+    }
+}
@@ -0,0 +1,170 @@
+package snake.ai;
+
+import snake.core.Cell;
+import snake.core.Game;
+import snake.core.Obstacle;
+import snake.core.Snake;
+import snake.core.SnakeBody;
+import snake.enums.Direction;
+
+/**
+ * Klasa {@code HamiltonianStrategy} prowadzi węża po cyklu Hamiltona ({@link HamiltonianCycle}) – trasie
+ * przechodzącej przez każdą wolną komórkę planszy, więc wąż poruszający się po niej nigdy nie wjeżdża
+ * we własny ogon. Aby nie objeżdżać całej planszy po każdy owoc, wąż skraca drogę: wybiera sąsiednią komórkę
+ * cyklu bliższą celowi, o ile skok nie przekracza końca jego ogona i zostawia zapas na wzrost po zjedzeniu.
+ *
+ * <p>Cykl zależy tylko od rozmiaru planszy i rozmieszczenia przeszkód, więc liczony jest raz na rozmieszczenie
+ * ({@link HamiltonianCycles}). W oknie gry liczony jest w wątku tła, zlecany już w chwili zmiany przeszkód,
+ * a zanim będzie gotowy, ruch wybiera {@link FloodFillStrategy} – wtedy jednak przebieg gry zależy od tempa
+ * wątku tła. Dlatego domyślnie (np. w symulacji, eksporcie klatek i turnieju) pierwsza decyzja po zmianie
+ * przeszkód czeka na cykl, a gra o danym ziarnie przebiega zawsze tak samo. Gdy wąż jest poza cyklem
+ * lub następną komórkę cyklu zajmuje inny wąż, ruch również wybiera {@link FloodFillStrategy}.</p>
+ */
+public class HamiltonianStrategy implements AIStrategy {
+
+    /** Kierunki rozważane przy skrótach. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Zapas komórek cyklu między nową głową a końcem ogona, zostawiany przy skrótach (wzrost po zjedzeniu). */
+    private static final int SHORTCUT_MARGIN = 4;
+
+    /** Strategia używana poza cyklem. */
+    private final FloodFillStrategy fallback = new FloodFillStrategy();
+
+    /** Czy cykl jest liczony w tle (ruchy zależą wtedy od tempa wątku tła). */
+    private final boolean background;
+
+    /** Akcja zlecająca wyliczenie cyklu po zmianie przeszkód. */
+    private Runnable prefetch;
+
+    /** Ostatnio użyty cykl ({@code null} – żaden). */
+    private HamiltonianCycle cycle;
+
+    /** Klucz rozmieszczenia przeszkód, dla którego wyznaczono {@link #cycle}. */
+    private long cycleKey;
+
+    /** Przeszkody, których zmiany są obserwowane. */
+    private Obstacle observed;
+
+    /**
+     * Tworzy strategię odtwarzalną z ziarna: cykl liczony jest, zanim wąż wykona pierwszy ruch po zmianie przeszkód.
+     */
+    public HamiltonianStrategy() {
+        this(false);
+    }
+
+    /**
+     * Tworzy strategię.
+     *
+     * @param background {@code true} – cykl liczony w tle, a do tego czasu ruch wybiera {@link FloodFillStrategy}
+     *                   (krok gry nie czeka, ale przebieg gry zależy od tempa wątku tła)
+     */
+    public HamiltonianStrategy(boolean background) {
+        this.background = background;
+    }
+
+    /**
+     * Wybiera kolejną komórkę cyklu albo bezpieczny skrót w stronę najbliższego celu.
+     *
+     * @param game stan gry
+     * @param self sterowany wąż
+     * @return wybrany kierunek lub {@code null}, jeśli brak bezpiecznego ruchu
+     */
+    @Override
+    public Direction decide(Game game, Snake self) {
+        int size = game.getBoard().getCellCount();
+        Obstacle obstacle = game.getObstacle();
+        long key = HamiltonianCycles.key(size, obstacle);
+        if (cycle == null || key != cycleKey) {
+            // przeszkody zmieniają się rzadko – w pozostałych krokach cykl nie jest szukany w pamięci podręcznej
+            if (background) {
+                observe(size, obstacle);
+                cycle = HamiltonianCycles.get(size, obstacle);
+            } else {
+                cycle = HamiltonianCycles.await(size, obstacle);
+            }
+            cycleKey = key;
+        }
+        HamiltonianCycle cycle = this.cycle;
+        if (cycle == null) return fallback.decide(game, self);
+
+        int head = self.getHead();
+        int h = cycle.indexOf(head);
+        if (h < 0) return fallback.decide(game, self);
+
+        int chosen = cycle.cellAt(h + 1);
+        int target = GreedyStrategy.nearestTarget(game, head);
+        int goal = target == Cell.NONE ? -1 : cycle.indexOf(target);
+        int tail = aligned(cycle, self.getBody(), h);
+        if (goal >= 0 && tail >= 0) {
+            int room = tail == h ? cycle.length() : cycle.distance(h, tail);
+            int best = cycle.distance(h + 1 == cycle.length() ? 0 : h + 1, goal);
+            for (Direction dir : DIRECTIONS) {
+                int cand = Cell.offset(head, dir.getDx(), dir.getDy());
+                int c = cycle.indexOf(cand);
+                if (c < 0 || !game.isFree(cand, self)) continue;
+                int jump = cycle.distance(h, c);
+                if (jump == 0 || jump + SHORTCUT_MARGIN >= room) continue;
+                int d = cycle.distance(c, goal);
+                if (d < best) {
+                    best = d;
+                    chosen = cand;
+                }
+            }
+        }
+        if (!game.isFree(chosen, self)) return fallback.decide(game, self);
+        return toward(head, chosen);
+    }
+
+    /**
+     * Zaczyna obserwować przeszkody gry: każda ich zmiana od razu zleca wyliczenie cyklu w tle.
+     *
+     * @param size     bok planszy
+     * @param obstacle przeszkody gry
+     */
+    private void observe(int size, Obstacle obstacle) {
+        if (obstacle == observed) return;
+        if (observed != null) {
+            observed.removeChangeListener(prefetch);
+        }
+        observed = obstacle;
+        prefetch = () -> HamiltonianCycles.request(size, obstacle);
+        obstacle.addChangeListener(prefetch);
+    }
+
+    /**
+     * Sprawdza, czy ciało węża leży na cyklu w jednym ciągłym odcinku za głową (tak jak po jeździe po cyklu)
+     * – tylko wtedy skróty są bezpieczne.
+     *
+     * @param cycle cykl
+     * @param body  ciało węża
+     * @param head  pozycja głowy w cyklu
+     * @return pozycja końca ogona w cyklu albo -1, jeśli ciało nie leży na cyklu za głową
+     */
+    private static int aligned(HamiltonianCycle cycle, SnakeBody body, int head) {
+        int tail = cycle.indexOf(body.getLast());
+        if (tail < 0) return -1;
+        int span = cycle.distance(tail, head);
+        for (int i = 1; i < body.size(); i++) {
+            int p = cycle.indexOf(body.get(i));
+            if (p < 0 || cycle.distance(tail, p) > span) return -1;
+        }
+        return tail;
+    }
+
+    /**
+     * Zwraca kierunek z komórki do sąsiedniej komórki.
+     *
+     * @param from komórka początkowa
+     * @param to   sąsiednia komórka
+     * @return kierunek ruchu
+     */
+    private static Direction toward(int from, int to) {
+        int dx = Cell.x(to) - Cell.x(from);
+        int dy = Cell.y(to) - Cell.y(from);
+        for (Direction dir : DIRECTIONS) {
+            if (dir.getDx() == dx && dir.getDy() == dy) return dir;
+        }
+        throw new IllegalArgumentException("Komórki nie sąsiadują");
+    }
+}
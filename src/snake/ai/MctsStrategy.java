@@ -0,0 +1,344 @@
+package snake.ai;
+
+import snake.core.Game;
+import snake.core.GameExecutor;
+import snake.core.Snake;
+import snake.enums.Direction;
+import snake.enums.ExecutionBackend;
+import snake.enums.GameLevel;
+import snake.enums.SnakeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Klasa {@code MctsStrategy} wybiera ruch przeszukiwaniem drzewa Monte Carlo (MCTS, wybór gałęzi wzorem UCT).
+ * Każda symulacja kopiuje stan gry do taniego modelu ({@link RolloutState}), schodzi po drzewie ruchów
+ * sterowanego węża, a potem rozgrywa kilkadziesiąt kroków polityką „w stronę jedzenia, czasem losowo”;
+ * pozostałe węże w symulacji jadą tą samą polityką. Wynik premiuje przeżycie i wzrost węża.
+ *
+ * <p>Symulacje wykonuje kilka wątków naraz na wspólnym drzewie ({@link NodePool}) – statystyki węzłów
+ * aktualizowane są bez blokad. Przeszukiwanie kończy się po wyczerpaniu budżetu symulacji zależnego od poziomu
+ * trudności ({@link #rolloutsForLevel(GameLevel)}) albo budżetu czasu na ruch, zależnie od tego, co nastąpi
+ * pierwsze. Pula węzłów i modele stanu są alokowane raz i używane ponownie w każdym kroku gry.</p>
+ *
+ * <p>Tak skonfigurowane przeszukiwanie zależy od czasu i kolejności wątków, więc nie daje się odtworzyć z ziarna.
+ * Gry bez interfejsu (symulacja, eksport klatek, turniej) używają wariantu {@link #seeded(long)}: jeden wątek
+ * i sam budżet symulacji, dzięki czemu gra o danym ziarnie przebiega zawsze tak samo.</p>
+ */
+public class MctsStrategy implements AIStrategy {
+
+    /** Domyślny budżet czasu na ruch w milisekundach (krok gry trwa 100 ms). */
+    public static final long DEFAULT_BUDGET_MILLIS = 30;
+
+    /** Liczba kroków symulacji liczona od korzenia (zejście po drzewie i dalsza rozgrywka). */
+    private static final int HORIZON = 30;
+
+    /** Zdyskontowany wzrost, przy którym premia za jedzenie osiąga maksimum. */
+    private static final double GROWTH_CAP = 2;
+
+    /** Dyskonto wzrostu za każdy krok symulacji (jedzenie zdobyte wcześniej jest więcej warte). */
+    private static final double DISCOUNT = 0.9;
+
+    /** Stała eksploracji UCT (wartości symulacji mieszczą się w 0..1). */
+    private static final double EXPLORATION = 0.7;
+
+    /** Kierunki w kolejności numerów porządkowych (indeks dziecka węzła to numer kierunku). */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Strategia używana, zanim gra się rozpocznie lub gdy drzewo nie powstało. */
+    private final GreedyStrategy fallback = new GreedyStrategy();
+
+    /** Liczba wątków symulacji. */
+    private final int threads;
+
+    /** Budżet czasu na ruch w nanosekundach (0 – bez ograniczenia czasu). */
+    private final long budgetNanos;
+
+    /** Ziarno generatorów losowych wątków symulacji. */
+    private final long seed;
+
+    /** Wątki symulacji (uruchamiane przy pierwszej decyzji rozgrywki, zwalniane w {@link #close()}). */
+    private final GameExecutor executor;
+
+    /** Zadania wątków symulacji (tworzone raz, razem z modelami stanu). */
+    private final List<Callable<Void>> workers = new ArrayList<>();
+
+    /** Licznik rozpoczętych symulacji w bieżącym ruchu. */
+    private final AtomicInteger rollouts = new AtomicInteger();
+
+    /** Stan gry w chwili decyzji (korzeń drzewa). */
+    private RolloutState root;
+
+    /** Drzewo przeszukiwania. */
+    private NodePool pool;
+
+    /** Rozmiar planszy, dla którego przygotowano modele stanu. */
+    private int boardSize;
+
+    /** Budżet symulacji bieżącego ruchu. */
+    private int budget;
+
+    /** Chwila, po której wątki przestają zaczynać nowe symulacje ({@link System#nanoTime()}). */
+    private long deadline;
+
+    /** Numer sterowanego węża w modelu. */
+    private int self;
+
+    /**
+     * Tworzy strategię z domyślnym budżetem czasu i wątkiem na każdy rdzeń.
+     *
+     * @param seed ziarno generatorów losowych
+     */
+    public MctsStrategy(long seed) {
+        this(seed, Runtime.getRuntime().availableProcessors(), DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Tworzy strategię.
+     *
+     * @param seed         ziarno generatorów losowych
+     * @param threads      liczba wątków symulacji
+     * @param budgetMillis budżet czasu na ruch w milisekundach (0 – bez ograniczenia czasu)
+     */
+    public MctsStrategy(long seed, int threads, long budgetMillis) {
+        this.seed = seed;
+        this.threads = Math.max(1, threads);
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.executor = this.threads > 1
+                ? new GameExecutor(ExecutionBackend.PLATFORM, "mcts", this.threads)
+                : GameExecutor.inline();
+    }
+
+    /**
+     * Tworzy strategię odtwarzalną z ziarna: symulacje w wątku decyzji, bez budżetu czasu
+     * (przeszukiwanie kończy się po {@link #rolloutsForLevel(GameLevel)} symulacjach).
+     *
+     * @param seed ziarno generatora losowego
+     * @return nowa strategia
+     */
+    public static MctsStrategy seeded(long seed) {
+        return new MctsStrategy(seed, 1, 0);
+    }
+
+    /**
+     * Zwraca budżet symulacji na ruch dla poziomu trudności.
+     *
+     * @param level poziom trudności
+     * @return największa liczba symulacji na ruch
+     */
+    public static int rolloutsForLevel(GameLevel level) {
+        return switch (level) {
+            case EASY -> 250;
+            case MEDIUM -> 1000;
+            case HARD -> 4000;
+        };
+    }
+
+    /**
+     * Przeszukuje drzewo ruchów i wybiera kierunek najczęściej odwiedzanego dziecka korzenia.
+     *
+     * @param game stan gry
+     * @param self sterowany wąż
+     * @return wybrany kierunek lub {@code null}, jeśli wąż ma zachować dotychczasowy
+     */
+    @Override
+    public Direction decide(Game game, Snake self) {
+        if (!game.getSnake(SnakeType.PLAYER).isGameRunning()) {
+            return fallback.decide(game, self);
+        }
+        prepare(game.getBoard().getCellCount(), rolloutsForLevel(game.getGameLevel()));
+        root.load(game);
+        pool.reset();
+        rollouts.set(0);
+        this.self = self.getType().ordinal();
+        deadline = System.nanoTime() + budgetNanos;
+        executor.start();
+        executor.invokeAll(workers);
+
+        int base = pool.children(NodePool.ROOT);
+        if (base < 0) return fallback.decide(game, self);
+        int reverse = root.getDirection(this.self) ^ 1;
+        int best = -1;
+        for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+            if (dir == reverse) continue;
+            if (best < 0 || pool.visits(base + dir) > pool.visits(base + best)
+                    || pool.visits(base + dir) == pool.visits(base + best) && pool.mean(base + dir) > pool.mean(base + best)) {
+                best = dir;
+            }
+        }
+        return DIRECTIONS[best];
+    }
+
+    /**
+     * Zatrzymuje wątki symulacji (kolejna decyzja uruchomi je ponownie).
+     */
+    @Override
+    public void close() {
+        executor.stop();
+    }
+
+    /**
+     * Zwraca liczbę węzłów drzewa z ostatniego ruchu (do statystyk).
+     *
+     * @return liczba węzłów
+     */
+    public int getTreeSize() {
+        return pool == null ? 0 : pool.size();
+    }
+
+    /**
+     * Zwraca liczbę symulacji wykonanych w ostatnim ruchu (do statystyk).
+     *
+     * @return liczba symulacji
+     */
+    public int getRollouts() {
+        return Math.min(rollouts.get(), budget);
+    }
+
+    /**
+     * Przygotowuje modele stanu i pulę węzłów dla planszy i budżetu. Alokuje tylko przy zmianie rozmiaru planszy
+     * lub gdy pula jest za mała na budżet (każda symulacja rozwija co najwyżej jeden węzeł).
+     *
+     * @param size   bok planszy
+     * @param budget budżet symulacji na ruch
+     */
+    private void prepare(int size, int budget) {
+        this.budget = budget;
+        if (size != boardSize) {
+            boardSize = size;
+            root = new RolloutState(size);
+            workers.clear();
+            for (int i = 0; i < threads; i++) {
+                workers.add(new Worker(new RolloutState(size), new SplittableRandom(seed * 31 + i)));
+            }
+        }
+        int capacity = budget * NodePool.BRANCHING + 1;
+        if (pool == null || pool.capacity() < capacity) {
+            pool = new NodePool(capacity);
+        }
+    }
+
+    /**
+     * Klasa {@code Worker} to zadanie jednego wątku symulacji: wykonuje symulacje, dopóki nie wyczerpie się
+     * wspólny budżet symulacji lub czasu. Ma własny model stanu, generator losowy i ścieżkę w drzewie.
+     */
+    private final class Worker implements Callable<Void> {
+
+        /** Model stanu symulacji. */
+        private final RolloutState state;
+
+        /** Generator losowy symulacji. */
+        private final SplittableRandom random;
+
+        /** Węzły odwiedzone w bieżącej symulacji. */
+        private final int[] path = new int[HORIZON + 1];
+
+        /**
+         * Tworzy zadanie wątku symulacji.
+         *
+         * @param state  model stanu
+         * @param random generator losowy
+         */
+        Worker(RolloutState state, SplittableRandom random) {
+            this.state = state;
+            this.random = random;
+        }
+
+        @Override
+        public Void call() {
+            while (rollouts.getAndIncrement() < budget && (budgetNanos == 0 || System.nanoTime() < deadline)) {
+                simulate();
+            }
+            return null;
+        }
+
+        /**
+         * Wykonuje jedną symulację: zejście po drzewie z rozwinięciem jednego węzła, rozgrywkę do horyzontu
+         * i dopisanie wyniku do wszystkich węzłów ścieżki.
+         */
+        private void simulate() {
+            state.copyFrom(root);
+            int depth = 0;
+            int node = NodePool.ROOT;
+            pool.visit(node);
+            path[depth++] = node;
+            int steps = 0;
+            double growth = 0;
+            double weight = 1;
+            while (state.isAlive(self) && steps < HORIZON) {
+                int base = pool.children(node);
+                if (base == NodePool.UNEXPANDED) {
+                    base = pool.expand(node);
+                }
+                if (base < 0) break;
+                int child = base + select(node, base);
+                pool.visit(child);
+                path[depth++] = child;
+                int eaten = state.getEaten(self);
+                state.step(self, child - base, random);
+                growth += (state.getEaten(self) - eaten) * weight;
+                weight *= DISCOUNT;
+                steps++;
+                node = child;
+                if (pool.visits(child) == 1) break;
+            }
+            while (state.isAlive(self) && steps < HORIZON) {
+                int eaten = state.getEaten(self);
+                state.step(self, state.policy(self, random), random);
+                growth += (state.getEaten(self) - eaten) * weight;
+                weight *= DISCOUNT;
+                steps++;
+            }
+            long value = value(steps, growth);
+            for (int i = 0; i < depth; i++) {
+                pool.addValue(path[i], value);
+            }
+        }
+
+        /**
+         * Wybiera dziecko węzła: najpierw nieodwiedzone (od losowego kierunku), potem o największej wartości UCT.
+         * Kierunek przeciwny do bieżącego jest pomijany.
+         *
+         * @param node węzeł
+         * @param base indeks pierwszego dziecka
+         * @return numer porządkowy wybranego kierunku
+         */
+        private int select(int node, int base) {
+            int reverse = state.getDirection(self) ^ 1;
+            double logParent = Math.log(Math.max(1, pool.visits(node)));
+            int start = random.nextInt(DIRECTIONS.length);
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < DIRECTIONS.length; k++) {
+                int dir = (start + k) % DIRECTIONS.length;
+                if (dir == reverse) continue;
+                int n = pool.visits(base + dir);
+                if (n == 0) return dir;
+                double score = pool.mean(base + dir) + EXPLORATION * Math.sqrt(logParent / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = dir;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Ocenia wynik symulacji: przeżycie do horyzontu daje co najmniej 0.5, a śmierć – najwyżej 0.3,
+         * tym mniej, im wcześniej nastąpiła; do obu dochodzi premia za zdyskontowany wzrost.
+         *
+         * @param steps  liczba wykonanych kroków
+         * @param growth wzrost węża ważony dyskontem kroku, w którym nastąpił
+         * @return wartość w skali {@link NodePool#SCALE}
+         */
+        private long value(int steps, double growth) {
+            double v = state.isAlive(self) ? 0.5 : 0.3 * steps / HORIZON;
+            v += 0.5 * Math.min(growth, GROWTH_CAP) / GROWTH_CAP;
+            return Math.round(Math.min(v, 1.0) * NodePool.SCALE);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package snake.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Klasa {@code NodePool} przechowuje drzewo przeszukiwania {@link MctsStrategy} w tablicach atomowych
+ * zamiast w obiektach węzłów. Węzeł to indeks, a jego dzieci (po jednym na kierunek) zajmują kolejne
+ * indeksy przydzielane jednym {@link AtomicInteger#getAndAdd(int)}. Liczba odwiedzin i suma wartości
+ * aktualizowane są bez blokad, więc wiele wątków symulacji może jednocześnie schodzić w dół i wracać
+ * z wynikami po tym samym drzewie.
+ *
+ * <p>Pula jest alokowana raz i używana ponownie w kolejnych krokach gry ({@link #reset()}): nowe dzieci
+ * są zerowane przy przydziale, więc wyczyszczenia wymaga tylko korzeń, a ruch nie tworzy śmieci dla GC.</p>
+ */
+final class NodePool {
+
+    /** Liczba dzieci węzła (po jednym na kierunek). */
+    static final int BRANCHING = 4;
+
+    /** Wartość pola dzieci: węzeł nie został jeszcze rozwinięty. */
+    static final int UNEXPANDED = -1;
+
+    /** Wartość pola dzieci: inny wątek właśnie rozwija węzeł. */
+    static final int EXPANDING = -2;
+
+    /** Wartość pola dzieci: pula jest pełna, węzeł pozostaje liściem. */
+    static final int FULL = -3;
+
+    /** Skala zapisu wartości w liczbach całkowitych (wartość 1.0 to {@value}). */
+    static final long SCALE = 1_000_000L;
+
+    /** Indeks korzenia. */
+    static final int ROOT = 0;
+
+    /** Liczba odwiedzin węzła (łącznie z trwającymi symulacjami – „wirtualna strata”). */
+    private final AtomicIntegerArray visits;
+
+    /** Suma wartości symulacji węzła w skali {@link #SCALE}. */
+    private final AtomicLongArray values;
+
+    /** Indeks pierwszego dziecka albo {@link #UNEXPANDED}, {@link #EXPANDING}, {@link #FULL}. */
+    private final AtomicIntegerArray children;
+
+    /** Pierwszy wolny indeks puli. */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Tworzy pulę o podanej pojemności.
+     *
+     * @param capacity największa liczba węzłów
+     */
+    NodePool(int capacity) {
+        this.visits = new AtomicIntegerArray(capacity);
+        this.values = new AtomicLongArray(capacity);
+        this.children = new AtomicIntegerArray(capacity);
+        reset();
+    }
+
+    /**
+     * Zwraca pojemność puli.
+     *
+     * @return największa liczba węzłów
+     */
+    int capacity() {
+        return visits.length();
+    }
+
+    /**
+     * Oddaje wszystkie węzły do puli i tworzy pusty korzeń. Wywoływana, gdy żaden wątek nie korzysta z drzewa.
+     */
+    void reset() {
+        init(ROOT);
+        next.set(ROOT + 1);
+    }
+
+    /**
+     * Zwraca liczbę użytych węzłów.
+     *
+     * @return liczba węzłów drzewa
+     */
+    int size() {
+        return Math.min(next.get(), capacity());
+    }
+
+    /**
+     * Rozwija węzeł: przydziela jego dzieci z puli. Tylko jeden wątek wygrywa rozwinięcie;
+     * pozostałe dostają wartość ujemną i traktują węzeł jak liść.
+     *
+     * @param node węzeł
+     * @return indeks pierwszego dziecka albo wartość ujemna, jeśli węzeł nie został rozwinięty przez ten wątek
+     */
+    int expand(int node) {
+        if (!children.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+            return children.get(node);
+        }
+        int base = next.getAndAdd(BRANCHING);
+        if (base + BRANCHING > capacity()) {
+            children.set(node, FULL);
+            return FULL;
+        }
+        for (int i = 0; i < BRANCHING; i++) {
+            init(base + i);
+        }
+        children.set(node, base);
+        return base;
+    }
+
+    /**
+     * Zwraca indeks pierwszego dziecka węzła.
+     *
+     * @param node węzeł
+     * @return indeks pierwszego dziecka albo {@link #UNEXPANDED}, {@link #EXPANDING}, {@link #FULL}
+     */
+    int children(int node) {
+        return children.get(node);
+    }
+
+    /**
+     * Dolicza odwiedziny węzła przed zakończeniem symulacji (średnia węzła chwilowo maleje,
+     * więc inne wątki chętniej wybierają inne gałęzie).
+     *
+     * @param node węzeł
+     */
+    void visit(int node) {
+        visits.incrementAndGet(node);
+    }
+
+    /**
+     * Dodaje wynik zakończonej symulacji do węzła.
+     *
+     * @param node  węzeł
+     * @param value wartość w skali {@link #SCALE}
+     */
+    void addValue(int node, long value) {
+        values.addAndGet(node, value);
+    }
+
+    /**
+     * Zwraca liczbę odwiedzin węzła.
+     *
+     * @param node węzeł
+     * @return liczba odwiedzin
+     */
+    int visits(int node) {
+        return visits.get(node);
+    }
+
+    /**
+     * Zwraca średnią wartość węzła.
+     *
+     * @param node węzeł
+     * @return średnia w zakresie 0..1 (0 dla węzła nieodwiedzonego)
+     */
+    double mean(int node) {
+        int n = visits.get(node);
+        return n == 0 ? 0 : values.get(node) / (double) SCALE / n;
+    }
+
+    /**
+     * Zeruje węzeł.
+     *
+     * @param node węzeł
+     */
+    private void init(int node) {
+        visits.set(node, 0);
+        values.set(node, 0);
+        children.set(node, UNEXPANDED);
+    }
+}
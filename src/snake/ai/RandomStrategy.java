@@ -0,0 +1,50 @@
+package snake.ai;
+
+import snake.core.Cell;
+import snake.core.Game;
+import snake.core.Snake;
+import snake.enums.Direction;
+
+import java.util.Random;
+
+/**
+ * Klasa {@code RandomStrategy} wybiera losowo jeden z bezpiecznych kierunków.
+ * Służy jako punkt odniesienia przy strojeniu innych strategii.
+ */
+public class RandomStrategy implements AIStrategy {
+
+    /** Kierunki rozważane przez AI. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Generator losowy tej instancji strategii. */
+    private final Random random;
+
+    /**
+     * Tworzy strategię z podanym ziarnem generatora losowego.
+     *
+     * @param seed ziarno generatora
+     */
+    public RandomStrategy(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Wybiera losowy bezpieczny kierunek.
+     *
+     * @param game stan gry
+     * @param self sterowany wąż
+     * @return wybrany kierunek lub {@code null}, jeśli żaden ruch nie jest bezpieczny
+     */
+    @Override
+    public Direction decide(Game game, Snake self) {
+        int head = self.getHead();
+        int start = random.nextInt(DIRECTIONS.length);
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            Direction dir = DIRECTIONS[(start + i) % DIRECTIONS.length];
+            if (game.isFree(Cell.offset(head, dir.getDx(), dir.getDy()), self)) {
+                return dir;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,384 @@
+package snake.ai;
+
+import snake.core.Cell;
+import snake.core.Food;
+import snake.core.Game;
+import snake.core.Obstacle;
+import snake.core.Snake;
+import snake.core.SnakeBody;
+import snake.enums.Direction;
+import snake.enums.SnakeType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Klasa {@code RolloutState} to uproszczony, tani do skopiowania model stanu gry używany w symulacjach
+ * {@link MctsStrategy}. Plansza to tablica bajtów (przeszkoda, liczba segmentów węży), ciała węży to bufory
+ * cykliczne komórek, a owoce i żaba – wartości wzrostu zapisane w komórkach. Kopia stanu to kilka
+ * {@link System#arraycopy} bez alokacji, więc każdy wątek symulacji może mieć własny egzemplarz.
+ *
+ * <p>Reguły odpowiadają krokowi {@link Game#update()}: wszystkie węże przesuwają się naraz, zjedzony owoc
+ * wydłuża węża o 1 (złote jabłko i żaba o 2) i pojawia się w losowej wolnej komórce, a wąż, którego głowa
+ * wjechała poza planszę, w przeszkodę lub w ciało węża, ginie i znika z planszy. Model jest symetryczny –
+ * taranowanie gracza przez AI, kończące prawdziwą grę, traktowane jest jak śmierć taranującego.
+ * Żaba stoi w miejscu i po zjedzeniu nie wraca.</p>
+ */
+final class RolloutState {
+
+    /** Typy węży (kopia {@code values()} tworzona raz, aby wczytanie stanu nie alokowało). */
+    private static final SnakeType[] TYPES = SnakeType.values();
+
+    /** Liczba węży w modelu. */
+    static final int SNAKES = TYPES.length;
+
+    /** Wartość komórki z przeszkodą. */
+    private static final byte OBSTACLE = -1;
+
+    /** Wartość jedzenia oznaczająca żabę (wzrost 2, bez odradzania). */
+    private static final byte FROG = -2;
+
+    /** Kierunki w kolejności numerów porządkowych ({@code ordinal ^ 1} to kierunek przeciwny). */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Liczba prób wylosowania wolnej komórki dla nowego owocu. */
+    private static final int SPAWN_ATTEMPTS = 16;
+
+    /** Największa liczba komórek z jedzeniem (owoce i żaba). */
+    private static final int MAX_FOOD = 16;
+
+    /** Liczba komórek w wierszu/kolumnie planszy. */
+    private final int size;
+
+    /** Zajętość komórek: {@link #OBSTACLE} albo liczba segmentów węży (indeks y * size + x). */
+    private final byte[] grid;
+
+    /** Wzrost za zjedzenie komórki (0 – brak jedzenia). */
+    private final byte[] food;
+
+    /** Komórki ciał węży (bufory cykliczne o pojemności {@code size * size}). */
+    private final int[][] bodies = new int[SNAKES][];
+
+    /** Indeks głowy w buforze węża. */
+    private final int[] heads = new int[SNAKES];
+
+    /** Liczba segmentów węża. */
+    private final int[] lengths = new int[SNAKES];
+
+    /** Wzrost czekający na kolejne ruchy (ogon nie jest wtedy zdejmowany). */
+    private final int[] growth = new int[SNAKES];
+
+    /** Kierunek ruchu węża (numer porządkowy {@link Direction}). */
+    private final int[] directions = new int[SNAKES];
+
+    /** Czy wąż żyje. */
+    private final boolean[] alive = new boolean[SNAKES];
+
+    /** Łączny wzrost węża od skopiowania stanu z gry. */
+    private final int[] eaten = new int[SNAKES];
+
+    /** Komórki z jedzeniem (lista do szukania najbliższego celu bez skanowania planszy). */
+    private final int[] foodCells = new int[MAX_FOOD];
+
+    /** Liczba komórek z jedzeniem. */
+    private int foodCount;
+
+    /**
+     * Tworzy pusty model dla planszy o podanym boku.
+     *
+     * @param size liczba komórek w wierszu/kolumnie
+     */
+    RolloutState(int size) {
+        this.size = size;
+        this.grid = new byte[size * size];
+        this.food = new byte[size * size];
+        for (int s = 0; s < SNAKES; s++) {
+            bodies[s] = new int[size * size];
+        }
+    }
+
+    /**
+     * Przepisuje bieżący stan gry do modelu. Zdublowane końce ogonów (segmenty dodane przez
+     * {@link Snake#addTail()}) zamieniane są na wzrost czekający na kolejne ruchy.
+     *
+     * @param game gra (tylko do odczytu)
+     */
+    void load(Game game) {
+        Arrays.fill(grid, (byte) 0);
+        Arrays.fill(food, (byte) 0);
+        Obstacle obstacle = game.getObstacle();
+        for (int i = 0; i < obstacle.getCount(); i++) {
+            int cell = obstacle.getCell(i);
+            if (Cell.inside(cell, size)) grid[index(cell)] = OBSTACLE;
+        }
+        for (SnakeType type : TYPES) {
+            int s = type.ordinal();
+            Snake snake = game.getSnake(type);
+            SnakeBody body = snake.getBody();
+            int length = body.copyTo(bodies[s]);
+            int extra = 0;
+            while (length > 1 && bodies[s][length - 1] == bodies[s][length - 2]) {
+                length--;
+                extra++;
+            }
+            heads[s] = 0;
+            lengths[s] = length;
+            growth[s] = extra;
+            eaten[s] = 0;
+            directions[s] = snake.getDirection().ordinal();
+            alive[s] = snake.isAlive() && length > 0;
+            if (!alive[s]) continue;
+            for (int i = 0; i < length; i++) {
+                int cell = bodies[s][i];
+                if (Cell.inside(cell, size) && grid[index(cell)] != OBSTACLE) grid[index(cell)]++;
+            }
+        }
+        foodCount = 0;
+        Food f = game.getFood();
+        for (int i = 0; i < f.getCount() && foodCount < MAX_FOOD - 1; i++) {
+            addFood(f.getPosition(i), f.getType(i) == Food.GOLDEN_APPLE_INDEX ? 2 : 1);
+        }
+        int frog = game.getFrog().getPosition();
+        if (frog != Cell.NONE) {
+            addFood(frog, FROG);
+        }
+    }
+
+    /**
+     * Zastępuje zawartość kopią innego modelu tej samej planszy (bez alokacji).
+     *
+     * @param other model źródłowy
+     */
+    void copyFrom(RolloutState other) {
+        System.arraycopy(other.grid, 0, grid, 0, grid.length);
+        System.arraycopy(other.food, 0, food, 0, food.length);
+        int capacity = size * size;
+        for (int s = 0; s < SNAKES; s++) {
+            int length = other.lengths[s];
+            int head = other.heads[s];
+            int first = Math.min(length, capacity - head);
+            System.arraycopy(other.bodies[s], head, bodies[s], 0, first);
+            System.arraycopy(other.bodies[s], 0, bodies[s], first, length - first);
+            heads[s] = 0;
+            lengths[s] = length;
+        }
+        System.arraycopy(other.growth, 0, growth, 0, SNAKES);
+        System.arraycopy(other.directions, 0, directions, 0, SNAKES);
+        System.arraycopy(other.alive, 0, alive, 0, SNAKES);
+        System.arraycopy(other.eaten, 0, eaten, 0, SNAKES);
+        System.arraycopy(other.foodCells, 0, foodCells, 0, other.foodCount);
+        foodCount = other.foodCount;
+    }
+
+    /**
+     * Wykonuje jeden krok: wąż {@code self} jedzie w kierunku {@code action}, pozostałe żywe węże
+     * wybierają ruch polityką symulacji ({@link #policy(int, SplittableRandom)}).
+     *
+     * @param self   numer sterowanego węża
+     * @param action numer porządkowy kierunku sterowanego węża (kierunek przeciwny do bieżącego jest ignorowany)
+     * @param random generator losowy symulacji
+     */
+    void step(int self, int action, SplittableRandom random) {
+        for (int s = 0; s < SNAKES; s++) {
+            if (!alive[s]) continue;
+            int dir = s == self ? action : policy(s, random);
+            if (dir != (directions[s] ^ 1)) directions[s] = dir;
+        }
+        // najpierw zwalniane są ogony, potem zajmowane nowe pola głów – jak w Snake.update()
+        for (int s = 0; s < SNAKES; s++) {
+            if (!alive[s]) continue;
+            if (growth[s] > 0) {
+                growth[s]--;
+            } else {
+                int tail = bodies[s][(heads[s] + lengths[s] - 1) % bodies[s].length];
+                if (Cell.inside(tail, size) && grid[index(tail)] > 0) grid[index(tail)]--;
+                lengths[s]--;
+            }
+            Direction d = DIRECTIONS[directions[s]];
+            int head = Cell.offset(bodies[s][heads[s]], d.getDx(), d.getDy());
+            heads[s] = (heads[s] + bodies[s].length - 1) % bodies[s].length;
+            bodies[s][heads[s]] = head;
+            lengths[s]++;
+            if (Cell.inside(head, size) && grid[index(head)] != OBSTACLE) grid[index(head)]++;
+        }
+        int dead = 0;
+        for (int s = 0; s < SNAKES; s++) {
+            if (!alive[s]) continue;
+            int head = bodies[s][heads[s]];
+            if (!Cell.inside(head, size) || grid[index(head)] != 1) {
+                dead |= 1 << s;
+            }
+        }
+        for (int s = 0; s < SNAKES; s++) {
+            if ((dead >>> s & 1) != 0) kill(s);
+        }
+        for (int s = 0; s < SNAKES; s++) {
+            if (!alive[s]) continue;
+            int head = bodies[s][heads[s]];
+            int value = food[index(head)];
+            if (value == 0) continue;
+            removeFood(head);
+            growth[s] += Math.abs(value);
+            eaten[s] += Math.abs(value);
+            if (value != FROG) {
+                spawnFruit(random);
+            }
+        }
+    }
+
+    /**
+     * Polityka symulacji: ruch w stronę najbliższego jedzenia (w metryce Manhattan) spośród bezpiecznych,
+     * a z prawdopodobieństwem 1/4 losowy ruch bezpieczny. Gdy żaden ruch nie jest bezpieczny, wąż jedzie dalej.
+     *
+     * @param s      numer węża
+     * @param random generator losowy symulacji
+     * @return numer porządkowy kierunku
+     */
+    int policy(int s, SplittableRandom random) {
+        int head = bodies[s][heads[s]];
+        boolean explore = random.nextInt(4) == 0;
+        int start = random.nextInt(DIRECTIONS.length);
+        int chosen = directions[s];
+        int best = Integer.MAX_VALUE;
+        for (int k = 0; k < DIRECTIONS.length; k++) {
+            int dir = (start + k) % DIRECTIONS.length;
+            if (dir == (directions[s] ^ 1)) continue;
+            Direction d = DIRECTIONS[dir];
+            int cand = Cell.offset(head, d.getDx(), d.getDy());
+            if (!isSafe(s, cand)) continue;
+            if (explore) return dir;
+            int dist = nearestFood(cand);
+            if (dist < best) {
+                best = dist;
+                chosen = dir;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Sprawdza, czy wąż może bezpiecznie wjechać w komórkę (koniec jego ogona zwolni się w tym kroku,
+     * o ile wąż nie rośnie).
+     *
+     * @param s    numer węża
+     * @param cell komórka
+     * @return {@code true}, jeśli komórka jest na planszy i nie jest zajęta
+     */
+    boolean isSafe(int s, int cell) {
+        if (!Cell.inside(cell, size)) return false;
+        int value = grid[index(cell)];
+        if (value == 0) return true;
+        if (value != 1 || growth[s] > 0) return false;
+        return bodies[s][(heads[s] + lengths[s] - 1) % bodies[s].length] == cell;
+    }
+
+    /**
+     * Zwraca odległość Manhattan od komórki do najbliższego jedzenia.
+     *
+     * @param cell komórka
+     * @return odległość lub {@link Integer#MAX_VALUE}, jeśli na planszy nie ma jedzenia
+     */
+    private int nearestFood(int cell) {
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < foodCount; i++) {
+            best = Math.min(best, Cell.manhattan(cell, foodCells[i]));
+        }
+        return best;
+    }
+
+    /**
+     * Kładzie jedzenie w komórce.
+     *
+     * @param cell  komórka
+     * @param value wzrost za zjedzenie (lub {@link #FROG})
+     */
+    private void addFood(int cell, int value) {
+        if (!Cell.inside(cell, size) || food[index(cell)] != 0) return;
+        food[index(cell)] = (byte) value;
+        foodCells[foodCount++] = cell;
+    }
+
+    /**
+     * Zdejmuje jedzenie z komórki.
+     *
+     * @param cell komórka z jedzeniem
+     */
+    private void removeFood(int cell) {
+        food[index(cell)] = 0;
+        for (int i = 0; i < foodCount; i++) {
+            if (foodCells[i] == cell) {
+                foodCells[i] = foodCells[--foodCount];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Usuwa martwego węża z planszy.
+     *
+     * @param s numer węża
+     */
+    private void kill(int s) {
+        alive[s] = false;
+        for (int i = 0; i < lengths[s]; i++) {
+            int cell = bodies[s][(heads[s] + i) % bodies[s].length];
+            if (Cell.inside(cell, size) && grid[index(cell)] > 0) grid[index(cell)]--;
+        }
+        lengths[s] = 0;
+    }
+
+    /**
+     * Umieszcza nowy owoc w losowej wolnej komórce (po kilku nieudanych próbach owoc przepada).
+     *
+     * @param random generator losowy symulacji
+     */
+    private void spawnFruit(SplittableRandom random) {
+        for (int attempt = 0; attempt < SPAWN_ATTEMPTS; attempt++) {
+            int i = random.nextInt(grid.length);
+            if (grid[i] == 0 && food[i] == 0 && foodCount < MAX_FOOD) {
+                addFood(Cell.of(i % size, i / size), 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sprawdza, czy wąż żyje.
+     *
+     * @param s numer węża
+     * @return {@code true}, jeśli wąż żyje
+     */
+    boolean isAlive(int s) {
+        return alive[s];
+    }
+
+    /**
+     * Zwraca wzrost węża od skopiowania stanu z gry.
+     *
+     * @param s numer węża
+     * @return liczba segmentów zdobytych w symulacji
+     */
+    int getEaten(int s) {
+        return eaten[s];
+    }
+
+    /**
+     * Zwraca kierunek ruchu węża.
+     *
+     * @param s numer węża
+     * @return numer porządkowy kierunku
+     */
+    int getDirection(int s) {
+        return directions[s];
+    }
+
+    /**
+     * Zamienia komórkę na indeks tablic planszy.
+     *
+     * @param cell upakowana komórka (na planszy)
+     * @return indeks y * size + x
+     */
+    private int index(int cell) {
+        return Cell.y(cell) * size + Cell.x(cell);
+    }
+}
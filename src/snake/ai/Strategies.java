@@ -0,0 +1,80 @@
+package snake.ai;
+
+import java.util.List;
+
+/**
+ * Klasa {@code Strategies} tworzy strategie AI na podstawie nazwy (np. z wiersza poleceń).
+ * Strategie z {@link #create(String, long)} są odtwarzalne z ziarna (do symulacji, eksportu i turnieju);
+ * przeciwnicy w oknie gry ({@link #fromProperty(long)}) mogą zamiast tego korzystać z budżetu czasu, wielu wątków
+ * i obliczeń w tle.
+ */
+public final class Strategies {
+
+    /** Nazwy dostępnych strategii. */
+    private static final List<String> NAMES = List.of("greedy", "flood", "hamilton", "mcts", "random");
+
+    private Strategies() {
+    }
+
+    /**
+     * Tworzy nową instancję strategii o podanej nazwie; gra z tymi samymi strategiami i ziarnem
+     * przebiega zawsze tak samo (np. {@code mcts} bez budżetu czasu, {@link MctsStrategy#seeded(long)},
+     * a {@code hamilton} z cyklem liczonym przed ruchem).
+     *
+     * @param name nazwa strategii (bez rozróżniania wielkości liter)
+     * @param seed ziarno dla strategii losowych
+     * @return nowa instancja strategii
+     * @throws IllegalArgumentException jeśli nazwa jest nieznana
+     */
+    public static AIStrategy create(String name, long seed) {
+        return create(name, seed, false);
+    }
+
+    /**
+     * Tworzy nową instancję strategii o podanej nazwie.
+     *
+     * @param name     nazwa strategii (bez rozróżniania wielkości liter)
+     * @param seed     ziarno dla strategii losowych
+     * @param realtime czy strategia może ograniczać obliczenia czasem lub liczyć je w tle
+     *                 (wynik zależy wtedy od szybkości maszyny)
+     * @return nowa instancja strategii
+     * @throws IllegalArgumentException jeśli nazwa jest nieznana
+     */
+    private static AIStrategy create(String name, long seed, boolean realtime) {
+        return switch (name.toLowerCase()) {
+            case "greedy" -> new GreedyStrategy();
+            case "flood" -> new FloodFillStrategy();
+            case "hamilton" -> new HamiltonianStrategy(realtime);
+            case "mcts" -> realtime ? new MctsStrategy(seed) : MctsStrategy.seeded(seed);
+            case "random" -> new RandomStrategy(seed);
+            default -> throw new IllegalArgumentException("Nieznana strategia AI: " + name + " (dostępne: " + NAMES + ")");
+        };
+    }
+
+    /**
+     * Tworzy strategię przeciwników komputerowych wskazaną właściwością {@code snake.ai}
+     * (np. {@code -Dsnake.ai=mcts}); domyślnie i przy nieznanej nazwie {@code greedy}. Strategia steruje
+     * przeciwnikami w oknie gry, więc może korzystać z budżetu czasu na ruch, wielu wątków i obliczeń w tle.
+     *
+     * @param seed ziarno dla strategii losowych
+     * @return nowa instancja strategii
+     */
+    public static AIStrategy fromProperty(long seed) {
+        String value = System.getProperty("snake.ai", "greedy");
+        try {
+            return create(value.trim(), seed, true);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", używam greedy");
+            return new GreedyStrategy();
+        }
+    }
+
+    /**
+     * Zwraca nazwy dostępnych strategii.
+     *
+     * @return lista nazw
+     */
+    public static List<String> names() {
+        return NAMES;
+    }
+}
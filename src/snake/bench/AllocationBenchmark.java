@@ -0,0 +1,244 @@
+package snake.bench;
+
+import snake.ai.Strategies;
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.GameExecutor;
+import snake.enums.ExecutionBackend;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Klasa {@code AllocationBenchmark} sprawdza, że ustalony krok gry niczego nie alokuje. Gry bez okna
+ * ({@link Game#headless(Board, long, GameExecutor)}) rozgrywane są kolejno dla każdej strategii i każdego
+ * sprawdzanego executora decyzji węży: {@link ExecutionBackend#INLINE} (decyzje w wątku kroku, jak w symulacji)
+ * i uruchomionej puli {@link ExecutionBackend#PLATFORM} (jak w grze z oknem). Licznik bajtów zaalokowanych
+ * przez wątek kroku i wątki robocze ({@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)})
+ * odczytywany jest przed i po każdym {@link Game#update()}.
+ *
+ * <p>Pierwsze rundy ({@code --warmup}, domyślnie jedna) rozgrzewają JIT (np. wektory jądra odległości są
+ * obiektami, dopóki kod nie zostanie skompilowany) i nie są sprawdzane; krótkie przebiegi (np. kilka gier
+ * {@code mcts}) wymagają ich więcej. Pomijane są też pierwsze {@value #SETUP_TICKS} kroki każdej gry, w których
+ * strategie tworzą swoje bufory, oraz krok kończący grę (czyszczenie planszy i zdarzenia końca gry).
+ * Krok, który w sprawdzanej rundzie zaalokował pamięć, jest mierzony ponownie: ta sama gra (to samo ziarno)
+ * rozgrywana jest od nowa do tego kroku. Alokacje jednorazowe – dowiązanie lambdy w zapasowej ścieżce API
+ * wektorowego po rekompilacji jądra albo cykl Hamiltona zbudowany dla nowego układu przeszkód, który trafia do
+ * wspólnej pamięci podręcznej – nie powtarzają się i są tylko zliczane; alokacja powtórzona w tym samym kroku
+ * przerywa program wyjątkiem.</p>
+ *
+ * <p>Przykład: {@code java snake.bench.AllocationBenchmark --games=20 --level=HARD --strategies=greedy,flood
+ * --executors=inline,platform}</p>
+ */
+public final class AllocationBenchmark {
+
+    /** Liczba sprawdzanych rund. */
+    private static final int CHECKED_ROUNDS = 2;
+
+    /** Liczba początkowych kroków gry, w których strategie mogą tworzyć bufory. */
+    private static final int SETUP_TICKS = 5;
+
+    /** Nazwa executora gier benchmarku (wątki robocze mają nazwy {@code snake-alloc-<numer>}). */
+    private static final String EXECUTOR_NAME = "alloc";
+
+    /** Licznik alokacji wątków. */
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Liczba gier na strategię w rundzie. */
+    private int games = 20;
+
+    /** Poziom trudności gier. */
+    private GameLevel level = GameLevel.HARD;
+
+    /** Sprawdzane strategie (wszystkich węży gry). */
+    private String[] strategies = {"greedy", "flood", "hamilton", "random"};
+
+    /** Sprawdzane executory decyzji węży. */
+    private ExecutionBackend[] executors = {ExecutionBackend.INLINE, ExecutionBackend.PLATFORM};
+
+    /** Limit kroków jednej gry. */
+    private int maxTicks = 2000;
+
+    /** Liczba rund rozgrzewających JIT (niesprawdzanych). */
+    private int warmup = 1;
+
+    private AllocationBenchmark() {
+    }
+
+    /**
+     * Punkt wejścia benchmarku.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     */
+    public static void main(String[] args) {
+        AllocationBenchmark bench = new AllocationBenchmark();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "board" -> bench.boardSize = Integer.parseInt(value);
+                case "games" -> bench.games = Integer.parseInt(value);
+                case "level" -> bench.level = GameLevel.valueOf(value.toUpperCase());
+                case "strategies" -> bench.strategies = value.split(",");
+                case "executors" -> bench.executors = Arrays.stream(value.split(","))
+                        .map(name -> ExecutionBackend.valueOf(name.trim().toUpperCase()))
+                        .toArray(ExecutionBackend[]::new);
+                case "max-ticks" -> bench.maxTicks = Integer.parseInt(value);
+                case "warmup" -> bench.warmup = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        for (String name : bench.strategies) {
+            Strategies.create(name, 0); // weryfikacja nazw strategii przed startem
+        }
+        for (ExecutionBackend backend : bench.executors) {
+            if (backend == ExecutionBackend.VIRTUAL) {
+                throw new IllegalArgumentException("Wątki wirtualne tworzone są dla każdego zadania – alokują z założenia");
+            }
+        }
+        if (!bench.threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("JVM nie mierzy alokacji wątków");
+        }
+        bench.threads.setThreadAllocatedMemoryEnabled(true);
+        for (int round = 1; round <= bench.warmup + CHECKED_ROUNDS; round++) {
+            for (ExecutionBackend backend : bench.executors) {
+                for (String name : bench.strategies) {
+                    bench.run(round, backend, name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rozgrywa gry jednej strategii w rundzie, wypisuje wyniki i – poza rundami rozgrzewkowymi – sprawdza,
+     * że ustalone kroki niczego nie alokowały.
+     *
+     * @param round    numer rundy
+     * @param backend  executor decyzji węży
+     * @param strategy nazwa strategii
+     * @throws IllegalStateException jeśli któryś sprawdzany krok zaalokował pamięć także przy powtórzeniu gry
+     */
+    private void run(int round, ExecutionBackend backend, String strategy) {
+        Board board = new Board(boardSize);
+        long ticks = 0, allocating = 0, bytes = 0, worst = 0;
+        for (int g = 0; g < games; g++) {
+            long seed = round * 1_000_003L + g;
+            Game game = create(board, backend, strategy, seed);
+            try {
+                game.startGame(level);
+                long[] ids = gameThreads();
+                while (game.getGameScreen() == GameScreen.GAME && game.getTicks() < maxTicks) {
+                    long allocated = measureUpdate(game, ids);
+                    if (game.getGameScreen() != GameScreen.GAME || game.getTicks() <= SETUP_TICKS) continue;
+                    ticks++;
+                    if (allocated > 0) {
+                        allocating++;
+                        bytes += allocated;
+                        worst = Math.max(worst, allocated);
+                        if (round > warmup) {
+                            long repeated = replay(board, backend, strategy, seed, game.getTicks());
+                            if (repeated > 0) {
+                                throw new IllegalStateException("Krok gry alokuje pamięć (executor " + backend
+                                        + ", strategia " + strategy + ", gra " + g + ", krok " + game.getTicks()
+                                        + ": " + repeated + " B)");
+                            }
+                        }
+                    }
+                }
+            } finally {
+                game.close();
+            }
+        }
+        System.out.printf("[runda %d] %s %s: %d kroków, z alokacją %d, %.1f B na krok (najwięcej %d B)%s%n",
+                round, backend, strategy, ticks, allocating, bytes / (double) Math.max(1, ticks), worst,
+                round <= warmup ? " – rozgrzewka" : allocating > 0 ? " – jednorazowe, niepowtarzalne" : "");
+    }
+
+    /**
+     * Rozgrywa od nowa grę o podanym ziarnie do wskazanego kroku i mierzy alokację tylko w tym kroku.
+     *
+     * @param board    plansza
+     * @param backend  executor decyzji węży
+     * @param strategy nazwa strategii
+     * @param seed     ziarno gry
+     * @param tick     numer mierzonego kroku
+     * @return liczba bajtów zaalokowanych w tym kroku
+     */
+    private long replay(Board board, ExecutionBackend backend, String strategy, long seed, long tick) {
+        Game game = create(board, backend, strategy, seed);
+        try {
+            game.startGame(level);
+            long[] ids = gameThreads();
+            while (game.getTicks() < tick - 1) {
+                game.update();
+            }
+            return measureUpdate(game, ids);
+        } finally {
+            game.close();
+        }
+    }
+
+    /**
+     * Wykonuje krok gry i mierzy pamięć zaalokowaną w jego trakcie przez podane wątki. Liczniki innych wątków
+     * odczytywane są poza oknem pomiaru wątku bieżącego, więc sam odczyt nie jest wliczany.
+     *
+     * @param game gra
+     * @param ids  identyfikatory wątków kroku (bieżący i robocze)
+     * @return liczba zaalokowanych bajtów
+     */
+    private long measureUpdate(Game game, long[] ids) {
+        long self = Thread.currentThread().threadId();
+        long others = 0;
+        for (int i = 1; i < ids.length; i++) {
+            others -= threads.getThreadAllocatedBytes(ids[i]);
+        }
+        long before = threads.getThreadAllocatedBytes(self);
+        game.update();
+        long allocated = threads.getThreadAllocatedBytes(self) - before;
+        for (int i = 1; i < ids.length; i++) {
+            others += threads.getThreadAllocatedBytes(ids[i]);
+        }
+        return allocated + others;
+    }
+
+    /**
+     * Zwraca identyfikatory wątków wykonujących krok gry: bieżącego i roboczych wątków executora benchmarku
+     * (wywoływana po starcie rozgrywki, gdy pula już działa).
+     *
+     * @return identyfikatory wątków (bieżący jako pierwszy)
+     */
+    private static long[] gameThreads() {
+        String prefix = "snake-" + EXECUTOR_NAME + "-";
+        return Stream.concat(Stream.of(Thread.currentThread()),
+                        Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().startsWith(prefix)))
+                .mapToLong(Thread::threadId)
+                .toArray();
+    }
+
+    /**
+     * Tworzy grę bez okna, w której wszystkie węże sterowane są tą samą strategią.
+     *
+     * @param board    plansza
+     * @param backend  executor decyzji węży
+     * @param strategy nazwa strategii
+     * @param seed     ziarno gry
+     * @return nowa gra
+     */
+    private static Game create(Board board, ExecutionBackend backend, String strategy, long seed) {
+        Game game = Game.headless(board, seed,
+                new GameExecutor(backend, EXECUTOR_NAME, SnakeType.values().length));
+        game.setStrategy(SnakeType.PLAYER, Strategies.create(strategy, seed));
+        game.setStrategy(SnakeType.AI1, Strategies.create(strategy, seed * 31 + 1));
+        game.setStrategy(SnakeType.AI2, Strategies.create(strategy, seed * 31 + 2));
+        return game;
+    }
+}
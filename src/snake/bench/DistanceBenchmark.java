@@ -0,0 +1,191 @@
+package snake.bench;
+
+import snake.core.Bitboard;
+import snake.core.Board;
+import snake.core.Cell;
+import snake.core.DistanceField;
+import snake.core.DistanceKernel;
+import snake.core.Game;
+import snake.core.Obstacle;
+import snake.core.Snake;
+import snake.enums.Direction;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Klasa {@code DistanceBenchmark} porównuje koszt przeliczenia mapy odległości ({@link DistanceField})
+ * przeszukiwaniem kolejką, przeszukiwaniem poziomami z jądrem skalarnym oraz z jądrem wybranym przy starcie
+ * (wektorowym, jeśli uruchomiono z {@code --add-modules jdk.incubator.vector}). Stany planszy pochodzą
+ * z gier bez okna, w których gracz skręca losowo; dla każdego stanu sprawdzane jest, czy wszystkie
+ * metody dają identyczne odległości i zajętość.
+ *
+ * <p>Przykład: {@code java --add-modules jdk.incubator.vector snake.bench.DistanceBenchmark --board=64 --states=2000}</p>
+ */
+public final class DistanceBenchmark {
+
+    /** Liczba rund (pierwsza służy do rozgrzania JIT). */
+    private static final int ROUNDS = 3;
+
+    /** Liczba przeliczeń każdego stanu w jednym pomiarze. */
+    private static final int REPEATS = 20;
+
+    /** Górna granica kroku gry, do którego rozgrywany jest stan. */
+    private static final int MAX_TICKS = 300;
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Liczba zbieranych stanów planszy. */
+    private int states = 2000;
+
+    /** Poziom trudności gier, z których pochodzą stany. */
+    private GameLevel level = GameLevel.HARD;
+
+    private DistanceBenchmark() {
+    }
+
+    /**
+     * Punkt wejścia benchmarku.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     */
+    public static void main(String[] args) {
+        DistanceBenchmark bench = new DistanceBenchmark();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "board" -> bench.boardSize = Integer.parseInt(value);
+                case "states" -> bench.states = Integer.parseInt(value);
+                case "level" -> bench.level = GameLevel.valueOf(value.toUpperCase());
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        if (bench.boardSize > Bitboard.MAX_SIZE) {
+            throw new IllegalArgumentException("Przeszukiwanie poziomami obsługuje plansze do " + Bitboard.MAX_SIZE + " komórek");
+        }
+        System.out.println("Jądro wybrane przy starcie: " + DistanceKernel.preferred().name());
+        bench.run();
+    }
+
+    /**
+     * Zbiera stany planszy, sprawdza zgodność metod i wykonuje pomiary.
+     */
+    private void run() {
+        Board board = new Board(boardSize);
+        List<Game> snapshots = collect(board);
+        DistanceField queue = new DistanceField(board, null);
+        DistanceField scalar = new DistanceField(board, DistanceKernel.scalar());
+        DistanceField preferred = new DistanceField(board, DistanceKernel.preferred());
+        for (Game game : snapshots) {
+            verify(board, game, queue, scalar, preferred);
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            long queueNanos = measure(snapshots, queue);
+            long scalarNanos = measure(snapshots, scalar);
+            long preferredNanos = measure(snapshots, preferred);
+            double count = (double) snapshots.size() * REPEATS;
+            System.out.printf("[runda %d] plansza %dx%d, %d stanów: kolejka %.0f ns, skalarne %.0f ns (x%.1f),"
+                            + " %s %.0f ns (x%.1f) na przeliczenie%n",
+                    round, boardSize, boardSize, snapshots.size(), queueNanos / count, scalarNanos / count,
+                    queueNanos / (double) Math.max(1, scalarNanos), DistanceKernel.preferred().name(),
+                    preferredNanos / count, queueNanos / (double) Math.max(1, preferredNanos));
+        }
+    }
+
+    /**
+     * Przygotowuje stany planszy: każdy to osobna gra bez okna rozegrana do losowego kroku
+     * (gra zakończona wcześniej jest zastępowana nową z kolejnym ziarnem).
+     *
+     * @param board plansza
+     * @return gry w trakcie rozgrywki
+     */
+    private List<Game> collect(Board board) {
+        List<Game> snapshots = new ArrayList<>(states);
+        SplittableRandom random = new SplittableRandom(1);
+        Direction[] directions = Direction.values();
+        long seed = 1;
+        while (snapshots.size() < states) {
+            Game game = Game.headless(board, seed++);
+            game.startGame(level);
+            int target = random.nextInt(MAX_TICKS);
+            while (game.getGameScreen() == GameScreen.GAME && game.getTicks() < target) {
+                if (random.nextInt(4) == 0) {
+                    game.getSnake(SnakeType.PLAYER).moveDirection(directions[random.nextInt(directions.length)]);
+                }
+                game.update();
+            }
+            if (game.getGameScreen() == GameScreen.GAME) {
+                snapshots.add(game);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Mierzy łączny czas przeliczania map odległości wszystkich stanów.
+     *
+     * @param snapshots stany gry
+     * @param field     mapa odległości z badaną metodą
+     * @return czas w nanosekundach
+     */
+    private static long measure(List<Game> snapshots, DistanceField field) {
+        long start = System.nanoTime();
+        for (int r = 0; r < REPEATS; r++) {
+            for (Game game : snapshots) {
+                field.compute(game.getObstacle(), snakes(game), DistanceField.DEFAULT_LOOKAHEAD);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Przelicza mapy wszystkimi metodami i sprawdza, czy są identyczne.
+     *
+     * @param board  plansza
+     * @param game   stan gry
+     * @param fields mapy odległości z porównywanymi metodami (pierwsza jest wzorcem)
+     * @throws IllegalStateException jeśli któraś komórka się różni
+     */
+    private static void verify(Board board, Game game, DistanceField... fields) {
+        Obstacle obstacle = game.getObstacle();
+        Snake[] snakes = snakes(game);
+        for (DistanceField field : fields) {
+            field.compute(obstacle, snakes, DistanceField.DEFAULT_LOOKAHEAD);
+        }
+        int n = board.getCellCount();
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int cell = Cell.of(x, y);
+                for (int f = 1; f < fields.length; f++) {
+                    if (fields[f].get(cell) != fields[0].get(cell)
+                            || fields[f].isBlocked(cell) != fields[0].isBlocked(cell)) {
+                        throw new IllegalStateException("Różne odległości w komórce (" + x + ", " + y + ") w krokach "
+                                + game.getTicks() + ": " + fields[f].get(cell) + " != " + fields[0].get(cell));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Zwraca węże gry w kolejności typów.
+     *
+     * @param game gra
+     * @return tablica węży
+     */
+    private static Snake[] snakes(Game game) {
+        SnakeType[] types = SnakeType.values();
+        Snake[] snakes = new Snake[types.length];
+        for (int i = 0; i < types.length; i++) {
+            snakes[i] = game.getSnake(types[i]);
+        }
+        return snakes;
+    }
+}
@@ -0,0 +1,105 @@
+package snake.bench;
+
+import snake.core.Board;
+import snake.enums.GameLevel;
+import snake.sim.VectorEnv;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.SplittableRandom;
+
+/**
+ * Klasa {@code EnvBenchmark} mierzy przepustowość środowiska treningowego {@link VectorEnv}
+ * (kroków plansz na sekundę) przy losowych akcjach, osobno dla obserwacji w tablicy {@code float[]}
+ * i w bezpośrednim {@link ByteBuffer}. Akcje są losowane z wyprzedzeniem, aby pomiar obejmował tylko środowisko.
+ *
+ * <p>Przykład: {@code java snake.bench.EnvBenchmark --envs=1024 --steps=2000 --threads=8 --level=MEDIUM}</p>
+ */
+public final class EnvBenchmark {
+
+    /** Liczba rund (pierwsza służy do rozgrzania JIT). */
+    private static final int ROUNDS = 3;
+
+    /** Liczba zestawów akcji losowanych z wyprzedzeniem (używanych cyklicznie). */
+    private static final int ACTION_SETS = 64;
+
+    /** Liczba plansz. */
+    private int envs = 1024;
+
+    /** Liczba kroków w rundzie. */
+    private int steps = 1000;
+
+    /** Liczba wątków. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Poziom trudności. */
+    private GameLevel level = GameLevel.MEDIUM;
+
+    private EnvBenchmark() {
+    }
+
+    /**
+     * Punkt wejścia benchmarku.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     */
+    public static void main(String[] args) {
+        EnvBenchmark bench = new EnvBenchmark();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "envs" -> bench.envs = Integer.parseInt(value);
+                case "steps" -> bench.steps = Integer.parseInt(value);
+                case "threads" -> bench.threads = Integer.parseInt(value);
+                case "board" -> bench.boardSize = Integer.parseInt(value);
+                case "level" -> bench.level = GameLevel.valueOf(value.toUpperCase());
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        bench.run();
+    }
+
+    /**
+     * Wykonuje wszystkie rundy pomiarów i wypisuje wyniki.
+     */
+    private void run() {
+        int[][] actions = new int[ACTION_SETS][envs];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int[] set : actions) {
+            for (int i = 0; i < envs; i++) {
+                set[i] = random.nextInt(4);
+            }
+        }
+        float[] rewards = new float[envs];
+        boolean[] dones = new boolean[envs];
+        try (VectorEnv env = new VectorEnv(envs, boardSize, level, 10_000, threads)) {
+            float[] array = new float[env.observationSize()];
+            ByteBuffer buffer = ByteBuffer.allocateDirect(env.observationSize() * Float.BYTES).order(ByteOrder.nativeOrder());
+            for (int round = 1; round <= ROUNDS; round++) {
+                env.reset(round, array);
+                long episodes = 0;
+                long t0 = System.nanoTime();
+                for (int s = 0; s < steps; s++) {
+                    env.step(actions[s % ACTION_SETS], array, rewards, dones);
+                    for (int i = 0; i < envs; i++) {
+                        if (dones[i]) episodes++;
+                    }
+                }
+                long t1 = System.nanoTime();
+                env.reset(round, buffer);
+                for (int s = 0; s < steps; s++) {
+                    env.step(actions[s % ACTION_SETS], buffer, rewards, dones);
+                }
+                long t2 = System.nanoTime();
+                double total = (double) envs * steps;
+                System.out.printf("[runda %d] float[]: %.2f mln kroków/s | ByteBuffer: %.2f mln kroków/s | epizody: %d (%d wątków, %d plansz)%n",
+                        round, total / ((t1 - t0) / 1e3), total / ((t2 - t1) / 1e3), episodes, threads, envs);
+            }
+        }
+    }
+}
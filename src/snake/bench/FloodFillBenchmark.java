@@ -0,0 +1,138 @@
+package snake.bench;
+
+import snake.core.Bitboard;
+import snake.core.Board;
+import snake.core.Cell;
+
+import java.util.SplittableRandom;
+
+/**
+ * Klasa {@code FloodFillBenchmark} porównuje wielkość obszaru liczoną wypełnieniem na mapach bitowych
+ * ({@link Bitboard#fill(int, Bitboard)}) z klasycznym przeszukiwaniem wszerz po tablicy {@code boolean[]}.
+ * Plansze są losowane z zadaną gęstością zajętych komórek, a dla każdej komórki startowej sprawdzane jest,
+ * czy obie metody dają ten sam wynik.
+ *
+ * <p>Przykład: {@code java snake.bench.FloodFillBenchmark --board=64 --density=0.3 --boards=2000}</p>
+ */
+public final class FloodFillBenchmark {
+
+    /** Liczba rund (pierwsza służy do rozgrzania JIT). */
+    private static final int ROUNDS = 3;
+
+    /** Liczba komórek startowych na planszę. */
+    private static final int STARTS = 16;
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Udział zajętych komórek. */
+    private double density = 0.3;
+
+    /** Liczba losowanych plansz w rundzie. */
+    private int boards = 2000;
+
+    private FloodFillBenchmark() {
+    }
+
+    /**
+     * Punkt wejścia benchmarku.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     */
+    public static void main(String[] args) {
+        FloodFillBenchmark bench = new FloodFillBenchmark();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "board" -> bench.boardSize = Integer.parseInt(value);
+                case "density" -> bench.density = Double.parseDouble(value);
+                case "boards" -> bench.boards = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            bench.run(round);
+        }
+    }
+
+    /**
+     * Wykonuje jedną rundę pomiarów i wypisuje wyniki.
+     *
+     * @param round numer rundy
+     */
+    private void run(int round) {
+        int n = boardSize;
+        SplittableRandom random = new SplittableRandom(round);
+        Bitboard free = new Bitboard(n);
+        Bitboard region = new Bitboard(n);
+        boolean[] open = new boolean[n * n];
+        int[] seen = new int[n * n];
+        int[] queue = new int[n * n];
+        int[] starts = new int[STARTS];
+
+        long bitNanos = 0, bfsNanos = 0, cells = 0, checksum = 0;
+        for (int b = 0; b < boards; b++) {
+            free.clear();
+            for (int i = 0; i < n * n; i++) {
+                open[i] = random.nextDouble() >= density;
+                if (open[i]) free.set(Cell.of(i % n, i / n));
+            }
+            for (int s = 0; s < STARTS; s++) {
+                starts[s] = Cell.of(random.nextInt(n), random.nextInt(n));
+            }
+
+            long t0 = System.nanoTime();
+            int[] bitSizes = new int[STARTS];
+            for (int s = 0; s < STARTS; s++) {
+                bitSizes[s] = region.fill(starts[s], free);
+            }
+            long t1 = System.nanoTime();
+            for (int s = 0; s < STARTS; s++) {
+                int size = bfs(starts[s], n, open, seen, b * STARTS + s + 1, queue);
+                if (size != bitSizes[s]) {
+                    throw new IllegalStateException("Różne wyniki dla planszy " + b + ": " + size + " != " + bitSizes[s]);
+                }
+                cells += size;
+            }
+            long t2 = System.nanoTime();
+            bitNanos += t1 - t0;
+            bfsNanos += t2 - t1;
+            checksum += bitSizes[0];
+        }
+        long queries = (long) boards * STARTS;
+        System.out.printf("[runda %d] plansza %dx%d, gęstość %.2f: mapa bitowa %.0f ns, BFS %.0f ns na zapytanie"
+                        + " (x%.1f), śr. obszar %.1f komórek, suma kontrolna %d%n",
+                round, n, n, density, bitNanos / (double) queries, bfsNanos / (double) queries,
+                bfsNanos / (double) Math.max(1, bitNanos), cells / (double) queries, checksum);
+    }
+
+    /**
+     * Liczy wielkość obszaru przeszukiwaniem wszerz po tablicy wolnych komórek.
+     *
+     * @param start komórka startowa
+     * @param n     bok planszy
+     * @param open  wolne komórki (indeks y * n + x)
+     * @param seen  znaczniki odwiedzin (komórka odwiedzona, jeśli ma bieżący znacznik – bez czyszczenia tablicy)
+     * @param mark  znacznik bieżącego przeszukiwania
+     * @param queue kolejka
+     * @return liczba komórek obszaru
+     */
+    private static int bfs(int start, int n, boolean[] open, int[] seen, int mark, int[] queue) {
+        int first = Cell.y(start) * n + Cell.x(start);
+        if (!open[first]) return 0;
+        int tail = 0;
+        queue[tail++] = first;
+        seen[first] = mark;
+        for (int head = 0; head < tail; head++) {
+            int i = queue[head];
+            int x = i % n;
+            if (x > 0 && open[i - 1] && seen[i - 1] != mark) { seen[i - 1] = mark; queue[tail++] = i - 1; }
+            if (x < n - 1 && open[i + 1] && seen[i + 1] != mark) { seen[i + 1] = mark; queue[tail++] = i + 1; }
+            if (i >= n && open[i - n] && seen[i - n] != mark) { seen[i - n] = mark; queue[tail++] = i - n; }
+            if (i < n * (n - 1) && open[i + n] && seen[i + n] != mark) { seen[i + n] = mark; queue[tail++] = i + n; }
+        }
+        return tail;
+    }
+}
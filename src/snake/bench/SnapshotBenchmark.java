@@ -0,0 +1,167 @@
+package snake.bench;
+
+import snake.ai.GreedyStrategy;
+import snake.core.Board;
+import snake.core.Game;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+import snake.state.SnapshotCodec;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+
+/**
+ * Klasa {@code SnapshotBenchmark} mierzy koszt kodowania i dekodowania migawek stanu ({@link SnapshotCodec}).
+ * Rozgrywa gry bez grafiki (AI steruje wszystkimi wężami) i w każdym kroku koduje deltę oraz migawkę pełną,
+ * mierząc czas, rozmiar i liczbę alokowanych bajtów. Następnie dekoduje nagrany strumień
+ * (migawka pełna co {@code --keyframe-interval} kroków, pomiędzy nimi delty) do osobnej gry.
+ *
+ * <p>Przykład: {@code java snake.bench.SnapshotBenchmark --games=200 --ticks=2000 --keyframe-interval=100}</p>
+ */
+public final class SnapshotBenchmark {
+
+    /** Licznik alokacji wątków (pobierany raz, aby pomiar sam nie alokował). */
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** Liczba rund (pierwsza służy do rozgrzania JIT). */
+    private static final int ROUNDS = 3;
+
+    /** Liczba gier w rundzie. */
+    private int games = 200;
+
+    /** Limit kroków jednej gry. */
+    private int ticks = 2000;
+
+    /** Co ile kroków w nagrywanym strumieniu zapisywana jest migawka pełna. */
+    private int keyframeInterval = 100;
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    private SnapshotBenchmark() {
+    }
+
+    /**
+     * Punkt wejścia benchmarku.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     */
+    public static void main(String[] args) {
+        SnapshotBenchmark bench = new SnapshotBenchmark();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "games" -> bench.games = Integer.parseInt(value);
+                case "ticks" -> bench.ticks = Integer.parseInt(value);
+                case "keyframe-interval" -> bench.keyframeInterval = Integer.parseInt(value);
+                case "board" -> bench.boardSize = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            bench.run(round);
+        }
+    }
+
+    /**
+     * Wykonuje jedną rundę pomiarów i wypisuje wyniki.
+     *
+     * @param round numer rundy
+     */
+    private void run(int round) {
+        Board board = new Board(boardSize);
+        int capacity = 128 + 16 * boardSize * boardSize;
+        ByteBuffer delta = ByteBuffer.allocate(capacity);
+        ByteBuffer keyframe = ByteBuffer.allocate(capacity);
+        ByteBuffer stream = ByteBuffer.allocate(capacity * (ticks + 1));
+        SnapshotCodec encoder = new SnapshotCodec();
+        SnapshotCodec decoder = new SnapshotCodec();
+        Game view = Game.headless(board, 0);
+
+        long deltaNanos = 0, keyNanos = 0, deltas = 0, keyframes = 0;
+        long deltaBytes = 0, keyBytes = 0, rawBytes = 0, allocated = 0;
+        long decodeNanos = 0, decoded = 0;
+
+        for (int g = 0; g < games; g++) {
+            Game game = Game.headless(board, g);
+            game.setStrategy(SnakeType.PLAYER, new GreedyStrategy());
+            game.startGame(GameLevel.MEDIUM);
+            stream.clear();
+            while (game.getGameScreen() == GameScreen.GAME && game.getTicks() < ticks) {
+                game.update();
+
+                long alloc0 = allocatedBytes();
+                long t0 = System.nanoTime();
+                delta.clear();
+                boolean ok = encoder.encodeDelta(game, delta);
+                long t1 = System.nanoTime();
+                keyframe.clear();
+                encoder.encodeKeyframe(game, keyframe);
+                long t2 = System.nanoTime();
+                encoder.remember(game);
+                allocated += allocatedBytes() - alloc0;
+
+                if (ok) {
+                    deltaNanos += t1 - t0;
+                    deltaBytes += delta.position();
+                    deltas++;
+                }
+                keyNanos += t2 - t1;
+                keyBytes += keyframe.position();
+                keyframes++;
+                rawBytes += rawSize(game);
+
+                ByteBuffer chosen = (ok && game.getTicks() % keyframeInterval != 0) ? delta : keyframe;
+                stream.put(chosen.array(), 0, chosen.position());
+            }
+
+            stream.flip();
+            long t0 = System.nanoTime();
+            while (stream.hasRemaining()) {
+                decoder.decode(stream, view);
+                decoded++;
+            }
+            decodeNanos += System.nanoTime() - t0;
+            if (view.getTicks() != game.getTicks() && game.getGameScreen() == GameScreen.GAME) {
+                throw new IllegalStateException("Dekodowanie rozjechało się z grą " + g);
+            }
+        }
+
+        System.out.printf("[runda %d] delta: %.0f ns, %.1f B | keyframe: %.0f ns, %.1f B | pełny stan int[]: %.1f B%n",
+                round, deltaNanos / (double) Math.max(1, deltas), deltaBytes / (double) Math.max(1, deltas),
+                keyNanos / (double) Math.max(1, keyframes), keyBytes / (double) Math.max(1, keyframes),
+                rawBytes / (double) Math.max(1, keyframes));
+        System.out.printf("[runda %d] dekodowanie strumienia: %.0f ns/migawkę (%d migawek), alokacje kodera: %d B%n",
+                round, decodeNanos / (double) Math.max(1, decoded), decoded, allocated);
+    }
+
+    /**
+     * Szacuje rozmiar stanu zapisanego bez kompresji (każda komórka jako {@code int}).
+     *
+     * @param game gra
+     * @return rozmiar w bajtach
+     */
+    private static long rawSize(Game game) {
+        long cells = game.getObstacle().getCount() + game.getFood().getCount() + 1;
+        for (SnakeType type : SnakeType.values()) {
+            cells += game.getSnake(type).getBody().size();
+        }
+        return 4 * cells + 16;
+    }
+
+    /**
+     * Zwraca liczbę bajtów zaalokowanych dotąd przez bieżący wątek (lub 0, jeśli JVM tego nie mierzy).
+     *
+     * @return liczba bajtów
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean mx) {
+            return mx.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,155 @@
+package snake.bench;
+
+import snake.ai.GreedyStrategy;
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.TranspositionTable;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Klasa {@code ZobristBenchmark} sprawdza i mierzy haszowanie stanu gry. W grach bez okna (gracz sterowany
+ * strategią zachłanną) po każdym kroku porównywany jest hasz przyrostowy ({@link Game#getStateHash()})
+ * z przeliczonym od zera ({@link Game#computeStateHash()}) i mierzony jest koszt obu. Zebrane hasze
+ * trafiają następnie do {@link TranspositionTable} zapisywanej i czytanej równolegle przez kilka wątków;
+ * każda ocena jest funkcją klucza, więc trafienie z cudzymi danymi (rozerwany wpis) zostałoby wykryte.
+ *
+ * <p>Przykład: {@code java snake.bench.ZobristBenchmark --games=200 --threads=4 --entries=65536}</p>
+ */
+public final class ZobristBenchmark {
+
+    /** Liczba rund (pierwsza służy do rozgrzania JIT). */
+    private static final int ROUNDS = 3;
+
+    /** Liczba operacji na tablicy transpozycji na wątek w rundzie. */
+    private static final int OPERATIONS = 2_000_000;
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Liczba gier w rundzie. */
+    private int games = 200;
+
+    /** Liczba wątków korzystających z tablicy transpozycji. */
+    private int threads = 4;
+
+    /** Liczba wpisów tablicy transpozycji. */
+    private int entries = 1 << 16;
+
+    private ZobristBenchmark() {
+    }
+
+    /**
+     * Punkt wejścia benchmarku.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     * @throws InterruptedException jeśli wątek główny został przerwany
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ZobristBenchmark bench = new ZobristBenchmark();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "board" -> bench.boardSize = Integer.parseInt(value);
+                case "games" -> bench.games = Integer.parseInt(value);
+                case "threads" -> bench.threads = Integer.parseInt(value);
+                case "entries" -> bench.entries = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            bench.run(round);
+        }
+    }
+
+    /**
+     * Wykonuje jedną rundę: gry ze sprawdzaniem hasza, potem równoległe operacje na tablicy transpozycji.
+     *
+     * @param round numer rundy
+     * @throws InterruptedException jeśli wątek główny został przerwany
+     */
+    private void run(int round) throws InterruptedException {
+        Board board = new Board(boardSize);
+        long[] hashes = new long[games * 64];
+        int count = 0;
+        long incrementalNanos = 0, fullNanos = 0, states = 0;
+        for (int g = 0; g < games; g++) {
+            Game game = Game.headless(board, round * 1_000_003L + g);
+            game.setStrategy(SnakeType.PLAYER, new GreedyStrategy());
+            game.startGame(GameLevel.HARD);
+            while (game.getGameScreen() == GameScreen.GAME && game.getTicks() < 2000) {
+                game.update();
+                long t0 = System.nanoTime();
+                long incremental = game.getStateHash();
+                long t1 = System.nanoTime();
+                long full = game.computeStateHash();
+                long t2 = System.nanoTime();
+                if (incremental != full) {
+                    throw new IllegalStateException("Hasz przyrostowy rozjechał się ze stanem w grze " + g
+                            + " w kroku " + game.getTicks());
+                }
+                incrementalNanos += t1 - t0;
+                fullNanos += t2 - t1;
+                states++;
+                if (count == hashes.length) hashes = Arrays.copyOf(hashes, count * 2);
+                hashes[count++] = incremental;
+            }
+        }
+
+        TranspositionTable table = new TranspositionTable(entries);
+        AtomicLong hits = new AtomicLong();
+        long[] keys = Arrays.copyOf(hashes, count);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = round * 31L + t;
+            workers.add(new Thread(() -> hits.addAndGet(hammer(table, keys, seed)), "snake-tt-" + t));
+        }
+        long t0 = System.nanoTime();
+        for (Thread w : workers) w.start();
+        for (Thread w : workers) w.join();
+        long ttNanos = System.nanoTime() - t0;
+        long ops = (long) OPERATIONS * threads;
+        System.out.printf("[runda %d] %d stanów: hasz przyrostowy %.0f ns, od zera %.0f ns (x%.1f);"
+                        + " tablica %d wpisów, %d wątków: %.1f M op/s, trafienia %.1f%%%n",
+                round, states, incrementalNanos / (double) states, fullNanos / (double) states,
+                fullNanos / (double) Math.max(1, incrementalNanos), table.capacity(), threads,
+                ops / (ttNanos / 1e3), 100.0 * hits.get() / (ops / 2.0));
+    }
+
+    /**
+     * Zapisuje i odczytuje losowe klucze na przemian, sprawdzając, czy trafienia zwracają ocenę danego klucza.
+     *
+     * @param table tablica transpozycji
+     * @param keys  hasze stanów
+     * @param seed  ziarno wyboru kluczy
+     * @return liczba trafień
+     * @throws IllegalStateException jeśli odczyt zwrócił ocenę innego klucza
+     */
+    private static long hammer(TranspositionTable table, long[] keys, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long hits = 0;
+        for (int i = 0; i < OPERATIONS; i += 2) {
+            long key = keys[random.nextInt(keys.length)];
+            table.store(key, (int) (key >>> 17), random.nextInt(32));
+            long probe = keys[random.nextInt(keys.length)];
+            long entry = table.probe(probe);
+            if (entry != TranspositionTable.MISS) {
+                if (TranspositionTable.value(entry) != (int) (probe >>> 17)) {
+                    throw new IllegalStateException("Wpis tablicy transpozycji z cudzymi danymi");
+                }
+                hits++;
+            }
+            if ((i & 0xFFFF) == 0) table.newSearch();
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,155 @@
+package snake.core;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Klasa {@code AssetBundle} obsługuje paczkę zasobów graficznych z pikselami już zdekodowanymi z PNG.
+ * Wczytanie paczki to odwzorowanie pliku w pamięci i skopiowanie pikseli do obrazów,
+ * bez dekompresji, co skraca czas uruchamiania gry.
+ *
+ * <p>Układ pliku: sygnatura, wersja, liczba obrazów, a dla każdego obrazu nazwa pliku PNG,
+ * szerokość, wysokość i piksele ARGB (po jednym {@code int}). Paczkę tworzy metoda {@link #main(String[])}
+ * z obrazów w zasobach; obrazów, których w paczce brakuje, {@link Pictures} szuka w PNG.</p>
+ *
+ * <p>Przykład: {@code java snake.core.AssetBundle --out=assets.bin}</p>
+ */
+public final class AssetBundle {
+
+    /** Domyślna nazwa pliku paczki (nadpisywana właściwością {@code snake.assets}). */
+    public static final String FILE_NAME = "assets.bin";
+
+    /** Sygnatura pliku paczki ("SNKA"). */
+    private static final int MAGIC = 0x534E4B41;
+
+    /** Wersja układu pliku paczki. */
+    private static final int VERSION = 1;
+
+    private AssetBundle() {
+    }
+
+    /**
+     * Tworzy paczkę zasobów z obrazów PNG dostępnych w zasobach gry.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     * @throws IOException w przypadku błędu odczytu obrazów lub zapisu paczki
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get(FILE_NAME);
+        for (String arg : args) {
+            if (arg.startsWith("--out=")) {
+                out = Paths.get(arg.substring("--out=".length()));
+            } else {
+                System.err.println("Opcje: --out=PLIK");
+                System.exit(2);
+            }
+        }
+        String[] names = Pictures.FILES;
+        BufferedImage[] images = new BufferedImage[names.length];
+        long size = 3L * Integer.BYTES;
+        for (int i = 0; i < names.length; i++) {
+            images[i] = decode(names[i]);
+            size += Short.BYTES + names[i].getBytes(StandardCharsets.UTF_8).length
+                    + 2L * Integer.BYTES + 4L * images[i].getWidth() * images[i].getHeight();
+        }
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            map.putInt(MAGIC);
+            map.putInt(VERSION);
+            map.putInt(names.length);
+            for (int i = 0; i < names.length; i++) {
+                byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+                int w = images[i].getWidth();
+                int h = images[i].getHeight();
+                map.putShort((short) name.length);
+                map.put(name);
+                map.putInt(w);
+                map.putInt(h);
+                int[] pixels = images[i].getRGB(0, 0, w, h, null, 0, w);
+                map.asIntBuffer().put(pixels);
+                map.position(map.position() + 4 * pixels.length);
+            }
+        }
+        System.out.printf("[assets] zapisano %d obrazów (%d B) do %s%n", names.length, size, out);
+    }
+
+    /**
+     * Dekoduje obraz PNG z zasobów gry.
+     *
+     * @param name nazwa pliku w katalogu zasobów
+     * @return obraz
+     * @throws IOException jeśli obrazu nie ma lub nie da się go zdekodować
+     */
+    static BufferedImage decode(String name) throws IOException {
+        try (InputStream in = Pictures.class.getResourceAsStream("/" + name)) {
+            if (in == null) throw new IOException("Brak zasobu: " + name);
+            BufferedImage img = ImageIO.read(in);
+            if (img == null) throw new IOException("Nieobsługiwany format obrazu: " + name);
+            return img;
+        }
+    }
+
+    /**
+     * Wczytuje paczkę zasobów wskazaną właściwością {@code snake.assets} (domyślnie {@value #FILE_NAME}).
+     * Brak pliku nie jest błędem – zwracana jest wtedy pusta mapa.
+     *
+     * @return obrazy według nazwy pliku PNG
+     */
+    static Map<String, BufferedImage> readDefault() {
+        Path path = Paths.get(System.getProperty("snake.assets", FILE_NAME));
+        if (!Files.isRegularFile(path)) return Map.of();
+        try {
+            return read(path);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Pominięto paczkę zasobów " + path + ": " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Wczytuje paczkę zasobów.
+     *
+     * @param path ścieżka pliku paczki
+     * @return obrazy według nazwy pliku PNG
+     * @throws IOException w przypadku błędu odczytu pliku
+     * @throws IllegalStateException jeśli plik nie jest paczką w obsługiwanej wersji
+     */
+    static Map<String, BufferedImage> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC) throw new IllegalStateException("Plik nie jest paczką zasobów");
+            int version = in.getInt();
+            if (version != VERSION) throw new IllegalStateException("Nieobsługiwana wersja paczki: " + version);
+            int count = in.getInt();
+            Map<String, BufferedImage> images = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[in.getShort()];
+                in.get(name);
+                int w = in.getInt();
+                int h = in.getInt();
+                int[] pixels = new int[w * h];
+                IntBuffer source = in.asIntBuffer();
+                source.get(pixels);
+                in.position(in.position() + 4 * pixels.length);
+                BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+                img.getRaster().setDataElements(0, 0, w, h, pixels);
+                images.put(new String(name, StandardCharsets.UTF_8), img);
+            }
+            return images;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package snake.core;
+
+import java.util.Arrays;
+
+/**
+ * Klasa {@code Bitboard} to zbiór komórek planszy zapisany jako mapa bitowa: jeden {@code long} na wiersz,
+ * bit {@code x} słowa {@code y} odpowiada komórce {@code (x, y)}. Operacje na całych wierszach
+ * (suma, iloczyn, przesunięcie) obejmują do 64 komórek naraz, więc np. wypełnienie obszaru
+ * ({@link #fill(int, Bitboard)}) kosztuje kilka operacji na słowo zamiast odwiedzania komórek po kolei.
+ *
+ * <p>Obsługiwane są plansze o boku co najwyżej {@value #MAX_SIZE} komórek.</p>
+ */
+public final class Bitboard {
+
+    /** Największy obsługiwany bok planszy (liczba bitów w słowie). */
+    public static final int MAX_SIZE = Long.SIZE;
+
+    /** Liczba komórek w wierszu/kolumnie planszy. */
+    private final int size;
+
+    /** Maska bitów leżących na planszy w jednym wierszu. */
+    private final long rowMask;
+
+    /** Wiersze mapy. */
+    private final long[] rows;
+
+    /**
+     * Tworzy pustą mapę bitową dla planszy o podanym boku.
+     *
+     * @param size liczba komórek w wierszu/kolumnie
+     * @throws IllegalArgumentException jeśli bok jest spoza zakresu 1..{@value #MAX_SIZE}
+     */
+    public Bitboard(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Bok planszy mapy bitowej musi być w zakresie 1.." + MAX_SIZE + ": " + size);
+        }
+        this.size = size;
+        this.rowMask = size == MAX_SIZE ? -1L : (1L << size) - 1;
+        this.rows = new long[size];
+    }
+
+    /**
+     * Zwraca bok planszy.
+     *
+     * @return liczba komórek w wierszu/kolumnie
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Dodaje komórkę do zbioru (komórki poza planszą są pomijane).
+     *
+     * @param cell upakowana komórka
+     */
+    public void set(int cell) {
+        if (Cell.inside(cell, size)) {
+            rows[Cell.y(cell)] |= 1L << Cell.x(cell);
+        }
+    }
+
+    /**
+     * Usuwa komórkę ze zbioru (komórki poza planszą są pomijane).
+     *
+     * @param cell upakowana komórka
+     */
+    public void unset(int cell) {
+        if (Cell.inside(cell, size)) {
+            rows[Cell.y(cell)] &= ~(1L << Cell.x(cell));
+        }
+    }
+
+    /**
+     * Sprawdza, czy komórka należy do zbioru.
+     *
+     * @param cell upakowana komórka
+     * @return {@code true}, jeśli komórka leży na planszy i należy do zbioru
+     */
+    public boolean get(int cell) {
+        return Cell.inside(cell, size) && (rows[Cell.y(cell)] >>> Cell.x(cell) & 1L) != 0;
+    }
+
+    /**
+     * Usuwa wszystkie komórki.
+     */
+    public void clear() {
+        Arrays.fill(rows, 0L);
+    }
+
+    /**
+     * Zastępuje zawartość kopią innej mapy tego samego rozmiaru.
+     *
+     * @param other mapa źródłowa
+     */
+    public void copyFrom(Bitboard other) {
+        System.arraycopy(other.rows, 0, rows, 0, size);
+    }
+
+    /**
+     * Dodaje do zbioru wszystkie komórki innej mapy tego samego rozmiaru.
+     *
+     * @param other dodawana mapa
+     */
+    public void or(Bitboard other) {
+        for (int y = 0; y < size; y++) {
+            rows[y] |= other.rows[y];
+        }
+    }
+
+    /**
+     * Zastępuje zbiór jego dopełnieniem w obrębie planszy.
+     */
+    public void invert() {
+        for (int y = 0; y < size; y++) {
+            rows[y] = ~rows[y] & rowMask;
+        }
+    }
+
+    /**
+     * Zwraca liczbę komórek w zbiorze.
+     *
+     * @return liczba komórek
+     */
+    public int count() {
+        int count = 0;
+        for (long row : rows) {
+            count += Long.bitCount(row);
+        }
+        return count;
+    }
+
+    /**
+     * Zastępuje zawartość obszarem spójnym (sąsiedztwo w czterech kierunkach) zawierającym komórkę startową
+     * i leżącym w całości w zbiorze {@code free}. Obszar rośnie całymi wierszami: w każdym wierszu
+     * przesunięcia w lewo i w prawo nasycane są do skutku, a przejścia w dół i w górę przenoszą obszar
+     * między sąsiednimi wierszami; przejścia powtarzane są, dopóki obszar się powiększa.
+     *
+     * @param start komórka startowa
+     * @param free  zbiór komórek, po których można przechodzić (ten sam rozmiar planszy)
+     * @return liczba komórek obszaru (0, jeśli komórka startowa nie należy do {@code free})
+     */
+    public int fill(int start, Bitboard free) {
+        clear();
+        if (!free.get(start)) return 0;
+        long[] open = free.rows;
+        int first = Cell.y(start);
+        int last = first;
+        rows[first] = spread(1L << Cell.x(start), open[first]);
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (int y = Math.max(first, 1); y < size; y++) {
+                long next = spread(rows[y] | rows[y - 1] & open[y], open[y]);
+                if (next != rows[y]) {
+                    rows[y] = next;
+                    last = Math.max(last, y);
+                    grown = true;
+                } else if (y > last) {
+                    break;
+                }
+            }
+            for (int y = Math.min(last, size - 2); y >= 0; y--) {
+                long next = spread(rows[y] | rows[y + 1] & open[y], open[y]);
+                if (next != rows[y]) {
+                    rows[y] = next;
+                    first = Math.min(first, y);
+                    grown = true;
+                } else if (y < first) {
+                    break;
+                }
+            }
+        }
+        return count();
+    }
+
+    /**
+     * Rozszerza zbiór bitów wiersza w lewo i w prawo po wolnych komórkach, aż przestanie rosnąć.
+     *
+     * @param row  bity obszaru w wierszu
+     * @param open wolne komórki wiersza
+     * @return nasycony wiersz obszaru
+     */
+    private static long spread(long row, long open) {
+        row &= open;
+        long previous;
+        do {
+            previous = row;
+            row = (row | row << 1 | row >>> 1) & open;
+        } while (row != previous);
+        return row;
+    }
+}
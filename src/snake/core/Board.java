@@ -1,10 +1,16 @@
 package snake.core;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 
 /**
  * Klasa {@code Board} odpowiada za rysowanie planszy gry Snake.
  * Tworzy szachownicę w odcieniach zieleni oraz dolny pasek na wynik.
+ * Wymiary planszy podawane są w pikselach logicznych; przy rysowaniu w innej skali (okno o zmienionym rozmiarze,
+ * ekran HiDPI) statyczne tło renderowane jest w tle w rozdzielczości urządzenia ({@link ScaledCache})
+ * i buforowane w {@link VolatileImage} zgodnym z urządzeniem graficznym.
  */
 public class Board {
     /**
@@ -22,16 +28,52 @@ public class Board {
      */
     private final int cellSize = 26;
 
+    /**
+     * Domyślna liczba komórek w jednym wierszu lub kolumnie planszy.
+     */
+    public static final int DEFAULT_CELL_COUNT = 26;
+
     /**
      * Liczba komórek w jednym wierszu lub kolumnie planszy (plansza jest kwadratowa).
      */
-    private final int cellCount = 26;
+    private final int cellCount;
 
     /**
      * Wysokość paska wyników poniżej planszy w pikselach.
      */
     private final int scoreHeight = 100;
 
+    /**
+     * Tło planszy wyrenderowane w rozdzielczości urządzenia dla bieżącej skali rysowania.
+     */
+    private final ScaledCache<BufferedImage> layers = new ScaledCache<>(this::renderBackground);
+
+    /**
+     * Bufor z narysowanym tłem planszy (akcelerowany, może zostać utracony przez system).
+     */
+    private VolatileImage background;
+
+    /**
+     * Warstwa tła skopiowana do {@link #background} (przy zmianie skali bufor jest wypełniany od nowa).
+     */
+    private BufferedImage backgroundSource;
+
+    /**
+     * Tworzy planszę o domyślnym rozmiarze.
+     */
+    public Board() {
+        this(DEFAULT_CELL_COUNT);
+    }
+
+    /**
+     * Tworzy planszę o podanej liczbie komórek w wierszu/kolumnie (np. do symulacji).
+     *
+     * @param cellCount liczba komórek w jednym wymiarze planszy
+     */
+    public Board(int cellCount) {
+        this.cellCount = cellCount;
+    }
+
     /**
      * Zwraca rozmiar jednej komórki planszy.
      *
@@ -61,10 +103,76 @@ public class Board {
 
     /**
      * Rysuje planszę gry jako szachownicę oraz pasek wyników.
+     * Tło jest kopiowane z warstwy w rozdzielczości urządzenia (bez skalowania), a do czasu jej zbudowania
+     * dla bieżącej skali – rysowane bezpośrednio. Bufor tła jest wypełniany tylko po zmianie skali
+     * lub utracie jego zawartości.
      *
      * @param g obiekt {@code Graphics2D} do rysowania
      */
     public void drawBoard(Graphics2D g) {
+        AffineTransform transform = g.getTransform();
+        BufferedImage layer = layers.get(ScaledCache.deviceScale(transform));
+        if (layer == null) {
+            paintBackground(g);
+            return;
+        }
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        int x = (int) Math.round(transform.getTranslateX());
+        int y = (int) Math.round(transform.getTranslateY());
+        g.setTransform(new AffineTransform());
+        try {
+            do {
+                int status = (background == null || background.getWidth() != layer.getWidth()
+                        || background.getHeight() != layer.getHeight())
+                        ? VolatileImage.IMAGE_INCOMPATIBLE : background.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    if (background != null) background.flush();
+                    background = gc.createCompatibleVolatileImage(layer.getWidth(), layer.getHeight());
+                    status = VolatileImage.IMAGE_RESTORED;
+                }
+                if (status == VolatileImage.IMAGE_RESTORED || backgroundSource != layer) {
+                    Graphics2D bg = background.createGraphics();
+                    try {
+                        bg.drawImage(layer, 0, 0, null);
+                    } finally {
+                        bg.dispose();
+                    }
+                    backgroundSource = layer;
+                }
+                g.drawImage(background, x, y, null);
+            } while (background.contentsLost());
+        } finally {
+            g.setTransform(transform);
+        }
+    }
+
+    /**
+     * Renderuje tło planszy w rozdzielczości urządzenia dla podanej skali (w wątku tła {@link ScaledCache}).
+     *
+     * @param scale skala urządzenia
+     * @return obraz tła
+     */
+    private BufferedImage renderBackground(double scale) {
+        int width = cellCount * cellSize;
+        int height = width + scoreHeight;
+        BufferedImage image = new BufferedImage(Math.max(1, (int) Math.ceil(width * scale)),
+                Math.max(1, (int) Math.ceil(height * scale)), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(scale, scale);
+            paintBackground(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Rysuje szachownicę oraz pasek wyników bezpośrednio w podanym kontekście.
+     *
+     * @param g obiekt {@code Graphics2D} do rysowania
+     */
+    private void paintBackground(Graphics2D g) {
         for (int y = 0; y < cellCount; y++) {
             for (int x = 0; x < cellCount; x++) {
                 if ((x + y) % 2 == 0) {
@@ -0,0 +1,96 @@
+package snake.core;
+
+import java.awt.*;
+
+/**
+ * Klasa {@code Cell} zawiera metody pomocnicze do pracy z komórkami planszy
+ * zapisanymi jako pojedyncza liczba {@code int} (X w starszych, Y w młodszych 16 bitach).
+ * Zastępuje {@link Point} w logice gry, dzięki czemu ruch, losowanie pozycji i AI
+ * nie alokują obiektów. {@link Point} powstaje tylko na granicy API (np. do rysowania).
+ */
+public final class Cell {
+
+    /** Wartość oznaczająca brak komórki (np. żaba nieobecna na planszy). */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private Cell() {
+    }
+
+    /**
+     * Pakuje współrzędne komórki do jednej liczby {@code int}.
+     * Obsługuje również ujemne współrzędne (np. głowa tuż za ścianą).
+     *
+     * @param x współrzędna X
+     * @param y współrzędna Y
+     * @return upakowana komórka
+     */
+    public static int of(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    /**
+     * Zwraca współrzędną X upakowanej komórki.
+     *
+     * @param cell upakowana komórka
+     * @return współrzędna X
+     */
+    public static int x(int cell) {
+        return cell >> 16;
+    }
+
+    /**
+     * Zwraca współrzędną Y upakowanej komórki.
+     *
+     * @param cell upakowana komórka
+     * @return współrzędna Y
+     */
+    public static int y(int cell) {
+        return (short) cell;
+    }
+
+    /**
+     * Zwraca komórkę przesuniętą o podany wektor.
+     *
+     * @param cell upakowana komórka
+     * @param dx   przesunięcie w osi X
+     * @param dy   przesunięcie w osi Y
+     * @return upakowana komórka sąsiednia
+     */
+    public static int offset(int cell, int dx, int dy) {
+        return of(x(cell) + dx, y(cell) + dy);
+    }
+
+    /**
+     * Oblicza odległość Manhattan między dwiema komórkami.
+     *
+     * @param a pierwsza komórka
+     * @param b druga komórka
+     * @return suma różnic współrzędnych
+     */
+    public static int manhattan(int a, int b) {
+        return Math.abs(x(a) - x(b)) + Math.abs(y(a) - y(b));
+    }
+
+    /**
+     * Sprawdza, czy komórka leży w granicach kwadratowej planszy.
+     *
+     * @param cell      upakowana komórka
+     * @param cellCount liczba komórek w wierszu/kolumnie
+     * @return {@code true}, jeśli komórka jest na planszy
+     */
+    public static boolean inside(int cell, int cellCount) {
+        int x = x(cell);
+        int y = y(cell);
+        return x >= 0 && y >= 0 && x < cellCount && y < cellCount;
+    }
+
+    /**
+     * Zamienia upakowaną komórkę na {@link Point} (tylko na granicy API).
+     *
+     * @param cell upakowana komórka
+     * @return punkt lub {@code null} dla {@link #NONE}
+     */
+    public static Point toPoint(int cell) {
+        return (cell == NONE) ? null : new Point(x(cell), y(cell));
+    }
+}
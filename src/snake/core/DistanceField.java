@@ -0,0 +1,285 @@
+package snake.core;
+
+import snake.enums.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Klasa {@code DistanceField} przechowuje mapę odległości każdej komórki planszy od najbliższej głowy węża.
+ * Odległość jest liczona wielo-źródłowym przeszukiwaniem wszerz (BFS), więc uwzględnia
+ * rzeczywistą drogę wokół przeszkód i ciał węży, a nie tylko metrykę Manhattan.
+ * Mapa jest liczona raz na krok gry i współdzielona przez wszystkich odbiorców (np. żabę),
+ * dzięki czemu zapytanie o odległość lub zajętość komórki kosztuje O(1).
+ *
+ * <p>Oprócz bieżących głów źródłami są też przewidywane pozycje głów na kilka kroków do przodu
+ * (wąż jedzie dalej prosto, dopóki ma wolną drogę), co pozwala uciekać przed wężem nadjeżdżającym z przodu.</p>
+ *
+ * <p>Na planszach o boku do {@value Bitboard#MAX_SIZE} komórek zajętość i odwiedzone komórki trzymane są
+ * w mapach bitowych (słowo na wiersz), a przeszukiwanie postępuje całymi poziomami ({@link DistanceKernel}),
+ * więc czyszczenie przed obliczeniem dotyczy kilkudziesięciu słów, a nie wszystkich komórek.
+ * Większe plansze liczone są przeszukiwaniem kolejką. Obie metody dają identyczne odległości.</p>
+ */
+public class DistanceField {
+
+    /** Odległość komórki, do której żaden wąż nie może dotrzeć. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /** Domyślna liczba kroków przewidywania ruchu głów (tyle kroków mija między ruchami żaby). */
+    public static final int DEFAULT_LOOKAHEAD = 3;
+
+    /** Liczba komórek w wierszu/kolumnie planszy. */
+    private final int cellCount;
+
+    /** Odległości komórek (indeks y * cellCount + x); ważne tylko dla komórek odwiedzonych. */
+    private final int[] dist;
+
+    /** Jądro przeszukiwania poziomami ({@code null} – przeszukiwanie kolejką). */
+    private final DistanceKernel kernel;
+
+    /** Zajętość komórek przez przeszkody i ciała węży – przy przeszukiwaniu kolejką. */
+    private final boolean[] blocked;
+
+    /** Kolejka BFS (każda komórka trafia do niej co najwyżej raz) – przy przeszukiwaniu kolejką. */
+    private final int[] queue;
+
+    /** Wiersze zajętości (wiersz planszy {@code y} pod indeksem {@code y + 1}) – przy przeszukiwaniu poziomami. */
+    private final long[] blockedRows;
+
+    /** Wiersze komórek wolnych (dopełnienie zajętości na planszy). */
+    private final long[] openRows;
+
+    /** Wiersze komórek odwiedzonych. */
+    private final long[] visitedRows;
+
+    /** Bieżący poziom przeszukiwania. */
+    private long[] frontier;
+
+    /** Kolejny poziom przeszukiwania. */
+    private long[] next;
+
+    /** Maska bitów leżących na planszy w jednym wierszu. */
+    private final long rowMask;
+
+    /**
+     * Tworzy pustą mapę odległości dla podanej planszy z jądrem przeszukiwania wybranym przy starcie.
+     *
+     * @param board plansza gry
+     */
+    public DistanceField(Board board) {
+        this(board, board.getCellCount() <= Bitboard.MAX_SIZE ? DistanceKernel.preferred() : null);
+    }
+
+    /**
+     * Tworzy pustą mapę odległości z podanym jądrem przeszukiwania (np. do porównań wydajności).
+     *
+     * @param board  plansza gry
+     * @param kernel jądro przeszukiwania poziomami lub {@code null}, aby liczyć przeszukiwaniem kolejką
+     * @throws IllegalArgumentException jeśli podano jądro, a plansza jest większa niż {@value Bitboard#MAX_SIZE}
+     */
+    public DistanceField(Board board, DistanceKernel kernel) {
+        this.cellCount = board.getCellCount();
+        if (kernel != null && cellCount > Bitboard.MAX_SIZE) {
+            throw new IllegalArgumentException("Przeszukiwanie poziomami obsługuje plansze do " + Bitboard.MAX_SIZE + " komórek");
+        }
+        int cells = cellCount * cellCount;
+        this.kernel = kernel;
+        this.dist = new int[cells];
+        this.rowMask = cellCount == Bitboard.MAX_SIZE ? -1L : (1L << cellCount) - 1;
+        if (kernel == null) {
+            this.blocked = new boolean[cells];
+            this.queue = new int[cells];
+            this.blockedRows = this.openRows = this.visitedRows = null;
+            Arrays.fill(dist, UNREACHABLE);
+        } else {
+            this.blocked = null;
+            this.queue = null;
+            int length = kernel.arrayLength(cellCount);
+            this.blockedRows = new long[length];
+            this.openRows = new long[length];
+            this.visitedRows = new long[length];
+            this.frontier = new long[length];
+            this.next = new long[length];
+        }
+    }
+
+    /**
+     * Przelicza mapę odległości i zajętości dla bieżącego stanu planszy.
+     *
+     * @param obstacle  przeszkody na planszy
+     * @param snakes    węże, których głowy są źródłami (martwe są pomijane)
+     * @param lookahead liczba kroków, o którą przewidywane są pozycje głów
+     */
+    public void compute(Obstacle obstacle, Snake[] snakes, int lookahead) {
+        if (kernel == null) {
+            Arrays.fill(dist, UNREACHABLE);
+            Arrays.fill(blocked, false);
+        } else {
+            Arrays.fill(blockedRows, 0L);
+            Arrays.fill(visitedRows, 0L);
+            Arrays.fill(frontier, 0L);
+        }
+
+        for (int i = 0; i < obstacle.getCount(); i++) {
+            block(obstacle.getCell(i));
+        }
+        for (Snake s : snakes) {
+            if (!s.isAlive()) continue;
+            SnakeBody body = s.getBody();
+            for (int i = 0; i < body.size(); i++) {
+                block(body.get(i));
+            }
+        }
+
+        int tail = 0;
+        for (Snake s : snakes) {
+            if (!s.isAlive() || s.getBody().isEmpty()) continue;
+            int head = s.getHead();
+            tail = enqueueSource(head, tail);
+
+            Direction dir = s.getDirection();
+            int predicted = head;
+            for (int k = 0; k < lookahead; k++) {
+                predicted = Cell.offset(predicted, dir.getDx(), dir.getDy());
+                if (!Cell.inside(predicted, cellCount) || isBlocked(predicted)) break;
+                tail = enqueueSource(predicted, tail);
+            }
+        }
+
+        if (kernel == null) {
+            searchQueue(tail);
+        } else {
+            searchLevels();
+        }
+    }
+
+    /**
+     * Przeszukiwanie kolejką od źródeł zapisanych w {@link #queue}.
+     *
+     * @param tail liczba źródeł w kolejce
+     */
+    private void searchQueue(int tail) {
+        for (int head = 0; head < tail; head++) {
+            int i = queue[head];
+            int x = i % cellCount;
+            int y = i / cellCount;
+            int next = dist[i] + 1;
+            if (x > 0) tail = relax(i - 1, next, tail);
+            if (x < cellCount - 1) tail = relax(i + 1, next, tail);
+            if (y > 0) tail = relax(i - cellCount, next, tail);
+            if (y < cellCount - 1) tail = relax(i + cellCount, next, tail);
+        }
+    }
+
+    /**
+     * Przeszukiwanie poziomami od źródeł zapisanych w {@link #frontier}: każdy poziom wyznacza jądro,
+     * a odległość zapisywana jest tylko nowo osiągniętym komórkom.
+     */
+    private void searchLevels() {
+        for (int y = 1; y <= cellCount; y++) {
+            openRows[y] = ~blockedRows[y] & rowMask;
+        }
+        int level = 0;
+        while (kernel.expand(frontier, next, visitedRows, openRows, cellCount)) {
+            level++;
+            for (int y = 1; y <= cellCount; y++) {
+                long bits = next[y];
+                int row = (y - 1) * cellCount;
+                while (bits != 0) {
+                    dist[row + Long.numberOfTrailingZeros(bits)] = level;
+                    bits &= bits - 1;
+                }
+            }
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+        }
+    }
+
+    /**
+     * Zwraca odległość komórki od najbliższej (bieżącej lub przewidywanej) głowy węża.
+     *
+     * @param cell upakowana komórka
+     * @return liczba kroków lub {@link #UNREACHABLE}; dla komórek poza planszą 0
+     */
+    public int get(int cell) {
+        if (!Cell.inside(cell, cellCount)) return 0;
+        if (kernel != null && (visitedRows[Cell.y(cell) + 1] >>> Cell.x(cell) & 1L) == 0) return UNREACHABLE;
+        return dist[index(cell)];
+    }
+
+    /**
+     * Sprawdza, czy komórka jest zablokowana przez przeszkodę lub ciało węża (stan z chwili obliczenia mapy).
+     *
+     * @param cell upakowana komórka
+     * @return {@code true}, jeśli komórka jest zajęta lub leży poza planszą
+     */
+    public boolean isBlocked(int cell) {
+        if (!Cell.inside(cell, cellCount)) return true;
+        if (kernel == null) return blocked[index(cell)];
+        return (blockedRows[Cell.y(cell) + 1] >>> Cell.x(cell) & 1L) != 0;
+    }
+
+    /**
+     * Oznacza komórkę jako zajętą (komórki poza planszą są pomijane).
+     *
+     * @param cell upakowana komórka
+     */
+    private void block(int cell) {
+        if (!Cell.inside(cell, cellCount)) return;
+        if (kernel == null) {
+            blocked[index(cell)] = true;
+        } else {
+            blockedRows[Cell.y(cell) + 1] |= 1L << Cell.x(cell);
+        }
+    }
+
+    /**
+     * Dodaje źródło o odległości 0 do kolejki lub pierwszego poziomu (jeśli nie zostało już dodane).
+     *
+     * @param cell upakowana komórka źródła
+     * @param tail bieżący koniec kolejki
+     * @return nowy koniec kolejki
+     */
+    private int enqueueSource(int cell, int tail) {
+        if (!Cell.inside(cell, cellCount)) return tail;
+        int i = index(cell);
+        if (kernel != null) {
+            long bit = 1L << Cell.x(cell);
+            int row = Cell.y(cell) + 1;
+            if ((visitedRows[row] & bit) != 0) return tail;
+            visitedRows[row] |= bit;
+            frontier[row] |= bit;
+            dist[i] = 0;
+            return tail + 1;
+        }
+        if (dist[i] == 0) return tail;
+        dist[i] = 0;
+        queue[tail] = i;
+        return tail + 1;
+    }
+
+    /**
+     * Ustawia odległość wolnej, jeszcze nieodwiedzonej komórki i dodaje ją do kolejki.
+     *
+     * @param i    indeks komórki
+     * @param d    nowa odległość
+     * @param tail bieżący koniec kolejki
+     * @return nowy koniec kolejki
+     */
+    private int relax(int i, int d, int tail) {
+        if (blocked[i] || dist[i] != UNREACHABLE) return tail;
+        dist[i] = d;
+        queue[tail] = i;
+        return tail + 1;
+    }
+
+    /**
+     * Przelicza komórkę na indeks w tablicach mapy.
+     *
+     * @param cell upakowana komórka leżąca na planszy
+     * @return indeks y * cellCount + x
+     */
+    private int index(int cell) {
+        return Cell.y(cell) * cellCount + Cell.x(cell);
+    }
+}
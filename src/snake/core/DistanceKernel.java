@@ -0,0 +1,66 @@
+package snake.core;
+
+/**
+ * Interfejs {@code DistanceKernel} opisuje krok przeszukiwania wszerz wykonywany na mapach bitowych
+ * (jeden {@code long} na wiersz planszy, jak w {@link Bitboard}): z bieżącego frontu wyznaczany jest
+ * kolejny poziom – komórki sąsiednie, wolne i jeszcze nieodwiedzone – dla wszystkich komórek planszy naraz.
+ * {@link DistanceField} powtarza ten krok poziom po poziomie, więc odległości są identyczne
+ * jak w przeszukiwaniu kolejką, a pętla nie odwiedza komórek pojedynczo.
+ *
+ * <p>Tablice wierszy mają na początku jeden pusty wiersz ({@code y = 0}), a wiersze planszy zajmują indeksy
+ * {@code 1..rows}; dzięki temu sąsiedzi w pionie czytani są bez warunków brzegowych. Długość tablic podaje
+ * {@link #arrayLength(int)} (implementacja wektorowa potrzebuje zapasu na pełny wektor).</p>
+ *
+ * <p>Implementacja wybierana jest raz, przy starcie ({@link #preferred()}): wektorowa
+ * ({@code jdk.incubator.vector}), jeśli moduł jest dostępny (opcja {@code --add-modules jdk.incubator.vector})
+ * i nie wyłączono jej właściwością {@code -Dsnake.simd=false}; w przeciwnym razie skalarna.</p>
+ */
+public interface DistanceKernel {
+
+    /**
+     * Wyznacza kolejny poziom przeszukiwania: {@code next = sąsiedzi(frontier) & open & ~visited},
+     * a następnie dopisuje go do {@code visited}. Wiersz 0 oraz wiersze za {@code rows} w {@code frontier}
+     * i {@code open} muszą być puste.
+     *
+     * @param frontier bieżący poziom
+     * @param next     tablica na kolejny poziom
+     * @param visited  odwiedzone komórki (uzupełniane)
+     * @param open     komórki, przez które można przechodzić (bez bitów spoza planszy)
+     * @param rows     liczba wierszy planszy
+     * @return {@code true}, jeśli kolejny poziom nie jest pusty
+     */
+    boolean expand(long[] frontier, long[] next, long[] visited, long[] open, int rows);
+
+    /**
+     * Zwraca wymaganą długość tablic wierszy dla planszy o podanej liczbie wierszy.
+     *
+     * @param rows liczba wierszy planszy
+     * @return długość tablic
+     */
+    int arrayLength(int rows);
+
+    /**
+     * Zwraca nazwę implementacji (do raportów).
+     *
+     * @return nazwa
+     */
+    String name();
+
+    /**
+     * Zwraca implementację skalarną.
+     *
+     * @return jądro skalarne
+     */
+    static DistanceKernel scalar() {
+        return ScalarDistanceKernel.INSTANCE;
+    }
+
+    /**
+     * Zwraca implementację wybraną przy starcie (wektorową, jeśli jest dostępna).
+     *
+     * @return jądro przeszukiwania
+     */
+    static DistanceKernel preferred() {
+        return ScalarDistanceKernel.PREFERRED;
+    }
+}
@@ -2,20 +2,22 @@ package snake.core;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
 /**
  * Klasa {@code Food} reprezentuje obiekty jedzenia na planszy gry Snake.
  * Obsługuje losowanie pozycji owoców, ich rysowanie, kolizje z przeszkodami i wężami,
- * a także prostą animację pulsującą.
+ * a także prostą animację pulsującą. Pozycje owoców są przechowywane jako komórki {@link Cell}.
  */
 public class Food {
     private final Board board;
     private final Pictures pictures;
     private final int fruitCount;
-    public List<Point> positions = new ArrayList<>();
-    private final List<Integer> types = new ArrayList<>();
+    private final int[] positions;
+    private final int[] types;
+    private final Random random;
 
     /**
      * Stała określająca indeks złotego jabłka w zestawie grafik owoców.
@@ -28,6 +30,9 @@ public class Food {
     private Obstacle obstacle;
     private final List<Snake> snakes;
 
+    /** Hasz Zobrista owoców (suma kluczy pozycji według typu), utrzymywany przy każdej zmianie owocu. */
+    private long hash;
+
     /**
      * Tworzy nowy obiekt {@code Food} z określoną liczbą owoców oraz wężami do uwzględnienia w kolizjach.
      *
@@ -38,11 +43,28 @@ public class Food {
      * @param snakes      lista węży, których ogony mają być uwzględnione przy losowaniu pozycji
      */
     public Food(Board board, Pictures pictures, Obstacle obstacle, int fruitCount, List<Snake> snakes) {
+        this(board, pictures, obstacle, fruitCount, snakes, new Random());
+    }
+
+    /**
+     * Tworzy nowy obiekt {@code Food} z podanym generatorem losowym (np. z ziarnem dla symulacji).
+     *
+     * @param board       obiekt planszy gry
+     * @param pictures    obiekt rysujący grafiki owoców (może być {@code null} w trybie bez grafiki)
+     * @param obstacle    przeszkody na planszy
+     * @param fruitCount  liczba owoców do wygenerowania
+     * @param snakes      lista węży, których ogony mają być uwzględnione przy losowaniu pozycji
+     * @param random      generator losowy pozycji i typów owoców
+     */
+    public Food(Board board, Pictures pictures, Obstacle obstacle, int fruitCount, List<Snake> snakes, Random random) {
         this.board = board;
         this.pictures = pictures;
         this.obstacle = obstacle;
         this.fruitCount = fruitCount;
+        this.positions = new int[fruitCount];
+        this.types = new int[fruitCount];
         this.snakes = new ArrayList<>(snakes);
+        this.random = random;
         regenerate();
     }
 
@@ -61,32 +83,29 @@ public class Food {
     /**
      * Losuje nową pozycję dla owocu z uwzględnieniem przeszkód, innych owoców oraz pozycji węży.
      *
-     * @return losowo wybrany punkt na planszy, który jest wolny
+     * @return losowo wybrana wolna komórka planszy
      */
-    public Point getRandomPos() {
-        Random random = new Random();
-        Point p;
+    public int getRandomPos() {
+        int cell;
         do {
             int x = random.nextInt(board.getCellCount());
             int y = random.nextInt(board.getCellCount());
-            p = new Point(x, y);
-        } while (obstacle.getObstacles().contains(p) || positions.contains(p) || onSnake(p));
-        return p;
+            cell = Cell.of(x, y);
+        } while (obstacle.isObstacle(cell) || indexOf(cell) != -1 || onSnake(cell));
+        return cell;
     }
 
     /**
-     * Sprawdza, czy dany punkt pokrywa się z ogonem któregokolwiek węża.
+     * Sprawdza, czy dana komórka pokrywa się z ogonem któregokolwiek węża.
      *
-     * @param p punkt do sprawdzenia
-     * @return {@code true}, jeśli punkt koliduje z wężem; {@code false} w przeciwnym razie
+     * @param cell komórka do sprawdzenia
+     * @return {@code true}, jeśli komórka koliduje z wężem; {@code false} w przeciwnym razie
      */
-    private boolean onSnake(Point p) {
-        for (Snake s : snakes) {
-            if (!s.isAlive()) continue;
-            for (Point seg : s.getTail()) {
-                if (seg.equals(p)) {
-                    return true;
-                }
+    private boolean onSnake(int cell) {
+        for (int i = 0; i < snakes.size(); i++) {
+            Snake s = snakes.get(i);
+            if (s.isAlive() && s.occupies(cell)) {
+                return true;
             }
         }
         return false;
@@ -98,33 +117,67 @@ public class Food {
      * @return indeks graficzny owocu
      */
     private int randomFruit() {
-        Random rand = new Random();
-        return rand.nextInt(pictures.getFruitCount());
+        return random.nextInt(Pictures.FRUIT_COUNT);
     }
 
     /**
      * Regeneruje wszystkie owoce – losuje nowe pozycje i typy.
      */
     public void regenerate() {
-        positions.clear();
-        types.clear();
+        Arrays.fill(positions, Cell.NONE);
+        hash = 0;
         for (int i = 0; i < fruitCount; i++) {
-            positions.add(getRandomPos());
-            types.add(randomFruit());
+            positions[i] = getRandomPos();
+            types[i] = randomFruit();
+            hash += key(i);
         }
     }
 
     /**
      * Zastępuje zjedzony owoc nowym w losowej pozycji i z nowym typem.
      *
-     * @param eaten pozycja zjedzonego owocu
+     * @param eaten komórka zjedzonego owocu
      */
-    public void replace(Point eaten) {
-        int idx = positions.indexOf(eaten);
+    public void replace(int eaten) {
+        int idx = indexOf(eaten);
         if (idx != -1) {
-            positions.set(idx, getRandomPos());
-            types.set(idx, randomFruit());
+            hash -= key(idx);
+            positions[idx] = getRandomPos();
+            types[idx] = randomFruit();
+            hash += key(idx);
+        }
+    }
+
+    /**
+     * Zwraca indeks owocu leżącego na podanej komórce.
+     *
+     * @param cell komórka
+     * @return indeks owocu lub -1, jeśli na komórce nie ma owocu
+     */
+    public int indexOf(int cell) {
+        for (int i = 0; i < fruitCount; i++) {
+            if (positions[i] == cell) return i;
         }
+        return -1;
+    }
+
+    /**
+     * Zwraca liczbę owoców na planszy.
+     *
+     * @return liczba owoców
+     */
+    public int getCount() {
+        return fruitCount;
+    }
+
+    /**
+     * Zwraca komórkę owocu o danym indeksie.
+     *
+     * @param index indeks owocu
+     * @return upakowana komórka
+     */
+    public int getPosition(int index) {
+        return positions[index];
     }
 
     /**
@@ -134,7 +187,40 @@ public class Food {
      * @return typ owocu
      */
     public int getType(int index) {
-        return types.get(index);
+        return types[index];
+    }
+
+    /**
+     * Ustawia owoc o danym indeksie (np. przy przywracaniu stanu z migawki).
+     *
+     * @param index indeks owocu
+     * @param cell  upakowana komórka
+     * @param type  typ owocu
+     */
+    public void set(int index, int cell, int type) {
+        hash -= key(index);
+        positions[index] = cell;
+        types[index] = type;
+        hash += key(index);
+    }
+
+    /**
+     * Zwraca hasz Zobrista owoców (pozycje razem z typami).
+     *
+     * @return hasz owoców
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Zwraca klucz Zobrista owocu o danym indeksie.
+     *
+     * @param index indeks owocu
+     * @return klucz (0, jeśli owocu nie ma na planszy)
+     */
+    private long key(int index) {
+        return Zobrist.key(Zobrist.FRUIT + types[index], positions[index]);
     }
 
     /**
@@ -143,19 +229,42 @@ public class Food {
      * @param g obiekt {@code Graphics2D} do rysowania
      */
     public void draw(Graphics2D g) {
-        int baseSize = board.getCellSize();
-        int scaledSize = (int) (baseSize * fruitScale);
+        drawFruits(g, pictures, board.getCellSize(), fruitScale, positions, types, fruitCount);
+    }
+
+    /**
+     * Rysuje owoce z podanych tablic z uwzględnieniem skalowania (animacji).
+     *
+     * @param g         kontekst graficzny
+     * @param pictures  zasoby graficzne
+     * @param baseSize  rozmiar komórki w pikselach
+     * @param scale     skala owoców
+     * @param positions komórki owoców
+     * @param types     typy owoców
+     * @param count     liczba owoców
+     */
+    static void drawFruits(Graphics2D g, Pictures pictures, int baseSize, float scale,
+                           int[] positions, int[] types, int count) {
+        int scaledSize = (int) (baseSize * scale);
         int offset = (baseSize - scaledSize) / 2;
 
-        for (int i = 0; i < positions.size(); i++) {
-            Point p = positions.get(i);
-            int drawX = p.x * baseSize + offset;
-            int drawY = p.y * baseSize + offset;
-            int type = types.get(i);
-            pictures.drawFruit(g, drawX, drawY, scaledSize, scaledSize, type);
+        for (int i = 0; i < count; i++) {
+            int p = positions[i];
+            int drawX = Cell.x(p) * baseSize + offset;
+            int drawY = Cell.y(p) * baseSize + offset;
+            pictures.drawFruit(g, drawX, drawY, scaledSize, scaledSize, types[i]);
         }
     }
 
+    /**
+     * Zwraca bieżącą skalę owoców (faza animacji pulsowania).
+     *
+     * @return skala owoców
+     */
+    public float getScale() {
+        return fruitScale;
+    }
+
     /**
      * Aktualizuje skalowanie owoców do animacji pulsowania.
      */
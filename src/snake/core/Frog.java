@@ -1,30 +1,47 @@
 package snake.core;
 
+import snake.enums.Direction;
+
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 /**
  * Klasa {@code Frog} reprezentuje żabę, która okresowo pojawia się na planszy.
  * Unika węży i przeszkód, porusza się rzadziej niż wąż, a po zjedzeniu znika i pojawia się ponownie po pewnym czasie.
+ * Czas żaby jest liczony w krokach gry, dzięki czemu rozgrywka jest powtarzalna dla danego ziarna.
+ * Ucieczka korzysta ze wspólnej mapy odległości {@link DistanceField}, więc koszt ruchu nie zależy od długości węży.
  */
 public class Frog {
     private final Board board;
     private final Pictures pictures;
     private final Obstacle obstacle;
-    private final List<Snake> snakes;
-    private final Random random = new Random();
+    private final Snake[] snakes;
+    private final Random random;
+
+    /** Mapa odległości od głów węży, z której korzysta logika ucieczki. */
+    private final DistanceField distances;
+
+    /** Czy żaba sama przelicza mapę odległości (gdy nie jest współdzielona z grą). */
+    private final boolean ownsDistances;
+
+    /** Komórka, w której znajduje się żaba, lub {@link Cell#NONE}, gdy jej nie ma. */
+    private int position = Cell.NONE;
 
-    private Point position;
-    private long lastMoveMillis = System.currentTimeMillis();
-    private long nextSpawnTime = 0;
+    /** Liczba kroków gry od ostatniego ruchu żaby. */
+    private int ticksSinceMove = 0;
 
-    /** Opóźnienie ruchu żaby względem czasu (w sekundach). */
-    private static final float MOVE_DELAY = 0.3f;
+    /** Liczba kroków gry pozostałych do ponownego pojawienia się żaby. */
+    private int respawnTicks = 0;
 
-    /** Opóźnienie ponownego pojawienia się żaby po zjedzeniu (w sekundach). */
-    private static final float RESPAWN_DELAY = 5f;
+    /** Co ile kroków gry porusza się żaba (0,3 s przy kroku 0,1 s). */
+    private static final int MOVE_TICKS = 3;
+
+    /** Po ilu krokach gry żaba pojawia się ponownie po zjedzeniu (5 s przy kroku 0,1 s). */
+    private static final int RESPAWN_TICKS = 50;
+
+    /** Możliwe kierunki ruchu żaby. */
+    private static final Direction[] MOVES = Direction.values();
 
     /**
      * Tworzy nowy obiekt {@code Frog} i od razu umieszcza żabę na planszy.
@@ -35,152 +52,205 @@ public class Frog {
      * @param snakes   lista węży, których obecność jest uwzględniana w logice ruchu żaby
      */
     public Frog(Board board, Pictures pictures, Obstacle obstacle, List<Snake> snakes) {
+        this(board, pictures, obstacle, snakes, new Random(), null);
+    }
+
+    /**
+     * Tworzy nowy obiekt {@code Frog} z podanym generatorem losowym (np. z ziarnem dla symulacji)
+     * i współdzieloną mapą odległości.
+     *
+     * @param board     plansza gry
+     * @param pictures  obiekt rysujący żabę (może być {@code null} w trybie bez grafiki)
+     * @param obstacle  obiekt z przeszkodami
+     * @param snakes    lista węży, których obecność jest uwzględniana w logice ruchu żaby
+     * @param random    generator losowy pozycji żaby
+     * @param distances mapa odległości przeliczana przez grę w każdym kroku
+     *                  lub {@code null}, aby żaba liczyła własną mapę przed każdym ruchem
+     */
+    public Frog(Board board, Pictures pictures, Obstacle obstacle, List<Snake> snakes, Random random,
+                DistanceField distances) {
         this.board = board;
         this.pictures = pictures;
         this.obstacle = obstacle;
-        this.snakes = new ArrayList<>(snakes);
+        this.snakes = snakes.toArray(new Snake[0]);
+        this.random = random;
+        this.ownsDistances = (distances == null);
+        this.distances = ownsDistances ? new DistanceField(board) : distances;
         spawn();
     }
 
-    /** Losuje nową pozycję żaby i resetuje czas ostatniego ruchu. */
+    /** Losuje nową pozycję żaby i zeruje licznik kroków od ostatniego ruchu. */
     private void spawn() {
         position = getRandomPos();
-        lastMoveMillis = System.currentTimeMillis();
+        ticksSinceMove = 0;
     }
 
     /**
      * Losuje pozycję na planszy, która nie koliduje z wężami ani przeszkodami.
      *
-     * @return nowa, bezpieczna pozycja żaby
+     * @return nowa, bezpieczna komórka żaby
      */
-    private Point getRandomPos() {
-        Point p;
+    private int getRandomPos() {
+        int cell;
         do {
             int x = random.nextInt(board.getCellCount());
             int y = random.nextInt(board.getCellCount());
-            p = new Point(x, y);
-        } while (onSnake(p) || obstacle.getObstacles().contains(p));
-        return p;
+            cell = Cell.of(x, y);
+        } while (onSnake(cell) || obstacle.isObstacle(cell));
+        return cell;
     }
 
     /**
-     * Sprawdza, czy dany punkt koliduje z jakimkolwiek wężem.
+     * Sprawdza, czy dana komórka koliduje z jakimkolwiek wężem.
      *
-     * @param p punkt do sprawdzenia
-     * @return {@code true}, jeśli punkt jest zajęty przez węża
+     * @param cell komórka do sprawdzenia
+     * @return {@code true}, jeśli komórka jest zajęta przez węża
      */
-    private boolean onSnake(Point p) {
+    private boolean onSnake(int cell) {
         for (Snake s : snakes) {
-            if (!s.isAlive()) continue;
-            for (Point seg : s.getTail()) {
-                if (seg.equals(p)) {
-                    return true;
-                }
+            if (s.isAlive() && s.occupies(cell)) {
+                return true;
             }
         }
         return false;
     }
 
     /**
-     * Aktualizuje stan żaby – wykonuje ruch lub generuje nową żabę po respawnie.
+     * Aktualizuje stan żaby o jeden krok gry – wykonuje ruch lub generuje nową żabę po respawnie.
      */
     public void update() {
-        long current = System.currentTimeMillis();
-        if (position == null) {
-            if (current >= nextSpawnTime) {
+        if (position == Cell.NONE) {
+            if (--respawnTicks <= 0) {
                 spawn();
             }
             return;
         }
-        if ((current - lastMoveMillis) / 1000f >= MOVE_DELAY) {
+        if (++ticksSinceMove >= MOVE_TICKS) {
             moveAwayFromSnakes();
-            lastMoveMillis = current;
+            ticksSinceMove = 0;
         }
     }
 
     /**
-     * Przesuwa żabę w kierunku przeciwnym do najbliższego węża (ucieczka).
+     * Sprawdza, czy w najbliższym wywołaniu {@link #update()} żaba wykona ruch (i odczyta mapę odległości).
+     *
+     * @return {@code true}, jeśli żaba jest obecna i upłynął czas do jej ruchu
+     */
+    public boolean movesNextUpdate() {
+        return position != Cell.NONE && ticksSinceMove + 1 >= MOVE_TICKS;
+    }
+
+    /**
+     * Przesuwa żabę na sąsiednią wolną komórkę najdalszą (w sensie drogi) od bieżących
+     * i przewidywanych pozycji głów węży (ucieczka).
      */
     private void moveAwayFromSnakes() {
-        if (position == null) return;
-        List<Point> candidates = new ArrayList<>();
-        int[][] moves = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
-        for (int[] m : moves) {
-            Point np = new Point(position.x + m[0], position.y + m[1]);
-            if (isSafe(np)) {
-                candidates.add(np);
-            }
+        if (position == Cell.NONE) return;
+        if (ownsDistances) {
+            distances.compute(obstacle, snakes, DistanceField.DEFAULT_LOOKAHEAD);
         }
-        if (candidates.isEmpty()) return;
-
-        Point best = candidates.get(0);
-        int bestDist = distanceToNearestSnake(best);
-        for (Point cand : candidates) {
-            int d = distanceToNearestSnake(cand);
+        int best = Cell.NONE;
+        int bestDist = -1;
+        for (Direction m : MOVES) {
+            int candidate = Cell.offset(position, m.getDx(), m.getDy());
+            if (distances.isBlocked(candidate)) continue;
+            int d = distances.get(candidate);
             if (d > bestDist) {
                 bestDist = d;
-                best = cand;
+                best = candidate;
             }
         }
-        position = best;
+        if (best != Cell.NONE) {
+            position = best;
+        }
     }
 
     /**
-     * Oblicza dystans Manhattan do najbliższego segmentu dowolnego żywego węża.
+     * Rysuje żabę na planszy, jeśli jest obecna.
      *
-     * @param p punkt do sprawdzenia
-     * @return minimalna odległość od któregoś z segmentów węża
+     * @param g obiekt graficzny do rysowania
      */
-    private int distanceToNearestSnake(Point p) {
-        int best = Integer.MAX_VALUE;
-        for (Snake s : snakes) {
-            if (!s.isAlive()) continue;
-            for (Point seg : s.getTail()) {
-                int d = Math.abs(seg.x - p.x) + Math.abs(seg.y - p.y);
-                if (d < best) best = d;
-            }
-        }
-        return best;
+    public void draw(Graphics2D g) {
+        drawAt(g, pictures, board.getCellSize(), position);
     }
 
     /**
-     * Sprawdza, czy punkt znajduje się w granicach planszy i nie koliduje z przeszkodami ani wężami.
+     * Rysuje żabę w podanej komórce.
      *
-     * @param p punkt do sprawdzenia
-     * @return {@code true}, jeśli punkt jest bezpieczny
+     * @param g        kontekst graficzny
+     * @param pictures zasoby graficzne
+     * @param size     rozmiar komórki w pikselach
+     * @param cell     komórka żaby lub {@link Cell#NONE} (nic nie jest rysowane)
      */
-    private boolean isSafe(Point p) {
-        if (p.x < 0 || p.y < 0 || p.x >= board.getCellCount() || p.y >= board.getCellCount())
-            return false;
-        if (obstacle.getObstacles().contains(p)) return false;
-        return !onSnake(p);
+    static void drawAt(Graphics2D g, Pictures pictures, int size, int cell) {
+        if (cell == Cell.NONE) return;
+        pictures.drawFrog(g, Cell.x(cell) * size, Cell.y(cell) * size, size, size);
     }
 
     /**
-     * Rysuje żabę na planszy, jeśli jest obecna.
+     * Zwraca bieżącą pozycję żaby.
      *
-     * @param g obiekt graficzny do rysowania
+     * @return komórka żaby lub {@link Cell#NONE}, jeśli nie jest obecna
      */
-    public void draw(Graphics2D g) {
-        if (position == null) return;
-        int size = board.getCellSize();
-        pictures.drawFrog(g, position.x * size, position.y * size, size, size);
+    public int getPosition() {
+        return position;
     }
 
     /**
-     * Zwraca bieżącą pozycję żaby.
+     * Zwraca hasz Zobrista żaby – klucz jej bieżącej komórki, więc każdy ruch, zjedzenie i ponowne pojawienie się
+     * zmienia go bez dodatkowej pracy.
      *
-     * @return pozycja żaby lub {@code null}, jeśli nie jest obecna
+     * @return hasz żaby (0, jeśli jej nie ma na planszy)
      */
-    public Point getPosition() {
-        return position;
+    public long getHash() {
+        return Zobrist.key(Zobrist.FROG, position);
+    }
+
+    /**
+     * Ustawia pozycję żaby (np. przy przywracaniu stanu z migawki).
+     *
+     * @param cell komórka żaby lub {@link Cell#NONE}, jeśli żaby nie ma na planszy
+     */
+    public void restore(int cell) {
+        position = cell;
+    }
+
+    /**
+     * Przywraca pełny stan żaby razem z licznikami kroków (np. przy wznawianiu zapisanej gry).
+     *
+     * @param cell           komórka żaby lub {@link Cell#NONE}
+     * @param ticksSinceMove liczba kroków od ostatniego ruchu
+     * @param respawnTicks   liczba kroków do ponownego pojawienia się
+     */
+    public void restore(int cell, int ticksSinceMove, int respawnTicks) {
+        this.position = cell;
+        this.ticksSinceMove = ticksSinceMove;
+        this.respawnTicks = respawnTicks;
+    }
+
+    /**
+     * Zwraca liczbę kroków od ostatniego ruchu żaby.
+     *
+     * @return liczba kroków
+     */
+    public int getTicksSinceMove() {
+        return ticksSinceMove;
+    }
+
+    /**
+     * Zwraca liczbę kroków pozostałych do ponownego pojawienia się żaby.
+     *
+     * @return liczba kroków
+     */
+    public int getRespawnTicks() {
+        return respawnTicks;
     }
 
     /**
      * Oznacza, że żaba została zjedzona – znika i zaczyna odliczać czas do ponownego pojawienia się.
      */
     public void eaten() {
-        position = null;
-        nextSpawnTime = System.currentTimeMillis() + (long) (RESPAWN_DELAY * 1000);
+        position = Cell.NONE;
+        respawnTicks = RESPAWN_TICKS;
     }
 }
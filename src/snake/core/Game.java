@@ -1,26 +1,42 @@
 package snake.core;
 
+import snake.ai.AIStrategy;
+import snake.ai.GreedyStrategy;
+import snake.ai.Strategies;
+import snake.enums.DeathCause;
 import snake.enums.Direction;
+import snake.enums.GameEventType;
 import snake.enums.GameLevel;
 import snake.enums.GameScreen;
 import snake.enums.SnakeType;
+import snake.event.GameEventBus;
+import snake.net.MultiplayerClient;
+import snake.net.Protocol;
+import snake.state.RewindBuffer;
+import snake.state.RewindPlayer;
 import java.awt.event.KeyEvent;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.*;
 
 
 /**
  * Klasa {@code Game} zarządza całym cyklem życia gry Snake.
- * Obsługuje wszystkie ekrany gry (MENU, GAME, SCORE_BOARD), kontroluje rysowanie i aktualizację gry,
+ * Obsługuje wszystkie ekrany gry (MENU, GAME, SCORE_BOARD, MULTIPLAYER_MENU, REPLAY), kontroluje rysowanie i aktualizację gry,
  * logikę związaną z wężami (w tym AI), jedzeniem, żabą, przeszkodami i punktacją.
+ *
+ * <p>Zdarzenia rozgrywki (zjedzenie owocu i żaby, śmierć węża, nowe przeszkody, koniec gry) publikowane są
+ * na szynie {@link #getEvents()}; ich skutki uboczne – np. zapis wyniku do {@link ScoreDataBase} – wykonują
+ * odbiorcy we własnych wątkach, więc krok gry na nie nie czeka.</p>
  */
 public class Game {
 
-    /** Aktualny ekran gry: MENU, GAME, SCORE_BOARD, itp. */
-    private GameScreen gameScreen = GameScreen.MENU;
+    /** Aktualny ekran gry: MENU, GAME, SCORE_BOARD, itp. (odczytywany także przez wątek rysujący). */
+    private volatile GameScreen gameScreen = GameScreen.MENU;
 
     /** Aktualny poziom trudności gry. */
     private GameLevel gameLevel = GameLevel.EASY;
@@ -43,20 +59,32 @@ public class Game {
     /** Drugi wąż AI. */
     private final Snake snakeAI2;
 
+    /** Wszystkie węże na planszy (gracz, AI1, AI2). */
+    private final Snake[] snakes;
+
     /** Obiekt zarządzający przeszkodami na planszy. */
     private final Obstacle obstacle;
 
     /** Żaba – dodatkowy cel na planszy. */
     private final Frog frog;
 
+    /**
+     * Mapa odległości od głów węży współdzielona z żabą. Przeliczana na początku kroku (przed ruchem węży),
+     * ale tylko w krokach, w których żaba się rusza – jedynym jej odbiorcą jest ruch żaby.
+     */
+    private final DistanceField snakeDistances;
+
     /** Aktualny wynik gracza. */
     private int score = 0;
 
     /** Indeks aktualnie podświetlonej opcji w menu. */
     private int hoveredMenuIndex = -1;
 
-    /** Baza danych przechowująca wyniki graczy. */
-    private final ScoreDataBase scoreDataBase = new ScoreDataBase();
+    /** Klient gry wieloosobowej (tworzony przy pierwszym wejściu na ekran MULTIPLAYER_MENU). */
+    private MultiplayerClient multiplayer;
+
+    /** Baza danych przechowująca wyniki graczy ({@code null} w trybie bez interfejsu – wyniki nie są zapisywane). */
+    private final ScoreDataBase scoreDataBase;
 
     /** Pozycje pionowe opcji menu. */
     private int[] menuYPositions = new int[0];
@@ -76,57 +104,198 @@ public class Game {
     /** Czy kursor znajduje się nad przyciskiem powrotu do menu. */
     private boolean hoveredBackButton;
 
-    /** Executor do wielowątkowej obsługi AI, żaby i węża gracza. */
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    /** Executor równoległych decyzji węży; jego wątki istnieją tylko w czasie rozgrywki (ekran GAME). */
+    private final GameExecutor executor;
+
+    /** Kierunki wybrane przez strategie w bieżącym kroku według typu węża ({@code null} – bez zmiany). */
+    private final Direction[] decisions = new Direction[SnakeType.values().length];
+
+    /** Zadania decyzji węży wykonywane równolegle w każdym kroku gry. */
+    private final List<Callable<Void>> decisionTasks = createDecisionTasks();
+
+    /** Strategia sterująca pierwszym wężem AI. */
+    private AIStrategy ai1Strategy = new GreedyStrategy();
+
+    /** Strategia sterująca drugim wężem AI. */
+    private AIStrategy ai2Strategy = new GreedyStrategy();
+
+    /** Strategia sterująca wężem gracza ({@code null} – sterowanie klawiaturą). */
+    private AIStrategy playerStrategy = null;
+
+    /** Liczba kroków wykonanych w bieżącej rozgrywce. */
+    private int ticks = 0;
+
+    /** Przyczyna zakończenia ostatniej rozgrywki. */
+    private DeathCause lastDeathCause = null;
+
+    /** Wynik ostatniej zakończonej rozgrywki. */
+    private int lastScore = 0;
+
+    /** Liczba kroków ostatniej zakończonej rozgrywki. */
+    private int lastTicks = 0;
+
+    /** Klatki rozgrywki publikowane po każdym kroku i rysowane bez blokowania symulacji. */
+    private final RenderBuffer frames = new RenderBuffer();
+
+    /** Szyna zdarzeń rozgrywki (tworzona przy pierwszym użyciu – gry bez odbiorców jej nie potrzebują). */
+    private volatile GameEventBus events;
+
+    /** Historia ostatnich kroków rozgrywki do powtórki ({@code null} – historia nie jest zapisywana). */
+    private RewindBuffer rewind;
+
+    /** Odtwarzacz powtórki (tworzony przy pierwszym wejściu na ekran REPLAY). */
+    private RewindPlayer replay;
+
+    /** Napis wyniku wyrenderowany w rozdzielczości urządzenia dla bieżącej skali rysowania. */
+    private final ScaledCache<ScoreText> scoreText = new ScaledCache<>(ScoreText::render);
 
     /**
      * Konstruktor klasy {@code Game}.
      * Inicjalizuje wszystkie elementy: planszę, węże (gracza i AI), przeszkody, jedzenie, żabę.
+     * Strategię węży AI wybiera właściwość {@code snake.ai} ({@link Strategies#fromProperty(long)}).
      *
      * @param board plansza gry
      * @param pictures zasoby graficzne
      */
     public Game(Board board, Pictures pictures) {
+        this(board, pictures, new Random().nextLong(), new ScoreDataBase(),
+                new GameExecutor(GameExecutor.backendFromProperty(), "game", SnakeType.values().length));
+        this.ai1Strategy = Strategies.fromProperty(1);
+        this.ai2Strategy = Strategies.fromProperty(2);
+        this.rewind = RewindBuffer.fromProperty(board);
+        getEvents().subscribe("scores", event -> {
+            if (event.getType() == GameEventType.GAME_OVER) {
+                scoreDataBase.addScore(event.getScore(), event.getLevel());
+            }
+        });
+    }
+
+    /**
+     * Konstruktor wewnętrzny – pozwala podać ziarno losowości, bazę wyników i executor.
+     *
+     * @param board plansza gry
+     * @param pictures zasoby graficzne (może być {@code null}, jeśli gra nie jest rysowana)
+     * @param seed ziarno generatorów losowych przeszkód, jedzenia i żaby
+     * @param scoreDataBase baza wyników lub {@code null}, jeśli wyniki nie mają być zapisywane
+     * @param executor executor równoległych decyzji węży
+     */
+    private Game(Board board, Pictures pictures, long seed, ScoreDataBase scoreDataBase, GameExecutor executor) {
         this.board = board;
         this.pictures = pictures;
+        this.scoreDataBase = scoreDataBase;
+        this.executor = executor;
+        Random seeds = new Random(seed);
         this.snake = new Snake(board, pictures);
-        this.snakeAI1 = new Snake(board, pictures, SnakeType.AI1, List.of(
-                new Point(12, 6), new Point(11, 6), new Point(10, 6)));
-        this.snakeAI2 = new Snake(board, pictures, SnakeType.AI2, List.of(
-                new Point(7, 12), new Point(6, 12), new Point(5, 12)));
-        this.obstacle = new Obstacle(board, 0); // najpierw przeszkody
-        this.obstacle.setSnakes(List.of(snake, snakeAI1, snakeAI2));
-        this.food = new Food(board, pictures, obstacle, 5, List.of(snake, snakeAI1, snakeAI2)); // potem jedzenie
-        this.frog = new Frog(board, pictures, obstacle, List.of(snake, snakeAI1, snakeAI2));
+        this.snakeAI1 = new Snake(board, pictures, SnakeType.AI1,
+                Cell.of(12, 6), Cell.of(11, 6), Cell.of(10, 6));
+        this.snakeAI2 = new Snake(board, pictures, SnakeType.AI2,
+                Cell.of(7, 12), Cell.of(6, 12), Cell.of(5, 12));
+        this.snakes = new Snake[]{snake, snakeAI1, snakeAI2};
+        this.obstacle = new Obstacle(board, 0, new Random(seeds.nextLong())); // najpierw przeszkody
+        this.obstacle.setSnakes(List.of(snakes));
+        this.food = new Food(board, pictures, obstacle, 5, List.of(snakes), new Random(seeds.nextLong())); // potem jedzenie
+        this.snakeDistances = new DistanceField(board);
+        this.frog = new Frog(board, pictures, obstacle, List.of(snakes), new Random(seeds.nextLong()), snakeDistances);
         hoveredBackButton = false;
 
     }
+
+    /**
+     * Tworzy grę bez grafiki i bez zapisu wyników, której kroki wykonywane są w bieżącym wątku.
+     * Przy tym samym ziarnie i tych samych decyzjach rozgrywka przebiega identycznie (np. w symulacji wsadowej).
+     *
+     * @param board plansza gry
+     * @param seed ziarno generatorów losowych
+     * @return nowa gra w stanie MENU
+     */
+    public static Game headless(Board board, long seed) {
+        return new Game(board, null, seed, null, GameExecutor.inline());
+    }
+
+    /**
+     * Tworzy grę bez grafiki i bez zapisu wyników, której decyzje węży wykonuje podany executor
+     * (np. pula platformowa jak w grze z oknem). Executor jest uruchamiany przy starcie rozgrywki
+     * i zatrzymywany przy jej końcu oraz przy {@link #close()}.
+     *
+     * @param board plansza gry
+     * @param seed ziarno generatorów losowych
+     * @param executor executor równoległych decyzji węży
+     * @return nowa gra w stanie MENU
+     */
+    public static Game headless(Board board, long seed, GameExecutor executor) {
+        return new Game(board, null, seed, null, executor);
+    }
+
+    /**
+     * Tworzy grę bez okna i bez zapisu wyników, która publikuje klatki do narysowania poza ekranem
+     * (np. do eksportu powtórki do obrazów). Przebiega identycznie jak gra z {@link #headless(Board, long)}
+     * o tym samym ziarnie – zasoby graficzne służą tylko do rysowania.
+     *
+     * @param board plansza gry
+     * @param pictures zasoby graficzne
+     * @param seed ziarno generatorów losowych
+     * @return nowa gra w stanie MENU
+     */
+    public static Game headless(Board board, Pictures pictures, long seed) {
+        return new Game(board, pictures, seed, null, GameExecutor.inline());
+    }
+
+    /**
+     * Tworzy grę służącą wyłącznie do wyświetlania stanu przychodzącego z zewnątrz
+     * (np. z serwera gry wieloosobowej) – bez zapisu wyników i bez własnej puli wątków.
+     *
+     * @param board plansza gry
+     * @param pictures zasoby graficzne
+     * @return gra, której stan ustawia się metodami {@code restore}
+     */
+    public static Game view(Board board, Pictures pictures) {
+        return new Game(board, pictures, 0, null, GameExecutor.inline());
+    }
+
     /**
      * Rysuje aktualny stan gry na ekranie. W zależności od stanu gry wywołuje odpowiednie metody rysujące.
+     * Rozgrywka rysowana jest z ostatniej opublikowanej klatki ({@link #publish()}) bez blokowania
+     * wątku symulacji; ekrany menu i wyników – pod blokadą gry, bo zależą od stanu zmienianego przez wejście.
+     * Metoda może być wywoływana tylko z jednego wątku rysującego.
      *
      * @param g kontekst graficzny
      * @param panelWidth szerokość panelu
      * @param panelHeight wysokość panelu
      */
     public void draw(Graphics2D g, int panelWidth, int panelHeight) {
-        if (gameScreen == GameScreen.GAME) {
-            board.drawBoard(g);
-            obstacle.draw(g);
-            snake.draw(g);
-            snakeAI1.draw(g);
-            snakeAI2.draw(g);
-            food.draw(g);
-            frog.draw(g);
-            drawScore(g, panelWidth);
-
+        GameScreen screen = gameScreen;
+        if (screen == GameScreen.GAME) {
+            RenderFrame frame = frames.latest();
+            if (frame == null) return;
+            frame.draw(g, board, pictures);
+            drawScore(g, panelWidth, frame.score);
+        }
+        else if (screen == GameScreen.MULTIPLAYER_MENU) {
+            multiplayer.draw(g, panelWidth, panelHeight);
         }
-        else if (gameScreen == GameScreen.MENU) {
-            drawMenu(g, panelWidth, panelHeight);
+        else if (screen == GameScreen.REPLAY) {
+            replay.draw(g, panelWidth, panelHeight);
         }
-        else if (gameScreen == GameScreen.SCORE_BOARD) {
-            drawScoreBoard(g, panelWidth, panelHeight);
+        else {
+            synchronized (this) {
+                if (gameScreen == GameScreen.MENU) {
+                    drawMenu(g, panelWidth, panelHeight);
+                }
+                else if (gameScreen == GameScreen.SCORE_BOARD) {
+                    drawScoreBoard(g, panelWidth, panelHeight);
+                }
+            }
         }
-        
+    }
+
+    /**
+     * Publikuje bieżący stan rozgrywki jako klatkę do narysowania. Wywoływana przez wątek, który zmienia stan gry,
+     * po zakończeniu zmian (np. po kroku symulacji). W grze bez grafiki nic nie robi.
+     */
+    public void publish() {
+        if (pictures == null) return;
+        frames.back().capture(this);
+        frames.publish();
     }
 
     /**
@@ -135,37 +304,11 @@ public class Game {
      */
     public void update() {
         if (gameScreen == GameScreen.GAME) {
-            Callable<Void> ai1Task = () -> {
-                if (snake.isGameRunning() && snakeAI1.isAlive()) {
-                    updateAISnake(snakeAI1, snakeAI2);
-                    snakeAI1.update();
-                }
-                return null;
-            };
-
-            Callable<Void> ai2Task = () -> {
-                if (snake.isGameRunning() && snakeAI2.isAlive()) {
-                    updateAISnake(snakeAI2, snakeAI1);
-                    snakeAI2.update();
-                }
-                return null;
-            };
-
-            Callable<Void> frogTask = () -> {
-                frog.update();
-                return null;
-            };
-
-            Callable<Void> playerTask = () -> {
-                snake.update();
-                return null;
-            };
-
-            try {
-                executor.invokeAll(List.of(ai1Task, ai2Task, frogTask, playerTask));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            ticks++;
+            if (frog.movesNextUpdate()) {
+                snakeDistances.compute(obstacle, snakes, DistanceField.DEFAULT_LOOKAHEAD);
             }
+            runUpdateTasks();
             food.updateAnimation();
             handleFoodCollision();
             handleFrogCollision();
@@ -173,17 +316,87 @@ public class Game {
             handleWallCollision();
             handleObstacleCollision();
             handleAICollisions();
+            if (gameScreen == GameScreen.GAME) {
+                record();
+                publish();
+            }
+        }
+        else if (gameScreen == GameScreen.REPLAY) {
+            replay.update();
+        }
+    }
+
+    /**
+     * Zapisuje bieżący stan rozgrywki w historii do powtórki (jeśli jest włączona).
+     */
+    private void record() {
+        if (rewind != null) {
+            rewind.record(this);
         }
     }
 
+    /**
+     * Wykonuje ruchy w bieżącym kroku: najpierw strategie wszystkich węży wybierają kierunki
+     * (równolegle, na niezmienionym stanie gry), potem kierunki są stosowane, węże przesuwane,
+     * a żaba wykonuje ruch – kolejno, w stałej kolejności. Dzięki temu wynik kroku nie zależy
+     * od liczby wątków ani kolejności ich wykonania.
+     */
+    private void runUpdateTasks() {
+        executor.invokeAll(decisionTasks);
+        for (int t = 0; t < snakes.length; t++) {
+            if (decisions[t] != null) {
+                snakes[t].moveDirection(decisions[t]);
+                decisions[t] = null;
+            }
+        }
+        snake.update();
+        if (snake.isGameRunning()) {
+            snakeAI1.update();
+            snakeAI2.update();
+        }
+        frog.update();
+    }
+
+    /**
+     * Tworzy zadania decyzji węży (gracz, AI1, AI2) wykonywane równolegle w każdym kroku gry.
+     * Zadanie tylko odczytuje stan gry i zapisuje wybrany kierunek w {@link #decisions}.
+     * Zadania są tworzone raz, aby krok gry nie alokował nowych obiektów zadań.
+     *
+     * @return niemodyfikowalna lista zadań
+     */
+    private List<Callable<Void>> createDecisionTasks() {
+        Callable<Void> playerTask = () -> {
+            if (playerStrategy != null && snake.isAlive()) {
+                decisions[SnakeType.PLAYER.ordinal()] = playerStrategy.decide(this, snake);
+            }
+            return null;
+        };
+
+        Callable<Void> ai1Task = () -> {
+            if (snake.isGameRunning() && snakeAI1.isAlive()) {
+                decisions[SnakeType.AI1.ordinal()] = ai1Strategy.decide(this, snakeAI1);
+            }
+            return null;
+        };
+
+        Callable<Void> ai2Task = () -> {
+            if (snake.isGameRunning() && snakeAI2.isAlive()) {
+                decisions[SnakeType.AI2.ordinal()] = ai2Strategy.decide(this, snakeAI2);
+            }
+            return null;
+        };
+
+        return List.of(playerTask, ai1Task, ai2Task);
+    }
+
     /**
      * Sprawdza kolizję gracza z owocami. Jeśli nastąpi – dodaje punkty i segment ogona.
      * Dodatkowo wywołuje sprawdzanie kolizji dla węży AI.
      */
     public void handleFoodCollision() {
-        for (int i = 0; i < food.positions.size(); i++) {
-            Point fruit = food.positions.get(i);
-            if (snake.getTail().getFirst().equals(fruit)) {
+        for (int i = 0; i < food.getCount(); i++) {
+            int fruit = food.getPosition(i);
+            if (snake.isHeadAt(fruit)) {
                 int type = food.getType(i);
                 score += (type == Food.GOLDEN_APPLE_INDEX) ? 2 : 1;
                 food.replace(fruit);
@@ -191,6 +404,7 @@ public class Game {
                 if (type == Food.GOLDEN_APPLE_INDEX) {
                     snake.addTail();
                 }
+                emit(GameEventType.FRUIT_EATEN, SnakeType.PLAYER, fruit, type, null);
                 break;
             }
         }
@@ -203,12 +417,13 @@ public class Game {
      * Sprawdza kolizję gracza z żabą. Po zjedzeniu dodaje punkty i segmenty ogona.
      */
     private void handleFrogCollision() {
-        Point head = snake.getTail().getFirst();
-        if (frog.getPosition() != null && frog.getPosition().equals(head)) {
+        int frogPos = frog.getPosition();
+        if (frogPos != Cell.NONE && snake.isHeadAt(frogPos)) {
             score += 2;
             snake.addTail();
             snake.addTail();
             frog.eaten();
+            emit(GameEventType.FROG_EATEN, SnakeType.PLAYER, frogPos, 0, null);
         }
 
         checkAIFrogCollision(snakeAI1);
@@ -221,11 +436,13 @@ public class Game {
      * @param ai wąż AI
      */
     private void checkAIFrogCollision(Snake ai) {
-        if (!ai.isAlive() || frog.getPosition() == null) return;
-        if (ai.getTail().getFirst().equals(frog.getPosition())) {
+        if (!ai.isAlive() || frog.getPosition() == Cell.NONE) return;
+        int frogPos = frog.getPosition();
+        if (ai.isHeadAt(frogPos)) {
             ai.addTail();
             ai.addTail();
             frog.eaten();
+            emit(GameEventType.FROG_EATEN, ai.getType(), frogPos, 0, null);
         }
     }
 
@@ -236,15 +453,16 @@ public class Game {
      */
     private void checkAIFoodCollision(Snake ai) {
         if (!ai.isAlive()) return;
-        for (int i = 0; i < food.positions.size(); i++) {
-            Point fruit = food.positions.get(i);
-            if (ai.getTail().getFirst().equals(fruit)) {
+        for (int i = 0; i < food.getCount(); i++) {
+            int fruit = food.getPosition(i);
+            if (ai.isHeadAt(fruit)) {
                 int type = food.getType(i);
                 food.replace(fruit);
                 ai.addTail();
                 if (type == Food.GOLDEN_APPLE_INDEX) {
                     ai.addTail();
                 }
+                emit(GameEventType.FRUIT_EATEN, ai.getType(), fruit, type, null);
                 break;
             }
         }
@@ -255,12 +473,8 @@ public class Game {
      * Jeśli nastąpi – resetuje grę.
      */
     private void handleObstacleCollision() {
-        Point head = snake.getTail().getFirst();
-        for (Point p : obstacle.getObstacles()) {
-            if (p.equals(head)) {
-                resetGame();
-                return;
-            }
+        if (obstacle.isObstacle(snake.getHead())) {
+            resetGame(DeathCause.OBSTACLE);
         }
     }
 
@@ -269,26 +483,15 @@ public class Game {
      * Resetuje grę w przypadku kolizji.
      */
     public void handleTailCollision() {
-        List<Point> tail = snake.getTail();
-        Point head = tail.getFirst();
-        for (int i = 1; i < tail.size(); i++) {
-            if (head.equals(tail.get(i))) {
-                resetGame();
-                break;
-            }
+        SnakeBody tail = snake.getBody();
+        int head = tail.getFirst();
+        if (tail.contains(head, 1, tail.size())) {
+            resetGame(DeathCause.OWN_TAIL);
+            return;
         }
 
-        for (Point p : snakeAI1.getTail()) {
-            if (head.equals(p)) {
-                resetGame();
-                return;
-            }
-        }
-        for (Point p : snakeAI2.getTail()) {
-            if (head.equals(p)) {
-                resetGame();
-                return;
-            }
+        if (snakeAI1.getBody().contains(head) || snakeAI2.getBody().contains(head)) {
+            resetGame(DeathCause.AI_SNAKE);
         }
     }
 
@@ -297,9 +500,8 @@ public class Game {
      * Jeśli tak – resetuje grę.
      */
     public void handleWallCollision() {
-        Point head = snake.getTail().getFirst();
-        if (head.x < 0 || head.y < 0 || head.x >= board.getCellCount() || head.y >= board.getCellCount()) {
-            resetGame();
+        if (!Cell.inside(snake.getHead(), board.getCellCount())) {
+            resetGame(DeathCause.WALL);
         }
     }
 
@@ -319,127 +521,70 @@ public class Game {
      */
     private void handleAICollision(Snake ai, Snake other) {
         if (!ai.isAlive()) return;
-        Point head = ai.getTail().getFirst();
+        SnakeBody tail = ai.getBody();
+        int head = tail.getFirst();
 
         // collision with wall
-        if (head.x < 0 || head.y < 0 || head.x >= board.getCellCount() || head.y >= board.getCellCount()) {
-            ai.die();
+        if (!Cell.inside(head, board.getCellCount())) {
+            killAI(ai, DeathCause.WALL);
             return;
         }
 
         // collision with obstacle
-        for (Point p : obstacle.getObstacles()) {
-            if (p.equals(head)) {
-                ai.die();
-                return;
-            }
+        if (obstacle.isObstacle(head)) {
+            killAI(ai, DeathCause.OBSTACLE);
+            return;
         }
 
         // collision with player's snake
-        for (Point p : snake.getTail()) {
-            if (head.equals(p)) {
-                resetGame();
-                return;
-            }
+        if (snake.getBody().contains(head)) {
+            resetGame(DeathCause.RAMMED_BY_AI);
+            return;
         }
 
         // collision with other AI
-        if (other.isAlive()) {
-            for (Point p : other.getTail()) {
-                if (head.equals(p)) {
-                    ai.die();
-                    return;
-                }
-            }
+        if (other.isAlive() && other.getBody().contains(head)) {
+            killAI(ai, DeathCause.AI_SNAKE);
+            return;
         }
 
         // collision with own tail
-        List<Point> tail = ai.getTail();
-        for (int i = 1; i < tail.size(); i++) {
-            if (head.equals(tail.get(i))) {
-                ai.die();
-                return;
-            }
+        if (tail.contains(head, 1, tail.size())) {
+            killAI(ai, DeathCause.OWN_TAIL);
         }
     }
 
     /**
-     * Prosta logika poruszania się węży AI w stronę najbliższego celu (owocu lub żaby),
-     * z omijaniem przeszkód i kolizji.
+     * Uśmierca węża AI i publikuje zdarzenie jego śmierci.
      *
-     * @param ai wąż AI
-     * @param other drugi wąż AI
+     * @param ai    wąż AI
+     * @param cause przyczyna śmierci
      */
-    private void updateAISnake(Snake ai, Snake other) {
-        if (!ai.isAlive()) return;
-        Point head = ai.getTail().getFirst();
-
-        Point target = null;
-        int best = Integer.MAX_VALUE;
-        for (Point fruit : food.positions) {
-            int dist = Math.abs(fruit.x - head.x) + Math.abs(fruit.y - head.y);
-            if (dist < best) {
-                best = dist;
-                target = fruit;
-            }
-        }
-        if (frog.getPosition() != null) {
-            int dist = Math.abs(frog.getPosition().x - head.x) + Math.abs(frog.getPosition().y - head.y);
-            if (dist < best) {
-                best = dist;
-                target = frog.getPosition();
-            }
-        }
-        if (target == null) return;
-
-        Direction[] dirs = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
-        int[][] moves = {{0,-1},{0,1},{-1,0},{1,0}};
-        Direction chosen = ai.getDirection();
-        int bestDist = Integer.MAX_VALUE;
-
-        for (int i=0;i<dirs.length;i++) {
-            int nx = head.x + moves[i][0];
-            int ny = head.y + moves[i][1];
-            Point cand = new Point(nx, ny);
-            if (!isSafe(cand, ai, other)) continue;
-            int d = Math.abs(target.x - nx) + Math.abs(target.y - ny);
-            if (d < bestDist) {
-                bestDist = d;
-                chosen = dirs[i];
-            }
-        }
-
-        if (bestDist != Integer.MAX_VALUE) {
-            ai.moveDirection(chosen);
-        }
+    private void killAI(Snake ai, DeathCause cause) {
+        emit(GameEventType.SNAKE_DIED, ai.getType(), ai.getHead(), ai.getBody().size(), cause);
+        ai.die();
     }
 
     /**
-     * Sprawdza, czy punkt jest bezpieczny do poruszenia się przez węża AI.
+     * Sprawdza, czy komórka jest bezpieczna do wejścia dla podanego węża:
+     * leży na planszy, nie jest przeszkodą ani segmentem innego żywego węża,
+     * a z własnego ciała węża wolny jest tylko koniec ogona (zwolni się w tym kroku).
      *
-     * @param p punkt do sprawdzenia
-     * @param current aktualny wąż
-     * @param other inny wąż AI
-     * @return true jeśli punkt jest wolny i bezpieczny
+     * @param cell komórka do sprawdzenia
+     * @param current wąż, który miałby wejść na komórkę
+     * @return true jeśli komórka jest wolna i bezpieczna
      */
-    private boolean isSafe(Point p, Snake current, Snake other) {
-        if (p.x < 0 || p.y < 0 || p.x >= board.getCellCount() || p.y >= board.getCellCount())
+    public boolean isFree(int cell, Snake current) {
+        if (!Cell.inside(cell, board.getCellCount()))
             return false;
-        if (obstacle.getObstacles().contains(p))
+        if (obstacle.isObstacle(cell))
             return false;
-        for (Point seg : snake.getTail()) {
-            if (seg.equals(p)) return false;
+        for (Snake other : snakes) {
+            if (other == current || !other.isAlive()) continue;
+            if (other.occupies(cell)) return false;
         }
-        if (other.isAlive()) {
-            for (Point seg : other.getTail()) {
-                if (seg.equals(p)) return false;
-            }
-        }
-        List<Point> self = current.getTail();
-        for (int i=0; i<self.size()-1; i++) {
-            if (self.get(i).equals(p)) return false;
-        }
-        return true;
+        SnakeBody self = current.getBody();
+        return !self.contains(cell, 0, self.size() - 1);
     }
 
     /**
@@ -475,6 +620,33 @@ public class Game {
             if (keyCode == KeyEvent.VK_RIGHT) snake.moveDirection(Direction.RIGHT);
         }
 
+        // Gra wieloosobowa – klawisze obsługuje klient, ESC rozłącza i wraca do menu
+        if (gameScreen == GameScreen.MULTIPLAYER_MENU) {
+            if (keyCode == KeyEvent.VK_ESCAPE) {
+                multiplayer.disconnect();
+                hoveredMenuIndex = -1;
+                gameScreen = GameScreen.MENU;
+            } else {
+                multiplayer.onKeyPress(keyCode);
+            }
+            return;
+        }
+
+        // Powtórka ostatniej rozgrywki – R w menu otwiera, ESC wraca do menu
+        if (gameScreen == GameScreen.MENU && keyCode == KeyEvent.VK_R) {
+            openReplay();
+            return;
+        }
+        if (gameScreen == GameScreen.REPLAY) {
+            if (keyCode == KeyEvent.VK_ESCAPE) {
+                hoveredMenuIndex = -1;
+                gameScreen = GameScreen.MENU;
+            } else {
+                replay.onKeyPress(keyCode);
+            }
+            return;
+        }
+
         // Wyjście z SCORE_BOARD do menu
         if (gameScreen == GameScreen.SCORE_BOARD && keyCode == KeyEvent.VK_ESCAPE) {
             hoveredMenuIndex=-1;
@@ -484,19 +656,29 @@ public class Game {
     }
 
     /**
-     * Rysuje wynik gracza na pasku poniżej planszy.
+     * Rysuje wynik gracza na pasku poniżej planszy – z napisu wyrenderowanego w rozdzielczości urządzenia
+     * ({@link ScoreText}), jeśli warstwy są włączone ({@link Pictures#enableScaledCache(int)}) i gotowe.
      *
      * @param g kontekst graficzny
      * @param panelWidth szerokość panelu
+     * @param score wynik do wyświetlenia (z rysowanej klatki)
      */
-    private void drawScore(Graphics2D g, int panelWidth) {
+    private void drawScore(Graphics2D g, int panelWidth, int score) {
+        int y = board.getCellCount() * board.getCellSize() + 65;
+        if (pictures.isScaledCacheEnabled()) {
+            AffineTransform transform = g.getTransform();
+            ScoreText text = scoreText.get(ScaledCache.deviceScale(transform));
+            if (text != null) {
+                text.draw(g, transform, panelWidth / 2, y, score);
+                return;
+            }
+        }
         g.setColor(Color.BLACK);
-        g.setFont(new Font("Arial", Font.BOLD, 32));
-        String scoreText = "Score: " + score;
+        g.setFont(ScoreText.FONT);
+        String label = ScoreText.LABEL + score;
         FontMetrics metrics = g.getFontMetrics();
-        int x = (panelWidth - metrics.stringWidth(scoreText)) / 2;
-        int y = board.getCellCount() * board.getCellSize() + 65;
-        g.drawString(scoreText, x, y);
+        int x = (panelWidth - metrics.stringWidth(label)) / 2;
+        g.drawString(label, x, y);
     }
 
     /**
@@ -510,7 +692,7 @@ public class Game {
         g.setColor(Color.YELLOW);
         g.fillRect(0, 0, panelWidth, panelHeight);
 
-        String[] levels = {"EASY", "MEDIUM", "HARD", "SCORE BOARD"};
+        String[] levels = {"EASY", "MEDIUM", "HARD", "SCORE BOARD", "MULTIPLAYER"};
         int xCenter = panelWidth / 2;
         int totalItems = levels.length;
         int topMargin = 140; // opcjonalny margines od góry
@@ -558,22 +740,167 @@ public class Game {
                 pictures.drawFrame(g, frameX, frameY, frameWidth, frameHeight);
             }
         }
+
+        // Podpowiedź powtórki, jeśli historia zawiera zakończoną rozgrywkę
+        if (rewind != null && rewind.size() > 0) {
+            g.setFont(new Font("Arial", Font.PLAIN, 20));
+            String hint = "R – REPLAY LAST GAME";
+            g.drawString(hint, xCenter - g.getFontMetrics().stringWidth(hint) / 2, panelHeight - 30);
+        }
+    }
+
+    /**
+     * Rozpoczyna nową rozgrywkę na podanym poziomie trudności
+     * (liczba przeszkód zależy od poziomu) i przełącza widok na GAME.
+     *
+     * @param level poziom trudności
+     */
+    public void startGame(GameLevel level) {
+        gameLevel = level;
+        snake.reset();
+        score = 0;
+        ticks = 0;
+        obstacle.setObstacleCount(obstacleCountForLevel(level));
+        obstacle.regenerate();
+        food.regenerate();
+        emit(GameEventType.OBSTACLES_REGENERATED, null, Cell.NONE, obstacle.getCount(), null);
+        record();
+        publish();
+        gameScreen = GameScreen.GAME;
+        executor.start();
+    }
+
+    /**
+     * Zwraca liczbę przeszkód dla poziomu trudności.
+     *
+     * @param level poziom trudności
+     * @return liczba przeszkód
+     */
+    private static int obstacleCountForLevel(GameLevel level) {
+        return switch (level) {
+            case EASY -> 10;
+            case MEDIUM -> 20;
+            case HARD -> 30;
+        };
+    }
+
+    /**
+     * Przełącza widok na ekran powtórki ostatniej zapisanej rozgrywki (zakończonej śmiercią gracza).
+     * Nic nie robi, jeśli historia jest wyłączona lub pusta.
+     */
+    private void openReplay() {
+        if (rewind == null) return;
+        if (replay == null) {
+            replay = new RewindPlayer(rewind, board, pictures);
+        }
+        if (replay.open()) {
+            gameScreen = GameScreen.REPLAY;
+        }
+    }
+
+    /**
+     * Przełącza widok na ekran gry wieloosobowej. Klient jest tworzony przy pierwszym wejściu,
+     * a adres serwera pochodzi z właściwości {@code snake.server} (domyślnie {@code localhost}).
+     */
+    private void openMultiplayer() {
+        if (multiplayer == null) {
+            multiplayer = new MultiplayerClient(board, pictures,
+                    System.getProperty("snake.server", "localhost:" + Protocol.DEFAULT_PORT));
+        }
+        gameScreen = GameScreen.MULTIPLAYER_MENU;
+    }
+
+    /**
+     * Kończy rozgrywkę z podaną przyczyną (np. gdy symulacja przekroczy limit kroków).
+     *
+     * @param cause przyczyna zakończenia
+     */
+    public void endGame(DeathCause cause) {
+        if (gameScreen == GameScreen.GAME) {
+            resetGame(cause);
+        }
     }
 
     /**
-     * Resetuje grę po zakończeniu – zapisuje wynik, czyści stany węży, przeszkód, żaby i jedzenia.
+     * Resetuje grę po zakończeniu – zapisuje chwilę śmierci w historii powtórki, publikuje śmierć gracza i koniec gry (wynik zapisuje odbiorca zdarzeń),
+     * czyści stany węży, przeszkód, żaby i jedzenia oraz zwalnia wątki executora i strategii.
+     *
+     * @param cause przyczyna zakończenia rozgrywki
      */
-    private void resetGame() {
-        scoreDataBase.addScore(score, gameLevel);
+    private void resetGame(DeathCause cause) {
+        record(); // chwila śmierci trafia do historii, zanim stan zostanie wyczyszczony
+        lastDeathCause = cause;
+        lastScore = score;
+        lastTicks = ticks;
+        emit(GameEventType.SNAKE_DIED, SnakeType.PLAYER, snake.getHead(), snake.getBody().size(), cause);
+        emit(GameEventType.GAME_OVER, null, Cell.NONE, ticks, cause);
+        clearBoard();
+    }
 
+    /**
+     * Porzuca przywrócony stan rozgrywki i wraca do menu bez kończenia gry – bez zdarzeń śmierci i końca gry,
+     * zapisu wyniku i historii powtórki (np. gdy wznowiony zapis okazał się niespójny).
+     */
+    public void discard() {
+        if (rewind != null) {
+            rewind.clear();
+        }
+        clearBoard();
+    }
+
+    /**
+     * Czyści stany węży, przeszkód, żaby i jedzenia, przełącza widok na menu i zwalnia wątki executora i strategii.
+     */
+    private void clearBoard() {
         snake.reset();
         snakeAI1.reset();
         snakeAI2.reset();
         obstacle.regenerate();
         food.regenerate();
         frog.eaten();
+        emit(GameEventType.OBSTACLES_REGENERATED, null, Cell.NONE, obstacle.getCount(), null);
         score = 0;
         gameScreen = GameScreen.MENU;
+        executor.stop();
+        closeStrategies();
+    }
+
+    /**
+     * Przywraca ogólny stan rozgrywki (np. z migawki) i przełącza widok na GAME.
+     * Stan węży, jedzenia, żaby i przeszkód przywracany jest bezpośrednio na tych obiektach;
+     * liczba przeszkód losowanych w następnej rozgrywce odpowiada przywróconemu poziomowi.
+     * Klatkę do narysowania publikuje wywołujący ({@link #publish()}), gdy cały stan jest już przywrócony.
+     *
+     * @param level poziom trudności
+     * @param score wynik gracza
+     * @param ticks liczba wykonanych kroków
+     */
+    public void restore(GameLevel level, int score, int ticks) {
+        this.gameLevel = level;
+        obstacle.setObstacleCount(obstacleCountForLevel(level));
+        this.score = score;
+        this.ticks = ticks;
+        this.gameScreen = GameScreen.GAME;
+        executor.start();
+        if (rewind != null) {
+            rewind.clear(); // przywrócony stan nie wynika z zapisanych kroków
+        }
+    }
+
+    /**
+     * Zwalnia zasoby gry (wątki executora i strategii, odbiorców zdarzeń i połączenie gry wieloosobowej),
+     * np. przy zamykaniu okna. Odbiorcy obsługują jeszcze zaległe zdarzenia (np. zapisują ostatni wynik).
+     */
+    public void close() {
+        executor.stop();
+        closeStrategies();
+        GameEventBus bus = events;
+        if (bus != null) {
+            bus.close();
+        }
+        if (multiplayer != null) {
+            multiplayer.disconnect();
+        }
     }
 
     /**
@@ -594,6 +921,7 @@ public class Game {
                     case 1 -> "MEDIUM";
                     case 2 -> "HARD";
                     case 3 -> "SCORE BOARD";
+                    case 4 -> "MULTIPLAYER";
                     default -> "";
                 };
                 default -> "";
@@ -615,34 +943,11 @@ public class Game {
             if (frameBounds.contains(x, y)) {
                 if (gameScreen == GameScreen.MENU) {
                     switch (hoveredMenuIndex) {
-                        case 0 -> {
-                            gameLevel = GameLevel.EASY;
-                            snake.reset();
-                            score = 0;
-                            obstacle.setObstacleCount(10);
-                            obstacle.regenerate();
-                            food.regenerate();
-                            gameScreen = GameScreen.GAME;
-                        }
-                        case 1 -> {
-                            gameLevel = GameLevel.MEDIUM;
-                            snake.reset();
-                            score = 0;
-                            obstacle.setObstacleCount(20);
-                            obstacle.regenerate();
-                            food.regenerate();
-                            gameScreen = GameScreen.GAME;
-                        }
-                        case 2 -> {
-                            gameLevel = GameLevel.HARD;
-                            snake.reset();
-                            score = 0;
-                            obstacle.setObstacleCount(30);
-                            obstacle.regenerate();
-                            food.regenerate();
-                            gameScreen = GameScreen.GAME;
-                        }
+                        case 0 -> startGame(GameLevel.EASY);
+                        case 1 -> startGame(GameLevel.MEDIUM);
+                        case 2 -> startGame(GameLevel.HARD);
                         case 3 -> gameScreen = GameScreen.SCORE_BOARD;
+                        case 4 -> openMultiplayer();
                     }
                 }
             }
@@ -662,12 +967,19 @@ public class Game {
      * @param mouseX współrzędna X kursora
      * @param mouseY współrzędna Y kursora
      * @param panelWidth szerokość panelu
+     * @return {@code true}, jeśli zmieniło się podświetlenie (widok trzeba odświeżyć)
      */
-    public void onMouseMove(int mouseX, int mouseY, int panelWidth) {
+    public boolean onMouseMove(int mouseX, int mouseY, int panelWidth) {
+        int previousMenuIndex = hoveredMenuIndex;
+        boolean previousBackButton = hoveredBackButton;
         if (gameScreen == GameScreen.MENU
                 && menuYPositions.length > 0) {
             hoveredMenuIndex = -1;
             int xCenter = panelWidth / 2;
+            Graphics2D g = (Graphics2D) new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).getGraphics();
+            g.setFont(new Font("Arial", Font.BOLD, 50));
+            FontMetrics fm = g.getFontMetrics();
+            g.dispose();
 
             for (int i = 0; i < menuYPositions.length; i++) {
                 String text = switch (gameScreen) {
@@ -676,15 +988,12 @@ public class Game {
                         case 1 -> "MEDIUM";
                         case 2 -> "HARD";
                         case 3 -> "SCORE BOARD";
+                        case 4 -> "MULTIPLAYER";
                         default -> "";
                     };
                     default -> "";
                 };
 
-                Font font = new Font("Arial", Font.BOLD, 50);
-                Graphics2D g = (Graphics2D) new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).getGraphics();
-                g.setFont(font);
-                FontMetrics fm = g.getFontMetrics();
                 int textWidth = fm.stringWidth(text);
                 int textHeight = fm.getHeight();
                 int frameWidth = textWidth + 60;
@@ -706,6 +1015,7 @@ public class Game {
                 && backButtonBounds != null) {
             hoveredBackButton = backButtonBounds.contains(mouseX, mouseY);
         }
+        return hoveredMenuIndex != previousMenuIndex || hoveredBackButton != previousBackButton;
     }
 
     /**
@@ -940,6 +1250,265 @@ public class Game {
     public void stopDraggingScrollbar() {
         draggingThumb = false;
     }
+
+    /**
+     * Ustawia strategię sterującą wężem danego typu.
+     * Dla gracza {@code null} oznacza sterowanie klawiaturą. Zastępowana strategia jest zamykana.
+     *
+     * @param type typ węża
+     * @param strategy strategia sterująca
+     */
+    public void setStrategy(SnakeType type, AIStrategy strategy) {
+        AIStrategy previous = switch (type) {
+            case PLAYER -> playerStrategy;
+            case AI1 -> ai1Strategy;
+            case AI2 -> ai2Strategy;
+        };
+        switch (type) {
+            case PLAYER -> playerStrategy = strategy;
+            case AI1 -> ai1Strategy = strategy;
+            case AI2 -> ai2Strategy = strategy;
+        }
+        if (previous != null && previous != strategy) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Zwalnia zasoby strategii wszystkich węży (np. wątki symulacji MCTS).
+     */
+    private void closeStrategies() {
+        if (playerStrategy != null) {
+            playerStrategy.close();
+        }
+        if (ai1Strategy != null) {
+            ai1Strategy.close();
+        }
+        if (ai2Strategy != null) {
+            ai2Strategy.close();
+        }
+    }
+
+    /**
+     * Włącza zapis historii ostatnich kroków do powtórki (np. w grze bez interfejsu przy szukaniu błędów)
+     * albo go wyłącza.
+     *
+     * @param rewind historia kroków lub {@code null}, aby jej nie zapisywać
+     */
+    public void setRewind(RewindBuffer rewind) {
+        this.rewind = rewind;
+        this.replay = null;
+    }
+
+    /**
+     * Zwraca historię ostatnich kroków rozgrywki.
+     *
+     * @return historia lub {@code null}, jeśli nie jest zapisywana
+     */
+    public RewindBuffer getRewind() {
+        return rewind;
+    }
+
+    /**
+     * Zwraca węża danego typu.
+     *
+     * @param type typ węża
+     * @return wąż gracza lub jeden z węży AI
+     */
+    public Snake getSnake(SnakeType type) {
+        return switch (type) {
+            case PLAYER -> snake;
+            case AI1 -> snakeAI1;
+            case AI2 -> snakeAI2;
+        };
+    }
+
+    /**
+     * Zwraca planszę gry.
+     *
+     * @return plansza
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Zwraca obiekt jedzenia.
+     *
+     * @return jedzenie na planszy
+     */
+    public Food getFood() {
+        return food;
+    }
+
+    /**
+     * Zwraca żabę.
+     *
+     * @return żaba
+     */
+    public Frog getFrog() {
+        return frog;
+    }
+
+    /**
+     * Zwraca mapę odległości od głów węży policzoną na początku ostatniego kroku, w którym ruszała się żaba.
+     *
+     * @return mapa odległości
+     */
+    public DistanceField getSnakeDistances() {
+        return snakeDistances;
+    }
+
+    /**
+     * Zwraca hasz Zobrista stanu planszy: węży (ciała, głowy, kierunki), owoców, żaby i przeszkód.
+     * Składowe są utrzymywane przyrostowo przez obiekty gry, więc koszt nie zależy od długości węży.
+     * Hasz nie obejmuje wyniku ani liczników czasu – identyczne pozycje mają identyczny hasz.
+     *
+     * @return hasz stanu
+     */
+    public long getStateHash() {
+        long hash = food.getHash() + frog.getHash() + obstacle.getHash();
+        for (Snake s : snakes) {
+            hash += s.getHash();
+        }
+        return hash;
+    }
+
+    /**
+     * Przelicza hasz stanu od zera, z komórek wszystkich elementów. Służy do sprawdzania, czy stan odtworzony
+     * z migawki zgadza się z haszem zapisanym razem z nią ({@link snake.state.SaveGame},
+     * {@link snake.state.RewindBuffer}) i czy hasz przyrostowy ({@link #getStateHash()}) nie rozjechał się ze stanem.
+     *
+     * @return hasz stanu równy {@link #getStateHash()}, jeśli stan jest spójny
+     */
+    public long computeStateHash() {
+        long hash = Zobrist.key(Zobrist.FROG, frog.getPosition());
+        for (int i = 0; i < obstacle.getCount(); i++) {
+            hash += Zobrist.key(Zobrist.OBSTACLE, obstacle.getCell(i));
+        }
+        for (int i = 0; i < food.getCount(); i++) {
+            hash += Zobrist.key(Zobrist.FRUIT + food.getType(i), food.getPosition(i));
+        }
+        for (Snake s : snakes) {
+            SnakeBody body = s.getBody();
+            if (!s.isAlive() || body.isEmpty()) continue;
+            int t = s.getType().ordinal();
+            for (int i = 0; i < body.size(); i++) {
+                hash += Zobrist.key(Zobrist.BODY + t, body.get(i));
+            }
+            hash += Zobrist.key(Zobrist.HEAD + t, body.getFirst())
+                    + Zobrist.key(Zobrist.DIRECTION + t, s.getDirection().ordinal());
+        }
+        return hash;
+    }
+
+    /**
+     * Zwraca szynę zdarzeń rozgrywki, tworząc ją przy pierwszym wywołaniu.
+     * Odbiorcy rejestrowani są metodą {@link GameEventBus#subscribe(String, snake.event.GameEventHandler)}.
+     *
+     * @return szyna zdarzeń gry
+     */
+    public GameEventBus getEvents() {
+        GameEventBus bus = events;
+        if (bus == null) {
+            synchronized (this) {
+                bus = events;
+                if (bus == null) {
+                    bus = new GameEventBus();
+                    events = bus;
+                }
+            }
+        }
+        return bus;
+    }
+
+    /**
+     * Publikuje zdarzenie rozgrywki, jeśli szyna zdarzeń istnieje (bez blokowania kroku gry).
+     *
+     * @param type  rodzaj zdarzenia
+     * @param snake wąż, którego dotyczy zdarzenie, lub {@code null}
+     * @param cell  komórka zdarzenia lub {@link Cell#NONE}
+     * @param value wartość zależna od rodzaju zdarzenia ({@link snake.event.GameEvent})
+     * @param cause przyczyna śmierci lub {@code null}
+     */
+    private void emit(GameEventType type, SnakeType snake, int cell, int value, DeathCause cause) {
+        GameEventBus bus = events;
+        if (bus != null) {
+            bus.publish(type, ticks, snake, cell, value, score, gameLevel, cause);
+        }
+    }
+
+    /**
+     * Zwraca bazę wyników.
+     *
+     * @return baza wyników lub {@code null}, jeśli gra nie zapisuje wyników (gra bez okna lub widok)
+     */
+    public ScoreDataBase getScoreDataBase() {
+        return scoreDataBase;
+    }
+
+    /**
+     * Zwraca przeszkody.
+     *
+     * @return przeszkody na planszy
+     */
+    public Obstacle getObstacle() {
+        return obstacle;
+    }
+
+    /**
+     * Zwraca aktualny wynik gracza.
+     *
+     * @return wynik
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Zwraca aktualny poziom trudności.
+     *
+     * @return poziom gry
+     */
+    public GameLevel getGameLevel() {
+        return gameLevel;
+    }
+
+    /**
+     * Zwraca liczbę kroków wykonanych w bieżącej rozgrywce.
+     *
+     * @return liczba kroków
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Zwraca przyczynę zakończenia ostatniej rozgrywki.
+     *
+     * @return przyczyna lub {@code null}, jeśli żadna rozgrywka się nie zakończyła
+     */
+    public DeathCause getLastDeathCause() {
+        return lastDeathCause;
+    }
+
+    /**
+     * Zwraca wynik ostatniej zakończonej rozgrywki.
+     *
+     * @return wynik
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * Zwraca liczbę kroków ostatniej zakończonej rozgrywki.
+     *
+     * @return liczba kroków
+     */
+    public int getLastTicks() {
+        return lastTicks;
+    }
 }
 
 
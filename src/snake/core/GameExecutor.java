@@ -0,0 +1,373 @@
+package snake.core;
+
+import snake.enums.ExecutionBackend;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Klasa {@code GameExecutor} wykonuje równoległe zadania kroku gry i zarządza wątkami, na których działają.
+ * Wątki istnieją tylko w czasie rozgrywki: {@link #start()} tworzy je przy wejściu na ekran GAME,
+ * a {@link #stop()} zwalnia przy wyjściu, więc gra pozostawiona w menu (ani kolejna instancja gry)
+ * nie utrzymuje bezczynnych wątków.
+ *
+ * <p>Wątki mają nazwy {@code snake-<nazwa>-<numer>}. Błąd zadania nie jest gubiony w obiekcie {@link Future}:
+ * {@link #invokeAll(List)} zgłasza go jako {@link IllegalStateException} w wątku kroku gry,
+ * a wyjątki nieprzechwycone w wątkach roboczych trafiają do wspólnej procedury obsługi.</p>
+ *
+ * <p>Pula platformowa to stałe wątki robocze, które między krokami śpią ({@link LockSupport#park(Object)}),
+ * a zadania kroku dostają przez ulotne numery kolejnych partii – bez kolejki i bez obiektów {@link Future},
+ * więc krok gry z równoległymi decyzjami węży niczego nie alokuje. Wątki wirtualne tworzone są osobno dla
+ * każdego zadania (przez {@link ExecutorService}), więc ten backend alokuje w każdym kroku.</p>
+ */
+public class GameExecutor {
+
+    /** Czas oczekiwania na zakończenie zadań przy zatrzymaniu (w milisekundach). */
+    private static final long SHUTDOWN_MILLIS = 500;
+
+    /** Rodzaj wątków. */
+    private final ExecutionBackend backend;
+
+    /** Nazwa używana w nazwach wątków. */
+    private final String name;
+
+    /** Liczba wątków puli platformowej. */
+    private final int threads;
+
+    /** Licznik nadający numery wątkom platformowym. */
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /** Bieżąca usługa wykonawcza wątków wirtualnych ({@code null} – zatrzymany lub inny backend). */
+    private ExecutorService service;
+
+    /** Wątki robocze puli platformowej ({@code null} – zatrzymany lub inny backend). */
+    private Worker[] workers;
+
+    /** Blokada partii zadań – wywołania {@link #invokeAll(List)} na wątkach roboczych nie nakładają się. */
+    private final Object batchLock = new Object();
+
+    /** Zadania bieżącej partii (zapisywane przed ulotnym numerem partii, więc robotnicy widzą je po jego odczycie). */
+    private List<? extends Callable<Void>> batch;
+
+    /** Numer ostatniej partii zleconej robotnikom. */
+    private long generation;
+
+    /** Wątek czekający na zakończenie partii (budzony przez robotników). */
+    private volatile Thread caller;
+
+    /** Pierwszy błąd zadania w bieżącej partii ({@code null} – brak). */
+    private volatile Throwable failure;
+
+    /**
+     * Tworzy zatrzymany executor.
+     *
+     * @param backend rodzaj wątków
+     * @param name    nazwa używana w nazwach wątków
+     * @param threads liczba wątków puli platformowej
+     */
+    public GameExecutor(ExecutionBackend backend, String name, int threads) {
+        this.backend = backend;
+        this.name = name;
+        this.threads = threads;
+    }
+
+    /**
+     * Tworzy executor wykonujący zadania w wątku wywołującym.
+     *
+     * @return executor {@link ExecutionBackend#INLINE}
+     */
+    public static GameExecutor inline() {
+        return new GameExecutor(ExecutionBackend.INLINE, "inline", 1);
+    }
+
+    /**
+     * Odczytuje rodzaj wątków z właściwości systemowej {@code snake.executor}
+     * ({@code inline}, {@code platform} lub {@code virtual}).
+     *
+     * @return wybrany rodzaj wątków (domyślnie {@link ExecutionBackend#PLATFORM})
+     */
+    public static ExecutionBackend backendFromProperty() {
+        String value = System.getProperty("snake.executor", "platform");
+        try {
+            return ExecutionBackend.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Nieznany rodzaj wątków: " + value + ", używam PLATFORM");
+            return ExecutionBackend.PLATFORM;
+        }
+    }
+
+    /**
+     * Tworzy wątki robocze, jeśli jeszcze nie istnieją. Wywołanie na działającym executorze nic nie robi.
+     */
+    public synchronized void start() {
+        if (service != null || workers != null) return;
+        switch (backend) {
+            case INLINE -> {
+            }
+            case PLATFORM -> {
+                ThreadFactory factory = platformThreads();
+                workers = new Worker[threads];
+                for (int i = 0; i < threads; i++) {
+                    workers[i] = new Worker(i, threads, factory);
+                }
+                for (Worker worker : workers) {
+                    worker.thread.start();
+                }
+            }
+            case VIRTUAL -> service = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                    .name("snake-" + name + "-", 0)
+                    .uncaughtExceptionHandler(GameExecutor::uncaught)
+                    .factory());
+        }
+    }
+
+    /**
+     * Zatrzymuje wątki robocze: czeka krótko na bieżące zadania, a potem je przerywa.
+     * Kolejne {@link #invokeAll(List)} przed {@link #start()} wykona zadania w wątku wywołującym.
+     */
+    public void stop() {
+        ExecutorService s;
+        Worker[] w;
+        synchronized (this) {
+            s = service;
+            w = workers;
+            service = null;
+            workers = null;
+        }
+        if (w != null) {
+            stopWorkers(w);
+        }
+        if (s == null) return;
+        s.shutdown();
+        try {
+            if (!s.awaitTermination(SHUTDOWN_MILLIS, TimeUnit.MILLISECONDS)) {
+                s.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            s.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sprawdza, czy executor ma uruchomione wątki robocze.
+     *
+     * @return {@code true}, jeśli zadania są wykonywane równolegle
+     */
+    public synchronized boolean isRunning() {
+        return service != null || workers != null;
+    }
+
+    /**
+     * Zwraca rodzaj wątków.
+     *
+     * @return rodzaj wątków
+     */
+    public ExecutionBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Wykonuje zadania i czeka na zakończenie wszystkich – równolegle, jeśli executor działa,
+     * a w przeciwnym razie kolejno w bieżącym wątku.
+     * Wykonanie w bieżącym wątku i na wątkach puli platformowej niczego nie alokuje (sprawdza to
+     * {@code snake.bench.AllocationBenchmark}); wątki wirtualne tworzą przy każdym wywołaniu wątki i obiekty
+     * {@link Future}.
+     *
+     * @param tasks zadania
+     * @throws IllegalStateException jeśli któreś zadanie zakończyło się wyjątkiem (jest on przyczyną)
+     */
+    public void invokeAll(List<? extends Callable<Void>> tasks) {
+        ExecutorService s;
+        Worker[] w;
+        synchronized (this) {
+            s = service;
+            w = workers;
+        }
+        if (w != null) {
+            invokeOnWorkers(w, tasks);
+            return;
+        }
+        if (s == null) {
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    tasks.get(i).call();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Błąd w kroku gry", e);
+                }
+            }
+            return;
+        }
+        try {
+            for (Future<Void> future : s.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Błąd w kroku gry", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Zleca partię zadań wątkom roboczym i czeka (uśpiony), aż każdy z nich wykona swoją część.
+     * Przerwanie wątku wywołującego nie przerywa oczekiwania – jest tylko przywracane po zakończeniu partii.
+     *
+     * @param w     wątki robocze
+     * @param tasks zadania
+     * @throws IllegalStateException jeśli któreś zadanie zakończyło się wyjątkiem (jest on przyczyną)
+     */
+    private void invokeOnWorkers(Worker[] w, List<? extends Callable<Void>> tasks) {
+        synchronized (batchLock) {
+            batch = tasks;
+            failure = null;
+            caller = Thread.currentThread();
+            long g = ++generation;
+            for (Worker worker : w) {
+                worker.requested = g;
+                LockSupport.unpark(worker.thread);
+            }
+            boolean interrupted = false;
+            for (Worker worker : w) {
+                // robotnik zatrzymany przed podjęciem partii nie obudzi wywołującego – stąd sprawdzenie isAlive
+                while (worker.done != g && worker.thread.isAlive()) {
+                    LockSupport.park(this);
+                    interrupted |= Thread.interrupted();
+                }
+            }
+            batch = null;
+            caller = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable error = failure;
+            if (error != null) {
+                throw new IllegalStateException("Błąd w kroku gry", error);
+            }
+        }
+    }
+
+    /**
+     * Zatrzymuje wątki robocze: każdy kończy przyjętą partię, a potem wychodzi. Wątki, które nie zakończą się
+     * w {@value #SHUTDOWN_MILLIS} ms, są przerywane.
+     *
+     * @param w wątki robocze
+     */
+    private static void stopWorkers(Worker[] w) {
+        for (Worker worker : w) {
+            worker.stopping = true;
+            LockSupport.unpark(worker.thread);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_MILLIS);
+        try {
+            for (Worker worker : w) {
+                long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                worker.thread.join(Math.max(1, left));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Worker worker : w) {
+            if (worker.thread.isAlive()) worker.thread.interrupt();
+        }
+    }
+
+    /**
+     * Tworzy fabrykę nazwanych wątków platformowych (demonów, aby nie blokowały zamknięcia programu).
+     *
+     * @return fabryka wątków
+     */
+    private ThreadFactory platformThreads() {
+        return task -> {
+            Thread t = new Thread(task, "snake-" + name + "-" + threadIds.getAndIncrement());
+            t.setDaemon(true);
+            t.setUncaughtExceptionHandler(GameExecutor::uncaught);
+            return t;
+        };
+    }
+
+    /**
+     * Wypisuje wyjątek nieprzechwycony w wątku roboczym.
+     *
+     * @param thread wątek
+     * @param error  wyjątek
+     */
+    private static void uncaught(Thread thread, Throwable error) {
+        System.err.println("Nieobsłużony wyjątek w wątku " + thread.getName() + ":");
+        error.printStackTrace();
+    }
+
+    /**
+     * Klasa {@code Worker} to wątek roboczy puli platformowej. Wykonuje zadania partii o indeksach
+     * {@code index, index + stride, ...}, więc robotnicy nie rywalizują o zadania i nie potrzebują kolejki.
+     */
+    private final class Worker implements Runnable {
+
+        /** Indeks pierwszego zadania partii wykonywanego przez ten wątek. */
+        private final int index;
+
+        /** Odstęp między indeksami kolejnych zadań tego wątku (liczba robotników). */
+        private final int stride;
+
+        /** Wątek robotnika. */
+        private final Thread thread;
+
+        /** Numer partii zleconej robotnikowi. */
+        private volatile long requested;
+
+        /** Numer ostatniej partii wykonanej przez robotnika. */
+        private volatile long done;
+
+        /** Czy robotnik ma zakończyć pracę po wykonaniu zleconej partii. */
+        private volatile boolean stopping;
+
+        /**
+         * Tworzy robotnika (wątek uruchamia {@link GameExecutor#start()}).
+         *
+         * @param index   indeks pierwszego zadania partii
+         * @param stride  liczba robotników
+         * @param factory fabryka wątków
+         */
+        private Worker(int index, int stride, ThreadFactory factory) {
+            this.index = index;
+            this.stride = stride;
+            this.thread = factory.newThread(this);
+        }
+
+        /**
+         * Pętla robotnika: czeka uśpiony na kolejną partię, wykonuje swoje zadania, zapisuje pierwszy błąd
+         * i budzi wywołującego. Kończy się po zatrzymaniu lub przerwaniu.
+         */
+        @Override
+        public void run() {
+            long seen = done;
+            while (true) {
+                long g = requested;
+                if (g == seen) {
+                    if (stopping || Thread.currentThread().isInterrupted()) return;
+                    LockSupport.park(this);
+                    continue;
+                }
+                List<? extends Callable<Void>> tasks = batch;
+                for (int i = index; i < tasks.size(); i += stride) {
+                    try {
+                        tasks.get(i).call();
+                    } catch (Throwable e) {
+                        if (failure == null) failure = e;
+                    }
+                }
+                seen = g;
+                done = g;
+                LockSupport.unpark(caller);
+            }
+        }
+    }
+}
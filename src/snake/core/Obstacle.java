@@ -2,23 +2,42 @@ package snake.core;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Klasa {@code Obstacle} reprezentuje przeszkody pojawiające się na planszy gry Snake.
  * Przeszkody są losowo generowane z zachowaniem odstępów od siebie oraz od węży.
+ * Oprócz listy komórek utrzymywana jest mapa zajętości planszy, więc sprawdzenie
+ * czy komórka jest przeszkodą ma koszt O(1).
  */
 public class Obstacle {
-    /** Lista punktów reprezentujących pozycje przeszkód. */
-    private final List<Point> obstacles = new ArrayList<>();
+    /** Komórki (upakowane {@link Cell}), w których znajdują się przeszkody. */
+    private int[] obstacles = new int[0];
+
+    /** Liczba wygenerowanych przeszkód. */
+    private int count = 0;
+
+    /** Mapa zajętości planszy – {@code true} dla komórek z przeszkodą (indeks y * cellCount + x). */
+    private final boolean[] blocked;
 
     /** Plansza, na której rozmieszczone są przeszkody. */
     private final Board board;
 
+    /** Generator losowy pozycji przeszkód. */
+    private final Random random;
+
     /** Liczba przeszkód do wygenerowania. */
     private int obstacleCount;
 
+    /** Hasz Zobrista przeszkód (suma kluczy komórek). */
+    private long hash;
+
+    /** Akcje wywoływane po każdej zmianie rozmieszczenia przeszkód (w wątku, który je zmienił). */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
     /** Lista węży, względem których przeszkody nie mogą być zbyt blisko. */
     private final List<Snake> snakes = new ArrayList<>();
 
@@ -29,8 +48,21 @@ public class Obstacle {
      * @param count liczba przeszkód do wygenerowania
      */
     public Obstacle(Board board, int count) {
+        this(board, count, new Random());
+    }
+
+    /**
+     * Tworzy nowy obiekt {@code Obstacle} z podanym generatorem losowym (np. z ziarnem dla symulacji).
+     *
+     * @param board  plansza gry
+     * @param count  liczba przeszkód do wygenerowania
+     * @param random generator losowy pozycji przeszkód
+     */
+    public Obstacle(Board board, int count, Random random) {
         this.board = board;
+        this.random = random;
         this.obstacleCount = count;
+        this.blocked = new boolean[board.getCellCount() * board.getCellCount()];
         generateObstacles();
     }
 
@@ -39,22 +71,27 @@ public class Obstacle {
      * Próbuje do skutku lub do przekroczenia limitu prób.
      */
     private void generateObstacles() {
-        obstacles.clear();
-        Random rand = new Random();
+        Arrays.fill(blocked, false);
+        if (obstacles.length < obstacleCount) {
+            obstacles = new int[obstacleCount];
+        }
+        count = 0;
+        hash = 0;
         int cellCount = board.getCellCount();
 
         int attempts = 0;
         int maxAttempts = obstacleCount * 100;
 
-        while (obstacles.size() < obstacleCount && attempts < maxAttempts) {
+        while (count < obstacleCount && attempts < maxAttempts) {
             attempts++;
-            Point candidate = new Point(rand.nextInt(cellCount), rand.nextInt(cellCount));
+            int cx = random.nextInt(cellCount);
+            int cy = random.nextInt(cellCount);
             boolean tooClose = false;
 
             // Sprawdzenie dystansu do innych przeszkód
-            for (Point existing : obstacles) {
-                int dx = Math.abs(candidate.x - existing.x);
-                int dy = Math.abs(candidate.y - existing.y);
+            for (int i = 0; i < count; i++) {
+                int dx = Math.abs(cx - Cell.x(obstacles[i]));
+                int dy = Math.abs(cy - Cell.y(obstacles[i]));
                 if (dx <= 3 && dy <= 3) {
                     tooClose = true;
                     break;
@@ -63,9 +100,11 @@ public class Obstacle {
 
             // Sprawdzenie dystansu do węży
             for (Snake s : snakes) {
-                for (Point segment : s.getTail()) {
-                    int dx = Math.abs(candidate.x - segment.x);
-                    int dy = Math.abs(candidate.y - segment.y);
+                SnakeBody body = s.getBody();
+                for (int i = 0; i < body.size(); i++) {
+                    int segment = body.get(i);
+                    int dx = Math.abs(cx - Cell.x(segment));
+                    int dy = Math.abs(cy - Cell.y(segment));
                     if (dx <= 3 && dy <= 2) {
                         tooClose = true;
                         break;
@@ -75,18 +114,41 @@ public class Obstacle {
             }
 
             if (!tooClose) {
-                obstacles.add(candidate);
+                obstacles[count++] = Cell.of(cx, cy);
+                blocked[cy * cellCount + cx] = true;
+                hash += Zobrist.key(Zobrist.OBSTACLE, Cell.of(cx, cy));
             }
         }
     }
 
     /**
-     * Zwraca listę przeszkód.
+     * Zwraca liczbę przeszkód na planszy.
+     *
+     * @return liczba przeszkód
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Zwraca komórkę przeszkody o podanym indeksie.
+     *
+     * @param index indeks przeszkody
+     * @return upakowana komórka
+     */
+    public int getCell(int index) {
+        return obstacles[index];
+    }
+
+    /**
+     * Sprawdza, czy w komórce znajduje się przeszkoda. Komórki poza planszą nie są przeszkodami.
      *
-     * @return lista punktów, w których znajdują się przeszkody
+     * @param cell upakowana komórka
+     * @return {@code true}, jeśli komórka jest zablokowana przez przeszkodę
      */
-    public List<Point> getObstacles() {
-        return obstacles;
+    public boolean isObstacle(int cell) {
+        int cellCount = board.getCellCount();
+        return Cell.inside(cell, cellCount) && blocked[Cell.y(cell) * cellCount + Cell.x(cell)];
     }
 
     /**
@@ -95,10 +157,21 @@ public class Obstacle {
      * @param g kontekst graficzny
      */
     public void draw(Graphics2D g) {
+        drawCells(g, board.getCellSize(), obstacles, count);
+    }
+
+    /**
+     * Rysuje przeszkody w podanych komórkach.
+     *
+     * @param g     kontekst graficzny
+     * @param size  rozmiar komórki w pikselach
+     * @param cells komórki przeszkód
+     * @param count liczba przeszkód
+     */
+    static void drawCells(Graphics2D g, int size, int[] cells, int count) {
         g.setColor(Color.DARK_GRAY);
-        int size = board.getCellSize();
-        for (Point p : obstacles) {
-            g.fillRect(p.x * size, p.y * size, size, size);
+        for (int i = 0; i < count; i++) {
+            g.fillRect(Cell.x(cells[i]) * size, Cell.y(cells[i]) * size, size, size);
         }
     }
 
@@ -107,6 +180,69 @@ public class Obstacle {
      */
     public void regenerate() {
         generateObstacles();
+        fireChanged();
+    }
+
+    /**
+     * Przywraca przeszkody z podanych komórek (np. z migawki stanu) zamiast je losować.
+     *
+     * @param cells komórki przeszkód
+     * @param count liczba przeszkód
+     */
+    public void restore(int[] cells, int count) {
+        Arrays.fill(blocked, false);
+        if (obstacles.length < count) {
+            obstacles = new int[count];
+        }
+        int cellCount = board.getCellCount();
+        hash = 0;
+        for (int i = 0; i < count; i++) {
+            obstacles[i] = cells[i];
+            hash += Zobrist.key(Zobrist.OBSTACLE, cells[i]);
+            if (Cell.inside(cells[i], cellCount)) {
+                blocked[Cell.y(cells[i]) * cellCount + Cell.x(cells[i])] = true;
+            }
+        }
+        this.count = count;
+        fireChanged();
+    }
+
+    /**
+     * Rejestruje akcję wywoływaną po każdej zmianie przeszkód ({@link #regenerate()}, {@link #restore(int[], int)}),
+     * np. aby poza wątkiem kroku gry przygotować dane zależne od rozmieszczenia przeszkód.
+     * Akcja działa w wątku zmieniającym przeszkody, więc powinna być krótka.
+     *
+     * @param listener akcja
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Wyrejestrowuje akcję zmiany przeszkód.
+     *
+     * @param listener akcja zarejestrowana wcześniej
+     */
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Wywołuje akcje zmiany przeszkód.
+     */
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Zwraca hasz Zobrista przeszkód (przeliczany tylko przy zmianie przeszkód).
+     *
+     * @return hasz przeszkód
+     */
+    public long getHash() {
+        return hash;
     }
 
     /**
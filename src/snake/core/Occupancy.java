@@ -0,0 +1,137 @@
+package snake.core;
+
+import snake.enums.SnakeType;
+
+/**
+ * Klasa {@code Occupancy} przechowuje zajętość planszy jako warstwy map bitowych ({@link Bitboard}):
+ * przeszkody, ciało każdego węża i owoce. Z warstw składana jest mapa komórek wolnych dla danego węża,
+ * na której można szybko policzyć wielkość obszaru osiągalnego z komórki ({@link #regionSize(int, Snake)}),
+ * np. aby AI nie wjeżdżało w ślepy zaułek mniejszy niż własna długość.
+ *
+ * <p>Obiekt ma własne bufory robocze, więc każdy użytkownik (np. strategia AI) powinien mieć osobny.</p>
+ */
+public class Occupancy {
+
+    /** Typy węży (kopia {@code values()} tworzona raz, aby aktualizacja warstw nie alokowała). */
+    private static final SnakeType[] TYPES = SnakeType.values();
+
+    /** Warstwa przeszkód. */
+    private final Bitboard obstacles;
+
+    /** Warstwy ciał węży według typu węża (martwe węże mają pustą warstwę). */
+    private final Bitboard[] snakes = new Bitboard[TYPES.length];
+
+    /** Warstwa owoców. */
+    private final Bitboard food;
+
+    /** Komórki wolne dla węża, dla którego ostatnio liczono obszar. */
+    private final Bitboard free;
+
+    /** Ostatnio wypełniony obszar. */
+    private final Bitboard region;
+
+    /** Bufor komórek węża (na całą planszę, więc zwykle nie musi rosnąć). */
+    private int[] cells;
+
+    /**
+     * Tworzy puste warstwy zajętości dla planszy.
+     *
+     * @param board plansza gry (bok co najwyżej {@value Bitboard#MAX_SIZE})
+     */
+    public Occupancy(Board board) {
+        int size = board.getCellCount();
+        this.obstacles = new Bitboard(size);
+        this.food = new Bitboard(size);
+        this.free = new Bitboard(size);
+        this.region = new Bitboard(size);
+        this.cells = new int[size * size];
+        for (int t = 0; t < snakes.length; t++) {
+            snakes[t] = new Bitboard(size);
+        }
+    }
+
+    /**
+     * Przepisuje bieżący stan gry do warstw.
+     *
+     * @param game gra
+     */
+    public void update(Game game) {
+        obstacles.clear();
+        Obstacle o = game.getObstacle();
+        for (int i = 0; i < o.getCount(); i++) {
+            obstacles.set(o.getCell(i));
+        }
+        for (SnakeType type : TYPES) {
+            Bitboard layer = snakes[type.ordinal()];
+            layer.clear();
+            Snake s = game.getSnake(type);
+            if (!s.isAlive()) continue;
+            SnakeBody body = s.getBody();
+            if (cells.length < body.size()) {
+                cells = new int[Math.max(body.size(), cells.length * 2)];
+            }
+            int length = body.copyTo(cells);
+            for (int i = 0; i < length; i++) {
+                layer.set(cells[i]);
+            }
+        }
+        food.clear();
+        Food f = game.getFood();
+        for (int i = 0; i < f.getCount(); i++) {
+            food.set(f.getPosition(i));
+        }
+    }
+
+    /**
+     * Liczy wielkość obszaru osiągalnego z komórki dla węża, na warstwach z ostatniego {@link #update(Game)}.
+     * Zablokowane są przeszkody i ciała wszystkich węży, z wyjątkiem końca ogona węża {@code self}
+     * (zwolni się w tym kroku) – tak jak w {@link Game#isFree(int, Snake)}.
+     *
+     * @param cell komórka startowa (zwykle kandydat na kolejną pozycję głowy)
+     * @param self wąż, dla którego liczony jest obszar
+     * @return liczba komórek obszaru (0, jeśli komórka jest zajęta lub leży poza planszą)
+     */
+    public int regionSize(int cell, Snake self) {
+        free.copyFrom(snakes[self.getType().ordinal()]);
+        SnakeBody body = self.getBody();
+        if (!body.isEmpty() && !body.contains(body.getLast(), 0, body.size() - 1)) {
+            free.unset(body.getLast());
+        }
+        free.or(obstacles);
+        for (Bitboard layer : snakes) {
+            if (layer != snakes[self.getType().ordinal()]) {
+                free.or(layer);
+            }
+        }
+        free.invert();
+        return region.fill(cell, free);
+    }
+
+    /**
+     * Zwraca warstwę przeszkód.
+     *
+     * @return mapa bitowa przeszkód
+     */
+    public Bitboard getObstacles() {
+        return obstacles;
+    }
+
+    /**
+     * Zwraca warstwę ciała węża.
+     *
+     * @param type typ węża
+     * @return mapa bitowa ciała węża
+     */
+    public Bitboard getSnake(SnakeType type) {
+        return snakes[type.ordinal()];
+    }
+
+    /**
+     * Zwraca warstwę owoców.
+     *
+     * @return mapa bitowa owoców
+     */
+    public Bitboard getFood() {
+        return food;
+    }
+}
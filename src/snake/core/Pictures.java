@@ -1,67 +1,245 @@
 package snake.core;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.Objects;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Klasa {@code Pictures} odpowiada za wczytywanie i rysowanie grafik gry.
  * Przechowuje obrazy węży, głów, owoców, żaby oraz ramek i zapewnia metody ich renderowania.
+ *
+ * <p>Obrazy wczytywane są w tle, równolegle i poza wątkiem EDT: najpierw z paczki zasobów
+ * ({@link AssetBundle}), a brakujące – z plików PNG. Po wczytaniu są konwertowane do formatu zgodnego
+ * z ekranem. Konstruktor nie czeka na wczytanie, więc menu może zostać wyświetlone od razu;
+ * obraz, który nie jest jeszcze gotowy, jest po prostu pomijany przy rysowaniu.</p>
+ *
+ * <p>Obrazy są znacznie większe od komórki planszy, więc skalowanie przy każdym rysowaniu jest kosztowne
+ * i daje poszarpane krawędzie. Po włączeniu {@link #enableScaledCache(int)} obrazy o rozmiarze komórki
+ * są raz na zmianę skali rysowania (rozmiar okna, skala ekranu HiDPI) skalowane w tle z wygładzaniem
+ * do rozdzielczości urządzenia ({@link ScaledCache}), a rysowanie kopiuje je bez skalowania.</p>
  */
 public class Pictures {
 
-    /** Tablica obrazów owoców (różne typy). */
-    private final BufferedImage[] fruits;
+    /** Liczba typów owoców (pierwsze obrazy w {@link #FILES}). */
+    public static final int FRUIT_COUNT = 4;
 
-    /** Obraz segmentu węża gracza. */
-    private final BufferedImage snake;
+    /** Pliki obrazów w zasobach gry; indeksy odpowiadają stałym poniżej. */
+    static final String[] FILES = {
+            "fruit.png", "jablko.png", "wisnie.png", "zlote_jablko.png",
+            "snake.png", "snakeHead.png", "frame.png",
+            "snakeAI1.png", "snakeAI1_Head.png", "snakeAI2.png", "snakeAI2_Head.png", "zaba.png"
+    };
 
-    /** Obraz głowy węża gracza. */
-    private final BufferedImage snakeHead;
+    /** Indeks obrazu segmentu węża gracza. */
+    private static final int SNAKE = 4;
 
-    /** Obraz ramki dekoracyjnej (np. do menu). */
-    private final BufferedImage frame;
+    /** Indeks obrazu głowy węża gracza. */
+    private static final int SNAKE_HEAD = 5;
 
-    /** Obraz segmentu węża AI1. */
-    private final BufferedImage snakeAI1;
+    /** Indeks obrazu ramki dekoracyjnej (np. do menu). */
+    private static final int FRAME = 6;
 
-    /** Obraz głowy węża AI1. */
-    private final BufferedImage snakeAI1Head;
+    /** Indeks obrazu segmentu węża AI1. */
+    private static final int SNAKE_AI1 = 7;
 
-    /** Obraz segmentu węża AI2. */
-    private final BufferedImage snakeAI2;
+    /** Indeks obrazu głowy węża AI1. */
+    private static final int SNAKE_AI1_HEAD = 8;
 
-    /** Obraz głowy węża AI2. */
-    private final BufferedImage snakeAI2Head;
+    /** Indeks obrazu segmentu węża AI2. */
+    private static final int SNAKE_AI2 = 9;
 
-    /** Obraz żaby. */
-    private final BufferedImage frog;
+    /** Indeks obrazu głowy węża AI2. */
+    private static final int SNAKE_AI2_HEAD = 10;
+
+    /** Indeks obrazu żaby. */
+    private static final int FROG = 11;
+
+    /** Obrazy według indeksu ({@code null} – obraz jeszcze niewczytany); zapisywane z wątków w tle. */
+    private final AtomicReferenceArray<BufferedImage> images = new AtomicReferenceArray<>(FILES.length);
+
+    /** Zakończenie wczytywania wszystkich obrazów. */
+    private final CompletableFuture<Void> loaded;
+
+    /** Obrazy przeskalowane do rozmiaru komórki w rozdzielczości urządzenia (według indeksu; bez ramki). */
+    private final ScaledCache<BufferedImage[]> scaled = new ScaledCache<>(this::renderScaled);
+
+    /** Rozmiar komórki w pikselach logicznych, dla którego przechowywane są przeskalowane obrazy (0 – wyłączone). */
+    private volatile int scaledSize = 0;
+
+    /** Konfiguracja graficzna ekranu, do której konwertowane są obrazy ({@code null} – brak ekranu). */
+    private volatile GraphicsConfiguration target;
 
     /**
-     * Konstruktor. Wczytuje wszystkie obrazy z zasobów gry.
-     * Rzuca wyjątek {@code RuntimeException} w przypadku błędu wczytywania.
+     * Konstruktor. Rozpoczyna wczytywanie wszystkich obrazów w tle i od razu wraca.
+     * Jeśli dostępny jest ekran, obrazy są następnie konwertowane do formatu zgodnego z jego domyślną konfiguracją.
+     * Błąd wczytywania jest zgłaszany przez {@link #loaded()}.
      */
     public Pictures() {
+        loaded = CompletableFuture.supplyAsync(AssetBundle::readDefault)
+                .thenCompose(this::loadAll);
+        loaded.whenComplete((ok, error) -> {
+            if (error != null) {
+                System.err.println("Błąd wczytywania obrazów: " + error.getCause());
+            }
+        });
+        if (!GraphicsEnvironment.isHeadless()) {
+            accelerate(GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration());
+        }
+    }
+
+    /**
+     * Umieszcza obrazy z paczki zasobów i równolegle dekoduje pozostałe z plików PNG.
+     *
+     * @param bundled obrazy z paczki według nazwy pliku
+     * @return zakończenie wczytywania wszystkich obrazów
+     */
+    private CompletableFuture<Void> loadAll(Map<String, BufferedImage> bundled) {
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[FILES.length];
+        for (int i = 0; i < FILES.length; i++) {
+            int index = i;
+            BufferedImage img = bundled.get(FILES[i]);
+            if (img != null) {
+                images.set(i, img);
+                tasks[i] = CompletableFuture.completedFuture(null);
+            } else {
+                tasks[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        images.set(index, AssetBundle.decode(FILES[index]));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+        String source = bundled.isEmpty() ? "PNG" : bundled.size() == FILES.length ? "paczka" : "paczka + PNG";
+        return CompletableFuture.allOf(tasks)
+                .thenRun(() -> StartupLog.mark("obrazy wczytane (" + source + ")"));
+    }
+
+    /**
+     * Zwraca zakończenie wczytywania obrazów (np. aby zaczekać na nie przed renderowaniem poza ekranem).
+     *
+     * @return zadanie kończone po wczytaniu wszystkich obrazów
+     */
+    public CompletableFuture<Void> loaded() {
+        return loaded;
+    }
+
+    /**
+     * Konwertuje w tle wszystkie obrazy do formatu zgodnego z podaną konfiguracją graficzną,
+     * dzięki czemu mogą być rysowane bez konwersji pikseli (i akcelerowane sprzętowo).
+     * Konwersja rozpoczyna się po wczytaniu obrazów; do tego czasu rysowane są obrazy oryginalne.
+     *
+     * @param gc konfiguracja graficzna urządzenia docelowego
+     * @return zakończenie konwersji
+     */
+    public CompletableFuture<Void> accelerate(GraphicsConfiguration gc) {
+        if (gc == null) return loaded;
+        target = gc;
+        return loaded.thenRunAsync(() -> {
+            for (int i = 0; i < FILES.length; i++) {
+                images.set(i, toCompatible(gc, images.get(i)));
+            }
+            StartupLog.mark("obrazy zgodne z ekranem");
+        });
+    }
+
+    /**
+     * Kopiuje obraz do nowego obrazu zgodnego z konfiguracją graficzną (z przezroczystością).
+     *
+     * @param gc  konfiguracja graficzna
+     * @param img obraz źródłowy
+     * @return obraz zgodny z urządzeniem
+     */
+    private static BufferedImage toCompatible(GraphicsConfiguration gc, BufferedImage img) {
+        if (img.getColorModel().equals(gc.getColorModel(Transparency.TRANSLUCENT))) return img;
+        BufferedImage copy = gc.createCompatibleImage(img.getWidth(), img.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = copy.createGraphics();
         try {
-            BufferedImage fruit = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/fruit.png")));
-            BufferedImage apple = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/jablko.png")));
-            BufferedImage cherry = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/wisnie.png")));
-            BufferedImage goldApple = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/zlote_jablko.png")));
-            this.fruits = new BufferedImage[]{fruit, apple, cherry, goldApple};
-
-            snake = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/snake.png")));
-            snakeHead = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/snakeHead.png")));
-            frame = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/frame.png")));
-            snakeAI1 = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/snakeAI1.png")));
-            snakeAI1Head = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/snakeAI1_Head.png")));
-            snakeAI2 = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/snakeAI2.png")));
-            snakeAI2Head = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/snakeAI2_Head.png")));
-            frog = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream("/zaba.png")));
-        } catch (IOException | NullPointerException e) {
-            throw new RuntimeException("Błąd wczytywania obrazów", e);
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(img, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return copy;
+    }
+
+    /**
+     * Włącza przechowywanie obrazów przeskalowanych do rozmiaru komórki w rozdzielczości urządzenia
+     * (dla okna gry; eksport klatek korzysta z rysowania bezpośredniego, aby obraz nie zależał od tego,
+     * czy warstwa zdążyła się zbudować).
+     *
+     * @param cellSize rozmiar komórki planszy w pikselach logicznych
+     */
+    public void enableScaledCache(int cellSize) {
+        scaledSize = cellSize;
+    }
+
+    /**
+     * Sprawdza, czy włączono przechowywanie przeskalowanych obrazów.
+     *
+     * @return {@code true}, jeśli warstwy w rozdzielczości urządzenia są używane
+     */
+    public boolean isScaledCacheEnabled() {
+        return scaledSize > 0;
+    }
+
+    /**
+     * Skaluje wszystkie obrazy (poza ramką) do rozmiaru komórki w rozdzielczości urządzenia
+     * (w wątku tła {@link ScaledCache}).
+     *
+     * @param scale skala urządzenia
+     * @return przeskalowane obrazy według indeksu lub {@code null}, jeśli obrazy nie są jeszcze wczytane
+     */
+    private BufferedImage[] renderScaled(double scale) {
+        if (!loaded.isDone() || loaded.isCompletedExceptionally()) return null;
+        int size = Math.max(1, (int) Math.ceil(scaledSize * scale));
+        BufferedImage[] layer = new BufferedImage[FILES.length];
+        for (int i = 0; i < FILES.length; i++) {
+            BufferedImage img = images.get(i);
+            if (i != FRAME && img != null) {
+                layer[i] = scaleDown(img, size, target);
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Skaluje obraz do kwadratu o podanym boku z wygładzaniem; duże zmniejszenia wykonywane są
+     * w kilku krokach o połowę, aby zachować szczegóły.
+     *
+     * @param img  obraz źródłowy
+     * @param size bok obrazu wynikowego w pikselach urządzenia
+     * @param gc   konfiguracja graficzna ekranu ({@code null} – obraz ARGB)
+     * @return przeskalowany obraz
+     */
+    private static BufferedImage scaleDown(BufferedImage img, int size, GraphicsConfiguration gc) {
+        int width = img.getWidth();
+        int height = img.getHeight();
+        while (true) {
+            width = width / 2 >= size ? width / 2 : size;
+            height = height / 2 >= size ? height / 2 : size;
+            boolean last = width == size && height == size;
+            BufferedImage next = (last && gc != null)
+                    ? gc.createCompatibleImage(size, size, Transparency.TRANSLUCENT)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(img, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            img = next;
+            if (last) return img;
         }
     }
 
@@ -76,80 +254,82 @@ public class Pictures {
      * @param type  indeks typu owocu
      */
     public void drawFruit(Graphics2D g, int x, int y, int width, int height, int type) {
-        if (type < 0 || type >= fruits.length) type = 0;
-        draw(g, fruits[type], x, y, 0, width, height, false);
+        if (type < 0 || type >= FRUIT_COUNT) type = 0;
+        draw(g, type, x, y, 0, width, height, false);
     }
 
     /**
      * Zwraca liczbę dostępnych typów owoców.
      *
-     * @return liczba obrazów owoców
+     * @return liczba typów owoców
      */
     public int getFruitCount() {
-        return fruits.length;
+        return FRUIT_COUNT;
     }
 
     /**
      * Rysuje segment węża gracza.
      */
     public void drawSnake(Graphics2D g, int x, int y, int width, int height) {
-        draw(g, snake, x, y, 0, width, height, false);
+        draw(g, SNAKE, x, y, 0, width, height, false);
     }
 
     /**
      * Rysuje głowę węża gracza z obrotem.
      */
     public void drawSnakeHead(Graphics2D g, int x, int y, float angle, int width, int height) {
-        draw(g, snakeHead, x, y, angle, width, height, true);
+        draw(g, SNAKE_HEAD, x, y, angle, width, height, true);
     }
 
     /**
      * Rysuje segment węża AI1.
      */
     public void drawSnakeAI1(Graphics2D g, int x, int y, int width, int height) {
-        draw(g, snakeAI1, x, y, 0, width, height, false);
+        draw(g, SNAKE_AI1, x, y, 0, width, height, false);
     }
 
     /**
      * Rysuje głowę węża AI1 z obrotem.
      */
     public void drawSnakeAI1Head(Graphics2D g, int x, int y, float angle, int width, int height) {
-        draw(g, snakeAI1Head, x, y, angle, width, height, true);
+        draw(g, SNAKE_AI1_HEAD, x, y, angle, width, height, true);
     }
 
     /**
      * Rysuje segment węża AI2.
      */
     public void drawSnakeAI2(Graphics2D g, int x, int y, int width, int height) {
-        draw(g, snakeAI2, x, y, 0, width, height, false);
+        draw(g, SNAKE_AI2, x, y, 0, width, height, false);
     }
 
     /**
      * Rysuje głowę węża AI2 z obrotem.
      */
     public void drawSnakeAI2Head(Graphics2D g, int x, int y, float angle, int width, int height) {
-        draw(g, snakeAI2Head, x, y, angle, width, height, true);
+        draw(g, SNAKE_AI2_HEAD, x, y, angle, width, height, true);
     }
 
     /**
      * Rysuje żabę.
      */
     public void drawFrog(Graphics2D g, int x, int y, int width, int height) {
-        draw(g, frog, x, y, 0, width, height, false);
+        draw(g, FROG, x, y, 0, width, height, false);
     }
 
     /**
      * Rysuje ramkę dekoracyjną.
      */
     public void drawFrame(Graphics2D g, int x, int y, int width, int height) {
-        draw(g, frame, x, y, 0, width, height, true);
+        draw(g, FRAME, x, y, 0, width, height, true);
     }
 
     /**
      * Metoda pomocnicza do rysowania obrazków z opcjonalnym obrotem i skalowaniem.
+     * Obraz, który nie został jeszcze wczytany, jest pomijany. Kwadratowe obrazy rysowane są
+     * z warstwy przeskalowanej do rozdzielczości urządzenia, jeśli jest włączona i gotowa dla bieżącej skali.
      *
      * @param g            kontekst graficzny
-     * @param img          obraz do narysowania
+     * @param index        indeks obrazu w {@link #FILES}
      * @param x            współrzędna X
      * @param y            współrzędna Y
      * @param angle        kąt obrotu w stopniach
@@ -157,7 +337,17 @@ public class Pictures {
      * @param height       wysokość docelowa
      * @param centerOrigin czy obrót ma być wokół środka
      */
-    private void draw(Graphics2D g, BufferedImage img, int x, int y, float angle, int width, int height, boolean centerOrigin) {
+    private void draw(Graphics2D g, int index, int x, int y, float angle, int width, int height, boolean centerOrigin) {
+        BufferedImage img = images.get(index);
+        if (img == null) return;
+        if (scaledSize > 0 && width == height && index != FRAME) {
+            AffineTransform current = g.getTransform();
+            BufferedImage[] layer = scaled.get(ScaledCache.deviceScale(current));
+            if (layer != null && layer[index] != null) {
+                drawScaled(g, current, layer[index], x, y, angle, width, centerOrigin);
+                return;
+            }
+        }
         AffineTransform transform = new AffineTransform();
 
         if (centerOrigin) {
@@ -171,4 +361,41 @@ public class Pictures {
         transform.scale((double) width / img.getWidth(), (double) height / img.getHeight());
         g.drawImage(img, transform, null);
     }
+
+    /**
+     * Rysuje obraz przeskalowany do rozdzielczości urządzenia w układzie współrzędnych urządzenia:
+     * obraz o rozmiarze komórki jest kopiowany bez skalowania (głowy – z obrotem wokół środka),
+     * a inny rozmiar (np. pulsujący owoc) skalowany jest z obrazu już zmniejszonego.
+     *
+     * @param g            kontekst graficzny
+     * @param current      bieżące przekształcenie kontekstu (przesunięcie i jednakowa skala)
+     * @param img          obraz przeskalowany do rozmiaru komórki w pikselach urządzenia
+     * @param x            współrzędna X w pikselach logicznych
+     * @param y            współrzędna Y w pikselach logicznych
+     * @param angle        kąt obrotu w stopniach
+     * @param size         bok obrazu docelowego w pikselach logicznych
+     * @param centerOrigin czy obrót ma być wokół środka
+     */
+    private void drawScaled(Graphics2D g, AffineTransform current, BufferedImage img, int x, int y, float angle,
+                            int size, boolean centerOrigin) {
+        double scale = current.getScaleX();
+        int deviceX = (int) Math.round(current.getTranslateX() + x * scale);
+        int deviceY = (int) Math.round(current.getTranslateY() + y * scale);
+        int side = size == scaledSize ? img.getWidth() : (int) Math.round(size * scale);
+        g.setTransform(new AffineTransform());
+        try {
+            if (side == img.getWidth() && (!centerOrigin || angle == 0)) {
+                g.drawImage(img, deviceX, deviceY, null);
+            } else {
+                AffineTransform transform = AffineTransform.getTranslateInstance(deviceX, deviceY);
+                if (centerOrigin) {
+                    transform.rotate(Math.toRadians(angle), side / 2.0, side / 2.0);
+                }
+                transform.scale((double) side / img.getWidth(), (double) side / img.getHeight());
+                g.drawImage(img, transform, null);
+            }
+        } finally {
+            g.setTransform(current);
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package snake.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Klasa {@code RenderBuffer} to potrójny bufor klatek ({@link RenderFrame}) między wątkiem symulacji
+ * a wątkiem rysującym, bez blokad.
+ *
+ * <ul>
+ *     <li>wątek symulacji ma na wyłączność bufor tylny – przechwytuje do niego stan po kroku
+ *     i wymienia go na bufor środkowy ({@link #publish()}),</li>
+ *     <li>wątek rysujący ma na wyłączność bufor przedni – gdy środkowy zawiera nową klatkę,
+ *     wymienia go na przedni ({@link #latest()}).</li>
+ * </ul>
+ *
+ * <p>Jedyną wspólną zmienną jest indeks bufora środkowego z bitem „nowa klatka”, wymieniany atomowo.
+ * Żaden z wątków nie czeka na drugi: symulacja nie zwalnia przez wolne rysowanie,
+ * a rysowanie zawsze widzi kompletną, najnowszą opublikowaną klatkę.</p>
+ */
+final class RenderBuffer {
+
+    /** Bit oznaczający, że bufor środkowy zawiera klatkę jeszcze nieodebraną przez wątek rysujący. */
+    private static final int FRESH = 4;
+
+    /** Maska indeksu bufora. */
+    private static final int INDEX = 3;
+
+    /** Trzy bufory klatek. */
+    private final RenderFrame[] frames = {new RenderFrame(), new RenderFrame(), new RenderFrame()};
+
+    /** Indeks bufora środkowego z bitem {@link #FRESH}. */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /** Indeks bufora tylnego (tylko wątek symulacji). */
+    private int back = 0;
+
+    /** Indeks bufora przedniego (tylko wątek rysujący). */
+    private int front = 2;
+
+    /** Czy opublikowano już choć jedną klatkę. */
+    private volatile boolean published = false;
+
+    /**
+     * Zwraca bufor tylny, do którego wątek symulacji przechwytuje stan.
+     *
+     * @return klatka do wypełnienia
+     */
+    RenderFrame back() {
+        return frames[back];
+    }
+
+    /**
+     * Publikuje wypełniony bufor tylny jako najnowszą klatkę i przejmuje dawny bufor środkowy jako tylny.
+     */
+    void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+        published = true;
+    }
+
+    /**
+     * Zwraca najnowszą opublikowaną klatkę. Klatka pozostaje ważna do następnego wywołania w tym samym wątku.
+     *
+     * @return klatka do narysowania lub {@code null}, jeśli nic jeszcze nie opublikowano
+     */
+    RenderFrame latest() {
+        if (!published) return null;
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return frames[front];
+    }
+}
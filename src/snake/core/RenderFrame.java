@@ -0,0 +1,126 @@
+package snake.core;
+
+import snake.enums.SnakeType;
+
+import java.awt.*;
+
+/**
+ * Klasa {@code RenderFrame} to migawka stanu rozgrywki potrzebnego do narysowania jednej klatki:
+ * komórki węży, owoce z typami i fazą animacji, żaba, przeszkody i wynik.
+ * Wypełniana przez wątek symulacji po każdym kroku ({@link #capture(Game)}) i rysowana przez wątek
+ * rysujący ({@link #draw(Graphics2D, Board, Pictures)}) bez dostępu do obiektów gry.
+ *
+ * <p>Tablice rosną tylko, gdy stan się nie mieści (np. wąż się wydłużył), więc w ustalonej
+ * rozgrywce przechwycenie klatki nie alokuje pamięci.</p>
+ */
+final class RenderFrame {
+
+    /** Typy węży (kopia {@code values()} tworzona raz, aby przechwycenie klatki nie alokowało). */
+    private static final SnakeType[] TYPES = SnakeType.values();
+
+    /** Numer kroku, po którym przechwycono klatkę. */
+    int tick;
+
+    /** Wynik gracza. */
+    int score;
+
+    /** Komórki węży (od głowy) według typu węża. */
+    final int[][] snakeCells = new int[TYPES.length][16];
+
+    /** Długości węży według typu węża. */
+    final int[] snakeLength = new int[TYPES.length];
+
+    /** Kąty obrotu głów węży według typu węża. */
+    final int[] snakeAngle = new int[TYPES.length];
+
+    /** Czy wąż danego typu żyje (martwe węże nie są rysowane). */
+    final boolean[] snakeAlive = new boolean[TYPES.length];
+
+    /** Komórki owoców. */
+    int[] food = new int[8];
+
+    /** Typy owoców. */
+    int[] foodTypes = new int[8];
+
+    /** Liczba owoców. */
+    int foodCount;
+
+    /** Skala owoców (faza animacji). */
+    float fruitScale = 1f;
+
+    /** Komórka żaby lub {@link Cell#NONE}. */
+    int frog = Cell.NONE;
+
+    /** Komórki przeszkód. */
+    int[] obstacles = new int[32];
+
+    /** Liczba przeszkód. */
+    int obstacleCount;
+
+    /**
+     * Przechwytuje stan gry. Wywoływana w wątku symulacji, gdy stan gry się nie zmienia.
+     *
+     * @param game gra
+     */
+    void capture(Game game) {
+        tick = game.getTicks();
+        score = game.getScore();
+        for (SnakeType type : TYPES) {
+            Snake s = game.getSnake(type);
+            SnakeBody body = s.getBody();
+            int t = type.ordinal();
+            if (snakeCells[t].length < body.size()) {
+                snakeCells[t] = new int[Math.max(body.size(), snakeCells[t].length * 2)];
+            }
+            snakeLength[t] = body.copyTo(snakeCells[t]);
+            snakeAngle[t] = s.getAngle();
+            snakeAlive[t] = s.isAlive();
+        }
+
+        Food f = game.getFood();
+        foodCount = f.getCount();
+        if (food.length < foodCount) {
+            food = new int[foodCount];
+            foodTypes = new int[foodCount];
+        }
+        for (int i = 0; i < foodCount; i++) {
+            food[i] = f.getPosition(i);
+            foodTypes[i] = f.getType(i);
+        }
+        fruitScale = f.getScale();
+        frog = game.getFrog().getPosition();
+
+        Obstacle o = game.getObstacle();
+        obstacleCount = o.getCount();
+        if (obstacles.length < obstacleCount) {
+            obstacles = new int[Math.max(obstacleCount, obstacles.length * 2)];
+        }
+        for (int i = 0; i < obstacleCount; i++) {
+            obstacles[i] = o.getCell(i);
+        }
+    }
+
+    /**
+     * Rysuje klatkę w tej samej kolejności co gra: plansza, przeszkody, węże, owoce, żaba.
+     *
+     * @param g        kontekst graficzny
+     * @param board    plansza gry
+     * @param pictures zasoby graficzne
+     */
+    void draw(Graphics2D g, Board board, Pictures pictures) {
+        int cellSize = board.getCellSize();
+        board.drawBoard(g);
+        Obstacle.drawCells(g, cellSize, obstacles, obstacleCount);
+        for (SnakeType type : TYPES) {
+            int t = type.ordinal();
+            if (!snakeAlive[t]) continue;
+            int[] cells = snakeCells[t];
+            for (int i = 0; i < snakeLength[t]; i++) {
+                Snake.drawSegment(g, pictures, type, i, Cell.x(cells[i]) * cellSize, Cell.y(cells[i]) * cellSize,
+                        snakeAngle[t], cellSize);
+            }
+        }
+        Food.drawFruits(g, pictures, cellSize, fruitScale, food, foodTypes, foodCount);
+        Frog.drawAt(g, pictures, cellSize, frog);
+    }
+}
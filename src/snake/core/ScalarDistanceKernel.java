@@ -0,0 +1,60 @@
+package snake.core;
+
+/**
+ * Klasa {@code ScalarDistanceKernel} to skalarna implementacja {@link DistanceKernel}: każdy wiersz
+ * przetwarzany jest jednym słowem (do 64 komórek naraz). Wybiera też przy starcie implementację
+ * preferowaną – wektorową, jeśli moduł {@code jdk.incubator.vector} jest dostępny.
+ */
+final class ScalarDistanceKernel implements DistanceKernel {
+
+    /** Jedyna instancja. */
+    static final ScalarDistanceKernel INSTANCE = new ScalarDistanceKernel();
+
+    /** Implementacja wybrana przy starcie. */
+    static final DistanceKernel PREFERRED = select();
+
+    private ScalarDistanceKernel() {
+    }
+
+    @Override
+    public boolean expand(long[] frontier, long[] next, long[] visited, long[] open, int rows) {
+        long any = 0;
+        for (int y = 1; y <= rows; y++) {
+            long f = frontier[y];
+            long grown = f | f << 1 | f >>> 1 | frontier[y - 1] | frontier[y + 1];
+            long n = grown & open[y] & ~visited[y];
+            next[y] = n;
+            visited[y] |= n;
+            any |= n;
+        }
+        return any != 0;
+    }
+
+    @Override
+    public int arrayLength(int rows) {
+        return rows + 2;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Wybiera implementację: wektorową, jeśli nie wyłączono jej właściwością {@code snake.simd}
+     * i klasy Vector API dają się załadować, a w przeciwnym razie skalarną.
+     *
+     * @return wybrana implementacja
+     */
+    private static DistanceKernel select() {
+        if (!Boolean.parseBoolean(System.getProperty("snake.simd", "true"))) {
+            return INSTANCE;
+        }
+        try {
+            return (DistanceKernel) Class.forName("snake.core.VectorDistanceKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return INSTANCE;
+        }
+    }
+}
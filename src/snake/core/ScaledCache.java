@@ -0,0 +1,117 @@
+package snake.core;
+
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.DoubleFunction;
+
+/**
+ * Klasa {@code ScaledCache} przechowuje warstwę grafiki (tło planszy, przeskalowane obrazy, napisy paska wyniku)
+ * wyrenderowaną w rozdzielczości urządzenia dla jednej skali – iloczynu skali okna i skali ekranu (HiDPI).
+ * Gdy rysowanie odbywa się w innej skali, warstwa budowana jest od nowa we wspólnym wątku tła, raz na zmianę
+ * rozmiaru; do czasu jej zbudowania {@link #get(double)} zwraca {@code null}, a wywołujący rysuje bezpośrednio
+ * (ze skalowaniem przy każdym rysowaniu), jak bez pamięci podręcznej.
+ *
+ * <p>Przy ciągłej zmianie rozmiaru okna (przeciąganie krawędzi) budowana jest tylko warstwa dla skali
+ * żądanej jako ostatnia – skale pośrednie, o które poproszono w trakcie budowania, są pomijane.</p>
+ *
+ * @param <T> typ warstwy
+ */
+final class ScaledCache<T> {
+
+    /** Wątek tła budujący warstwy (wspólny dla wszystkich warstw). */
+    private static final Executor BUILDER = Executors.newSingleThreadExecutor(task -> {
+        Thread t = new Thread(task, "snake-layers");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Zbudowana warstwa wraz ze skalą, dla której powstała.
+     *
+     * @param scale skala urządzenia
+     * @param layer warstwa
+     * @param <T>   typ warstwy
+     */
+    private record Entry<T>(double scale, T layer) {
+    }
+
+    /** Funkcja budująca warstwę dla podanej skali (zwraca {@code null}, jeśli nie da się jej jeszcze zbudować). */
+    private final DoubleFunction<T> builder;
+
+    /** Ostatnio zbudowana warstwa ({@code null} – żadna). */
+    private volatile Entry<T> current;
+
+    /** Skala, dla której warstwa ma zostać zbudowana przy najbliższym budowaniu. */
+    private volatile double requested = Double.NaN;
+
+    /** Skala, dla której budowanie zakończyło się błędem (nie jest ponawiane). */
+    private volatile double failed = Double.NaN;
+
+    /** Czy budowanie jest zlecone lub trwa. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Tworzy pustą pamięć warstwy.
+     *
+     * @param builder funkcja budująca warstwę dla podanej skali (wywoływana w wątku tła)
+     */
+    ScaledCache(DoubleFunction<T> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Zwraca warstwę dla podanej skali, a jeśli jej nie ma – zleca jej zbudowanie w tle.
+     *
+     * @param scale skala urządzenia (np. z {@link #deviceScale(AffineTransform)})
+     * @return warstwa albo {@code null}, jeśli jeszcze nie jest gotowa lub skala jest nieokreślona ({@code NaN})
+     */
+    T get(double scale) {
+        if (Double.isNaN(scale)) return null;
+        Entry<T> entry = current;
+        if (entry != null && entry.scale == scale) return entry.layer;
+        if (scale != failed) {
+            requested = scale;
+            if (scheduled.compareAndSet(false, true)) {
+                BUILDER.execute(this::rebuild);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Buduje warstwę dla ostatnio żądanej skali i udostępnia ją rysującym.
+     */
+    private void rebuild() {
+        double scale = requested;
+        try {
+            T layer = builder.apply(scale);
+            if (layer != null) {
+                current = new Entry<>(scale, layer);
+            }
+        } catch (RuntimeException e) {
+            failed = scale;
+            System.err.println("Błąd budowania warstwy grafiki dla skali " + scale + ": " + e);
+            e.printStackTrace();
+        } finally {
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Zwraca skalę urządzenia dla przekształcenia kontekstu graficznego, jeśli jest ono tylko przesunięciem
+     * i jednakowym w obu osiach skalowaniem (tylko wtedy warstwę można narysować bez przekształcania).
+     *
+     * @param transform przekształcenie kontekstu graficznego
+     * @return skala urządzenia lub {@code NaN}, jeśli przekształcenie zawiera obrót, pochylenie
+     *         albo różne skale w osiach
+     */
+    static double deviceScale(AffineTransform transform) {
+        if ((transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE)) != 0) {
+            return Double.NaN;
+        }
+        double scale = transform.getScaleX();
+        return scale > 0 ? scale : Double.NaN;
+    }
+}
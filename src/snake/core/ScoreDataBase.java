@@ -7,11 +7,16 @@ import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
 
 /**
  * Klasa {@code ScoreDataBase} odpowiada za zarządzanie listą wyników graczy.
  * Wyniki są zapisywane i odczytywane z lokalnego pliku tekstowego {@code scores.db}.
  * Przechowywane są maksymalnie 100 najlepszych wyników.
+ *
+ * <p>Wyniki dopisuje wątek odbiorcy zdarzeń gry, a czyta wątek rysujący, więc lista jest kopiowana
+ * przy zapisie – odczyt nie wymaga blokady.</p>
  */
 public class ScoreDataBase {
 
@@ -21,8 +26,11 @@ public class ScoreDataBase {
     /** Maksymalna liczba wyników przechowywanych w pliku. */
     private static final int MAX_ENTRIES = 100;
 
+    /** Odbiorca czasu zapisu pliku w nanosekundach ({@code null} – bez pomiaru, np. dla metryk). */
+    private volatile LongConsumer writeTimer;
+
     /** Lista wyników graczy. */
-    private final List<ScoreEntry> scores = new ArrayList<>();
+    private final List<ScoreEntry> scores = new CopyOnWriteArrayList<>();
 
     /**
      * Konstruktor klasy {@code ScoreDataBase}.
@@ -39,7 +47,7 @@ public class ScoreDataBase {
      * @param score wynik gracza
      * @param level poziom trudności, na którym wynik został osiągnięty
      */
-    public void addScore(int score, GameLevel level) {
+    public synchronized void addScore(int score, GameLevel level) {
         String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
         scores.add(new ScoreEntry(date, score, level));
 
@@ -49,7 +57,21 @@ public class ScoreDataBase {
             scores.subList(MAX_ENTRIES, scores.size()).clear();
         }
 
+        LongConsumer timer = writeTimer;
+        long start = System.nanoTime();
         save();
+        if (timer != null) {
+            timer.accept(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ustawia odbiorcę czasu każdego zapisu wyników do pliku.
+     *
+     * @param timer odbiorca czasu w nanosekundach lub {@code null}, aby wyłączyć pomiar
+     */
+    public void setWriteTimer(LongConsumer timer) {
+        this.writeTimer = timer;
     }
 
     /**
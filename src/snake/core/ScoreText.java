@@ -0,0 +1,140 @@
+package snake.core;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Klasa {@code ScoreText} przechowuje napis wyniku z paska pod planszą ({@code "Score: "} oraz cyfry)
+ * wyrenderowany w rozdzielczości urządzenia dla jednej skali ({@link ScaledCache}). Wynik składany jest
+ * z gotowych obrazów cyfr, więc rysowanie nie tworzy czcionki, nie mierzy tekstu i nie rasteryzuje glifów.
+ */
+final class ScoreText {
+
+    /** Czcionka napisu wyniku w pikselach logicznych. */
+    static final Font FONT = new Font("Arial", Font.BOLD, 32);
+
+    /** Stała część napisu poprzedzająca wynik. */
+    static final String LABEL = "Score: ";
+
+    /** Znaki, z których składany jest wynik (cyfry i minus). */
+    private static final String GLYPHS = "0123456789-";
+
+    /** Obraz stałej części napisu. */
+    private final BufferedImage label;
+
+    /** Obrazy znaków według pozycji w {@link #GLYPHS}. */
+    private final BufferedImage[] glyphs;
+
+    /** Odległość linii bazowej od górnej krawędzi obrazów w pikselach urządzenia. */
+    private final int ascent;
+
+    /**
+     * Tworzy napis z gotowych obrazów.
+     *
+     * @param label  obraz stałej części napisu
+     * @param glyphs obrazy znaków
+     * @param ascent odległość linii bazowej od górnej krawędzi obrazów
+     */
+    private ScoreText(BufferedImage label, BufferedImage[] glyphs, int ascent) {
+        this.label = label;
+        this.glyphs = glyphs;
+        this.ascent = ascent;
+    }
+
+    /**
+     * Renderuje napis w rozdzielczości urządzenia dla podanej skali (w wątku tła {@link ScaledCache}).
+     *
+     * @param scale skala urządzenia
+     * @return napis gotowy do składania wyników
+     */
+    static ScoreText render(double scale) {
+        Font font = FONT.deriveFont((float) (FONT.getSize2D() * scale));
+        BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = probe.createGraphics();
+        FontMetrics metrics;
+        try {
+            prepare(g, font);
+            metrics = g.getFontMetrics();
+        } finally {
+            g.dispose();
+        }
+        BufferedImage[] glyphs = new BufferedImage[GLYPHS.length()];
+        for (int i = 0; i < glyphs.length; i++) {
+            glyphs[i] = renderText(GLYPHS.substring(i, i + 1), font, metrics);
+        }
+        return new ScoreText(renderText(LABEL, font, metrics), glyphs, metrics.getAscent());
+    }
+
+    /**
+     * Renderuje tekst do obrazu o szerokości równej jego długości i wysokości wiersza czcionki.
+     *
+     * @param text    tekst
+     * @param font    czcionka w pikselach urządzenia
+     * @param metrics miary czcionki
+     * @return obraz tekstu na przezroczystym tle
+     */
+    private static BufferedImage renderText(String text, Font font, FontMetrics metrics) {
+        BufferedImage image = new BufferedImage(Math.max(1, metrics.stringWidth(text)),
+                Math.max(1, metrics.getAscent() + metrics.getDescent()), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            prepare(g, font);
+            g.setColor(Color.BLACK);
+            g.drawString(text, 0, metrics.getAscent());
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Ustawia czcionkę i wygładzanie tekstu.
+     *
+     * @param g    kontekst graficzny
+     * @param font czcionka
+     */
+    private static void prepare(Graphics2D g, Font font) {
+        g.setFont(font);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    /**
+     * Rysuje napis z wynikiem wyśrodkowany w poziomie, kopiując gotowe obrazy w układzie urządzenia.
+     *
+     * @param g        kontekst graficzny
+     * @param current  bieżące przekształcenie kontekstu (przesunięcie i jednakowa skala)
+     * @param centerX  środek napisu w pikselach logicznych
+     * @param baseline linia bazowa napisu w pikselach logicznych
+     * @param score    wynik
+     */
+    void draw(Graphics2D g, AffineTransform current, int centerX, int baseline, int score) {
+        long value = Math.abs((long) score);
+        long divisor = 1;
+        int width = label.getWidth() + (score < 0 ? glyphs[10].getWidth() : 0);
+        do {
+            width += glyphs[(int) (value / divisor % 10)].getWidth();
+            divisor *= 10;
+        } while (divisor <= value);
+
+        double scale = current.getScaleX();
+        int x = (int) Math.round(current.getTranslateX() + centerX * scale) - width / 2;
+        int y = (int) Math.round(current.getTranslateY() + baseline * scale) - ascent;
+        g.setTransform(new AffineTransform());
+        try {
+            g.drawImage(label, x, y, null);
+            x += label.getWidth();
+            if (score < 0) {
+                g.drawImage(glyphs[10], x, y, null);
+                x += glyphs[10].getWidth();
+            }
+            for (divisor /= 10; divisor > 0; divisor /= 10) {
+                BufferedImage digit = glyphs[(int) (value / divisor % 10)];
+                g.drawImage(digit, x, y, null);
+                x += digit.getWidth();
+            }
+        } finally {
+            g.setTransform(current);
+        }
+    }
+}
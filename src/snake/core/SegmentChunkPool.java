@@ -0,0 +1,49 @@
+package snake.core;
+
+import java.util.ArrayDeque;
+
+/**
+ * Klasa {@code SegmentChunkPool} przechowuje wspólną pulę bloków (chunków) segmentów węża.
+ * Bloki zwolnione przy resecie lub śmierci węża są ponownie wykorzystywane
+ * zamiast alokowania nowych tablic. Pula jest ograniczona, nadmiarowe bloki trafiają do GC.
+ */
+final class SegmentChunkPool {
+
+    /** Liczba segmentów w jednym bloku (potęga dwójki). */
+    static final int CHUNK_SIZE = 256;
+
+    /** Maksymalna liczba bloków przechowywanych w puli. */
+    private static final int MAX_POOLED = 4096;
+
+    /** Wolne bloki gotowe do ponownego użycia. */
+    private static final ArrayDeque<int[]> FREE = new ArrayDeque<>();
+
+    private SegmentChunkPool() {
+    }
+
+    /**
+     * Pobiera blok z puli lub alokuje nowy, jeśli pula jest pusta.
+     *
+     * @return blok o rozmiarze {@link #CHUNK_SIZE}
+     */
+    static int[] acquire() {
+        synchronized (FREE) {
+            int[] chunk = FREE.pollLast();
+            if (chunk != null) return chunk;
+        }
+        return new int[CHUNK_SIZE];
+    }
+
+    /**
+     * Zwraca blok do puli. Zawartość bloku nie jest czyszczona.
+     *
+     * @param chunk zwalniany blok
+     */
+    static void release(int[] chunk) {
+        synchronized (FREE) {
+            if (FREE.size() < MAX_POOLED) {
+                FREE.addLast(chunk);
+            }
+        }
+    }
+}
@@ -4,8 +4,6 @@ import snake.enums.Direction;
 import snake.enums.SnakeType;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Klasa {@code Snake} reprezentuje węża w grze Snake.
@@ -23,17 +21,20 @@ public class Snake {
     /** Typ węża – gracz lub AI. */
     private final SnakeType type;
 
-    /** Początkowy ogon węża. */
-    private final List<Point> tailStart;
+    /** Początkowy ogon węża (upakowane komórki, pierwszy element to głowa). */
+    private final int[] tailStart;
 
     /** Czy wąż jest żywy. */
     private boolean alive = true;
 
-    /** Lista segmentów ogona (pierwszy element to głowa). */
-    public List<Point> tail;
+    /** Segmenty ogona (pierwszy element to głowa). */
+    private final SnakeBody body;
 
-    /** Wektor ruchu – określa kierunek przesunięcia głowy. */
-    private Point move = new Point(1, 0);
+    /** Przesunięcie głowy w osi X przy jednym ruchu. */
+    private int moveX = 1;
+
+    /** Przesunięcie głowy w osi Y przy jednym ruchu. */
+    private int moveY = 0;
 
     /** Kierunek ruchu węża. */
     private Direction direction = Direction.RIGHT;
@@ -57,11 +58,10 @@ public class Snake {
      * @param pictures zasoby graficzne
      */
     public Snake(Board board, Pictures pictures) {
-        this(board, pictures, SnakeType.PLAYER, List.of(
-                new Point(7, 6),
-                new Point(6, 6),
-                new Point(5, 6)
-        ));
+        this(board, pictures, SnakeType.PLAYER,
+                Cell.of(7, 6),
+                Cell.of(6, 6),
+                Cell.of(5, 6));
     }
 
     /**
@@ -70,14 +70,15 @@ public class Snake {
      * @param board plansza gry
      * @param pictures zasoby graficzne
      * @param type typ węża (gracz, AI1, AI2)
-     * @param start lista punktów startowego ogona
+     * @param start komórki startowego ogona (pierwsza to głowa)
      */
-    public Snake(Board board, Pictures pictures, SnakeType type, List<Point> start) {
+    public Snake(Board board, Pictures pictures, SnakeType type, int... start) {
         this.board = board;
         this.pictures = pictures;
         this.type = type;
-        this.tailStart = new ArrayList<>(start);
-        this.tail = new ArrayList<>(tailStart);
+        this.body = new SnakeBody(Zobrist.BODY + type.ordinal());
+        this.tailStart = start.clone();
+        fillStart();
     }
 
     /**
@@ -86,27 +87,39 @@ public class Snake {
      * @param g kontekst graficzny
      */
     public void draw(Graphics2D g) {
-        if (!alive || tail.isEmpty()) return;
+        if (!alive || body.isEmpty()) return;
         int cellSize = board.getCellSize();
-        Point head = tail.get(0);
-        int x = head.x * cellSize;
-        int y = head.y * cellSize;
-
-        // Rysuj głowę
-        switch (type) {
-            case AI1 -> pictures.drawSnakeAI1Head(g, x, y, angle, cellSize, cellSize);
-            case AI2 -> pictures.drawSnakeAI2Head(g, x, y, angle, cellSize, cellSize);
-            default -> pictures.drawSnakeHead(g, x, y, angle, cellSize, cellSize);
-        }
+        body.forEach((i, sx, sy) -> drawSegment(g, pictures, type, i, sx * cellSize, sy * cellSize, angle, cellSize));
+    }
 
-        // Rysuj ogon
-        for (int i = 1; i < tail.size(); i++) {
-            Point segment = tail.get(i);
+    /**
+     * Rysuje jeden segment węża danego typu (głowę z obrotem albo fragment ogona).
+     *
+     * @param g        kontekst graficzny
+     * @param pictures zasoby graficzne
+     * @param type     typ węża
+     * @param index    indeks segmentu (0 = głowa)
+     * @param x        współrzędna X w pikselach
+     * @param y        współrzędna Y w pikselach
+     * @param angle    kąt obrotu głowy w stopniach
+     * @param cellSize rozmiar komórki w pikselach
+     */
+    static void drawSegment(Graphics2D g, Pictures pictures, SnakeType type, int index, int x, int y,
+                            int angle, int cellSize) {
+        if (index == 0) {
+            // Rysuj głowę
             switch (type) {
-                case AI1 -> pictures.drawSnakeAI1(g, segment.x * cellSize, segment.y * cellSize, cellSize, cellSize);
-                case AI2 -> pictures.drawSnakeAI2(g, segment.x * cellSize, segment.y * cellSize, cellSize, cellSize);
-                default -> pictures.drawSnake(g, segment.x * cellSize, segment.y * cellSize, cellSize, cellSize);
+                case AI1 -> pictures.drawSnakeAI1Head(g, x, y, angle, cellSize, cellSize);
+                case AI2 -> pictures.drawSnakeAI2Head(g, x, y, angle, cellSize, cellSize);
+                default -> pictures.drawSnakeHead(g, x, y, angle, cellSize, cellSize);
             }
+            return;
+        }
+        // Rysuj ogon
+        switch (type) {
+            case AI1 -> pictures.drawSnakeAI1(g, x, y, cellSize, cellSize);
+            case AI2 -> pictures.drawSnakeAI2(g, x, y, cellSize, cellSize);
+            default -> pictures.drawSnake(g, x, y, cellSize, cellSize);
         }
     }
 
@@ -130,9 +143,8 @@ public class Snake {
      */
     public void update() {
         if (gameRunning && alive) {
-            tail.remove(tail.size() - 1);
-            Point newHead = new Point(tail.get(0).x + move.x, tail.get(0).y + move.y);
-            tail.add(0, newHead);
+            body.removeLast();
+            body.addFirst(Cell.offset(body.getFirst(), moveX, moveY));
         }
     }
 
@@ -145,25 +157,29 @@ public class Snake {
     public void moveDirection(Direction dir) {
         if (!alive) return;
         if (dir == Direction.UP && direction != Direction.DOWN) {
-            move.setLocation(0, -1);
+            moveX = 0;
+            moveY = -1;
             direction = Direction.UP;
             angle = 270;
             gameRunning = true;
         }
         if (dir == Direction.DOWN && direction != Direction.UP) {
-            move.setLocation(0, 1);
+            moveX = 0;
+            moveY = 1;
             direction = Direction.DOWN;
             angle = 90;
             gameRunning = true;
         }
         if (dir == Direction.LEFT && direction != Direction.RIGHT) {
-            move.setLocation(-1, 0);
+            moveX = -1;
+            moveY = 0;
             direction = Direction.LEFT;
             angle = 180;
             gameRunning = true;
         }
         if (dir == Direction.RIGHT && direction != Direction.LEFT) {
-            move.setLocation(1, 0);
+            moveX = 1;
+            moveY = 0;
             direction = Direction.RIGHT;
             angle = 0;
             gameRunning = true;
@@ -174,18 +190,21 @@ public class Snake {
      * Dodaje jeden segment do ogona węża.
      */
     public void addTail() {
-        if (alive && !tail.isEmpty()) {
-            tail.add(new Point(tail.get(tail.size() - 1)));
+        if (alive && !body.isEmpty()) {
+            body.addLast(body.getLast());
         }
     }
 
     /**
      * Resetuje węża do jego stanu początkowego.
+     * Bloki ciała wracają do puli, więc koszt nie zależy od długości węża.
      */
     public void reset() {
-        tail = new ArrayList<>(tailStart);
+        body.clear();
+        fillStart();
         direction = Direction.RIGHT;
-        move.setLocation(1, 0);
+        moveX = 1;
+        moveY = 0;
         angle = 0;
         gameRunning = false;
         alive = true;
@@ -201,12 +220,59 @@ public class Snake {
     }
 
     /**
-     * Zwraca aktualny ogon węża.
+     * Zwraca segmenty węża (pierwszy element to głowa).
+     *
+     * @return ciało węża
+     */
+    public SnakeBody getBody() {
+        return body;
+    }
+
+    /**
+     * Zwraca współrzędną X głowy.
+     *
+     * @return kolumna głowy
+     */
+    public int getHeadX() {
+        return Cell.x(body.getFirst());
+    }
+
+    /**
+     * Zwraca współrzędną Y głowy.
+     *
+     * @return wiersz głowy
+     */
+    public int getHeadY() {
+        return Cell.y(body.getFirst());
+    }
+
+    /**
+     * Zwraca komórkę głowy.
+     *
+     * @return upakowana komórka głowy lub {@link Cell#NONE}, jeśli wąż nie ma segmentów
+     */
+    public int getHead() {
+        return body.isEmpty() ? Cell.NONE : body.getFirst();
+    }
+
+    /**
+     * Sprawdza, czy głowa węża znajduje się na podanej komórce.
+     *
+     * @param cell upakowana komórka
+     * @return {@code true}, jeśli wąż ma głowę na komórce
+     */
+    public boolean isHeadAt(int cell) {
+        return !body.isEmpty() && body.getFirst() == cell;
+    }
+
+    /**
+     * Sprawdza, czy którykolwiek segment węża zajmuje podaną komórkę.
      *
-     * @return lista punktów ogona
+     * @param cell upakowana komórka
+     * @return {@code true}, jeśli komórka jest zajęta przez węża
      */
-    public List<Point> getTail() {
-        return tail;
+    public boolean occupies(int cell) {
+        return body.contains(cell);
     }
 
     /**
@@ -218,6 +284,36 @@ public class Snake {
         return direction;
     }
 
+    /**
+     * Zwraca typ węża (gracz lub AI).
+     *
+     * @return typ węża
+     */
+    public SnakeType getType() {
+        return type;
+    }
+
+    /**
+     * Zwraca kąt obrotu głowy węża (zgodny z kierunkiem ruchu).
+     *
+     * @return kąt w stopniach
+     */
+    public int getAngle() {
+        return angle;
+    }
+
+    /**
+     * Zwraca hasz Zobrista węża (ciało, głowa i kierunek), liczony w O(1) z hasza utrzymywanego przez ciało.
+     *
+     * @return hasz węża (0 dla martwego)
+     */
+    public long getHash() {
+        if (!alive || body.isEmpty()) return 0;
+        int t = type.ordinal();
+        return body.getHash() + Zobrist.key(Zobrist.HEAD + t, body.getFirst())
+                + Zobrist.key(Zobrist.DIRECTION + t, direction.ordinal());
+    }
+
     /**
      * Sprawdza, czy wąż żyje.
      *
@@ -227,11 +323,76 @@ public class Snake {
         return alive;
     }
 
+    /**
+     * Przywraca pełny stan węża (np. z migawki stanu odebranej z serwera).
+     *
+     * @param cells   komórki ciała (pierwsza to głowa)
+     * @param length  liczba segmentów do przepisania z {@code cells}
+     * @param dir     kierunek ruchu
+     * @param alive   czy wąż żyje
+     * @param running czy wąż już się porusza
+     */
+    public void restore(int[] cells, int length, Direction dir, boolean alive, boolean running) {
+        body.clear();
+        for (int i = 0; i < length; i++) {
+            body.addLast(cells[i]);
+        }
+        setDirection(dir);
+        this.alive = alive;
+        this.gameRunning = running;
+    }
+
+    /**
+     * Odtwarza jeden krok węża wykonany gdzie indziej (np. na serwerze): przesunięcie na nową głowę
+     * oraz dodanie podanej liczby segmentów, dokładnie tak jak {@link #update()} i {@link #addTail()}.
+     *
+     * @param head   nowa komórka głowy
+     * @param growth liczba segmentów dodanych w tym kroku
+     * @param dir    kierunek ruchu po kroku
+     */
+    public void applyMove(int head, int growth, Direction dir) {
+        if (!body.isEmpty()) {
+            body.removeLast();
+        }
+        body.addFirst(head);
+        for (int i = 0; i < growth; i++) {
+            body.addLast(body.getLast());
+        }
+        setDirection(dir);
+        gameRunning = true;
+    }
+
+    /**
+     * Ustawia kierunek ruchu bez sprawdzania zawracania (stan przywracany z zewnątrz).
+     *
+     * @param dir kierunek ruchu
+     */
+    private void setDirection(Direction dir) {
+        direction = dir;
+        moveX = dir.getDx();
+        moveY = dir.getDy();
+        angle = switch (dir) {
+            case UP -> 270;
+            case DOWN -> 90;
+            case LEFT -> 180;
+            case RIGHT -> 0;
+        };
+    }
+
     /**
      * Oznacza węża jako martwego i czyści jego ogon.
      */
     public void die() {
         alive = false;
-        tail.clear();
+        body.clear();
+    }
+
+    /**
+     * Wypełnia ciało segmentami startowymi.
+     */
+    private void fillStart() {
+        for (int cell : tailStart) {
+            body.addLast(cell);
+        }
     }
 }
@@ -0,0 +1,287 @@
+package snake.core;
+
+/**
+ * Klasa {@code SnakeBody} przechowuje segmenty węża jako upakowane komórki {@link Cell}
+ * (4 bajty na segment) w blokach o stałym rozmiarze pobieranych z {@link SegmentChunkPool}.
+ * Bloki tworzą bufor cykliczny, więc dodanie głowy i usunięcie końca ogona są O(1),
+ * a wzrost nie kopiuje całego ciała – przenoszony jest co najwyżej jeden blok.
+ * Pierwszy element (indeks 0) to głowa węża.
+ *
+ * <p>Ciało utrzymuje przyrostowo hasz Zobrista swoich segmentów ({@link #getHash()}):
+ * każda operacja dodania lub usunięcia segmentu koryguje go o klucz jednej komórki.</p>
+ */
+public class SnakeBody {
+
+    /** Przesunięcie bitowe odpowiadające rozmiarowi bloku. */
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(SegmentChunkPool.CHUNK_SIZE);
+
+    /** Maska indeksu wewnątrz bloku. */
+    private static final int CHUNK_MASK = SegmentChunkPool.CHUNK_SIZE - 1;
+
+    /**
+     * Odwiedzający segmenty ciała – pozwala iterować bez tworzenia obiektów.
+     */
+    @FunctionalInterface
+    public interface SegmentVisitor {
+        /**
+         * Wywoływana dla kolejnego segmentu.
+         *
+         * @param index indeks segmentu (0 = głowa)
+         * @param x     współrzędna X komórki
+         * @param y     współrzędna Y komórki
+         */
+        void visit(int index, int x, int y);
+    }
+
+    /** Bloki bufora cyklicznego. */
+    private int[][] chunks;
+
+    /** Fizyczna pozycja pierwszego segmentu (głowy). */
+    private int start = 0;
+
+    /** Liczba segmentów. */
+    private int size = 0;
+
+    /** Warstwa kluczy Zobrista segmentów (zależna od typu węża). */
+    private final int layer;
+
+    /** Suma kluczy Zobrista wszystkich segmentów. */
+    private long hash = 0;
+
+    /**
+     * Tworzy puste ciało z jednym blokiem.
+     */
+    public SnakeBody() {
+        this(Zobrist.BODY);
+    }
+
+    /**
+     * Tworzy puste ciało z jednym blokiem, haszowane kluczami podanej warstwy.
+     *
+     * @param layer warstwa kluczy Zobrista (np. {@code Zobrist.BODY + type.ordinal()})
+     */
+    public SnakeBody(int layer) {
+        this.layer = layer;
+        chunks = new int[][]{SegmentChunkPool.acquire()};
+    }
+
+    /**
+     * Zwraca liczbę segmentów.
+     *
+     * @return długość węża
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sprawdza, czy ciało jest puste.
+     *
+     * @return {@code true}, jeśli brak segmentów
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Zwraca upakowaną komórkę segmentu o podanym indeksie.
+     *
+     * @param index indeks segmentu (0 = głowa)
+     * @return upakowana komórka
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        int p = physical(index);
+        return chunks[p >> CHUNK_SHIFT][p & CHUNK_MASK];
+    }
+
+    /**
+     * Zwraca głowę węża.
+     *
+     * @return upakowana komórka głowy
+     */
+    public int getFirst() {
+        return get(0);
+    }
+
+    /**
+     * Zwraca ostatni segment ogona.
+     *
+     * @return upakowana komórka końca ogona
+     */
+    public int getLast() {
+        return get(size - 1);
+    }
+
+    /**
+     * Dodaje nową głowę.
+     *
+     * @param cell upakowana komórka
+     */
+    public void addFirst(int cell) {
+        if (size == capacity()) grow();
+        start = (start == 0) ? capacity() - 1 : start - 1;
+        chunks[start >> CHUNK_SHIFT][start & CHUNK_MASK] = cell;
+        size++;
+        hash += Zobrist.key(layer, cell);
+    }
+
+    /**
+     * Dodaje segment na końcu ogona.
+     *
+     * @param cell upakowana komórka
+     */
+    public void addLast(int cell) {
+        if (size == capacity()) grow();
+        int p = physical(size);
+        chunks[p >> CHUNK_SHIFT][p & CHUNK_MASK] = cell;
+        size++;
+        hash += Zobrist.key(layer, cell);
+    }
+
+    /**
+     * Usuwa ostatni segment ogona.
+     *
+     * @return upakowana komórka usuniętego segmentu
+     */
+    public int removeLast() {
+        int cell = getLast();
+        size--;
+        hash -= Zobrist.key(layer, cell);
+        return cell;
+    }
+
+    /**
+     * Sprawdza, czy komórka należy do segmentów z zakresu {@code [from, to)}.
+     *
+     * @param cell upakowana komórka
+     * @param from indeks początkowy (włącznie)
+     * @param to   indeks końcowy (wyłącznie)
+     * @return {@code true}, jeśli któryś segment z zakresu leży na komórce
+     */
+    public boolean contains(int cell, int from, int to) {
+        to = Math.min(to, size);
+        for (int i = Math.max(from, 0); i < to; ) {
+            int p = physical(i);
+            int[] chunk = chunks[p >> CHUNK_SHIFT];
+            int offset = p & CHUNK_MASK;
+            int run = Math.min(to - i, SegmentChunkPool.CHUNK_SIZE - offset);
+            for (int k = offset; k < offset + run; k++) {
+                if (chunk[k] == cell) return true;
+            }
+            i += run;
+        }
+        return false;
+    }
+
+    /**
+     * Sprawdza, czy komórka należy do któregokolwiek segmentu.
+     *
+     * @param cell upakowana komórka
+     * @return {@code true}, jeśli wąż zajmuje komórkę
+     */
+    public boolean contains(int cell) {
+        return contains(cell, 0, size);
+    }
+
+    /**
+     * Odwiedza wszystkie segmenty od głowy do końca ogona, blok po bloku.
+     *
+     * @param visitor odwiedzający
+     */
+    public void forEach(SegmentVisitor visitor) {
+        for (int i = 0; i < size; ) {
+            int p = physical(i);
+            int[] chunk = chunks[p >> CHUNK_SHIFT];
+            int offset = p & CHUNK_MASK;
+            int run = Math.min(size - i, SegmentChunkPool.CHUNK_SIZE - offset);
+            for (int k = 0; k < run; k++) {
+                int cell = chunk[offset + k];
+                visitor.visit(i + k, Cell.x(cell), Cell.y(cell));
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Kopiuje komórki wszystkich segmentów (od głowy) do tablicy, blok po bloku.
+     *
+     * @param dest tablica docelowa o długości co najmniej {@link #size()}
+     * @return liczba skopiowanych komórek (długość węża)
+     */
+    public int copyTo(int[] dest) {
+        for (int i = 0; i < size; ) {
+            int p = physical(i);
+            int offset = p & CHUNK_MASK;
+            int run = Math.min(size - i, SegmentChunkPool.CHUNK_SIZE - offset);
+            System.arraycopy(chunks[p >> CHUNK_SHIFT], offset, dest, i, run);
+            i += run;
+        }
+        return size;
+    }
+
+    /**
+     * Usuwa wszystkie segmenty i zwraca nadmiarowe bloki do puli (zostaje jeden blok).
+     */
+    public void clear() {
+        for (int i = 1; i < chunks.length; i++) {
+            SegmentChunkPool.release(chunks[i]);
+        }
+        if (chunks.length > 1) {
+            chunks = new int[][]{chunks[0]};
+        }
+        start = 0;
+        size = 0;
+        hash = 0;
+    }
+
+    /**
+     * Zwraca hasz Zobrista segmentów (suma kluczy komórek, niezależna od kolejności).
+     *
+     * @return hasz ciała (0 dla pustego)
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Zwraca pojemność bufora (liczba bloków razy rozmiar bloku).
+     *
+     * @return pojemność w segmentach
+     */
+    private int capacity() {
+        return chunks.length << CHUNK_SHIFT;
+    }
+
+    /**
+     * Przelicza indeks logiczny na fizyczną pozycję w buforze cyklicznym.
+     *
+     * @param index indeks logiczny
+     * @return pozycja fizyczna
+     */
+    private int physical(int index) {
+        int p = start + index;
+        int capacity = capacity();
+        return (p >= capacity) ? p - capacity : p;
+    }
+
+    /**
+     * Powiększa bufor o jeden blok. Bloki są obracane tak, aby blok z głową był pierwszy;
+     * elementy z początku tego bloku (koniec ogona) są przenoszone do nowego, ostatniego bloku.
+     */
+    private void grow() {
+        int n = chunks.length;
+        int first = start >> CHUNK_SHIFT;
+        int offset = start & CHUNK_MASK;
+
+        int[][] grown = new int[n + 1][];
+        for (int i = 0; i < n; i++) {
+            grown[i] = chunks[(first + i) % n];
+        }
+        grown[n] = SegmentChunkPool.acquire();
+        System.arraycopy(grown[0], 0, grown[n], 0, offset);
+
+        chunks = grown;
+        start = offset;
+    }
+}
@@ -0,0 +1,38 @@
+package snake.core;
+
+/**
+ * Klasa {@code StartupLog} mierzy fazy uruchamiania gry (do pierwszej narysowanej klatki).
+ * Każda faza wypisywana jest z czasem od pierwszego użycia klasy (początek {@code main}).
+ */
+public final class StartupLog {
+
+    /** Chwila pierwszego użycia klasy. */
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    /** Czy pierwsza klatka została już zgłoszona. */
+    private static volatile boolean firstFrameLogged = false;
+
+    private StartupLog() {
+    }
+
+    /**
+     * Wypisuje zakończenie fazy uruchamiania.
+     *
+     * @param phase nazwa fazy
+     */
+    public static void mark(String phase) {
+        System.out.printf("[startup] %-28s %8.1f ms%n", phase, (System.nanoTime() - ORIGIN_NANOS) / 1e6);
+    }
+
+    /**
+     * Zgłasza narysowanie klatki; wypisywana jest tylko pierwsza (czas do pierwszej klatki).
+     */
+    public static void frameDrawn() {
+        if (firstFrameLogged) return;
+        synchronized (StartupLog.class) {
+            if (firstFrameLogged) return;
+            firstFrameLogged = true;
+        }
+        mark("pierwsza klatka");
+    }
+}
@@ -0,0 +1,173 @@
+package snake.core;
+
+import java.util.Arrays;
+
+/**
+ * Klasa {@code TranspositionTable} to tablica transpozycji o stałym rozmiarze: zapamiętuje wyniki oceny stanów
+ * gry pod ich haszem Zobrista ({@link Game#getStateHash()}), aby przeszukiwanie nie oceniało ponownie tej samej
+ * pozycji osiągniętej inną drogą. Jest przeznaczona dla przeszukiwania po stanach {@link Game}; żadna z obecnych
+ * strategii z niej nie korzysta – {@link snake.ai.MctsStrategy} przeszukuje własny, losowy model stanu
+ * (węzeł drzewa odpowiada ruchom sterowanego węża, a nie jednej pozycji), a {@link snake.ai.HamiltonianStrategy}
+ * zapamiętuje tylko cykl dla rozmieszczenia przeszkód. Poprawność i przepustowość tablicy sprawdza
+ * {@link snake.bench.ZobristBenchmark}.
+ *
+ * <p>Tablica działa bez blokad: wpis to dwa słowa {@code long} – {@code klucz ^ dane} oraz {@code dane}.
+ * Odczyt przyjmuje wpis tylko wtedy, gdy XOR obu słów daje szukany klucz, więc wpis rozerwany przez
+ * równoległy zapis innego wątku jest odrzucany jak brak trafienia, a nie zwracany z cudzymi danymi.</p>
+ *
+ * <p>Wpisy są grupowane w kubełki po {@value #WAYS}. Przy zapisie nadpisywany jest wpis tego samego klucza,
+ * a w przeciwnym razie wpis o najniższym priorytecie: głębokość przeszukiwania pomniejszona o wiek
+ * (liczbę wyszukiwań od zapisu, {@link #newSearch()}), więc stare płytkie wpisy ustępują pierwsze.</p>
+ */
+public final class TranspositionTable {
+
+    /** Wynik {@link #probe(long)} oznaczający brak wpisu. */
+    public static final long MISS = 0;
+
+    /** Liczba wpisów w kubełku. */
+    private static final int WAYS = 2;
+
+    /** Bit oznaczający zajęty wpis (dane nigdy nie są zerem). */
+    private static final long VALID = 1L << 63;
+
+    /** Przesunięcie pola pokolenia w danych wpisu. */
+    private static final int GENERATION_SHIFT = 48;
+
+    /** Przesunięcie pola głębokości w danych wpisu. */
+    private static final int DEPTH_SHIFT = 32;
+
+    /** Największa zapisywana głębokość. */
+    private static final int MAX_DEPTH = 0xFFFF;
+
+    /** Kara priorytetu za każde pokolenie wieku wpisu. */
+    private static final int AGE_PENALTY = 4;
+
+    /** Wpisy: dla wpisu {@code i} słowa {@code 2i} (klucz ^ dane) i {@code 2i + 1} (dane). */
+    private final long[] table;
+
+    /** Maska numeru kubełka. */
+    private final int bucketMask;
+
+    /** Bieżące pokolenie (8 bitów). */
+    private volatile int generation;
+
+    /**
+     * Tworzy tablicę o pojemności co najmniej podanej liczby wpisów (zaokrąglonej w górę do potęgi dwójki).
+     *
+     * @param entries żądana liczba wpisów
+     * @throws IllegalArgumentException jeśli liczba wpisów jest spoza zakresu 2..2<sup>28</sup>
+     */
+    public TranspositionTable(int entries) {
+        if (entries < WAYS || entries > 1 << 28) {
+            throw new IllegalArgumentException("Liczba wpisów tablicy transpozycji poza zakresem: " + entries);
+        }
+        int buckets = Integer.highestOneBit((entries + WAYS - 1) / WAYS * 2 - 1);
+        this.table = new long[buckets * WAYS * 2];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Zwraca liczbę wpisów tablicy.
+     *
+     * @return pojemność
+     */
+    public int capacity() {
+        return table.length / 2;
+    }
+
+    /**
+     * Rozpoczyna nowe wyszukiwanie: wpisy zapisane wcześniej starzeją się i łatwiej ustępują nowym.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Usuwa wszystkie wpisy. Nie może być wywoływana równolegle z odczytem ani zapisem.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    /**
+     * Wyszukuje wpis stanu.
+     *
+     * @param key hasz stanu
+     * @return dane wpisu (do odczytu przez {@link #value(long)} i {@link #depth(long)}) albo {@link #MISS}
+     */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int w = 0; w < WAYS; w++) {
+            int i = base + 2 * w;
+            long data = table[i + 1];
+            if (data != 0 && (table[i] ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Zapisuje ocenę stanu zgodnie z zasadą zastępowania.
+     *
+     * @param key   hasz stanu
+     * @param value ocena stanu
+     * @param depth głębokość przeszukiwania, z której pochodzi ocena (większa – cenniejsza)
+     */
+    public void store(long key, int value, int depth) {
+        int gen = generation;
+        long data = VALID | (long) gen << GENERATION_SHIFT
+                | (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT
+                | value & 0xFFFFFFFFL;
+        int base = bucket(key);
+        int victim = base;
+        int lowest = Integer.MAX_VALUE;
+        for (int w = 0; w < WAYS; w++) {
+            int i = base + 2 * w;
+            long old = table[i + 1];
+            if (old == 0 || (table[i] ^ old) == key) {
+                victim = i;
+                break;
+            }
+            int age = (gen - (int) (old >>> GENERATION_SHIFT)) & 0xFF;
+            int priority = depth(old) - AGE_PENALTY * age;
+            if (priority < lowest) {
+                lowest = priority;
+                victim = i;
+            }
+        }
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+    }
+
+    /**
+     * Odczytuje ocenę z danych wpisu.
+     *
+     * @param entry dane wpisu zwrócone przez {@link #probe(long)}
+     * @return ocena stanu
+     */
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Odczytuje głębokość z danych wpisu.
+     *
+     * @param entry dane wpisu zwrócone przez {@link #probe(long)}
+     * @return głębokość przeszukiwania
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * Wyznacza indeks pierwszego słowa kubełka klucza.
+     *
+     * @param key hasz stanu
+     * @return indeks w tablicy
+     */
+    private int bucket(long key) {
+        return ((int) (key ^ key >>> 32) & bucketMask) * WAYS * 2;
+    }
+}
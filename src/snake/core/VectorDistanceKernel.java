@@ -0,0 +1,53 @@
+package snake.core;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Klasa {@code VectorDistanceKernel} to wektorowa implementacja {@link DistanceKernel} oparta na
+ * {@code jdk.incubator.vector}: jeden wektor obejmuje kilka kolejnych wierszy planszy (tyle, ile słów
+ * {@code long} mieści rejestr), więc przesunięcia, maskowanie i dopisanie do odwiedzonych wykonywane są
+ * dla wielu wierszy jedną instrukcją. Sąsiedzi w pionie to te same dane wczytane z przesunięciem o jeden wiersz.
+ *
+ * <p>Ładowana refleksyjnie przez {@link ScalarDistanceKernel}, aby brak modułu nie blokował gry.</p>
+ */
+final class VectorDistanceKernel implements DistanceKernel {
+
+    /** Preferowany rozmiar wektora na tej platformie. */
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * Tworzy jądro wektorowe (wywoływany refleksyjnie).
+     */
+    VectorDistanceKernel() {
+    }
+
+    @Override
+    public boolean expand(long[] frontier, long[] next, long[] visited, long[] open, int rows) {
+        LongVector any = LongVector.zero(SPECIES);
+        for (int y = 1; y <= rows; y += SPECIES.length()) {
+            LongVector f = LongVector.fromArray(SPECIES, frontier, y);
+            LongVector grown = f.or(f.lanewise(VectorOperators.LSHL, 1))
+                    .or(f.lanewise(VectorOperators.LSHR, 1))
+                    .or(LongVector.fromArray(SPECIES, frontier, y - 1))
+                    .or(LongVector.fromArray(SPECIES, frontier, y + 1));
+            LongVector seen = LongVector.fromArray(SPECIES, visited, y);
+            LongVector n = grown.and(LongVector.fromArray(SPECIES, open, y)).and(seen.not());
+            n.intoArray(next, y);
+            seen.or(n).intoArray(visited, y);
+            any = any.or(n);
+        }
+        return !any.eq(0L).allTrue();
+    }
+
+    @Override
+    public int arrayLength(int rows) {
+        return rows + 2 + SPECIES.length();
+    }
+
+    @Override
+    public String name() {
+        return "vector " + SPECIES.length() + "x64";
+    }
+}
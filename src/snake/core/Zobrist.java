@@ -0,0 +1,66 @@
+package snake.core;
+
+import snake.enums.SnakeType;
+
+/**
+ * Klasa {@code Zobrist} dostarcza klucze haszowania stanu gry metodą Zobrista: każda para
+ * (warstwa, komórka) – np. segment węża AI1, owoc danego typu, żaba, przeszkoda – ma stały pseudolosowy
+ * klucz 64-bitowy, a hasz stanu to suma kluczy wszystkich elementów. Zmiana jednego elementu
+ * (przesunięcie głowy, zdjęcie końca ogona, nowy owoc) zmienia hasz jednym dodaniem lub odjęciem,
+ * więc obiekty gry utrzymują swoje hasze przyrostowo w O(1).
+ *
+ * <p>Zamiast klasycznego XOR używane jest dodawanie modulo 2<sup>64</sup>: ciało węża po zjedzeniu owocu
+ * ma chwilowo dwa segmenty w tej samej komórce ({@link Snake#addTail()}), a XOR skasowałby taką parę.
+ * Klucze nie są trzymane w tablicy – wylicza je funkcja mieszająca z numeru warstwy i komórki,
+ * więc działają dla dowolnego rozmiaru planszy i są takie same w każdym procesie (np. u klienta i na serwerze).</p>
+ */
+public final class Zobrist {
+
+    /** Pierwsza warstwa segmentów ciała węży (kolejne według {@link SnakeType}). */
+    public static final int BODY = 0;
+
+    /** Pierwsza warstwa głów węży (kolejność segmentów nie wynika z samego zbioru komórek). */
+    public static final int HEAD = BODY + SnakeType.values().length;
+
+    /** Pierwsza warstwa kierunków ruchu węży (komórka to numer porządkowy kierunku). */
+    public static final int DIRECTION = HEAD + SnakeType.values().length;
+
+    /** Warstwa przeszkód. */
+    public static final int OBSTACLE = DIRECTION + SnakeType.values().length;
+
+    /** Warstwa żaby. */
+    public static final int FROG = OBSTACLE + 1;
+
+    /** Pierwsza warstwa owoców (kolejne według typu owocu). */
+    public static final int FRUIT = FROG + 1;
+
+    /** Stała ziarna kluczy (zmiana unieważnia zapisane hasze). */
+    private static final long SEED = 0x5DEECE66DL;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Zwraca klucz elementu stanu.
+     *
+     * @param layer warstwa (np. {@link #OBSTACLE} lub {@code BODY + type.ordinal()})
+     * @param cell  upakowana komórka
+     * @return klucz 64-bitowy (0 dla {@link Cell#NONE} – brak elementu)
+     */
+    public static long key(int layer, int cell) {
+        if (cell == Cell.NONE) return 0;
+        return mix(SEED + layer * 0xC2B2AE3D27D4EB4FL + cell * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Funkcja mieszająca 64-bitowa (wariant finalizatora MurmurHash3, jak w {@link java.util.SplittableRandom}).
+     *
+     * @param z wartość wejściowa
+     * @return wymieszana wartość
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
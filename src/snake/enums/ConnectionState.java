@@ -0,0 +1,18 @@
+package snake.enums;
+
+/**
+ * Enum {@code ConnectionState} reprezentuje stan połączenia klienta z serwerem gry wieloosobowej.
+ */
+public enum ConnectionState {
+    /** Brak połączenia – wyświetlany jest ekran wyboru. */
+    DISCONNECTED,
+
+    /** Trwa łączenie i dołączanie do pokoju. */
+    CONNECTING,
+
+    /** Klient gra w pokoju i odbiera migawki stanu. */
+    CONNECTED,
+
+    /** Połączenie nie powiodło się lub zostało zerwane. */
+    FAILED
+}
@@ -0,0 +1,25 @@
+package snake.enums;
+
+/**
+ * Enum {@code DeathCause} określa przyczynę zakończenia gry przez węża gracza.
+ * Wykorzystywany m.in. w statystykach symulacji wsadowej.
+ */
+public enum DeathCause {
+    /** Uderzenie w ścianę planszy. */
+    WALL,
+
+    /** Wejście na przeszkodę. */
+    OBSTACLE,
+
+    /** Zderzenie z własnym ogonem. */
+    OWN_TAIL,
+
+    /** Wejście głową w węża AI. */
+    AI_SNAKE,
+
+    /** Wąż AI wjechał głową w węża gracza. */
+    RAMMED_BY_AI,
+
+    /** Przekroczono limit kroków (tylko w symulacji). */
+    TIMEOUT
+}
@@ -2,17 +2,47 @@ package snake.enums;
 
 /**
  * Enum {@code Direction} określa możliwe kierunki ruchu węża w grze.
+ * Każdy kierunek zna wektor przesunięcia o jedną komórkę.
  */
 public enum Direction {
     /** Ruch w górę. */
-    UP,
+    UP(0, -1),
 
     /** Ruch w dół. */
-    DOWN,
+    DOWN(0, 1),
 
     /** Ruch w lewo. */
-    LEFT,
+    LEFT(-1, 0),
 
     /** Ruch w prawo. */
-    RIGHT
+    RIGHT(1, 0);
+
+    /** Przesunięcie w osi X. */
+    private final int dx;
+
+    /** Przesunięcie w osi Y. */
+    private final int dy;
+
+    Direction(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    /**
+     * Zwraca przesunięcie w osi X.
+     *
+     * @return -1, 0 lub 1
+     */
+    public int getDx() {
+        return dx;
+    }
+
+    /**
+     * Zwraca przesunięcie w osi Y.
+     *
+     * @return -1, 0 lub 1
+     */
+    public int getDy() {
+        return dy;
+    }
 }
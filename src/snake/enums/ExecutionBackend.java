@@ -0,0 +1,16 @@
+package snake.enums;
+
+/**
+ * Enum {@code ExecutionBackend} określa, na jakich wątkach wykonywane są równoległe zadania kroku gry.
+ * Wybierany właściwością systemową {@code snake.executor} (domyślnie {@link #PLATFORM}).
+ */
+public enum ExecutionBackend {
+    /** Zadania wykonywane kolejno w wątku wywołującym (bez dodatkowych wątków). */
+    INLINE,
+
+    /** Stała pula wątków platformowych (demonów) tworzona na czas rozgrywki. */
+    PLATFORM,
+
+    /** Osobny wątek wirtualny dla każdego zadania. */
+    VIRTUAL
+}
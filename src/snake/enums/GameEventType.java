@@ -0,0 +1,22 @@
+package snake.enums;
+
+/**
+ * Enum {@code GameEventType} określa rodzaj zdarzenia rozgrywki publikowanego przez grę
+ * na szynie zdarzeń ({@link snake.event.GameEventBus}).
+ */
+public enum GameEventType {
+    /** Wąż zjadł owoc. */
+    FRUIT_EATEN,
+
+    /** Wąż zjadł żabę. */
+    FROG_EATEN,
+
+    /** Wąż zginął (wąż AI lub wąż gracza kończący rozgrywkę). */
+    SNAKE_DIED,
+
+    /** Przeszkody zostały wylosowane na nowo. */
+    OBSTACLES_REGENERATED,
+
+    /** Rozgrywka się zakończyła, a jej wynik jest ostateczny. */
+    GAME_OVER
+}
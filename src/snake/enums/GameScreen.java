@@ -14,6 +14,9 @@ public enum GameScreen {
     /** Ekran tablicy wyników. */
     SCORE_BOARD,
 
-    /** Ekran wyboru trybu gry wieloosobowej. */
-    MULTIPLAYER_MENU
+    /** Ekran gry wieloosobowej (połączenie z serwerem i rozgrywka w pokoju). */
+    MULTIPLAYER_MENU,
+
+    /** Ekran powtórki ostatnich kroków rozgrywki (np. śmierci gracza). */
+    REPLAY
 }
@@ -0,0 +1,13 @@
+package snake.enums;
+
+/**
+ * Enum {@code RenderMode} określa sposób renderowania gry.
+ * Wybierany przy starcie aplikacji (argument {@code --render=} lub właściwość {@code snake.render}).
+ */
+public enum RenderMode {
+    /** Renderowanie pasywne – {@code JPanel.paintComponent} wywoływane przez {@code repaint()}. */
+    PASSIVE,
+
+    /** Renderowanie aktywne – {@code Canvas} z {@code BufferStrategy} i własną pętlą klatek. */
+    ACTIVE
+}
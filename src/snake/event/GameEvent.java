@@ -0,0 +1,184 @@
+package snake.event;
+
+import snake.core.Cell;
+import snake.enums.DeathCause;
+import snake.enums.GameEventType;
+import snake.enums.GameLevel;
+import snake.enums.SnakeType;
+
+/**
+ * Klasa {@code GameEvent} to jedno miejsce w buforze szyny zdarzeń ({@link GameEventBus}).
+ * Obiekty są tworzone raz, razem z buforem, i wypełniane na nowo przy każdej publikacji, więc publikowanie
+ * zdarzeń nie alokuje pamięci. Odbiorca może czytać zdarzenie tylko w czasie
+ * {@link GameEventHandler#onEvent(GameEvent)} – po powrocie miejsce może zostać nadpisane kolejnym zdarzeniem.
+ *
+ * <p>Znaczenie pola {@link #getValue()} zależy od rodzaju zdarzenia:</p>
+ * <ul>
+ *     <li>{@code FRUIT_EATEN} – indeks rodzaju owocu ({@link snake.core.Food#getType(int)}),</li>
+ *     <li>{@code FROG_EATEN} – 0,</li>
+ *     <li>{@code SNAKE_DIED} – długość węża w chwili śmierci,</li>
+ *     <li>{@code OBSTACLES_REGENERATED} – liczba przeszkód,</li>
+ *     <li>{@code GAME_OVER} – liczba kroków rozgrywki.</li>
+ * </ul>
+ */
+public final class GameEvent {
+
+    /** Numer zdarzenia zapisanego w tym miejscu (-1 – jeszcze żadnego); zapis publikuje zdarzenie. */
+    private volatile long sequence = -1;
+
+    /** Rodzaj zdarzenia. */
+    private GameEventType type;
+
+    /** Krok gry, w którym zaszło zdarzenie. */
+    private int tick;
+
+    /** Wąż, którego dotyczy zdarzenie ({@code null} dla zdarzeń całej gry). */
+    private SnakeType snake;
+
+    /** Komórka zdarzenia ({@link Cell#NONE}, jeśli nie dotyczy). */
+    private int cell = Cell.NONE;
+
+    /** Wartość zależna od rodzaju zdarzenia. */
+    private int value;
+
+    /** Wynik gracza po zdarzeniu. */
+    private int score;
+
+    /** Poziom trudności rozgrywki. */
+    private GameLevel level;
+
+    /** Przyczyna śmierci ({@code null} poza {@code SNAKE_DIED} i {@code GAME_OVER}). */
+    private DeathCause cause;
+
+    /**
+     * Tworzy puste miejsce bufora.
+     */
+    GameEvent() {
+    }
+
+    /**
+     * Wypełnia miejsce danymi zdarzenia (przed jego opublikowaniem).
+     *
+     * @param type  rodzaj zdarzenia
+     * @param tick  krok gry
+     * @param snake wąż lub {@code null}
+     * @param cell  komórka lub {@link Cell#NONE}
+     * @param value wartość zależna od rodzaju
+     * @param score wynik gracza
+     * @param level poziom trudności
+     * @param cause przyczyna śmierci lub {@code null}
+     */
+    void set(GameEventType type, int tick, SnakeType snake, int cell, int value, int score,
+             GameLevel level, DeathCause cause) {
+        this.type = type;
+        this.tick = tick;
+        this.snake = snake;
+        this.cell = cell;
+        this.value = value;
+        this.score = score;
+        this.level = level;
+        this.cause = cause;
+    }
+
+    /**
+     * Publikuje zdarzenie: zapis numeru jest ulotny, więc odbiorca, który go odczyta, widzi też wszystkie pola.
+     *
+     * @param sequence numer zdarzenia
+     */
+    void publish(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Zwraca numer ostatniego zdarzenia opublikowanego w tym miejscu.
+     *
+     * @return numer zdarzenia lub -1
+     */
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Zwraca rodzaj zdarzenia.
+     *
+     * @return rodzaj zdarzenia
+     */
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Zwraca krok gry, w którym zaszło zdarzenie.
+     *
+     * @return numer kroku
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Zwraca węża, którego dotyczy zdarzenie.
+     *
+     * @return typ węża lub {@code null} dla zdarzeń całej gry
+     */
+    public SnakeType getSnake() {
+        return snake;
+    }
+
+    /**
+     * Zwraca komórkę zdarzenia (np. zjedzonego owocu lub głowy martwego węża).
+     *
+     * @return upakowana komórka lub {@link Cell#NONE}
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Zwraca wartość zależną od rodzaju zdarzenia (zob. opis klasy).
+     *
+     * @return wartość
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Zwraca wynik gracza po zdarzeniu (dla {@code GAME_OVER} – wynik końcowy).
+     *
+     * @return wynik gracza
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Zwraca poziom trudności rozgrywki.
+     *
+     * @return poziom trudności
+     */
+    public GameLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Zwraca przyczynę śmierci.
+     *
+     * @return przyczyna lub {@code null}, jeśli zdarzenie nie dotyczy śmierci
+     */
+    public DeathCause getCause() {
+        return cause;
+    }
+
+    /**
+     * Zwraca opis zdarzenia (np. do dziennika).
+     *
+     * @return opis tekstowy
+     */
+    @Override
+    public String toString() {
+        String where = cell == Cell.NONE ? "-" : "(" + Cell.x(cell) + "," + Cell.y(cell) + ")";
+        return type + "[tick=" + tick + ", snake=" + snake + ", cell=" + where
+                + ", value=" + value + ", score=" + score + ", level=" + level + ", cause=" + cause + "]";
+    }
+}
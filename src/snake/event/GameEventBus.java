@@ -0,0 +1,295 @@
+package snake.event;
+
+import snake.enums.DeathCause;
+import snake.enums.GameEventType;
+import snake.enums.GameLevel;
+import snake.enums.SnakeType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Klasa {@code GameEventBus} to szyna zdarzeń rozgrywki w stylu Disruptora: bufor cykliczny z miejscami
+ * ({@link GameEvent}) utworzonymi raz przy starcie, do którego gra publikuje zdarzenia, a zarejestrowani
+ * odbiorcy czytają je – każdy we własnym wątku, we własnym tempie i w kolejności publikacji.
+ *
+ * <p>Publikacja nigdy nie blokuje kroku gry i nie alokuje pamięci: zajmuje kolejny numer zdarzenia,
+ * wypełnia odpowiadające mu miejsce i ogłasza je ulotnym zapisem numeru. Jeśli najwolniejszy odbiorca
+ * nie zwolnił jeszcze tego miejsca (jest o cały bufor w tyle), zdarzenie jest odrzucane i liczone
+ * w {@link #getDropped()} zamiast czekać. Bez odbiorców publikacja kończy się od razu.</p>
+ *
+ * <p>Wątek odbiorcy bez nowych zdarzeń najpierw krótko czeka aktywnie, potem usypia (najwyżej na
+ * {@value #MAX_PARK_NANOS} ns). Publikujący budzi tylko uśpionych odbiorców ({@link LockSupport#unpark(Thread)}
+ * nie blokuje), więc zdarzenie jest obsługiwane od razu, a bezczynna szyna – np. w menu – budzi wątki
+ * odbiorców najwyżej kilkadziesiąt razy na sekundę.</p>
+ */
+public final class GameEventBus {
+
+    /** Domyślna liczba miejsc bufora. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** Liczba prób aktywnego czekania przed uśpieniem wątku odbiorcy. */
+    private static final int SPIN_TRIES = 200;
+
+    /** Najdłuższe uśpienie wątku odbiorcy w nanosekundach (zabezpieczenie – zwykle budzi go publikujący). */
+    private static final long MAX_PARK_NANOS = 50_000_000;
+
+    /** Czas oczekiwania na dokończenie pracy odbiorcy przy zamykaniu w milisekundach. */
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    /** Miejsca bufora. */
+    private final GameEvent[] ring;
+
+    /** Maska indeksu miejsca (pojemność - 1). */
+    private final int mask;
+
+    /** Numer następnego zdarzenia do zajęcia przez publikującego. */
+    private final AtomicLong next = new AtomicLong();
+
+    /** Liczba zdarzeń odrzuconych z powodu zapełnionego bufora. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Zarejestrowani odbiorcy (tablica zastępowana przy każdej zmianie). */
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    /**
+     * Tworzy szynę o domyślnej pojemności.
+     */
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Tworzy szynę o podanej pojemności.
+     *
+     * @param capacity liczba miejsc bufora (potęga dwójki)
+     * @throws IllegalArgumentException jeśli pojemność nie jest dodatnią potęgą dwójki
+     */
+    public GameEventBus(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Pojemność szyny zdarzeń musi być potęgą dwójki: " + capacity);
+        }
+        this.ring = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new GameEvent();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Rejestruje odbiorcę i uruchamia jego wątek. Odbiorca dostaje zdarzenia opublikowane od chwili rejestracji.
+     *
+     * @param name    nazwa odbiorcy (część nazwy wątku)
+     * @param handler odbiorca zdarzeń
+     * @return subskrypcja, którą można anulować
+     */
+    public synchronized Subscription subscribe(String name, GameEventHandler handler) {
+        Subscription subscription = new Subscription(name, handler, next.get());
+        Subscription[] current = subscriptions;
+        Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Usuwa odbiorcę z listy (jego wątek kończy się sam po obsłużeniu zaległych zdarzeń).
+     *
+     * @param subscription subskrypcja do usunięcia
+     */
+    private synchronized void remove(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        int index = Arrays.asList(current).indexOf(subscription);
+        if (index < 0) return;
+        Subscription[] updated = new Subscription[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        subscriptions = updated;
+    }
+
+    /**
+     * Publikuje zdarzenie bez blokowania i bez alokacji, budząc uśpionych odbiorców.
+     *
+     * @param type  rodzaj zdarzenia
+     * @param tick  krok gry
+     * @param snake wąż lub {@code null} dla zdarzeń całej gry
+     * @param cell  komórka zdarzenia lub {@link snake.core.Cell#NONE}
+     * @param value wartość zależna od rodzaju ({@link GameEvent})
+     * @param score wynik gracza
+     * @param level poziom trudności
+     * @param cause przyczyna śmierci lub {@code null}
+     * @return {@code true}, jeśli zdarzenie trafiło do bufora; {@code false}, jeśli nie ma odbiorców
+     *         lub bufor jest pełny
+     */
+    public boolean publish(GameEventType type, int tick, SnakeType snake, int cell, int value, int score,
+                           GameLevel level, DeathCause cause) {
+        Subscription[] subs = subscriptions;
+        if (subs.length == 0) return false;
+        long sequence;
+        do {
+            sequence = next.get();
+            if (sequence - ring.length >= slowest(subs, sequence)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!next.compareAndSet(sequence, sequence + 1));
+        GameEvent event = ring[(int) sequence & mask];
+        event.set(type, tick, snake, cell, value, score, level, cause);
+        event.publish(sequence);
+        for (Subscription s : subs) {
+            if (s.parked) LockSupport.unpark(s.thread);
+        }
+        return true;
+    }
+
+    /**
+     * Wyznacza numer najstarszego zdarzenia, którego nie obsłużył jeszcze któryś odbiorca.
+     *
+     * @param subs     odbiorcy
+     * @param sequence numer publikowanego zdarzenia (wynik, gdy odbiorcy nie mają zaległości)
+     * @return najmniejszy numer następnego zdarzenia do obsłużenia
+     */
+    private static long slowest(Subscription[] subs, long sequence) {
+        long min = sequence;
+        for (Subscription s : subs) {
+            min = Math.min(min, s.next);
+        }
+        return min;
+    }
+
+    /**
+     * Zwraca liczbę miejsc bufora.
+     *
+     * @return pojemność
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Zwraca liczbę zdarzeń opublikowanych od utworzenia szyny.
+     *
+     * @return liczba zdarzeń
+     */
+    public long getPublished() {
+        return next.get();
+    }
+
+    /**
+     * Zwraca liczbę zdarzeń odrzuconych, bo najwolniejszy odbiorca nie nadążał.
+     *
+     * @return liczba odrzuconych zdarzeń
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Anuluje wszystkie subskrypcje i czeka (ograniczony czas), aż odbiorcy obsłużą zaległe zdarzenia,
+     * np. aby ostatni wynik został zapisany przed zamknięciem gry.
+     */
+    public void close() {
+        for (Subscription s : subscriptions) {
+            s.cancel();
+        }
+    }
+
+    /**
+     * Klasa {@code Subscription} to zarejestrowany odbiorca z własnym wątkiem i własną pozycją w buforze.
+     */
+    public final class Subscription implements Runnable {
+
+        /** Odbiorca zdarzeń. */
+        private final GameEventHandler handler;
+
+        /** Wątek odbiorcy. */
+        private final Thread thread;
+
+        /** Numer następnego zdarzenia do obsłużenia; wszystkie wcześniejsze miejsca są zwolnione. */
+        private volatile long next;
+
+        /** Czy wątek odbiorcy usypia lub śpi w oczekiwaniu na zdarzenie (wtedy publikujący go budzi). */
+        private volatile boolean parked;
+
+        /** Czy odbiorca ma dalej czekać na zdarzenia. */
+        private volatile boolean running = true;
+
+        /**
+         * Tworzy subskrypcję (wątek uruchamia {@link #subscribe(String, GameEventHandler)}).
+         *
+         * @param name    nazwa odbiorcy
+         * @param handler odbiorca zdarzeń
+         * @param start   numer pierwszego zdarzenia do obsłużenia
+         */
+        private Subscription(String name, GameEventHandler handler, long start) {
+            this.handler = handler;
+            this.next = start;
+            this.thread = new Thread(this, "snake-events-" + name);
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Pętla odbiorcy: obsługuje kolejne opublikowane zdarzenia, a gdy ich nie ma – czeka.
+         * Przed uśpieniem ustawia {@link #parked} i jeszcze raz sprawdza miejsce zdarzenia, więc zdarzenie
+         * opublikowane w tym czasie albo zostanie zauważone, albo publikujący obudzi wątek.
+         * Po anulowaniu obsługuje jeszcze zdarzenia już opublikowane i kończy się.
+         * Wyjątek odbiorcy jest wypisywany i nie zatrzymuje pętli.
+         */
+        @Override
+        public void run() {
+            long sequence = next;
+            int idle = 0;
+            while (true) {
+                GameEvent event = ring[(int) sequence & mask];
+                if (event.sequence() != sequence) {
+                    if (!running) return;
+                    if (++idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        parked = true;
+                        if (event.sequence() != sequence && running) {
+                            LockSupport.parkNanos(MAX_PARK_NANOS);
+                        }
+                        parked = false;
+                    }
+                    continue;
+                }
+                idle = 0;
+                try {
+                    handler.onEvent(event);
+                } catch (RuntimeException e) {
+                    System.err.println("Błąd odbiorcy zdarzeń w wątku " + thread.getName() + ":");
+                    e.printStackTrace();
+                }
+                next = ++sequence;
+            }
+        }
+
+        /**
+         * Zwraca liczbę opublikowanych zdarzeń, których odbiorca jeszcze nie obsłużył.
+         *
+         * @return zaległość odbiorcy
+         */
+        public long getLag() {
+            return Math.max(0, GameEventBus.this.next.get() - next);
+        }
+
+        /**
+         * Anuluje subskrypcję: odbiorca obsługuje zdarzenia opublikowane do tej chwili, po czym jego wątek
+         * się kończy (oczekiwanie jest ograniczone w czasie).
+         */
+        public void cancel() {
+            remove(this);
+            running = false;
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() == thread) return;
+            try {
+                thread.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package snake.event;
+
+/**
+ * Interfejs {@code GameEventHandler} to odbiorca zdarzeń rozgrywki zarejestrowany w {@link GameEventBus}.
+ * Wywoływany jest zawsze z własnego wątku odbiorcy, kolejno dla wszystkich zdarzeń, więc może wykonywać
+ * wolne operacje (zapis do pliku, sieć, dźwięk) bez wpływu na krok gry.
+ */
+@FunctionalInterface
+public interface GameEventHandler {
+
+    /**
+     * Obsługuje zdarzenie. Obiekt zdarzenia jest współdzielony przez bufor i może być czytany
+     * tylko w czasie tego wywołania – potrzebne dane należy skopiować.
+     *
+     * @param event zdarzenie
+     */
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,226 @@
+package snake.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import snake.core.Game;
+import snake.core.ScoreDataBase;
+import snake.enums.GameEventType;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+import snake.event.GameEventBus;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Klasa {@code GameMetrics} zbiera metryki działającej gry i wypisuje je w formacie tekstowym Prometheusa
+ * ({@link #scrape()}): czasy kroków i klatek, czasy cykli GC, długości węży, aktywny ekran, czas procesora zużyty
+ * na każdym ekranie, liczbę rozgrywek na każdym poziomie i czas zapisu wyników do {@link ScoreDataBase}.
+ *
+ * <p>Pętla gry tylko zapisuje próbki do liczników atomowych ({@link #recordTick(long)},
+ * {@link #recordFrame(long)}, {@link #recordScreenCpu(GameScreen, long)}), a rozgrywki liczone są przez odbiorcę szyny zdarzeń gry we własnym wątku.
+ * Odczyt nie bierze blokady gry i czyta wyłącznie te liczniki oraz ulotny ekran gry, więc jego koszt
+ * nie zależy od obciążenia pętli gry, a sam odczyt jej nie spowalnia.</p>
+ */
+public final class GameMetrics {
+
+    /** Typy węży według numeru. */
+    private static final SnakeType[] SNAKE_TYPES = SnakeType.values();
+
+    /** Poziomy trudności według numeru. */
+    private static final GameLevel[] LEVELS = GameLevel.values();
+
+    /** Ekrany gry według numeru. */
+    private static final GameScreen[] SCREENS = GameScreen.values();
+
+    /** Obserwowana gra. */
+    private final Game game;
+
+    /** Czasy kroków gry. */
+    private final Histogram tickTimes = new Histogram();
+
+    /** Czasy rysowania klatek. */
+    private final Histogram frameTimes = new Histogram();
+
+    /** Czasy zapisu wyników do pliku. */
+    private final Histogram scoreWriteTimes = new Histogram();
+
+    /**
+     * Czasy cykli GC według nazwy kolektora. To czas całego cyklu z powiadomienia, a nie pauzy: cykle
+     * kolektorów współbieżnych (np. G1, ZGC) trwają w większości przy działającej aplikacji.
+     */
+    private final Map<String, Histogram> gcDurations = new ConcurrentHashMap<>();
+
+    /** Długości węży po ostatnim kroku (według typu węża). */
+    private final AtomicIntegerArray snakeLengths = new AtomicIntegerArray(SNAKE_TYPES.length);
+
+    /** Czas procesora procesu zużyty na każdym ekranie (w nanosekundach, według numeru ekranu). */
+    private final AtomicLongArray screenCpuNanos = new AtomicLongArray(SCREENS.length);
+
+    /** Liczba zakończonych rozgrywek według poziomu trudności. */
+    private final AtomicLongArray gamesPlayed = new AtomicLongArray(LEVELS.length);
+
+    /** Subskrypcja zdarzeń gry. */
+    private final GameEventBus.Subscription subscription;
+
+    /** Kolektory GC, w których zarejestrowano słuchacza powiadomień. */
+    private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+
+    /** Słuchacz powiadomień o zakończonych cyklach GC. */
+    private final NotificationListener gcListener = this::onGc;
+
+    /**
+     * Tworzy metryki gry: rejestruje odbiorcę zdarzeń gry, słuchacza cykli GC i pomiar zapisu wyników.
+     *
+     * @param game obserwowana gra
+     */
+    public GameMetrics(Game game) {
+        this.game = game;
+        this.subscription = game.getEvents().subscribe("metrics", event -> {
+            if (event.getType() == GameEventType.GAME_OVER) {
+                gamesPlayed.incrementAndGet(event.getLevel().ordinal());
+            }
+        });
+        ScoreDataBase scores = game.getScoreDataBase();
+        if (scores != null) {
+            scores.setWriteTimer(scoreWriteTimes::record);
+        }
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+                gcEmitters.add(emitter);
+            }
+        }
+    }
+
+    /**
+     * Zapisuje czas kroku gry i długości węży po kroku. Wywoływana w wątku gry po każdym kroku.
+     *
+     * @param nanos czas kroku w nanosekundach
+     */
+    public void recordTick(long nanos) {
+        tickTimes.record(nanos);
+        for (SnakeType type : SNAKE_TYPES) {
+            snakeLengths.lazySet(type.ordinal(), game.getSnake(type).getBody().size());
+        }
+    }
+
+    /**
+     * Zapisuje czas narysowania klatki.
+     *
+     * @param nanos czas klatki w nanosekundach
+     */
+    public void recordFrame(long nanos) {
+        frameTimes.record(nanos);
+    }
+
+    /**
+     * Dolicza czas procesora procesu zużyty na ekranie gry. Wywoływana w wątku gry
+     * ({@link snake.FrameStats#sample(GameScreen)}).
+     *
+     * @param screen ekran aktywny w mierzonym odcinku czasu
+     * @param nanos  czas procesora w nanosekundach
+     */
+    public void recordScreenCpu(GameScreen screen, long nanos) {
+        screenCpuNanos.addAndGet(screen.ordinal(), nanos);
+    }
+
+    /**
+     * Zapisuje czas cyklu z powiadomienia o zakończonym cyklu GC.
+     *
+     * @param notification powiadomienie JMX
+     * @param handback     nieużywany
+     */
+    private void onGc(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        gcDurations.computeIfAbsent(info.getGcName(), name -> new Histogram())
+                .record(info.getGcInfo().getDuration() * 1_000_000L);
+    }
+
+    /**
+     * Wypisuje wszystkie metryki w formacie tekstowym Prometheusa (wersja 0.0.4).
+     * Tempo kroków i klatek to {@code rate(snake_tick_seconds_count[1m])} i {@code rate(snake_frame_seconds_count[1m])}.
+     *
+     * @return treść odpowiedzi na odczyt
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        header(out, "snake_tick_seconds", "histogram", "Czas kroku gry (liczba próbek to liczba kroków).");
+        tickTimes.write(out, "snake_tick_seconds", "");
+        header(out, "snake_frame_seconds", "histogram", "Czas rysowania klatki.");
+        frameTimes.write(out, "snake_frame_seconds", "");
+        header(out, "snake_gc_duration_seconds", "histogram", "Czas cykli GC według kolektora (nie tylko pauz).");
+        gcDurations.forEach((name, histogram) ->
+                histogram.write(out, "snake_gc_duration_seconds", "gc=\"" + name + "\""));
+        header(out, "snake_score_write_seconds", "histogram", "Czas zapisu listy wyników do pliku.");
+        scoreWriteTimes.write(out, "snake_score_write_seconds", "");
+
+        header(out, "snake_length", "gauge", "Długość węża po ostatnim kroku.");
+        for (SnakeType type : SNAKE_TYPES) {
+            out.append("snake_length{snake=\"").append(type).append("\"} ")
+                    .append(snakeLengths.get(type.ordinal())).append('\n');
+        }
+        header(out, "snake_screen", "gauge", "Aktywny ekran gry (1 dla bieżącego).");
+        GameScreen screen = game.getGameScreen();
+        for (GameScreen s : SCREENS) {
+            out.append("snake_screen{screen=\"").append(s).append("\"} ").append(s == screen ? 1 : 0).append('\n');
+        }
+        header(out, "snake_screen_cpu_seconds_total", "counter", "Czas procesora procesu zużyty na ekranie gry.");
+        for (GameScreen s : SCREENS) {
+            out.append("snake_screen_cpu_seconds_total{screen=\"").append(s).append("\"} ")
+                    .append(screenCpuNanos.get(s.ordinal()) / 1e9).append('\n');
+        }
+        header(out, "snake_games_total", "counter", "Zakończone rozgrywki według poziomu trudności.");
+        for (GameLevel level : LEVELS) {
+            out.append("snake_games_total{level=\"").append(level).append("\"} ")
+                    .append(gamesPlayed.get(level.ordinal())).append('\n');
+        }
+        header(out, "snake_events_dropped_total", "counter", "Zdarzenia gry odrzucone z powodu pełnej szyny.");
+        out.append("snake_events_dropped_total ").append(game.getEvents().getDropped()).append('\n');
+        return out.toString();
+    }
+
+    /**
+     * Dopisuje nagłówki {@code # HELP} i {@code # TYPE} metryki.
+     *
+     * @param out  bufor wyjściowy
+     * @param name nazwa metryki
+     * @param type typ metryki
+     * @param help opis metryki
+     */
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Odłącza metryki od gry i od powiadomień GC.
+     */
+    public void close() {
+        subscription.cancel();
+        ScoreDataBase scores = game.getScoreDataBase();
+        if (scores != null) {
+            scores.setWriteTimer(null);
+        }
+        for (NotificationEmitter emitter : gcEmitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException ignored) {
+            }
+        }
+        gcEmitters.clear();
+    }
+}
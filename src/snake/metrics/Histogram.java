@@ -0,0 +1,93 @@
+package snake.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Klasa {@code Histogram} zlicza czasy (np. kroku gry lub klatki) w stałych przedziałach, tak jak histogram
+ * Prometheusa. Zapis próbki to kilka porównań i dwie operacje atomowe – bez blokad i bez alokacji – więc może
+ * być wykonywany w pętli gry, a odczyt ({@link #write(StringBuilder, String, String)}) w dowolnym innym wątku.
+ *
+ * <p>Odczyt nie jest migawką: próbka zapisana w jego trakcie może trafić do jednych liczników, a do innych nie.
+ * Liczba próbek ({@code _count}) wypisywana jest jako suma odczytanych przedziałów, więc zawsze zgadza się
+ * z przedziałem {@code +Inf}.</p>
+ */
+public final class Histogram {
+
+    /** Domyślne górne granice przedziałów w sekundach (od 50 µs do 1 s). */
+    public static final double[] DEFAULT_BOUNDS = {
+            0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 1};
+
+    /** Górne granice przedziałów w sekundach (do wypisania). */
+    private final double[] bounds;
+
+    /** Górne granice przedziałów w nanosekundach (do porównań przy zapisie). */
+    private final long[] boundNanos;
+
+    /** Liczba próbek w każdym przedziale (ostatni – powyżej największej granicy). */
+    private final AtomicLongArray counts;
+
+    /** Suma zapisanych czasów w nanosekundach. */
+    private final AtomicLong sumNanos = new AtomicLong();
+
+    /**
+     * Tworzy histogram z domyślnymi przedziałami.
+     */
+    public Histogram() {
+        this(DEFAULT_BOUNDS);
+    }
+
+    /**
+     * Tworzy histogram z podanymi przedziałami.
+     *
+     * @param bounds rosnące górne granice przedziałów w sekundach
+     * @throws IllegalArgumentException jeśli granice nie są rosnące
+     */
+    public Histogram(double[] bounds) {
+        this.bounds = bounds.clone();
+        this.boundNanos = new long[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            if (i > 0 && bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Granice histogramu muszą rosnąć");
+            }
+            boundNanos[i] = (long) (bounds[i] * 1e9);
+        }
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Zapisuje próbkę.
+     *
+     * @param nanos zmierzony czas w nanosekundach
+     */
+    public void record(long nanos) {
+        int i = 0;
+        while (i < boundNanos.length && nanos > boundNanos[i]) {
+            i++;
+        }
+        counts.incrementAndGet(i);
+        sumNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Dopisuje histogram w formacie tekstowym Prometheusa (przedziały narastająco, suma i liczba próbek).
+     * Nagłówki {@code # HELP} i {@code # TYPE} wypisuje wywołujący.
+     *
+     * @param out    bufor wyjściowy
+     * @param name   nazwa metryki
+     * @param labels dodatkowe etykiety w postaci {@code klucz="wartość"} lub pusty napis
+     */
+    public void write(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "{" : "{" + labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i <= bounds.length; i++) {
+            cumulative += counts.get(i);
+            String le = i < bounds.length ? Double.toString(bounds[i]) : "+Inf";
+            out.append(name).append("_bucket").append(prefix).append("le=\"").append(le).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(suffix).append(' ').append(sumNanos.get() / 1e9).append('\n');
+        out.append(name).append("_count").append(suffix).append(' ').append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,132 @@
+package snake.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import snake.core.Game;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Klasa {@code MetricsServer} to opcjonalny wbudowany serwer HTTP ({@code com.sun.net.httpserver}) udostępniający
+ * metryki gry ({@link GameMetrics}) pod adresem {@code http://127.0.0.1:PORT/metrics} w formacie Prometheusa.
+ * Nasłuchuje tylko na adresie pętli zwrotnej, a zapytania obsługuje jeden wątek tła,
+ * więc częste odczyty nie konkurują z pętlą gry o więcej niż jeden rdzeń.
+ *
+ * <p>Serwer włącza właściwość {@code snake.metrics.port} ({@link #fromProperty(Game)}),
+ * np. {@code java -Dsnake.metrics.port=9464 Main}.</p>
+ */
+public final class MetricsServer {
+
+    /** Typ treści formatu tekstowego Prometheusa. */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** Serwer HTTP. */
+    private final HttpServer server;
+
+    /** Wątek obsługujący zapytania. */
+    private final ExecutorService executor;
+
+    /** Udostępniane metryki. */
+    private final GameMetrics metrics;
+
+    /**
+     * Uruchamia serwer metryk na adresie pętli zwrotnej.
+     *
+     * @param port    port nasłuchu (0 – dowolny wolny)
+     * @param metrics udostępniane metryki
+     * @throws IOException jeśli nie można otworzyć gniazda
+     */
+    public MetricsServer(int port, GameMetrics metrics) throws IOException {
+        this.metrics = metrics;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread t = new Thread(task, "snake-metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /**
+     * Tworzy metryki gry i uruchamia dla nich serwer, jeśli ustawiona jest właściwość {@code snake.metrics.port}.
+     * Błąd uruchomienia jest wypisywany i nie przerywa gry.
+     *
+     * @param game obserwowana gra
+     * @return działający serwer lub {@code null}, jeśli metryki są wyłączone lub serwer nie wystartował
+     */
+    public static MetricsServer fromProperty(Game game) {
+        String value = System.getProperty("snake.metrics.port");
+        if (value == null) return null;
+        GameMetrics metrics = new GameMetrics(game);
+        try {
+            MetricsServer server = new MetricsServer(Integer.parseInt(value.trim()), metrics);
+            System.out.println("[metrics] http://127.0.0.1:" + server.getPort() + "/metrics");
+            return server;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Nie można uruchomić serwera metryk na porcie " + value + ": " + e.getMessage());
+            metrics.close();
+            return null;
+        }
+    }
+
+    /**
+     * Odpowiada na zapytanie: {@code GET} i {@code HEAD} zwracają metryki, inne metody – błąd 405.
+     *
+     * @param exchange zapytanie HTTP
+     * @throws IOException jeśli zapis odpowiedzi się nie powiódł
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Zwraca udostępniane metryki (do zapisu próbek przez pętlę gry i rysowanie).
+     *
+     * @return metryki gry
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Zwraca port, na którym nasłuchuje serwer.
+     *
+     * @return numer portu
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Zatrzymuje serwer i jego wątek oraz odłącza metryki od gry.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        metrics.close();
+    }
+}
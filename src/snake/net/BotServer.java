@@ -0,0 +1,605 @@
+package snake.net;
+
+import snake.core.Cell;
+import snake.core.Food;
+import snake.core.Game;
+import snake.core.Obstacle;
+import snake.core.Snake;
+import snake.core.SnakeBody;
+import snake.enums.Direction;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Klasa {@code BotServer} pozwala zewnętrznym botom (w dowolnym języku) sterować wężem gracza w lokalnej grze.
+ * Boty łączą się przez gniazdo TCP na adresie pętli zwrotnej lub przez gniazdo domeny uniksowej,
+ * po każdym kroku dostają stan gry ({@link Protocol#BOT_STATE}) i odpowiadają kierunkiem
+ * ({@link Protocol#BOT_COMMAND}). Kierunek trafia do gry tą samą drogą co klawisze
+ * ({@link Game#onKeyPress(int)}), w wątku symulacji tuż przed krokiem.
+ *
+ * <p>Wątek symulacji tylko koduje stan do bufora i wymienia go atomowo (potrójny bufor, jak
+ * {@code RenderBuffer}); gniazda obsługuje osobny wątek z selektorem, więc wolny bot nie opóźnia kroku.
+ * W trybie kroków w lockstepie ({@code deadlineMillis > 0}) krok czeka, aż wszystkie boty odpowiedzą na stan
+ * poprzedniego kroku, ale nie dłużej niż do terminu – spóźnione odpowiedzi działają w następnym kroku
+ * i są liczone jako przekroczenia terminu.</p>
+ *
+ * <p>Czas obiegu (od wysłania stanu do odebrania odpowiedzi na ten stan) mierzony jest dla każdego bota
+ * w każdym kroku; ostatni pomiar wraca do bota w następnym stanie, a podsumowanie wypisywane jest co 10 s.</p>
+ *
+ * <p>Serwer włącza właściwość {@code snake.bots} – numer portu lub {@code unix:ŚCIEŻKA};
+ * właściwość {@code snake.bots.deadline} (ms) włącza tryb kroków w lockstepie.</p>
+ */
+public final class BotServer implements Runnable {
+
+    /** Co ile nanosekund wypisywane są statystyki botów. */
+    private static final long STATS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /** Kody klawiszy odpowiadające kierunkom (według numeru {@code Direction}). */
+    private static final int[] KEY_CODES = keyCodes();
+
+    /** Typy węży według numeru. */
+    private static final SnakeType[] SNAKE_TYPES = SnakeType.values();
+
+    /** Brak komórki w stanie wysyłanym botom. */
+    private static final int NO_CELL = 0xFF;
+
+    /** Brak kierunku w odpowiedzi bota. */
+    private static final int NO_DIRECTION = -1;
+
+    /** Bit oznaczający, że środkowy bufor stanu zawiera stan jeszcze nierozesłany. */
+    private static final int FRESH = 4;
+
+    /** Maska indeksu bufora stanu. */
+    private static final int INDEX = 3;
+
+    /** Pozycja czasu obiegu w ramce stanu (po nagłówku i numerze stanu). */
+    private static final int RTT_OFFSET = Protocol.HEADER_BYTES + Integer.BYTES;
+
+    /** Sterowana gra. */
+    private final Game game;
+
+    /** Termin odpowiedzi botów w trybie lockstep w nanosekundach (0 – bez czekania). */
+    private final long deadlineNanos;
+
+    /** Kanał nasłuchujący. */
+    private final ServerSocketChannel server;
+
+    /** Plik gniazda domeny uniksowej ({@code null} dla TCP). */
+    private final Path socketFile;
+
+    /** Selektor kanałów. */
+    private final Selector selector;
+
+    /** Trzy bufory ramek stanu: tylny (wątek symulacji), środkowy (wymiana) i przedni (wątek selektora). */
+    private final ByteBuffer[] states = new ByteBuffer[3];
+
+    /** Indeks bufora środkowego z bitem {@link #FRESH}. */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /** Indeks bufora tylnego (tylko wątek symulacji). */
+    private int back = 0;
+
+    /** Indeks bufora przedniego (tylko wątek selektora). */
+    private int front = 2;
+
+    /** Bufor roboczy na ramki sterujące (tylko wątek selektora). */
+    private final ByteBuffer control = ByteBuffer.allocate(64);
+
+    /** Boty według połączenia (tylko wątek selektora). */
+    private final Map<Connection, Bot> byConnection = new HashMap<>();
+
+    /** Podłączone boty (tablica zastępowana przy każdej zmianie, czytana przez wątek symulacji). */
+    private volatile Bot[] bots = new Bot[0];
+
+    /** Numer ostatniego opublikowanego stanu (-1 – brak); rośnie przez wszystkie rozgrywki. */
+    private volatile int published = -1;
+
+    /** Chwila publikacji ostatniego stanu. */
+    private volatile long publishedAt;
+
+    /** Ekran gry w ostatnim opublikowanym stanie (tylko wątek symulacji). */
+    private GameScreen lastScreen;
+
+    /** Wątek symulacji czekający na odpowiedzi botów ({@code null}, jeśli nikt nie czeka). */
+    private volatile Thread waiter;
+
+    /** Liczba kroków, w których termin odpowiedzi botów minął. */
+    private volatile long missedDeadlines = 0;
+
+    /** Czy wątek selektora ma działać. */
+    private volatile boolean running = true;
+
+    /** Wątek selektora. */
+    private final Thread thread;
+
+    /**
+     * Otwiera gniazdo i uruchamia wątek obsługi botów.
+     *
+     * @param game           sterowana gra
+     * @param address        numer portu TCP (na adresie pętli zwrotnej) lub {@code unix:ŚCIEŻKA}
+     * @param deadlineMillis termin odpowiedzi w trybie lockstep w ms (0 – krok nie czeka na boty)
+     * @throws IOException jeśli nie można otworzyć gniazda
+     */
+    public BotServer(Game game, String address, int deadlineMillis) throws IOException {
+        this.game = game;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, deadlineMillis));
+        int cells = game.getBoard().getCellCount() * game.getBoard().getCellCount();
+        int capacity = Protocol.HEADER_BYTES + 64 + SNAKE_TYPES.length * (4 + 2 * cells) + 3 * cells + 2 * cells;
+        for (int i = 0; i < states.length; i++) {
+            states[i] = ByteBuffer.allocate(capacity);
+        }
+
+        SocketAddress bind;
+        if (address.startsWith("unix:")) {
+            socketFile = Path.of(address.substring("unix:".length()));
+            Files.deleteIfExists(socketFile);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            bind = UnixDomainSocketAddress.of(socketFile);
+        } else {
+            socketFile = null;
+            server = ServerSocketChannel.open();
+            bind = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address.trim()));
+        }
+        server.bind(bind);
+        server.configureBlocking(false);
+        selector = Selector.open();
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        thread = new Thread(this, "snake-bots");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Uruchamia serwer botów, jeśli ustawiona jest właściwość {@code snake.bots}
+     * (termin trybu lockstep – właściwość {@code snake.bots.deadline}). Błąd jest wypisywany i nie przerywa gry.
+     *
+     * @param game sterowana gra
+     * @return działający serwer lub {@code null}
+     */
+    public static BotServer fromProperty(Game game) {
+        String address = System.getProperty("snake.bots");
+        if (address == null) return null;
+        try {
+            int deadline = Integer.parseInt(System.getProperty("snake.bots.deadline", "0").trim());
+            BotServer bots = new BotServer(game, address, deadline);
+            System.out.printf("[bots] %s, lockstep %s%n", bots.getAddress(),
+                    deadline > 0 ? deadline + " ms" : "wyłączony");
+            return bots;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Nie można uruchomić serwera botów na " + address + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Zwraca adres, na którym nasłuchuje serwer.
+     *
+     * @return adres gniazda
+     * @throws IOException jeśli nie można odczytać adresu
+     */
+    public SocketAddress getAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Przygotowuje krok gry (w wątku symulacji, przed {@link Game#update()}): w trybie lockstep czeka
+     * do terminu na odpowiedzi wszystkich botów na ostatni stan, po czym przekazuje grze odebrane kierunki
+     * przez {@link Game#onKeyPress(int)}.
+     */
+    public void beforeTick() {
+        Bot[] current = bots;
+        if (current.length == 0) return;
+        int sequence = published;
+        if (deadlineNanos > 0 && sequence >= 0 && game.getGameScreen() == GameScreen.GAME) {
+            long deadline = publishedAt + deadlineNanos;
+            waiter = Thread.currentThread();
+            while (!allAcked(current, sequence)) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    missedDeadlines++;
+                    break;
+                }
+                LockSupport.parkNanos(this, left);
+            }
+            waiter = null;
+        }
+        for (Bot bot : current) {
+            int dir = bot.pending.getAndSet(NO_DIRECTION);
+            if (dir != NO_DIRECTION) {
+                game.onKeyPress(KEY_CODES[dir]);
+            }
+        }
+    }
+
+    /**
+     * Sprawdza, czy wszystkie boty odpowiedziały na dany stan.
+     *
+     * @param current  boty
+     * @param sequence numer stanu
+     * @return {@code true}, jeśli każdy bot odpowiedział
+     */
+    private static boolean allAcked(Bot[] current, int sequence) {
+        for (Bot bot : current) {
+            if (bot.acked < sequence) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Publikuje stan gry po kroku (w wątku symulacji, po {@link Game#update()}). Stan wysyłany jest,
+     * dopóki trwa rozgrywka, oraz raz po jej zakończeniu (z ekranem, na który gra przeszła).
+     */
+    public void afterTick() {
+        if (bots.length == 0) return;
+        GameScreen screen = game.getGameScreen();
+        if (screen != GameScreen.GAME && lastScreen != GameScreen.GAME) {
+            lastScreen = screen;
+            return;
+        }
+        lastScreen = screen;
+        int sequence = published + 1;
+        ByteBuffer out = states[back];
+        out.clear();
+        encode(out, sequence, screen);
+        out.flip();
+        back = middle.getAndSet(back | FRESH) & INDEX;
+        publishedAt = System.nanoTime();
+        published = sequence;
+        selector.wakeup();
+    }
+
+    /**
+     * Koduje ramkę stanu gry (format w {@link Protocol}).
+     *
+     * @param out      bufor wyjściowy
+     * @param sequence numer stanu
+     * @param screen   bieżący ekran gry
+     */
+    private void encode(ByteBuffer out, int sequence, GameScreen screen) {
+        int start = Protocol.beginFrame(out, Protocol.BOT_STATE);
+        out.putInt(sequence);
+        out.putInt(-1);
+        out.putInt(game.getTicks());
+        out.put((byte) screen.ordinal());
+        out.put((byte) game.getGameLevel().ordinal());
+        out.putInt(game.getScore());
+        for (SnakeType type : SNAKE_TYPES) {
+            Snake snake = game.getSnake(type);
+            SnakeBody body = snake.getBody();
+            boolean alive = snake.isAlive();
+            out.put((byte) (alive ? 1 : 0));
+            out.put((byte) snake.getDirection().ordinal());
+            int length = alive ? body.size() : 0;
+            out.putShort((short) length);
+            for (int i = 0; i < length; i++) {
+                putCell(out, body.get(i));
+            }
+        }
+        Food food = game.getFood();
+        out.put((byte) food.getCount());
+        for (int i = 0; i < food.getCount(); i++) {
+            putCell(out, food.getPosition(i));
+            out.put((byte) food.getType(i));
+        }
+        putCell(out, game.getFrog().getPosition());
+        Obstacle obstacle = game.getObstacle();
+        out.putShort((short) obstacle.getCount());
+        for (int i = 0; i < obstacle.getCount(); i++) {
+            putCell(out, obstacle.getCell(i));
+        }
+        Protocol.endFrame(out, start);
+    }
+
+    /**
+     * Zapisuje komórkę jako dwa bajty bez znaku (komórka spoza planszy – jako brak komórki).
+     *
+     * @param out  bufor wyjściowy
+     * @param cell upakowana komórka lub {@link Cell#NONE}
+     */
+    private void putCell(ByteBuffer out, int cell) {
+        if (cell == Cell.NONE || !Cell.inside(cell, game.getBoard().getCellCount())) {
+            out.put((byte) NO_CELL).put((byte) NO_CELL);
+        } else {
+            out.put((byte) Cell.x(cell)).put((byte) Cell.y(cell));
+        }
+    }
+
+    /**
+     * Pętla wątku selektora: przyjmuje boty, odbiera ich odpowiedzi i rozsyła nowe stany.
+     */
+    @Override
+    public void run() {
+        long nextStats = System.nanoTime() + STATS_INTERVAL_NANOS;
+        while (running) {
+            try {
+                selector.select(TimeUnit.NANOSECONDS.toMillis(STATS_INTERVAL_NANOS));
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            if (!running) break;
+            handleKeys();
+            if ((middle.get() & FRESH) != 0) {
+                front = middle.getAndSet(front) & INDEX;
+                broadcast(states[front]);
+            }
+            long now = System.nanoTime();
+            if (now - nextStats >= 0) {
+                printStats();
+                nextStats = now + STATS_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    /**
+     * Obsługuje gotowe klucze selektora: nowe połączenia, odczyt i zapis.
+     */
+    private void handleKeys() {
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Connection c = (Connection) key.attachment();
+            try {
+                if (key.isReadable() && !c.read(this::onMessage)) {
+                    close(c);
+                    continue;
+                }
+                if (key.isValid() && key.isWritable()) {
+                    c.flush();
+                }
+            } catch (IOException e) {
+                close(c);
+            }
+        }
+    }
+
+    /**
+     * Przyjmuje oczekujące boty i wysyła im powitanie.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                if (socketFile == null) {
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                Connection c = new Connection(channel, key, Math.max(64 * 1024, 4 * states[0].capacity()), 0);
+                key.attach(c);
+                Bot bot = new Bot(c);
+                byConnection.put(c, bot);
+                Bot[] current = bots;
+                Bot[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = bot;
+                bots = updated;
+
+                control.clear();
+                int start = Protocol.beginFrame(control, Protocol.BOT_WELCOME);
+                control.putShort((short) game.getBoard().getCellCount());
+                control.put((byte) (deadlineNanos > 0 ? 1 : 0));
+                control.putShort((short) TimeUnit.NANOSECONDS.toMillis(deadlineNanos));
+                Protocol.endFrame(control, start);
+                control.flip();
+                c.send(control);
+                c.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Obsługuje odpowiedź bota: mierzy czas obiegu, zapamiętuje kierunek i budzi czekający krok.
+     *
+     * @param c       połączenie
+     * @param type    typ wiadomości
+     * @param payload dane wiadomości
+     * @throws IOException w przypadku niepoprawnej wiadomości
+     */
+    private void onMessage(Connection c, byte type, ByteBuffer payload) throws IOException {
+        if (type != Protocol.BOT_COMMAND) throw new IOException("Nieznany typ wiadomości: " + type);
+        if (payload.remaining() != Integer.BYTES + 1) throw new IOException("Niepoprawna długość odpowiedzi bota");
+        Bot bot = byConnection.get(c);
+        int sequence = payload.getInt();
+        int dir = payload.get();
+        if (dir < NO_DIRECTION || dir >= KEY_CODES.length) throw new IOException("Niepoprawny kierunek: " + dir);
+        if (sequence == bot.sent && bot.sentAt != 0) {
+            long rtt = System.nanoTime() - bot.sentAt;
+            bot.sentAt = 0;
+            bot.lastRttNanos = rtt;
+            bot.rttCount++;
+            bot.rttSum += rtt;
+            bot.rttMax = Math.max(bot.rttMax, rtt);
+        }
+        if (dir != NO_DIRECTION) {
+            bot.pending.set(dir);
+        }
+        if (sequence > bot.acked) {
+            bot.acked = sequence;
+            Thread t = waiter;
+            if (t != null) LockSupport.unpark(t);
+        }
+    }
+
+    /**
+     * Rozsyła ramkę stanu wszystkim botom, wpisując każdemu jego ostatni czas obiegu.
+     * Bot, który nie nadąża odbierać (pełny bufor), pomija ten stan.
+     *
+     * @param state ramka stanu (od pozycji do limitu)
+     */
+    private void broadcast(ByteBuffer state) {
+        int sequence = state.getInt(Protocol.HEADER_BYTES);
+        for (Bot bot : bots) {
+            long rtt = bot.lastRttNanos;
+            state.putInt(RTT_OFFSET, rtt < 0 ? -1 : (int) Math.min(Integer.MAX_VALUE, rtt / 1000));
+            ByteBuffer frame = state.duplicate();
+            if (bot.connection.send(frame)) {
+                bot.sent = sequence;
+                bot.sentAt = System.nanoTime();
+            } else {
+                bot.skipped++;
+            }
+            try {
+                bot.connection.flush();
+            } catch (IOException e) {
+                close(bot.connection);
+            }
+        }
+    }
+
+    /**
+     * Odłącza bota.
+     *
+     * @param c połączenie bota
+     */
+    private void close(Connection c) {
+        Bot bot = byConnection.remove(c);
+        if (bot != null) {
+            Bot[] current = bots;
+            Bot[] updated = new Bot[current.length - 1];
+            int n = 0;
+            for (Bot b : current) {
+                if (b != bot) updated[n++] = b;
+            }
+            bots = updated;
+            Thread t = waiter;
+            if (t != null) LockSupport.unpark(t);
+        }
+        c.close();
+    }
+
+    /**
+     * Wypisuje statystyki czasu obiegu botów i zeruje liczniki.
+     */
+    private void printStats() {
+        Bot[] current = bots;
+        if (current.length == 0) return;
+        StringBuilder line = new StringBuilder("[bots]");
+        for (int i = 0; i < current.length; i++) {
+            Bot bot = current[i];
+            line.append(String.format(" #%d: %d odp., rtt avg %.0f µs, max %.0f µs, pominięte %d;", i, bot.rttCount,
+                    bot.rttCount == 0 ? 0.0 : bot.rttSum / 1e3 / bot.rttCount, bot.rttMax / 1e3, bot.skipped));
+            bot.rttCount = 0;
+            bot.rttSum = 0;
+            bot.rttMax = 0;
+            bot.skipped = 0;
+        }
+        line.append(" przekroczone terminy ").append(missedDeadlines);
+        System.out.println(line);
+    }
+
+    /**
+     * Zatrzymuje serwer: zamyka połączenia botów, gniazdo i wątek selektora.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Connection c : byConnection.keySet().toArray(new Connection[0])) {
+            close(c);
+        }
+        try {
+            selector.close();
+            server.close();
+            if (socketFile != null) {
+                Files.deleteIfExists(socketFile);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Tworzy tablicę kodów klawiszy według numeru kierunku.
+     *
+     * @return kody klawiszy strzałek
+     */
+    private static int[] keyCodes() {
+        int[] codes = new int[Direction.values().length];
+        codes[Direction.UP.ordinal()] = KeyEvent.VK_UP;
+        codes[Direction.DOWN.ordinal()] = KeyEvent.VK_DOWN;
+        codes[Direction.LEFT.ordinal()] = KeyEvent.VK_LEFT;
+        codes[Direction.RIGHT.ordinal()] = KeyEvent.VK_RIGHT;
+        return codes;
+    }
+
+    /**
+     * Klasa {@code Bot} przechowuje stan jednego podłączonego bota.
+     */
+    private static final class Bot {
+
+        /** Połączenie bota. */
+        final Connection connection;
+
+        /** Kierunek oczekujący na najbliższy krok ({@link #NO_DIRECTION} – brak). */
+        final AtomicInteger pending = new AtomicInteger(NO_DIRECTION);
+
+        /** Numer ostatniego stanu, na który bot odpowiedział. */
+        volatile int acked = -1;
+
+        /** Ostatni zmierzony czas obiegu w nanosekundach (-1 – brak pomiaru). */
+        volatile long lastRttNanos = -1;
+
+        /** Numer ostatnio wysłanego stanu (tylko wątek selektora). */
+        int sent = -1;
+
+        /** Chwila wysłania ostatniego stanu (0 – odpowiedź już zmierzona; tylko wątek selektora). */
+        long sentAt;
+
+        /** Liczba pomiarów czasu obiegu od ostatnich statystyk. */
+        long rttCount;
+
+        /** Suma czasów obiegu od ostatnich statystyk. */
+        long rttSum;
+
+        /** Najdłuższy czas obiegu od ostatnich statystyk. */
+        long rttMax;
+
+        /** Liczba stanów pominiętych, bo bot nie nadążał odbierać. */
+        long skipped;
+
+        /**
+         * Tworzy stan bota.
+         *
+         * @param connection połączenie bota
+         */
+        Bot(Connection connection) {
+            this.connection = connection;
+        }
+    }
+}
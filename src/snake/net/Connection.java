@@ -0,0 +1,204 @@
+package snake.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * Klasa {@code Connection} reprezentuje połączenie klienta z serwerem gry.
+ * Przechowuje bufory wejścia i wyjścia kanału nieblokującego oraz opcjonalnie
+ * opóźnia ramki w obu kierunkach, aby symulować opóźnienie sieci podczas testów na pętli zwrotnej.
+ * Obiekt jest używany wyłącznie przez wątek selektora serwera.
+ */
+final class Connection {
+
+    /**
+     * Odbiorca odczytanych ramek.
+     */
+    interface Handler {
+
+        /**
+         * Obsługuje kompletną ramkę.
+         *
+         * @param connection połączenie, z którego pochodzi ramka
+         * @param type       typ wiadomości
+         * @param payload    dane ramki (od pozycji do limitu)
+         * @throws IOException w przypadku błędu protokołu
+         */
+        void onMessage(Connection connection, byte type, ByteBuffer payload) throws IOException;
+    }
+
+    /**
+     * Ramka wstrzymana do określonej chwili (symulacja opóźnienia).
+     *
+     * @param due  chwila (w nanosekundach), od której ramka może zostać przekazana dalej
+     * @param data zawartość ramki
+     */
+    private record Delayed(long due, byte[] data) {
+    }
+
+    /** Rozmiar bufora wejściowego. */
+    private static final int IN_CAPACITY = 4096;
+
+    /** Kanał klienta. */
+    private final SocketChannel channel;
+
+    /** Klucz rejestracji kanału w selektorze. */
+    private final SelectionKey key;
+
+    /** Bufor danych odebranych (w trybie zapisu). */
+    private final ByteBuffer in = ByteBuffer.allocate(IN_CAPACITY);
+
+    /** Bufor danych do wysłania (w trybie zapisu). */
+    private final ByteBuffer out;
+
+    /** Symulowane opóźnienie w jedną stronę (0 – brak). */
+    private final long latencyNanos;
+
+    /** Ramki wychodzące czekające na upływ opóźnienia. */
+    private final ArrayDeque<Delayed> delayedOut = new ArrayDeque<>();
+
+    /** Ramki przychodzące czekające na upływ opóźnienia. */
+    private final ArrayDeque<Delayed> delayedIn = new ArrayDeque<>();
+
+    /** Łączny rozmiar ramek wychodzących czekających na opóźnienie. */
+    private int delayedOutBytes = 0;
+
+    /** Pokój, do którego należy gracz ({@code null} przed dołączeniem). */
+    Room room;
+
+    /** Miejsce gracza w pokoju (numer {@code SnakeType}). */
+    int seat = -1;
+
+    /** Czy następna migawka dla tego klienta musi być pełna. */
+    boolean needsKeyframe = true;
+
+    /**
+     * Tworzy połączenie dla zarejestrowanego kanału.
+     *
+     * @param channel      kanał klienta
+     * @param key          klucz rejestracji
+     * @param outCapacity  rozmiar bufora wyjściowego
+     * @param latencyNanos symulowane opóźnienie w jedną stronę
+     */
+    Connection(SocketChannel channel, SelectionKey key, int outCapacity, long latencyNanos) {
+        this.channel = channel;
+        this.key = key;
+        this.out = ByteBuffer.allocate(outCapacity);
+        this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * Kolejkuje kompletne ramki do wysłania.
+     *
+     * @param frame ramki (od pozycji do limitu)
+     * @return {@code false}, jeśli klient nie nadąża i ramki nie zmieściły się w buforze
+     */
+    boolean send(ByteBuffer frame) {
+        int n = frame.remaining();
+        if (latencyNanos > 0) {
+            if (delayedOutBytes + n > out.capacity()) return false;
+            byte[] copy = new byte[n];
+            frame.get(copy);
+            delayedOut.add(new Delayed(System.nanoTime() + latencyNanos, copy));
+            delayedOutBytes += n;
+            return true;
+        }
+        if (out.remaining() < n) return false;
+        out.put(frame);
+        return true;
+    }
+
+    /**
+     * Odczytuje dostępne dane i przekazuje kompletne ramki do obsługi
+     * (lub wstrzymuje je, jeśli symulowane jest opóźnienie).
+     *
+     * @param handler odbiorca ramek
+     * @return {@code false}, jeśli klient zamknął połączenie
+     * @throws IOException w przypadku błędu odczytu lub protokołu (także ramki większej niż bufor wejściowy)
+     */
+    boolean read(Handler handler) throws IOException {
+        if (channel.read(in) < 0) return false;
+        in.flip();
+        int length;
+        while ((length = Protocol.completeFrame(in)) >= 0) {
+            int end = in.position() + Protocol.HEADER_BYTES + length;
+            if (latencyNanos > 0) {
+                byte[] copy = new byte[length + 1];
+                in.position(in.position() + Integer.BYTES);
+                in.get(copy);
+                delayedIn.add(new Delayed(System.nanoTime() + latencyNanos, copy));
+            } else {
+                in.position(in.position() + Integer.BYTES);
+                byte type = in.get();
+                int limit = in.limit();
+                in.limit(end);
+                handler.onMessage(this, type, in);
+                in.limit(limit);
+            }
+            in.position(end);
+        }
+        if (in.remaining() >= Integer.BYTES && in.getInt(in.position()) > in.capacity() - Protocol.HEADER_BYTES) {
+            // ramka nie zmieściłaby się w buforze, więc odczyt nigdy by jej nie dokończył
+            throw new IOException("Ramka większa niż bufor wejściowy: " + in.getInt(in.position()));
+        }
+        in.compact();
+        return true;
+    }
+
+    /**
+     * Przekazuje dalej ramki, których symulowane opóźnienie już minęło.
+     *
+     * @param now     bieżący czas w nanosekundach
+     * @param handler odbiorca ramek przychodzących
+     * @throws IOException w przypadku błędu protokołu
+     */
+    void pump(long now, Handler handler) throws IOException {
+        while (!delayedIn.isEmpty() && delayedIn.peekFirst().due() - now <= 0) {
+            byte[] data = delayedIn.pollFirst().data();
+            ByteBuffer payload = ByteBuffer.wrap(data, 1, data.length - 1);
+            handler.onMessage(this, data[0], payload);
+        }
+        while (!delayedOut.isEmpty() && delayedOut.peekFirst().due() - now <= 0
+                && out.remaining() >= delayedOut.peekFirst().data().length) {
+            byte[] data = delayedOut.pollFirst().data();
+            delayedOutBytes -= data.length;
+            out.put(data);
+        }
+    }
+
+    /**
+     * Wysyła tyle zaległych danych, ile przyjmie kanał, i ustawia zainteresowanie zapisem,
+     * jeśli coś zostało w buforze.
+     *
+     * @return liczba wysłanych bajtów
+     * @throws IOException w przypadku błędu zapisu
+     */
+    int flush() throws IOException {
+        int written = 0;
+        if (out.position() > 0) {
+            out.flip();
+            written = channel.write(out);
+            out.compact();
+        }
+        int ops = SelectionKey.OP_READ | (out.position() > 0 ? SelectionKey.OP_WRITE : 0);
+        if (key.isValid() && key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+        return written;
+    }
+
+    /**
+     * Zamyka kanał klienta.
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
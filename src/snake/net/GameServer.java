@@ -0,0 +1,343 @@
+package snake.net;
+
+import snake.core.Board;
+import snake.enums.Direction;
+import snake.enums.GameLevel;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Klasa {@code GameServer} to autorytatywny serwer gry wieloosobowej w sieci lokalnej.
+ * Jeden wątek obsługuje selektor gniazd nieblokujących i w stałym rytmie wykonuje krok gry
+ * we wszystkich pokojach ({@link Room}), po czym rozsyła graczom migawki stanu ({@link snake.state.SnapshotCodec}).
+ * Klienci wysyłają jedynie zmiany kierunku – o wyniku rozgrywki decyduje wyłącznie serwer.
+ *
+ * <p>Przykład: {@code java snake.net.GameServer --port=7777 --tick-ms=100 --latency-ms=60 --max-rooms=500}.
+ * Opcja {@code --latency-ms} opóźnia ramki w obu kierunkach, co pozwala testować
+ * przewidywanie po stronie klienta na pętli zwrotnej.</p>
+ */
+public final class GameServer {
+
+    /** Co ile nanosekund wypisywane są statystyki serwera. */
+    private static final long STATS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /** Poziomy trudności według numeru. */
+    private static final GameLevel[] LEVELS = GameLevel.values();
+
+    /** Kierunki według numeru. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Port nasłuchu. */
+    private int port = Protocol.DEFAULT_PORT;
+
+    /** Długość kroku gry w milisekundach. */
+    private int tickMillis = Protocol.TICK_MILLIS;
+
+    /** Symulowane opóźnienie w jedną stronę w milisekundach. */
+    private int latencyMillis = 0;
+
+    /** Największa liczba jednocześnie otwartych pokoi. */
+    private int maxRooms = 500;
+
+    /** Rozmiar planszy. */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Ziarno bazowe gier (każdy pokój dostaje ziarno bazowe + numer pokoju). */
+    private long seed = System.nanoTime();
+
+    /** Wspólna plansza wszystkich pokoi. */
+    private Board board;
+
+    /** Otwarte pokoje. */
+    private final List<Room> rooms = new ArrayList<>();
+
+    /** Wszystkie połączenia klientów. */
+    private final List<Connection> connections = new ArrayList<>();
+
+    /** Bufor roboczy na ramki wychodzące. */
+    private ByteBuffer frame;
+
+    /** Selektor kanałów. */
+    private Selector selector;
+
+    /** Numer następnego pokoju. */
+    private int nextRoomId = 1;
+
+    /** Liczba kroków od ostatnich statystyk. */
+    private long statTicks = 0;
+
+    /** Łączny czas kroków od ostatnich statystyk. */
+    private long statTickNanos = 0;
+
+    /** Najdłuższy krok od ostatnich statystyk. */
+    private long statMaxTickNanos = 0;
+
+    /** Liczba wysłanych bajtów od ostatnich statystyk. */
+    private long statBytesOut = 0;
+
+    private GameServer() {
+    }
+
+    /**
+     * Punkt wejścia serwera.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     * @throws IOException w przypadku błędu gniazda
+     */
+    public static void main(String[] args) throws IOException {
+        GameServer server = new GameServer();
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "port" -> server.port = Integer.parseInt(value);
+                    case "tick-ms" -> server.tickMillis = Integer.parseInt(value);
+                    case "latency-ms" -> server.latencyMillis = Integer.parseInt(value);
+                    case "max-rooms" -> server.maxRooms = Integer.parseInt(value);
+                    case "board" -> server.boardSize = Integer.parseInt(value);
+                    case "seed" -> server.seed = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Opcje: --port=N --tick-ms=N --latency-ms=N --max-rooms=N --board=N --seed=N");
+            System.exit(2);
+            return;
+        }
+        server.run();
+    }
+
+    /**
+     * Główna pętla serwera: obsługa gniazd do chwili kolejnego kroku, krok wszystkich pokoi i rozesłanie migawek.
+     *
+     * @throws IOException w przypadku błędu gniazda nasłuchującego
+     */
+    private void run() throws IOException {
+        board = new Board(boardSize);
+        frame = ByteBuffer.allocate(Protocol.HEADER_BYTES + Integer.BYTES + Room.snapshotCapacity(board));
+        selector = Selector.open();
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        System.out.printf("[server] port %d, krok %d ms, opóźnienie %d ms, plansza %d%n",
+                port, tickMillis, latencyMillis, boardSize);
+
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long nextTick = System.nanoTime() + tickNanos;
+        long nextStats = System.nanoTime() + STATS_INTERVAL_NANOS;
+        while (true) {
+            long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextTick - System.nanoTime()));
+            if (latencyMillis > 0) waitMillis = 1;
+            selector.select(waitMillis);
+            handleKeys(server);
+
+            long now = System.nanoTime();
+            if (latencyMillis > 0) {
+                for (int i = connections.size() - 1; i >= 0; i--) {
+                    Connection c = connections.get(i);
+                    try {
+                        c.pump(now, this::onMessage);
+                        statBytesOut += c.flush();
+                    } catch (IOException e) {
+                        close(c);
+                    }
+                }
+            }
+            if (now - nextTick >= 0) {
+                tick();
+                long elapsed = System.nanoTime() - now;
+                statTicks++;
+                statTickNanos += elapsed;
+                statMaxTickNanos = Math.max(statMaxTickNanos, elapsed);
+                nextTick += tickNanos;
+                if (now - nextTick > tickNanos) {
+                    // serwer nie nadąża – pomijamy zaległe kroki zamiast je nadrabiać seriami
+                    nextTick = now + tickNanos;
+                }
+            }
+            if (now - nextStats >= 0) {
+                printStats();
+                nextStats = now + STATS_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    /**
+     * Obsługuje gotowe klucze selektora: nowe połączenia, odczyt i zapis.
+     *
+     * @param server kanał nasłuchujący
+     */
+    private void handleKeys(ServerSocketChannel server) {
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept(server);
+                continue;
+            }
+            Connection c = (Connection) key.attachment();
+            try {
+                if (key.isReadable() && !c.read(this::onMessage)) {
+                    close(c);
+                    continue;
+                }
+                if (key.isValid() && key.isWritable()) {
+                    statBytesOut += c.flush();
+                }
+            } catch (IOException e) {
+                close(c);
+            }
+        }
+    }
+
+    /**
+     * Przyjmuje oczekujące połączenia.
+     *
+     * @param server kanał nasłuchujący
+     */
+    private void accept(ServerSocketChannel server) {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                int outCapacity = Math.max(64 * 1024, 4 * frame.capacity());
+                Connection c = new Connection(channel, key, outCapacity, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+                key.attach(c);
+                connections.add(c);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Obsługuje wiadomość od klienta.
+     *
+     * @param c       połączenie
+     * @param type    typ wiadomości
+     * @param payload dane wiadomości
+     * @throws IOException w przypadku niepoprawnej wiadomości
+     */
+    private void onMessage(Connection c, byte type, ByteBuffer payload) throws IOException {
+        switch (type) {
+            case Protocol.JOIN -> join(c, payload.get());
+            case Protocol.INPUT -> {
+                int seq = payload.getInt();
+                int dir = payload.get();
+                if (dir < 0 || dir >= DIRECTIONS.length) throw new IOException("Niepoprawny kierunek: " + dir);
+                if (c.room != null) c.room.input(c, seq, DIRECTIONS[dir]);
+            }
+            default -> throw new IOException("Nieznany typ wiadomości: " + type);
+        }
+    }
+
+    /**
+     * Sadza klienta w pierwszym pokoju z wolnym miejscem na danym poziomie lub otwiera nowy pokój.
+     *
+     * @param c     połączenie
+     * @param level numer poziomu trudności
+     * @throws IOException w przypadku niepoprawnego poziomu
+     */
+    private void join(Connection c, int level) throws IOException {
+        if (level < 0 || level >= LEVELS.length) throw new IOException("Niepoprawny poziom: " + level);
+        if (c.room != null) return;
+        Room room = null;
+        for (Room r : rooms) {
+            if (r.getLevel() == LEVELS[level] && r.getPlayers() < Room.SEATS) {
+                room = r;
+                break;
+            }
+        }
+        if (room == null && rooms.size() < maxRooms) {
+            room = new Room(nextRoomId, board, LEVELS[level], seed + nextRoomId);
+            nextRoomId++;
+            rooms.add(room);
+        }
+
+        frame.clear();
+        if (room == null) {
+            int start = Protocol.beginFrame(frame, Protocol.REJECTED);
+            Protocol.endFrame(frame, start);
+        } else {
+            int seat = room.join(c);
+            int start = Protocol.beginFrame(frame, Protocol.WELCOME);
+            frame.putInt(room.getId());
+            frame.put((byte) seat);
+            frame.putShort((short) board.getCellCount());
+            frame.putShort((short) tickMillis);
+            Protocol.endFrame(frame, start);
+        }
+        frame.flip();
+        c.send(frame);
+        statBytesOut += c.flush();
+    }
+
+    /**
+     * Wykonuje krok gry we wszystkich pokojach i rozsyła migawki.
+     */
+    private void tick() {
+        for (Room room : rooms) {
+            room.tick();
+            room.broadcast(frame);
+        }
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            Connection c = connections.get(i);
+            try {
+                statBytesOut += c.flush();
+            } catch (IOException e) {
+                close(c);
+            }
+        }
+    }
+
+    /**
+     * Zamyka połączenie i zwalnia miejsce gracza; pusty pokój jest usuwany.
+     *
+     * @param c połączenie
+     */
+    private void close(Connection c) {
+        Room room = c.room;
+        if (room != null) {
+            room.leave(c);
+            if (room.getPlayers() == 0) {
+                rooms.remove(room);
+            }
+        }
+        connections.remove(c);
+        c.close();
+    }
+
+    /**
+     * Wypisuje statystyki serwera i zeruje liczniki.
+     */
+    private void printStats() {
+        double seconds = STATS_INTERVAL_NANOS / 1e9;
+        System.out.printf("[server] pokoje=%d gracze=%d krok avg=%.3f ms max=%.3f ms wysłano=%.1f KB/s%n",
+                rooms.size(), connections.size(),
+                statTicks == 0 ? 0 : statTickNanos / 1e6 / statTicks, statMaxTickNanos / 1e6,
+                statBytesOut / 1024.0 / seconds);
+        statTicks = 0;
+        statTickNanos = 0;
+        statMaxTickNanos = 0;
+        statBytesOut = 0;
+    }
+}
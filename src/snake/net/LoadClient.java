@@ -0,0 +1,220 @@
+package snake.net;
+
+import snake.enums.Direction;
+import snake.enums.GameLevel;
+import snake.state.SnapshotCodec;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Klasa {@code LoadClient} obciąża serwer gry wieloma botami łączącymi się przez pętlę zwrotną.
+ * Wszystkie połączenia obsługuje jeden selektor; każdy bot co krok wysyła losowy skręt
+ * i zlicza odebrane migawki. Na koniec wypisuje przepustowość, rozmiar migawek i czas odpowiedzi serwera.
+ *
+ * <p>Przykład: {@code java snake.net.LoadClient --clients=900 --seconds=30 --level=EASY}
+ * (przy 3 graczach na pokój daje to 300 pokoi).</p>
+ */
+public final class LoadClient {
+
+    /** Kierunki losowane przez boty. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Stan pojedynczego bota.
+     */
+    private static final class Bot {
+
+        /** Kanał bota. */
+        final SocketChannel channel;
+
+        /** Bufor odbiorczy. */
+        final ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+
+        /** Numer ostatnio wysłanego wejścia. */
+        int seq = 0;
+
+        /** Numer ostatniego potwierdzonego wejścia. */
+        int acked = 0;
+
+        /** Czas wysłania ostatniego wejścia. */
+        long sentAt = 0;
+
+        Bot(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /** Adres serwera. */
+    private String host = "localhost";
+
+    /** Port serwera. */
+    private int port = Protocol.DEFAULT_PORT;
+
+    /** Liczba botów. */
+    private int clients = 300;
+
+    /** Czas trwania testu w sekundach. */
+    private int seconds = 30;
+
+    /** Poziom trudności pokoi. */
+    private GameLevel level = GameLevel.EASY;
+
+    /** Liczba odebranych migawek. */
+    private long snapshots = 0;
+
+    /** Liczba odebranych migawek pełnych. */
+    private long keyframes = 0;
+
+    /** Liczba odebranych bajtów migawek. */
+    private long snapshotBytes = 0;
+
+    /** Suma zmierzonych czasów odpowiedzi (ns). */
+    private long rttTotal = 0;
+
+    /** Liczba pomiarów czasu odpowiedzi. */
+    private long rttSamples = 0;
+
+    /** Najdłuższy czas odpowiedzi (ns). */
+    private long rttMax = 0;
+
+    private LoadClient() {
+    }
+
+    /**
+     * Punkt wejścia testu obciążeniowego.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     * @throws IOException w przypadku błędu połączenia
+     */
+    public static void main(String[] args) throws IOException {
+        LoadClient load = new LoadClient();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                System.err.println("Opcje: --host=H --port=N --clients=N --seconds=N --level=EASY|MEDIUM|HARD");
+                System.exit(2);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "host" -> load.host = value;
+                case "port" -> load.port = Integer.parseInt(value);
+                case "clients" -> load.clients = Integer.parseInt(value);
+                case "seconds" -> load.seconds = Integer.parseInt(value);
+                case "level" -> load.level = GameLevel.valueOf(value.toUpperCase());
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+        load.run();
+    }
+
+    /**
+     * Łączy boty, prowadzi test przez zadany czas i wypisuje wyniki.
+     *
+     * @throws IOException w przypadku błędu połączenia
+     */
+    private void run() throws IOException {
+        Selector selector = Selector.open();
+        List<Bot> bots = new ArrayList<>();
+        ByteBuffer out = ByteBuffer.allocate(64);
+        for (int i = 0; i < clients; i++) {
+            SocketChannel ch = SocketChannel.open(new InetSocketAddress(host, port));
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            out.clear();
+            int start = Protocol.beginFrame(out, Protocol.JOIN);
+            out.put((byte) level.ordinal());
+            Protocol.endFrame(out, start);
+            out.flip();
+            while (out.hasRemaining()) ch.write(out);
+            ch.configureBlocking(false);
+            Bot bot = new Bot(ch);
+            ch.register(selector, SelectionKey.OP_READ, bot);
+            bots.add(bot);
+        }
+        System.out.printf("[load] połączono %d botów%n", clients);
+
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long nextInput = start;
+        while (System.nanoTime() < end) {
+            selector.select(10);
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                Bot bot = (Bot) key.attachment();
+                if (bot.channel.read(bot.in) < 0) throw new IOException("Serwer zamknął połączenie");
+                drain(bot);
+            }
+            long now = System.nanoTime();
+            if (now - nextInput >= 0) {
+                for (Bot bot : bots) {
+                    if (bot.acked < bot.seq) continue;
+                    out.clear();
+                    int frame = Protocol.beginFrame(out, Protocol.INPUT);
+                    out.putInt(++bot.seq);
+                    out.put((byte) DIRECTIONS[random.nextInt(DIRECTIONS.length)].ordinal());
+                    Protocol.endFrame(out, frame);
+                    out.flip();
+                    bot.channel.write(out);
+                    bot.sentAt = now;
+                }
+                nextInput = now + TimeUnit.MILLISECONDS.toNanos(Protocol.TICK_MILLIS);
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        for (Bot bot : bots) {
+            bot.channel.close();
+        }
+
+        System.out.printf("[load] boty=%d czas=%.1f s migawki=%d (%.0f/s) pełne=%.2f%% średnio=%.1f B/migawkę%n",
+                clients, elapsed, snapshots, snapshots / elapsed,
+                snapshots == 0 ? 0 : 100.0 * keyframes / snapshots,
+                snapshots == 0 ? 0 : snapshotBytes / (double) snapshots);
+        System.out.printf("[load] czas odpowiedzi avg=%.2f ms max=%.2f ms (%d pomiarów)%n",
+                rttSamples == 0 ? 0 : rttTotal / 1e6 / rttSamples, rttMax / 1e6, rttSamples);
+    }
+
+    /**
+     * Przetwarza kompletne ramki odebrane przez bota.
+     *
+     * @param bot bot
+     * @throws IOException w przypadku błędu protokołu
+     */
+    private void drain(Bot bot) throws IOException {
+        ByteBuffer in = bot.in;
+        in.flip();
+        int length;
+        while ((length = Protocol.completeFrame(in)) >= 0) {
+            int payload = in.position() + Protocol.HEADER_BYTES;
+            byte type = in.get(payload - 1);
+            if (type == Protocol.REJECTED) throw new IOException("Serwer odrzucił bota");
+            if (type == Protocol.SNAPSHOT) {
+                int ack = in.getInt(payload);
+                snapshots++;
+                snapshotBytes += length;
+                if (in.get(payload + Integer.BYTES) == SnapshotCodec.KEYFRAME) keyframes++;
+                if (ack > bot.acked) {
+                    bot.acked = ack;
+                    long rtt = System.nanoTime() - bot.sentAt;
+                    rttTotal += rtt;
+                    rttSamples++;
+                    rttMax = Math.max(rttMax, rtt);
+                }
+            }
+            in.position(payload + length);
+        }
+        in.compact();
+    }
+}
@@ -0,0 +1,428 @@
+package snake.net;
+
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.Pictures;
+import snake.core.Snake;
+import snake.core.SnakeBody;
+import snake.enums.ConnectionState;
+import snake.enums.Direction;
+import snake.enums.GameLevel;
+import snake.enums.SnakeType;
+import snake.state.SnapshotCodec;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Klasa {@code MultiplayerClient} to cienki klient gry wieloosobowej wyświetlany na ekranie MULTIPLAYER_MENU.
+ * Nie wykonuje zasad gry – wysyła do serwera tylko zmiany kierunku, a stan planszy odtwarza z migawek
+ * ({@link SnapshotCodec}) w grze służącej wyłącznie do rysowania ({@link Game#view(Board, Pictures)}).
+ *
+ * <p>Własny wąż gracza jest przewidywany lokalnie: po naciśnięciu klawisza od razu skręca,
+ * a przy każdej migawce jest odtwarzany ze stanu serwera i przesuwany o tyle kroków,
+ * ile odpowiada połowie zmierzonego czasu odpowiedzi serwera.</p>
+ */
+public class MultiplayerClient implements Runnable {
+
+    /** Największa liczba kroków, o które przewidywany jest własny wąż. */
+    private static final int MAX_LEAD_TICKS = 3;
+
+    /** Liczba zapamiętanych czasów wysłania wejść (do pomiaru czasu odpowiedzi). */
+    private static final int SEQ_WINDOW = 64;
+
+    /** Typy węży według numeru miejsca. */
+    private static final SnakeType[] TYPES = SnakeType.values();
+
+    /** Plansza gry. */
+    private final Board board;
+
+    /** Adres serwera. */
+    private final String host;
+
+    /** Port serwera. */
+    private final int port;
+
+    /** Gra służąca do wyświetlania stanu serwera. */
+    private final Game view;
+
+    /** Dekoder migawek stanu. */
+    private final SnapshotCodec codec = new SnapshotCodec();
+
+    /** Bufor na wysyłane ramki. */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(64);
+
+    /** Czasy wysłania wejść według numeru sekwencyjnego (modulo {@link #SEQ_WINDOW}). */
+    private final long[] sentAt = new long[SEQ_WINDOW];
+
+    /** Stan połączenia. */
+    private volatile ConnectionState state = ConnectionState.DISCONNECTED;
+
+    /** Opis ostatniego błędu. */
+    private volatile String error = "";
+
+    /** Poziom trudności wybrany do dołączenia. */
+    private GameLevel level = GameLevel.EASY;
+
+    /** Kanał połączenia z serwerem. */
+    private volatile SocketChannel channel;
+
+    /** Numer pokoju na serwerze. */
+    private int room;
+
+    /** Wąż sterowany przez tego klienta. */
+    private SnakeType seat = SnakeType.PLAYER;
+
+    /** Długość kroku serwera w milisekundach. */
+    private int tickMillis = Protocol.TICK_MILLIS;
+
+    /** Czy odebrano już migawkę pełną. */
+    private boolean hasSnapshot = false;
+
+    /** Numer ostatnio wysłanego wejścia. */
+    private int inputSeq = 0;
+
+    /** Numer ostatniego wejścia potwierdzonego przez serwer. */
+    private int ackedSeq = 0;
+
+    /** Wygładzony czas odpowiedzi serwera w milisekundach. */
+    private double rttMillis = 0;
+
+    /** Kierunek wysłany, ale jeszcze niepotwierdzony przez serwer. */
+    private Direction pending;
+
+    /** Ciało własnego węża według serwera. */
+    private int[] authCells = new int[0];
+
+    /** Długość własnego węża według serwera. */
+    private int authLength = 0;
+
+    /** Kierunek własnego węża według serwera. */
+    private Direction authDir = Direction.RIGHT;
+
+    /** Czy własny wąż żyje według serwera. */
+    private boolean authAlive = false;
+
+    /** Czy własny wąż porusza się według serwera. */
+    private boolean authRunning = false;
+
+    /**
+     * Tworzy klienta dla podanego serwera.
+     *
+     * @param board    plansza gry (musi mieć ten sam rozmiar co plansza serwera)
+     * @param pictures zasoby graficzne
+     * @param address  adres serwera w postaci {@code host[:port]}
+     */
+    public MultiplayerClient(Board board, Pictures pictures, String address) {
+        this.board = board;
+        int colon = address.lastIndexOf(':');
+        this.host = colon < 0 ? address : address.substring(0, colon);
+        this.port = colon < 0 ? Protocol.DEFAULT_PORT : Integer.parseInt(address.substring(colon + 1));
+        this.view = Game.view(board, pictures);
+    }
+
+    /**
+     * Rozpoczyna łączenie z serwerem w osobnym wątku.
+     */
+    public void connect() {
+        if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) return;
+        state = ConnectionState.CONNECTING;
+        error = "";
+        Thread reader = new Thread(this, "snake-net-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Rozłącza klienta z serwerem.
+     */
+    public void disconnect() {
+        state = ConnectionState.DISCONNECTED;
+        SocketChannel ch = channel;
+        if (ch != null) {
+            try {
+                ch.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Wątek odbiorczy: łączy się z serwerem, dołącza do pokoju i odtwarza odbierane migawki.
+     */
+    @Override
+    public void run() {
+        synchronized (view) {
+            hasSnapshot = false;
+            inputSeq = 0;
+            ackedSeq = 0;
+            rttMillis = 0;
+            pending = null;
+        }
+        try (SocketChannel ch = SocketChannel.open(new InetSocketAddress(host, port))) {
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel = ch;
+            if (state == ConnectionState.DISCONNECTED) return;
+            synchronized (writeBuffer) {
+                writeBuffer.clear();
+                int start = Protocol.beginFrame(writeBuffer, Protocol.JOIN);
+                writeBuffer.put((byte) level.ordinal());
+                Protocol.endFrame(writeBuffer, start);
+                writeBuffer.flip();
+                while (writeBuffer.hasRemaining()) ch.write(writeBuffer);
+            }
+
+            ByteBuffer in = ByteBuffer.allocate(2 * (Protocol.HEADER_BYTES + Integer.BYTES + Room.snapshotCapacity(board)));
+            while (ch.read(in) >= 0) {
+                in.flip();
+                int length;
+                while ((length = Protocol.completeFrame(in)) >= 0) {
+                    int end = in.position() + Protocol.HEADER_BYTES + length;
+                    in.position(in.position() + Integer.BYTES);
+                    byte type = in.get();
+                    int limit = in.limit();
+                    in.limit(end);
+                    onMessage(type, in);
+                    in.limit(limit);
+                    in.position(end);
+                }
+                in.compact();
+                if (!in.hasRemaining()) throw new IOException("Zbyt duża ramka");
+            }
+            if (state == ConnectionState.CONNECTED) {
+                error = "Serwer zamknął połączenie";
+                state = ConnectionState.FAILED;
+            }
+        } catch (IOException | IllegalStateException e) {
+            if (state != ConnectionState.DISCONNECTED) {
+                error = String.valueOf(e.getMessage());
+                state = ConnectionState.FAILED;
+            }
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Obsługuje wiadomość od serwera.
+     *
+     * @param type    typ wiadomości
+     * @param payload dane wiadomości
+     * @throws IOException w przypadku odmowy lub niezgodnej konfiguracji
+     */
+    private void onMessage(byte type, ByteBuffer payload) throws IOException {
+        switch (type) {
+            case Protocol.WELCOME -> {
+                room = payload.getInt();
+                seat = TYPES[payload.get()];
+                int size = payload.getShort();
+                tickMillis = payload.getShort();
+                if (size != board.getCellCount()) {
+                    throw new IOException("Serwer używa planszy " + size + "x" + size);
+                }
+                state = ConnectionState.CONNECTED;
+            }
+            case Protocol.SNAPSHOT -> {
+                int ack = payload.getInt();
+                synchronized (view) {
+                    restoreAuthoritative();
+                    codec.decode(payload, view);
+                    view.getFood().updateAnimation();
+                    saveAuthoritative();
+                    hasSnapshot = true;
+                    onAck(ack);
+                    predict();
+                    view.publish();
+                }
+            }
+            case Protocol.REJECTED -> throw new IOException("Serwer nie ma wolnych pokoi");
+            default -> throw new IOException("Nieznany typ wiadomości: " + type);
+        }
+    }
+
+    /**
+     * Uwzględnia potwierdzenie wejścia – mierzy czas odpowiedzi i kończy przewidywanie skrętu.
+     *
+     * @param ack numer ostatniego wejścia przetworzonego przez serwer
+     */
+    private void onAck(int ack) {
+        if (ack <= ackedSeq) return;
+        if (inputSeq - ack < SEQ_WINDOW) {
+            double sample = (System.nanoTime() - sentAt[ack % SEQ_WINDOW]) / 1e6;
+            rttMillis = rttMillis == 0 ? sample : rttMillis * 0.8 + sample * 0.2;
+        }
+        ackedSeq = ack;
+        if (ackedSeq >= inputSeq) {
+            pending = null;
+        }
+    }
+
+    /**
+     * Zapamiętuje stan własnego węża otrzymany od serwera.
+     */
+    private void saveAuthoritative() {
+        Snake s = view.getSnake(seat);
+        SnakeBody body = s.getBody();
+        if (authCells.length < body.size()) {
+            authCells = new int[Math.max(body.size(), authCells.length * 2)];
+        }
+        for (int i = 0; i < body.size(); i++) {
+            authCells[i] = body.get(i);
+        }
+        authLength = body.size();
+        authDir = s.getDirection();
+        authAlive = s.isAlive();
+        authRunning = s.isGameRunning();
+    }
+
+    /**
+     * Przywraca własnego węża do stanu serwera (cofa przewidywanie przed zastosowaniem kolejnej migawki).
+     */
+    private void restoreAuthoritative() {
+        if (!hasSnapshot) return;
+        view.getSnake(seat).restore(authCells, authLength, authDir, authAlive, authRunning);
+    }
+
+    /**
+     * Przewiduje położenie własnego węża: stosuje niepotwierdzony skręt i przesuwa węża
+     * o liczbę kroków odpowiadającą połowie czasu odpowiedzi serwera.
+     */
+    private void predict() {
+        Snake s = view.getSnake(seat);
+        if (!s.isAlive() || authLength == 0) return;
+        int lead = (int) Math.min(MAX_LEAD_TICKS, Math.round(rttMillis / 2 / tickMillis));
+        if (pending != null) {
+            s.moveDirection(pending);
+            lead = Math.max(lead, 1);
+        }
+        for (int i = 0; i < lead; i++) {
+            s.update();
+        }
+    }
+
+    /**
+     * Obsługuje naciśnięcie klawisza na ekranie gry wieloosobowej.
+     *
+     * @param keyCode kod klawisza
+     */
+    public void onKeyPress(int keyCode) {
+        if (state == ConnectionState.CONNECTED) {
+            switch (keyCode) {
+                case KeyEvent.VK_UP -> sendInput(Direction.UP);
+                case KeyEvent.VK_DOWN -> sendInput(Direction.DOWN);
+                case KeyEvent.VK_LEFT -> sendInput(Direction.LEFT);
+                case KeyEvent.VK_RIGHT -> sendInput(Direction.RIGHT);
+                default -> {
+                }
+            }
+            return;
+        }
+        switch (keyCode) {
+            case KeyEvent.VK_1 -> level = GameLevel.EASY;
+            case KeyEvent.VK_2 -> level = GameLevel.MEDIUM;
+            case KeyEvent.VK_3 -> level = GameLevel.HARD;
+            case KeyEvent.VK_ENTER -> connect();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Wysyła zmianę kierunku do serwera i od razu pokazuje jej przewidywany skutek.
+     *
+     * @param dir nowy kierunek
+     */
+    private void sendInput(Direction dir) {
+        SocketChannel ch = channel;
+        if (ch == null) return;
+        int seq;
+        synchronized (view) {
+            seq = ++inputSeq;
+            sentAt[seq % SEQ_WINDOW] = System.nanoTime();
+            pending = dir;
+            if (hasSnapshot) {
+                restoreAuthoritative();
+                predict();
+                view.publish();
+            }
+        }
+        try {
+            synchronized (writeBuffer) {
+                writeBuffer.clear();
+                int start = Protocol.beginFrame(writeBuffer, Protocol.INPUT);
+                writeBuffer.putInt(seq);
+                writeBuffer.put((byte) dir.ordinal());
+                Protocol.endFrame(writeBuffer, start);
+                writeBuffer.flip();
+                while (writeBuffer.hasRemaining()) ch.write(writeBuffer);
+            }
+        } catch (IOException e) {
+            error = String.valueOf(e.getMessage());
+            state = ConnectionState.FAILED;
+        }
+    }
+
+    /**
+     * Rysuje ekran gry wieloosobowej: planszę z pokoju albo ekran wyboru połączenia.
+     *
+     * @param g           kontekst graficzny
+     * @param panelWidth  szerokość panelu
+     * @param panelHeight wysokość panelu
+     */
+    public void draw(Graphics2D g, int panelWidth, int panelHeight) {
+        if (state == ConnectionState.CONNECTED && hasSnapshot) {
+            view.draw(g, panelWidth, panelHeight);
+            g.setColor(Color.DARK_GRAY);
+            g.setFont(new Font("Arial", Font.PLAIN, 16));
+            String hud = String.format("Room %d | You: %s | %s | RTT %.0f ms | ESC – leave",
+                    room, seat, view.getGameLevel(), rttMillis);
+            FontMetrics fm = g.getFontMetrics();
+            int y = board.getCellCount() * board.getCellSize() + 90;
+            g.drawString(hud, (panelWidth - fm.stringWidth(hud)) / 2, y);
+            return;
+        }
+
+        g.setColor(Color.YELLOW);
+        g.fillRect(0, 0, panelWidth, panelHeight);
+        g.setColor(Color.BLACK);
+        g.setFont(new Font("Arial", Font.BOLD, 50));
+        drawCentered(g, "MULTIPLAYER", panelWidth, 160);
+
+        g.setFont(new Font("Arial", Font.BOLD, 28));
+        drawCentered(g, "Server: " + host + ":" + port, panelWidth, 280);
+        drawCentered(g, "Level: " + level + "  (1 / 2 / 3)", panelWidth, 340);
+        String action = switch (state) {
+            case CONNECTING -> "CONNECTING...";
+            case CONNECTED -> "WAITING FOR STATE...";
+            default -> "ENTER – JOIN";
+        };
+        drawCentered(g, action, panelWidth, 440);
+        if (state == ConnectionState.FAILED) {
+            g.setColor(Color.RED.darker());
+            g.setFont(new Font("Arial", Font.PLAIN, 20));
+            drawCentered(g, error, panelWidth, 500);
+            g.setColor(Color.BLACK);
+        }
+        g.setFont(new Font("Arial", Font.BOLD, 36));
+        drawCentered(g, "BACK TO MENU (ESC)", panelWidth, panelHeight - 40);
+    }
+
+    /**
+     * Rysuje tekst wyśrodkowany w poziomie.
+     *
+     * @param g          kontekst graficzny
+     * @param text       tekst
+     * @param panelWidth szerokość panelu
+     * @param y          współrzędna linii bazowej
+     */
+    private static void drawCentered(Graphics2D g, String text, int panelWidth, int y) {
+        FontMetrics fm = g.getFontMetrics();
+        g.drawString(text, (panelWidth - fm.stringWidth(text)) / 2, y);
+    }
+}
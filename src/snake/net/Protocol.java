@@ -0,0 +1,117 @@
+package snake.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Klasa {@code Protocol} opisuje binarny protokół gry wieloosobowej.
+ * Każda ramka ma nagłówek: długość danych ({@code int}) i typ wiadomości ({@code byte}),
+ * po którym następują dane wiadomości. Wszystkie liczby zapisywane są w kolejności big-endian.
+ *
+ * <ul>
+ *     <li>{@link #JOIN} (klient → serwer): poziom trudności ({@code byte}, numer {@code GameLevel}).</li>
+ *     <li>{@link #INPUT} (klient → serwer): numer sekwencyjny ({@code int}) i kierunek ({@code byte}).</li>
+ *     <li>{@link #WELCOME} (serwer → klient): numer pokoju ({@code int}), miejsce ({@code byte}, numer {@code SnakeType}),
+ *         rozmiar planszy ({@code short}) i długość kroku w ms ({@code short}).</li>
+ *     <li>{@link #SNAPSHOT} (serwer → klient): ostatni przetworzony numer wejścia gracza ({@code int})
+ *         i migawka stanu zakodowana przez {@link snake.state.SnapshotCodec}.</li>
+ *     <li>{@link #REJECTED} (serwer → klient): serwer nie ma miejsca na nowy pokój.</li>
+ * </ul>
+ *
+ * <p>Ta sama ramka służy do sterowania lokalnej gry przez boty ({@link BotServer}):</p>
+ *
+ * <ul>
+ *     <li>{@link #BOT_WELCOME} (serwer → bot): rozmiar planszy ({@code short}), tryb kroków w lockstepie
+ *         ({@code byte}, 0 lub 1) i termin odpowiedzi w ms ({@code short}).</li>
+ *     <li>{@link #BOT_STATE} (serwer → bot): numer stanu ({@code int}, rosnący przez wszystkie rozgrywki),
+ *         ostatni zmierzony czas obiegu bota w µs ({@code int}, -1 – brak pomiaru), numer kroku rozgrywki
+ *         ({@code int}), ekran ({@code byte}, numer {@code GameScreen}), poziom
+ *         ({@code byte}), wynik ({@code int}); dla każdego węża (w kolejności {@code SnakeType}): czy żyje
+ *         ({@code byte}), kierunek ({@code byte}), długość ({@code short}) i komórki od głowy; liczba owoców
+ *         ({@code byte}) i owoce (komórka, rodzaj {@code byte}); komórka żaby; liczba przeszkód ({@code short})
+ *         i ich komórki. Komórka to dwa bajty bez znaku {@code x}, {@code y}; brak komórki to {@code 255, 255}.</li>
+ *     <li>{@link #BOT_COMMAND} (bot → serwer): numer stanu, na który bot odpowiada ({@code int}),
+ *         i kierunek ({@code byte}, numer {@code Direction} lub -1 – bez zmiany).</li>
+ * </ul>
+ */
+public final class Protocol {
+
+    /** Domyślny port serwera. */
+    public static final int DEFAULT_PORT = 7777;
+
+    /** Domyślna długość kroku gry w milisekundach (tak jak w grze lokalnej). */
+    public static final int TICK_MILLIS = 100;
+
+    /** Dołączenie do pokoju. */
+    public static final byte JOIN = 1;
+
+    /** Zmiana kierunku przez gracza. */
+    public static final byte INPUT = 2;
+
+    /** Odpowiedź bota na stan kroku (kierunek lub brak zmiany). */
+    public static final byte BOT_COMMAND = 3;
+
+    /** Potwierdzenie dołączenia do pokoju. */
+    public static final byte WELCOME = 10;
+
+    /** Migawka stanu pokoju. */
+    public static final byte SNAPSHOT = 11;
+
+    /** Odmowa dołączenia. */
+    public static final byte REJECTED = 12;
+
+    /** Powitanie bota z parametrami sterowania. */
+    public static final byte BOT_WELCOME = 13;
+
+    /** Stan gry po kroku wysyłany botom. */
+    public static final byte BOT_STATE = 14;
+
+    /** Rozmiar nagłówka ramki (długość + typ). */
+    public static final int HEADER_BYTES = 5;
+
+    /** Największy dopuszczalny rozmiar danych ramki. */
+    public static final int MAX_FRAME = 1 << 18;
+
+    private Protocol() {
+    }
+
+    /**
+     * Rozpoczyna ramkę w buforze – rezerwuje miejsce na długość i zapisuje typ.
+     *
+     * @param out  bufor wyjściowy
+     * @param type typ wiadomości
+     * @return pozycja początku ramki (do przekazania do {@link #endFrame(ByteBuffer, int)})
+     */
+    public static int beginFrame(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    /**
+     * Kończy ramkę – uzupełnia długość danych w nagłówku.
+     *
+     * @param out   bufor wyjściowy
+     * @param start pozycja zwrócona przez {@link #beginFrame(ByteBuffer, byte)}
+     */
+    public static void endFrame(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - HEADER_BYTES);
+    }
+
+    /**
+     * Sprawdza, czy w buforze (w trybie odczytu) znajduje się kompletna ramka.
+     *
+     * @param in bufor wejściowy
+     * @return długość danych ramki lub -1, jeśli ramka nie jest jeszcze kompletna
+     * @throws IOException jeśli nagłówek zawiera niepoprawną długość
+     */
+    public static int completeFrame(ByteBuffer in) throws IOException {
+        if (in.remaining() < HEADER_BYTES) return -1;
+        int length = in.getInt(in.position());
+        if (length < 0 || length > MAX_FRAME) {
+            throw new IOException("Niepoprawna długość ramki: " + length);
+        }
+        return in.remaining() >= HEADER_BYTES + length ? length : -1;
+    }
+}
@@ -0,0 +1,32 @@
+package snake.net;
+
+import snake.ai.AIStrategy;
+import snake.core.Game;
+import snake.core.Snake;
+import snake.enums.Direction;
+
+/**
+ * Klasa {@code RemoteControl} to strategia sterowania wężem przez zdalnego gracza.
+ * Zwraca kierunek odebrany od klienta od poprzedniego kroku gry (lub {@code null}, gdy gracz nic nie zmienił).
+ */
+final class RemoteControl implements AIStrategy {
+
+    /** Kierunek oczekujący na najbliższy krok gry. */
+    private Direction pending;
+
+    /**
+     * Zapamiętuje kierunek wybrany przez gracza.
+     *
+     * @param dir nowy kierunek
+     */
+    void push(Direction dir) {
+        pending = dir;
+    }
+
+    @Override
+    public Direction decide(Game game, Snake self) {
+        Direction dir = pending;
+        pending = null;
+        return dir;
+    }
+}
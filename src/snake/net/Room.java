@@ -0,0 +1,211 @@
+package snake.net;
+
+import snake.ai.GreedyStrategy;
+import snake.core.Board;
+import snake.core.Game;
+import snake.enums.Direction;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+import snake.state.SnapshotCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Klasa {@code Room} to pojedynczy pokój na serwerze: własna gra bez grafiki z zasadami klasy {@link Game}
+ * i do trzech graczy zajmujących miejsca węży (gracz, AI1, AI2). Wolne miejsca steruje strategia AI.
+ * Po zakończeniu rozgrywki pokój od razu zaczyna nową na tym samym poziomie.
+ * Obiekt jest używany wyłącznie przez wątek selektora serwera.
+ */
+final class Room {
+
+    /** Liczba miejsc w pokoju (po jednym na każdego węża). */
+    static final int SEATS = SnakeType.values().length;
+
+    /** Typy węży według numeru miejsca. */
+    private static final SnakeType[] TYPES = SnakeType.values();
+
+    /** Numer pokoju. */
+    private final int id;
+
+    /** Poziom trudności rozgrywek w pokoju. */
+    private final GameLevel level;
+
+    /** Gra z zasadami rozgrywki. */
+    private final Game game;
+
+    /** Gracze według miejsca ({@code null} – miejsce wolne). */
+    private final Connection[] seats = new Connection[SEATS];
+
+    /** Sterowanie zdalne według miejsca. */
+    private final RemoteControl[] controls = new RemoteControl[SEATS];
+
+    /** Ostatni przetworzony numer wejścia według miejsca. */
+    private final int[] acks = new int[SEATS];
+
+    /** Koder migawek stanu pokoju. */
+    private final SnapshotCodec codec = new SnapshotCodec();
+
+    /** Bufor migawki różnicowej. */
+    private final ByteBuffer delta;
+
+    /** Bufor migawki pełnej. */
+    private final ByteBuffer keyframe;
+
+    /** Liczba zajętych miejsc. */
+    private int players = 0;
+
+    /**
+     * Tworzy pokój i rozpoczyna w nim rozgrywkę.
+     *
+     * @param id    numer pokoju
+     * @param board plansza (wspólna dla wszystkich pokoi, używana tylko do odczytu)
+     * @param level poziom trudności
+     * @param seed  ziarno generatorów losowych gry
+     */
+    Room(int id, Board board, GameLevel level, long seed) {
+        this.id = id;
+        this.level = level;
+        this.game = Game.headless(board, seed);
+        this.delta = ByteBuffer.allocate(snapshotCapacity(board));
+        this.keyframe = ByteBuffer.allocate(snapshotCapacity(board));
+        for (int i = 0; i < SEATS; i++) {
+            controls[i] = new RemoteControl();
+        }
+        game.startGame(level);
+    }
+
+    /**
+     * Szacuje największy rozmiar migawki pełnej dla planszy.
+     *
+     * @param board plansza
+     * @return rozmiar w bajtach
+     */
+    static int snapshotCapacity(Board board) {
+        int cells = board.getCellCount() * board.getCellCount();
+        return 128 + 16 * cells;
+    }
+
+    /**
+     * Sadza gracza na pierwszym wolnym miejscu.
+     *
+     * @param c połączenie gracza
+     * @return numer miejsca lub -1, jeśli pokój jest pełny
+     */
+    int join(Connection c) {
+        for (int i = 0; i < SEATS; i++) {
+            if (seats[i] == null) {
+                seats[i] = c;
+                acks[i] = 0;
+                game.setStrategy(TYPES[i], controls[i]);
+                players++;
+                c.room = this;
+                c.seat = i;
+                c.needsKeyframe = true;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Zwalnia miejsce gracza – od tej chwili steruje nim strategia AI.
+     *
+     * @param c połączenie gracza
+     */
+    void leave(Connection c) {
+        if (c.room != this || seats[c.seat] != c) return;
+        seats[c.seat] = null;
+        game.setStrategy(TYPES[c.seat], new GreedyStrategy());
+        players--;
+        c.room = null;
+        c.seat = -1;
+    }
+
+    /**
+     * Przyjmuje zmianę kierunku od gracza.
+     *
+     * @param c   połączenie gracza
+     * @param seq numer sekwencyjny wejścia
+     * @param dir nowy kierunek
+     */
+    void input(Connection c, int seq, Direction dir) {
+        controls[c.seat].push(dir);
+        acks[c.seat] = Math.max(acks[c.seat], seq);
+    }
+
+    /**
+     * Wykonuje jeden krok gry; po zakończeniu rozgrywki rozpoczyna następną.
+     */
+    void tick() {
+        game.update();
+        if (game.getGameScreen() != GameScreen.GAME) {
+            game.startGame(level);
+        }
+    }
+
+    /**
+     * Wysyła migawkę bieżącego stanu do wszystkich graczy w pokoju.
+     * Gracze nowi lub nienadążający dostają migawkę pełną, pozostali różnicową.
+     *
+     * @param frame bufor roboczy na ramkę
+     */
+    void broadcast(ByteBuffer frame) {
+        delta.clear();
+        boolean deltaOk = codec.encodeDelta(game, delta);
+        boolean keyNeeded = !deltaOk;
+        for (Connection c : seats) {
+            if (c != null && c.needsKeyframe) keyNeeded = true;
+        }
+        if (keyNeeded) {
+            keyframe.clear();
+            codec.encodeKeyframe(game, keyframe);
+        }
+        codec.remember(game);
+
+        for (int i = 0; i < SEATS; i++) {
+            Connection c = seats[i];
+            if (c == null) continue;
+            boolean key = !deltaOk || c.needsKeyframe;
+            ByteBuffer state = key ? keyframe : delta;
+            frame.clear();
+            int start = Protocol.beginFrame(frame, Protocol.SNAPSHOT);
+            frame.putInt(acks[i]);
+            frame.put(state.array(), 0, state.position());
+            Protocol.endFrame(frame, start);
+            frame.flip();
+            if (c.send(frame)) {
+                if (key) c.needsKeyframe = false;
+            } else {
+                c.needsKeyframe = true;
+            }
+        }
+    }
+
+    /**
+     * Zwraca numer pokoju.
+     *
+     * @return numer pokoju
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Zwraca poziom trudności pokoju.
+     *
+     * @return poziom trudności
+     */
+    GameLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Zwraca liczbę graczy w pokoju.
+     *
+     * @return liczba zajętych miejsc
+     */
+    int getPlayers() {
+        return players;
+    }
+}
@@ -0,0 +1,235 @@
+package snake.sim;
+
+import snake.ai.Strategies;
+import snake.core.Board;
+import snake.core.Game;
+import snake.enums.DeathCause;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Klasa {@code BatchSimulator} uruchamia wsadowo wiele gier bez interfejsu graficznego,
+ * aby stroić zachowanie strategii AI. Każda gra to osobne zadanie z własnym obiektem {@link Game}
+ * (brak współdzielonego stanu), a zadania są rozdzielane na wszystkie rdzenie przez {@link ForkJoinPool}.
+ * Wynikiem jest raport z rozkładem czasu przeżycia, wyników i przyczyn śmierci.
+ *
+ * <p>Przykład: {@code java snake.sim.BatchSimulator --seeds=0..99999 --board=26 --level=HARD
+ * --player=greedy --ai=random --max-ticks=5000 --out=report.txt}</p>
+ */
+public final class BatchSimulator {
+
+    /** Liczba gier, poniżej której zadanie nie jest już dzielone. */
+    private static final int LEAF_GAMES = 64;
+
+    /** Najmniejszy rozmiar planszy, na którym mieszczą się startowe pozycje węży. */
+    private static final int MIN_BOARD = 16;
+
+    /** Pierwsze ziarno (włącznie). */
+    private long firstSeed = 0;
+
+    /** Ostatnie ziarno (włącznie). */
+    private long lastSeed = 9_999;
+
+    /** Rozmiar planszy (liczba komórek w wierszu). */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Poziom trudności. */
+    private GameLevel level = GameLevel.EASY;
+
+    /** Strategia sterująca wężem gracza. */
+    private String playerStrategy = "greedy";
+
+    /** Strategia sterująca wężami AI. */
+    private String aiStrategy = "greedy";
+
+    /** Limit kroków jednej gry. */
+    private int maxTicks = 10_000;
+
+    /** Liczba wątków symulacji. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Plik raportu. */
+    private Path out = Paths.get("simulation-report.txt");
+
+    private BatchSimulator() {
+    }
+
+    /**
+     * Punkt wejścia symulatora.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     * @throws IOException w przypadku błędu zapisu raportu
+     */
+    public static void main(String[] args) throws IOException {
+        BatchSimulator simulator;
+        try {
+            simulator = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Opcje: --seeds=A..B --board=N --level=EASY|MEDIUM|HARD --player=S --ai=S"
+                    + " --max-ticks=N --threads=N --out=PLIK (strategie: " + Strategies.names() + ")");
+            System.exit(2);
+            return;
+        }
+        simulator.run();
+    }
+
+    /**
+     * Odczytuje konfigurację z argumentów wiersza poleceń.
+     *
+     * @param args argumenty
+     * @return skonfigurowany symulator
+     */
+    private static BatchSimulator parse(String[] args) {
+        BatchSimulator sim = new BatchSimulator();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "seeds" -> {
+                    int dots = value.indexOf("..");
+                    sim.firstSeed = Long.parseLong(dots < 0 ? value : value.substring(0, dots));
+                    sim.lastSeed = dots < 0 ? sim.firstSeed : Long.parseLong(value.substring(dots + 2));
+                }
+                case "games" -> sim.lastSeed = sim.firstSeed + Long.parseLong(value) - 1;
+                case "board" -> sim.boardSize = Integer.parseInt(value);
+                case "level" -> sim.level = GameLevel.valueOf(value.toUpperCase());
+                case "player" -> sim.playerStrategy = value;
+                case "ai" -> sim.aiStrategy = value;
+                case "max-ticks" -> sim.maxTicks = Integer.parseInt(value);
+                case "threads" -> sim.threads = Integer.parseInt(value);
+                case "out" -> sim.out = Paths.get(value);
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + key);
+            }
+        }
+        if (sim.lastSeed < sim.firstSeed) throw new IllegalArgumentException("Pusty zakres ziaren");
+        if (sim.boardSize < MIN_BOARD) throw new IllegalArgumentException("Plansza musi mieć co najmniej " + MIN_BOARD + " komórek");
+        if (sim.threads < 1 || sim.maxTicks < 1) throw new IllegalArgumentException("Liczba wątków i limit kroków muszą być dodatnie");
+        // weryfikacja nazw strategii przed startem
+        Strategies.create(sim.playerStrategy, 0);
+        Strategies.create(sim.aiStrategy, 0);
+        return sim;
+    }
+
+    /**
+     * Uruchamia symulację, zapisuje raport i wypisuje podsumowanie.
+     *
+     * @throws IOException w przypadku błędu zapisu raportu
+     */
+    private void run() throws IOException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        SimulationStats stats;
+        try {
+            stats = pool.invoke(new SeedRangeTask(firstSeed, lastSeed + 1));
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(out))) {
+            w.println("# Snake batch simulation report");
+            w.printf("seeds: %d..%d%n", firstSeed, lastSeed);
+            w.printf("board: %d%n", boardSize);
+            w.printf("level: %s%n", level);
+            w.printf("player_strategy: %s%n", playerStrategy);
+            w.printf("ai_strategy: %s%n", aiStrategy);
+            w.printf("max_ticks: %d%n", maxTicks);
+            w.printf("threads: %d%n", threads);
+            w.printf("wall_time_s: %.3f%n", seconds);
+            w.printf("games_per_s: %.1f%n", stats.getGames() / seconds);
+            w.printf("ticks_per_s: %.1f%n", stats.getTotalTicks() / seconds);
+            w.println();
+            stats.writeReport(w);
+        }
+        System.out.printf("Rozegrano %d gier w %.2f s (%.0f gier/s), raport: %s%n",
+                stats.getGames(), seconds, stats.getGames() / seconds, out.toAbsolutePath());
+    }
+
+    /**
+     * Rozgrywa jedną grę dla podanego ziarna i dopisuje jej wynik do statystyk, a potem zwalnia jej zasoby
+     * (wątki executora i strategii).
+     *
+     * @param seed ziarno gry
+     * @param stats statystyki zadania
+     */
+    private void play(long seed, SimulationStats stats) {
+        Game game = Game.headless(new Board(boardSize), seed);
+        setStrategies(game, seed, playerStrategy, aiStrategy);
+        try {
+            game.startGame(level);
+            while (game.getGameScreen() == GameScreen.GAME) {
+                if (game.getTicks() >= maxTicks) {
+                    game.endGame(DeathCause.TIMEOUT);
+                    break;
+                }
+                game.update();
+            }
+            stats.record(game.getLastTicks(), game.getLastScore(), game.getLastDeathCause());
+        } finally {
+            game.close();
+        }
+    }
+
+    /**
+     * Ustawia strategie węży gry o podanym ziarnie. Wspólne dla symulacji i odtwarzania pojedynczej gry
+     * ({@link ReplayRenderer}), aby gra o tym samym ziarnie przebiegała w obu identycznie.
+     *
+     * @param game gra
+     * @param seed ziarno gry
+     * @param playerStrategy nazwa strategii gracza
+     * @param aiStrategy nazwa strategii węży AI
+     */
+    static void setStrategies(Game game, long seed, String playerStrategy, String aiStrategy) {
+        game.setStrategy(SnakeType.PLAYER, Strategies.create(playerStrategy, seed));
+        game.setStrategy(SnakeType.AI1, Strategies.create(aiStrategy, seed * 31 + 1));
+        game.setStrategy(SnakeType.AI2, Strategies.create(aiStrategy, seed * 31 + 2));
+    }
+
+    /**
+     * Zadanie fork-join rozgrywające gry dla zakresu ziaren {@code [from, to)}.
+     */
+    private final class SeedRangeTask extends RecursiveTask<SimulationStats> {
+
+        /** Wersja serializacji klasy. */
+        private static final long serialVersionUID = 1L;
+
+        /** Pierwsze ziarno (włącznie). */
+        private final long from;
+
+        /** Ostatnie ziarno (wyłącznie). */
+        private final long to;
+
+        SeedRangeTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= LEAF_GAMES) {
+                SimulationStats stats = new SimulationStats(maxTicks);
+                for (long seed = from; seed < to; seed++) {
+                    play(seed, stats);
+                }
+                return stats;
+            }
+            long mid = from + (to - from) / 2;
+            SeedRangeTask left = new SeedRangeTask(from, mid);
+            left.fork();
+            SimulationStats right = new SeedRangeTask(mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package snake.sim;
+
+import snake.ai.Strategies;
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.Pictures;
+import snake.enums.DeathCause;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.state.RewindBuffer;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Klasa {@code ReplayRenderer} eksportuje rozgrywkę do sekwencji obrazów PNG (np. do zgłoszeń błędów
+ * lub złożenia filmu), bez okna i szybciej niż w czasie rzeczywistym. Gra jest odtwarzana przez ponowną
+ * symulację z ziarna i strategii – tak samo jak gra o tym ziarnie w {@link BatchSimulator} – a każdy krok
+ * rysowany jest tym samym kodem co w oknie ({@link Game#draw(Graphics2D, int, int)}) do {@link BufferedImage}.
+ * Ostatnia klatka pokazuje chwilę śmierci gracza, odtworzoną z krótkiej historii {@link RewindBuffer}.
+ *
+ * <p>Symulacja i rysowanie odbywają się w jednym wątku, a kodowanie PNG – najdroższa część – równolegle
+ * w puli wątków. Obrazy pochodzą ze stałej puli ({@code --buffers}): gdy wszystkie czekają na zakodowanie,
+ * symulacja czeka, więc zużycie pamięci nie zależy od długości gry ani od tempa zapisu na dysk.</p>
+ *
+ * <p>Przykład: {@code java snake.sim.ReplayRenderer --seed=42 --level=HARD --player=flood --out=replay-42}
+ * (klatki {@code frame-000000.png}, {@code frame-000001.png}, ..., np. dla
+ * {@code ffmpeg -framerate 10 -i frame-%06d.png replay.mp4}).</p>
+ */
+public final class ReplayRenderer {
+
+    /** Tempo gry w czasie rzeczywistym (kroków na sekundę), do porównania z tempem eksportu. */
+    private static final double REAL_TIME_FPS = 10;
+
+    /** Ziarno odtwarzanej gry. */
+    private long seed = 0;
+
+    /** Rozmiar planszy (liczba komórek w wierszu). */
+    private int boardSize = Board.DEFAULT_CELL_COUNT;
+
+    /** Poziom trudności. */
+    private GameLevel level = GameLevel.EASY;
+
+    /** Strategia sterująca wężem gracza. */
+    private String playerStrategy = "greedy";
+
+    /** Strategia sterująca wężami AI. */
+    private String aiStrategy = "greedy";
+
+    /** Limit kroków gry. */
+    private int maxTicks = 10_000;
+
+    /** Liczba wątków kodujących PNG. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Liczba obrazów w obiegu (ogranicza zużycie pamięci). */
+    private int buffers = 0;
+
+    /** Katalog wyjściowy klatek ({@code null} – {@code replay-ZIARNO}). */
+    private Path out;
+
+    /** Pierwszy błąd zapisu klatki (przerywa eksport). */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private ReplayRenderer() {
+    }
+
+    /**
+     * Punkt wejścia eksportu.
+     *
+     * @param args opcje w postaci {@code --nazwa=wartość}
+     * @throws IOException w przypadku błędu zapisu klatek
+     * @throws InterruptedException jeśli wątek został przerwany w trakcie eksportu
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ReplayRenderer renderer;
+        try {
+            renderer = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Opcje: --seed=N --board=N --level=EASY|MEDIUM|HARD --player=S --ai=S"
+                    + " --max-ticks=N --threads=N --buffers=N --out=KATALOG (strategie: " + Strategies.names() + ")");
+            System.exit(2);
+            return;
+        }
+        renderer.run();
+    }
+
+    /**
+     * Odczytuje konfigurację z argumentów wiersza poleceń.
+     *
+     * @param args argumenty
+     * @return skonfigurowany eksport
+     */
+    private static ReplayRenderer parse(String[] args) {
+        ReplayRenderer r = new ReplayRenderer();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Niepoprawny argument: " + arg);
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "seed" -> r.seed = Long.parseLong(value);
+                case "board" -> r.boardSize = Integer.parseInt(value);
+                case "level" -> r.level = GameLevel.valueOf(value.toUpperCase());
+                case "player" -> r.playerStrategy = value;
+                case "ai" -> r.aiStrategy = value;
+                case "max-ticks" -> r.maxTicks = Integer.parseInt(value);
+                case "threads" -> r.threads = Integer.parseInt(value);
+                case "buffers" -> r.buffers = Integer.parseInt(value);
+                case "out" -> r.out = Paths.get(value);
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + key);
+            }
+        }
+        if (r.threads < 1 || r.maxTicks < 1) throw new IllegalArgumentException("Liczba wątków i limit kroków muszą być dodatnie");
+        if (r.buffers <= 0) r.buffers = 2 * r.threads;
+        if (r.out == null) r.out = Paths.get("replay-" + r.seed);
+        Strategies.create(r.playerStrategy, 0);
+        Strategies.create(r.aiStrategy, 0);
+        return r;
+    }
+
+    /**
+     * Odtwarza grę i zapisuje jej klatki, a na końcu wypisuje podsumowanie z tempem eksportu.
+     *
+     * @throws IOException w przypadku błędu zapisu klatek
+     * @throws InterruptedException jeśli wątek został przerwany
+     */
+    private void run() throws IOException, InterruptedException {
+        Files.createDirectories(out);
+        ImageIO.setUseCache(false);
+        Pictures pictures = new Pictures();
+        pictures.loaded().join();
+
+        Board board = new Board(boardSize);
+        int width = board.getCellCount() * board.getCellSize();
+        int height = width + board.getScoreHeight();
+        BlockingQueue<BufferedImage> free = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            free.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+        }
+        AtomicInteger workerId = new AtomicInteger();
+        ExecutorService encoders = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "snake-png-" + workerId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        long start = System.nanoTime();
+        Game game = Game.headless(board, pictures, seed);
+        BatchSimulator.setStrategies(game, seed, playerStrategy, aiStrategy);
+        RewindBuffer rewind = new RewindBuffer(board, RewindBuffer.KEYFRAME_INTERVAL + 1);
+        game.setRewind(rewind);
+        int frames = 0;
+        try {
+            game.startGame(level);
+            while (game.getGameScreen() == GameScreen.GAME && failure.get() == null) {
+                frames = submit(game, width, height, frames, free, encoders);
+                if (game.getTicks() >= maxTicks) {
+                    game.endGame(DeathCause.TIMEOUT);
+                    break;
+                }
+                game.update();
+            }
+            if (game.getLastDeathCause() != DeathCause.TIMEOUT && rewind.size() > 0 && failure.get() == null) {
+                // stan w chwili śmierci jest już wyczyszczony – ostatnia klatka pochodzi z historii
+                Game death = Game.view(board, pictures);
+                rewind.seek(rewind.size() - 1, death);
+                death.publish();
+                frames = submit(death, width, height, frames, free, encoders);
+            }
+        } finally {
+            game.close();
+            encoders.shutdown();
+            encoders.awaitTermination(1, TimeUnit.HOURS);
+        }
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IOException("Nie można zapisać klatki powtórki", error);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Zapisano %d klatek (%d kroków, wynik %d, %s) w %.2f s – %.0f kl./s, %.0fx czas rzeczywisty: %s%n",
+                frames, game.getLastTicks(), game.getLastScore(), game.getLastDeathCause(), seconds,
+                frames / seconds, frames / seconds / REAL_TIME_FPS, out.toAbsolutePath());
+    }
+
+    /**
+     * Rysuje bieżącą klatkę gry do wolnego obrazu z puli (czekając na niego, jeśli wszystkie są w obiegu)
+     * i zleca jej zakodowanie; obraz wraca do puli po zapisie.
+     *
+     * @param game     gra z opublikowaną klatką
+     * @param width    szerokość klatki
+     * @param height   wysokość klatki
+     * @param frame    numer klatki
+     * @param free     pula wolnych obrazów
+     * @param encoders pula wątków kodujących
+     * @return numer następnej klatki
+     * @throws InterruptedException jeśli wątek został przerwany w oczekiwaniu na obraz
+     */
+    private int submit(Game game, int width, int height, int frame, BlockingQueue<BufferedImage> free,
+                       ExecutorService encoders) throws InterruptedException {
+        BufferedImage image = free.take();
+        Graphics2D g = image.createGraphics();
+        try {
+            game.draw(g, width, height);
+        } finally {
+            g.dispose();
+        }
+        Path file = out.resolve(String.format("frame-%06d.png", frame));
+        encoders.execute(() -> {
+            try {
+                if (!ImageIO.write(image, "png", file.toFile())) {
+                    throw new IOException("Brak kodera PNG");
+                }
+            } catch (IOException e) {
+                failure.compareAndSet(null, new UncheckedIOException(file.toString(), e));
+            } finally {
+                free.add(image);
+            }
+        });
+        return frame + 1;
+    }
+}
@@ -0,0 +1,157 @@
+package snake.sim;
+
+import snake.enums.DeathCause;
+
+import java.io.PrintWriter;
+
+/**
+ * Klasa {@code SimulationStats} zbiera statystyki z wielu rozegranych gier:
+ * czas przeżycia, wynik i rozkład przyczyn śmierci.
+ * Każde zadanie symulacji ma własny obiekt, a wyniki są łączone metodą {@link #merge(SimulationStats)},
+ * więc zbieranie nie wymaga synchronizacji.
+ */
+public class SimulationStats {
+
+    /** Liczba przedziałów histogramu czasu przeżycia. */
+    private static final int SURVIVAL_BUCKETS = 20;
+
+    /** Największy wynik z osobnym przedziałem w histogramie (wyższe trafiają do ostatniego). */
+    private static final int MAX_SCORE_BUCKET = 64;
+
+    /** Szerokość przedziału histogramu czasu przeżycia (w krokach). */
+    private final int survivalBucketWidth;
+
+    /** Histogram czasu przeżycia. */
+    private final long[] survival = new long[SURVIVAL_BUCKETS];
+
+    /** Histogram wyników. */
+    private final long[] scores = new long[MAX_SCORE_BUCKET + 1];
+
+    /** Liczba zakończeń gry według przyczyny. */
+    private final long[] deaths = new long[DeathCause.values().length];
+
+    /** Liczba rozegranych gier. */
+    private long games = 0;
+
+    /** Suma kroków wszystkich gier. */
+    private long totalTicks = 0;
+
+    /** Suma wyników wszystkich gier. */
+    private long totalScore = 0;
+
+    /** Najwyższy wynik. */
+    private int maxScore = 0;
+
+    /** Najdłuższy czas przeżycia (w krokach). */
+    private int maxTicks = 0;
+
+    /**
+     * Tworzy pusty zbiór statystyk.
+     *
+     * @param tickLimit limit kroków jednej gry (wyznacza zakres histogramu przeżycia)
+     */
+    public SimulationStats(int tickLimit) {
+        this.survivalBucketWidth = Math.max(1, (tickLimit + SURVIVAL_BUCKETS - 1) / SURVIVAL_BUCKETS);
+    }
+
+    /**
+     * Dodaje wynik jednej gry.
+     *
+     * @param ticks liczba kroków, które przeżył wąż gracza
+     * @param score wynik gracza
+     * @param cause przyczyna zakończenia gry
+     */
+    public void record(int ticks, int score, DeathCause cause) {
+        games++;
+        totalTicks += ticks;
+        totalScore += score;
+        maxScore = Math.max(maxScore, score);
+        maxTicks = Math.max(maxTicks, ticks);
+        survival[Math.min(SURVIVAL_BUCKETS - 1, ticks / survivalBucketWidth)]++;
+        scores[Math.min(MAX_SCORE_BUCKET, score)]++;
+        deaths[cause.ordinal()]++;
+    }
+
+    /**
+     * Dołącza statystyki z innego obiektu (o tym samym limicie kroków).
+     *
+     * @param other statystyki do dołączenia
+     * @return ten obiekt
+     */
+    public SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        totalTicks += other.totalTicks;
+        totalScore += other.totalScore;
+        maxScore = Math.max(maxScore, other.maxScore);
+        maxTicks = Math.max(maxTicks, other.maxTicks);
+        for (int i = 0; i < survival.length; i++) survival[i] += other.survival[i];
+        for (int i = 0; i < scores.length; i++) scores[i] += other.scores[i];
+        for (int i = 0; i < deaths.length; i++) deaths[i] += other.deaths[i];
+        return this;
+    }
+
+    /**
+     * Zwraca liczbę rozegranych gier.
+     *
+     * @return liczba gier
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Zwraca łączną liczbę kroków wszystkich gier.
+     *
+     * @return suma kroków
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Zapisuje raport tekstowy ze statystykami.
+     *
+     * @param out strumień wyjściowy
+     */
+    public void writeReport(PrintWriter out) {
+        double avgTicks = games == 0 ? 0 : totalTicks / (double) games;
+        double avgScore = games == 0 ? 0 : totalScore / (double) games;
+        out.printf("games: %d%n", games);
+        out.printf("survival.avg_ticks: %.2f%n", avgTicks);
+        out.printf("survival.max_ticks: %d%n", maxTicks);
+        out.printf("score.avg: %.3f%n", avgScore);
+        out.printf("score.max: %d%n", maxScore);
+
+        out.println();
+        out.println("# death causes");
+        for (DeathCause cause : DeathCause.values()) {
+            long n = deaths[cause.ordinal()];
+            out.printf("death.%s: %d (%.2f%%)%n", cause.name(), n, percent(n));
+        }
+
+        out.println();
+        out.println("# survival histogram [from_tick, to_tick): games");
+        for (int i = 0; i < survival.length; i++) {
+            int from = i * survivalBucketWidth;
+            String to = (i == survival.length - 1) ? "inf" : String.valueOf(from + survivalBucketWidth);
+            out.printf("survival[%d, %s): %d%n", from, to, survival[i]);
+        }
+
+        out.println();
+        out.println("# score histogram");
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] == 0) continue;
+            out.printf("score[%s]: %d%n", (i == MAX_SCORE_BUCKET) ? i + "+" : String.valueOf(i), scores[i]);
+        }
+    }
+
+    /**
+     * Przelicza liczbę gier na procent wszystkich gier.
+     *
+     * @param n liczba gier
+     * @return procent
+     */
+    private double percent(long n) {
+        return games == 0 ? 0 : 100.0 * n / games;
+    }
+}
@@ -0,0 +1,446 @@
+package snake.sim;
+
+import snake.ai.Strategies;
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.Pictures;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Klasa {@code Tournament} prowadzi jednocześnie wiele niezależnych gier samych węży AI (np. siatkę 4×4)
+ * do oglądania w jednym oknie ({@link snake.TournamentPanel}) i jako test obciążenia rozdziału symulacji
+ * od rysowania: każda plansza publikuje klatki ({@link Game#publish()}), a wątek rysujący je tylko odczytuje.
+ *
+ * <p>Plansze są rozdzielone między wątki symulacji po równo, najwyżej po jednym wątku na rdzeń, a każda plansza
+ * przez cały czas należy do tego samego wątku – jej stan nie wędruje między rdzeniami, a wątki nie współdzielą
+ * niczego poza licznikiem ziaren. Zakończona gra od razu zaczyna się od nowa z kolejnym ziarnem; ziarno
+ * pozwala ją potem odtworzyć ({@link ReplayRenderer}) przy tych samych ustawieniach.</p>
+ *
+ * <p>Tempo gier ustala {@code ticksPerSecond} (0 – tak szybko, jak pozwala procesor). Koszt kroku i tempo
+ * każdej planszy wylicza {@link #sample()}, wywoływana cyklicznie przez widok; co {@value #REPORT_INTERVAL_NANOS} ns
+ * podsumowanie trafia też na standardowe wyjście.</p>
+ */
+public final class Tournament {
+
+    /** Odstęp między podsumowaniami na standardowym wyjściu (w nanosekundach). */
+    private static final long REPORT_INTERVAL_NANOS = 10_000_000_000L;
+
+    /** Liczba kolumn siatki plansz. */
+    private final int columns;
+
+    /** Liczba wierszy siatki plansz. */
+    private final int rows;
+
+    /** Poziom trudności gier. */
+    private final GameLevel level;
+
+    /** Strategia sterująca wężem gracza. */
+    private final String playerStrategy;
+
+    /** Strategia sterująca wężami AI. */
+    private final String aiStrategy;
+
+    /** Odstęp między krokami gier w nanosekundach (0 – bez ograniczenia). */
+    private final long periodNanos;
+
+    /** Plansze turnieju (według pozycji w siatce, wierszami). */
+    private final Match[] matches;
+
+    /** Wątki symulacji. */
+    private final Thread[] workers;
+
+    /** Ziarno następnej gry. */
+    private final AtomicLong nextSeed;
+
+    /** Czy wątki symulacji mają działać. */
+    private volatile boolean running = false;
+
+    /** Chwila poprzedniego próbkowania statystyk. */
+    private long lastSample = System.nanoTime();
+
+    /** Chwila ostatniego podsumowania na standardowym wyjściu. */
+    private long lastReport = System.nanoTime();
+
+    /** Łączne tempo wszystkich plansz z ostatniego próbkowania (kroków na sekundę). */
+    private volatile double totalTicksPerSecond;
+
+    /**
+     * Tworzy turniej (gry zaczynają się po {@link #start()}).
+     *
+     * @param columns        liczba kolumn siatki plansz
+     * @param rows           liczba wierszy siatki plansz
+     * @param boardSize      rozmiar planszy (liczba komórek w wierszu)
+     * @param pictures       zasoby graficzne wspólne dla wszystkich plansz
+     * @param level          poziom trudności
+     * @param playerStrategy nazwa strategii gracza
+     * @param aiStrategy     nazwa strategii węży AI
+     * @param ticksPerSecond tempo gier (0 – bez ograniczenia)
+     * @param firstSeed      ziarno pierwszej gry
+     * @throws IllegalArgumentException jeśli siatka jest pusta lub nazwa strategii jest nieznana
+     */
+    public Tournament(int columns, int rows, int boardSize, Pictures pictures, GameLevel level,
+                      String playerStrategy, String aiStrategy, int ticksPerSecond, long firstSeed) {
+        if (columns < 1 || rows < 1) {
+            throw new IllegalArgumentException("Turniej musi mieć co najmniej jedną planszę: " + columns + "x" + rows);
+        }
+        Strategies.create(playerStrategy, 0);
+        Strategies.create(aiStrategy, 0);
+        this.columns = columns;
+        this.rows = rows;
+        this.level = level;
+        this.playerStrategy = playerStrategy;
+        this.aiStrategy = aiStrategy;
+        this.periodNanos = ticksPerSecond > 0 ? 1_000_000_000L / ticksPerSecond : 0;
+        this.nextSeed = new AtomicLong(firstSeed);
+        this.matches = new Match[columns * rows];
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = new Match(i, new Board(boardSize), pictures);
+        }
+        int threads = Math.min(matches.length, Runtime.getRuntime().availableProcessors());
+        this.workers = new Thread[threads];
+        for (int w = 0; w < threads; w++) {
+            int worker = w;
+            workers[w] = new Thread(() -> simulate(worker), "snake-board-" + (w + 1));
+            workers[w].setDaemon(true);
+        }
+    }
+
+    /**
+     * Tworzy turniej o siatce podanej jako {@code KOLUMNYxWIERSZE} (np. {@code 4x4}); pozostałe ustawienia
+     * pochodzą z właściwości {@code snake.tournament.level} (domyślnie MEDIUM), {@code snake.tournament.player}
+     * (domyślnie {@code flood}), {@code snake.ai} (domyślnie {@code greedy}), {@code snake.tournament.tps}
+     * (kroków na sekundę, domyślnie 10; 0 – bez ograniczenia) i {@code snake.tournament.seed} (domyślnie 0).
+     *
+     * @param grid     rozmiar siatki
+     * @param pictures zasoby graficzne
+     * @return nowy turniej
+     * @throws IllegalArgumentException jeśli rozmiar siatki lub któreś ustawienie jest niepoprawne
+     */
+    public static Tournament fromSpec(String grid, Pictures pictures) {
+        String[] parts = grid.trim().toLowerCase().split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Niepoprawny rozmiar turnieju: " + grid + " (oczekiwano np. 4x4)");
+        }
+        return new Tournament(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Board.DEFAULT_CELL_COUNT, pictures,
+                GameLevel.valueOf(System.getProperty("snake.tournament.level", "MEDIUM").toUpperCase()),
+                System.getProperty("snake.tournament.player", "flood"),
+                System.getProperty("snake.ai", "greedy"),
+                Integer.parseInt(System.getProperty("snake.tournament.tps", "10")),
+                Long.parseLong(System.getProperty("snake.tournament.seed", "0")));
+    }
+
+    /**
+     * Zaczyna pierwsze gry na wszystkich planszach i uruchamia wątki symulacji (turniej można uruchomić raz).
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (Match m : matches) {
+            m.restart();
+        }
+        for (Thread t : workers) {
+            t.start();
+        }
+    }
+
+    /**
+     * Zatrzymuje wątki symulacji, czeka na ich zakończenie i zwalnia zasoby bieżących gier.
+     */
+    public synchronized void stop() {
+        running = false;
+        for (Thread t : workers) {
+            LockSupport.unpark(t);
+            try {
+                t.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Match m : matches) {
+            Game g = m.game;
+            if (g != null) {
+                g.close();
+            }
+        }
+    }
+
+    /**
+     * Pętla wątku symulacji: wykonuje po kroku na każdej ze swoich plansz (co {@code worker}-tą planszę),
+     * a potem czeka do następnego terminu (lub od razu przechodzi dalej, gdy tempo nie jest ograniczone).
+     *
+     * @param worker numer wątku
+     */
+    private void simulate(int worker) {
+        long next = System.nanoTime();
+        while (running) {
+            for (int i = worker; i < matches.length; i += workers.length) {
+                try {
+                    matches[i].tick();
+                } catch (RuntimeException e) {
+                    System.err.println("Błąd planszy " + (i + 1) + " turnieju:");
+                    e.printStackTrace();
+                    matches[i].restart();
+                }
+            }
+            if (periodNanos > 0) {
+                next += periodNanos;
+                long now = System.nanoTime();
+                if (next - now < -periodNanos) {
+                    next = now; // zaległości nie są nadrabiane
+                }
+                LockSupport.parkNanos(next - now);
+            }
+        }
+    }
+
+    /**
+     * Wylicza tempo i średni koszt kroku każdej planszy od poprzedniego wywołania
+     * (wywoływana cyklicznie, np. co sekundę, przez jeden wątek) i co jakiś czas wypisuje podsumowanie.
+     */
+    public void sample() {
+        long now = System.nanoTime();
+        double seconds = (now - lastSample) / 1e9;
+        if (seconds <= 0) return;
+        lastSample = now;
+        double total = 0;
+        for (Match m : matches) {
+            total += m.sample(seconds);
+        }
+        totalTicksPerSecond = total;
+        if (now - lastReport >= REPORT_INTERVAL_NANOS) {
+            lastReport = now;
+            long games = 0;
+            double cost = 0;
+            int best = 0;
+            for (Match m : matches) {
+                games += m.games;
+                cost += m.tickMicros;
+                best = Math.max(best, m.bestScore);
+            }
+            System.out.printf("[tournament] %d plansz, %d wątków: %.0f kroków/s, krok %.1f µs, gier %d, najlepszy wynik %d%n",
+                    matches.length, workers.length, total, cost / matches.length, games, best);
+        }
+    }
+
+    /**
+     * Zwraca liczbę kolumn siatki plansz.
+     *
+     * @return liczba kolumn
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Zwraca liczbę wierszy siatki plansz.
+     *
+     * @return liczba wierszy
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Zwraca planszę o podanym numerze (wierszami od lewego górnego rogu).
+     *
+     * @param index numer planszy
+     * @return plansza turnieju
+     */
+    public Match getMatch(int index) {
+        return matches[index];
+    }
+
+    /**
+     * Zwraca liczbę wątków symulacji.
+     *
+     * @return liczba wątków
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Zwraca łączne tempo wszystkich plansz z ostatniego próbkowania.
+     *
+     * @return kroków na sekundę
+     */
+    public double getTotalTicksPerSecond() {
+        return totalTicksPerSecond;
+    }
+
+    /**
+     * Klasa {@code Match} to jedna plansza turnieju: gra, jej liczniki (zapisywane tylko przez wątek symulacji
+     * tej planszy) i statystyki wyliczane przez {@link #sample()}.
+     */
+    public final class Match {
+
+        /** Numer planszy. */
+        private final int index;
+
+        /** Plansza gry (wspólna dla kolejnych gier, bo przechowuje tło do rysowania). */
+        private final Board board;
+
+        /** Zasoby graficzne. */
+        private final Pictures pictures;
+
+        /** Bieżąca gra planszy (zastępowana nową po zakończeniu). */
+        private volatile Game game;
+
+        /** Ziarno bieżącej gry. */
+        private volatile long seed;
+
+        /** Liczba kroków wykonanych od startu turnieju. */
+        private volatile long ticks;
+
+        /** Łączny czas kroków od startu turnieju w nanosekundach. */
+        private volatile long tickNanos;
+
+        /** Liczba zakończonych gier. */
+        private volatile int games;
+
+        /** Najlepszy wynik zakończonej gry. */
+        private volatile int bestScore;
+
+        /** Liczba kroków w poprzedniej próbce. */
+        private long sampledTicks;
+
+        /** Czas kroków w poprzedniej próbce. */
+        private long sampledNanos;
+
+        /** Tempo z ostatniej próbki (kroków na sekundę). */
+        private volatile double ticksPerSecond;
+
+        /** Średni koszt kroku z ostatniej próbki w mikrosekundach. */
+        private volatile double tickMicros;
+
+        /**
+         * Tworzy planszę turnieju.
+         *
+         * @param index    numer planszy
+         * @param board    plansza gry (osobna dla każdej planszy turnieju)
+         * @param pictures zasoby graficzne
+         */
+        private Match(int index, Board board, Pictures pictures) {
+            this.index = index;
+            this.board = board;
+            this.pictures = pictures;
+        }
+
+        /**
+         * Wykonuje krok gry; zakończona gra zaczyna się od nowa z kolejnym ziarnem.
+         */
+        private void tick() {
+            Game g = game;
+            long start = System.nanoTime();
+            g.update();
+            tickNanos += System.nanoTime() - start;
+            ticks++;
+            if (g.getGameScreen() != GameScreen.GAME) {
+                games++;
+                bestScore = Math.max(bestScore, g.getLastScore());
+                restart();
+            }
+        }
+
+        /**
+         * Zaczyna nową grę z kolejnym ziarnem turnieju (z tym samym ziarnem i ustawieniami przebiega identycznie
+         * jak w {@link BatchSimulator} i {@link ReplayRenderer}) i zwalnia zasoby poprzedniej.
+         */
+        private void restart() {
+            long s = nextSeed.getAndIncrement();
+            Game fresh = Game.headless(board, pictures, s);
+            BatchSimulator.setStrategies(fresh, s, playerStrategy, aiStrategy);
+            fresh.startGame(level);
+            seed = s;
+            Game previous = game;
+            game = fresh;
+            if (previous != null) {
+                previous.close();
+            }
+        }
+
+        /**
+         * Wylicza tempo i koszt kroku od poprzedniej próbki.
+         *
+         * @param seconds czas od poprzedniej próbki w sekundach
+         * @return tempo planszy (kroków na sekundę)
+         */
+        private double sample(double seconds) {
+            long t = ticks;
+            long n = tickNanos;
+            long dt = t - sampledTicks;
+            ticksPerSecond = dt / seconds;
+            tickMicros = dt > 0 ? (n - sampledNanos) / 1e3 / dt : 0;
+            sampledTicks = t;
+            sampledNanos = n;
+            return ticksPerSecond;
+        }
+
+        /**
+         * Zwraca bieżącą grę planszy (do rysowania jej ostatniej opublikowanej klatki).
+         *
+         * @return gra
+         */
+        public Game getGame() {
+            return game;
+        }
+
+        /**
+         * Zwraca numer planszy.
+         *
+         * @return numer planszy (od 0)
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Zwraca ziarno bieżącej gry.
+         *
+         * @return ziarno
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Zwraca liczbę zakończonych gier.
+         *
+         * @return liczba gier
+         */
+        public int getGames() {
+            return games;
+        }
+
+        /**
+         * Zwraca najlepszy wynik zakończonej gry.
+         *
+         * @return wynik
+         */
+        public int getBestScore() {
+            return bestScore;
+        }
+
+        /**
+         * Zwraca tempo planszy z ostatniej próbki.
+         *
+         * @return kroków na sekundę
+         */
+        public double getTicksPerSecond() {
+            return ticksPerSecond;
+        }
+
+        /**
+         * Zwraca średni koszt kroku z ostatniej próbki.
+         *
+         * @return czas kroku w mikrosekundach
+         */
+        public double getTickMicros() {
+            return tickMicros;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package snake.sim;
+
+import snake.core.Board;
+import snake.core.Cell;
+import snake.core.Food;
+import snake.core.Game;
+import snake.core.GameExecutor;
+import snake.core.Obstacle;
+import snake.core.Snake;
+import snake.core.SnakeBody;
+import snake.enums.DeathCause;
+import snake.enums.Direction;
+import snake.enums.ExecutionBackend;
+import snake.enums.GameLevel;
+import snake.enums.GameScreen;
+import snake.enums.SnakeType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Klasa {@code VectorEnv} to środowisko treningowe dla uczonych agentów, w stylu wektorowych środowisk Gym:
+ * {@code N} niezależnych plansz (osobnych gier bez grafiki), w których agent steruje wężem gracza,
+ * a węże AI – swoimi strategiami. Zasady i punktacja są dokładnie te same co w {@link Game},
+ * bo każda plansza to zwykła gra krokowana metodą {@link Game#update()}.
+ *
+ * <p>Jeden krok ({@link #step(int[], float[], float[], boolean[])}) przyjmuje akcję dla każdej planszy
+ * i zapisuje do tablic podanych przez wywołującego: obserwacje, nagrody (przyrost wyniku według punktacji gry)
+ * i flagi końca epizodu. Plansze są dzielone na części wykonywane równolegle na wszystkich rdzeniach
+ * ({@link GameExecutor}); w ustalonym biegu krok nie alokuje pamięci poza zadaniami executora.
+ * Zakończony epizod (śmierć węża gracza lub limit kroków) jest od razu rozpoczynany od nowa,
+ * a obserwacja dotyczy już nowego epizodu – wynik zakończonego jest dostępny w grze ({@link #getGame(int)}).</p>
+ *
+ * <p>Obserwacja planszy to {@value #CHANNELS} kanały {@code n × n} liczb {@code float} w układzie
+ * {@code [plansza][kanał][y][x]}:</p>
+ * <ul>
+ *     <li>{@link #CH_SELF} – wąż gracza (głowa {@value #HEAD}, reszta ciała {@value #BODY}),</li>
+ *     <li>{@link #CH_OTHERS} – żywe węże AI (jak wyżej),</li>
+ *     <li>{@link #CH_FOOD} – owoce (złote jabłko {@value #GOLDEN}, pozostałe {@value #FRUIT}),</li>
+ *     <li>{@link #CH_FROG} – żaba ({@value #HEAD}),</li>
+ *     <li>{@link #CH_OBSTACLES} – przeszkody ({@value #HEAD}).</li>
+ * </ul>
+ *
+ * <p>Akcja to numer kierunku ({@link Direction#ordinal()}) albo {@link #NOOP} (bez zmiany kierunku).
+ * Wąż gracza rusza dopiero po pierwszym skręcie, tak jak w grze sterowanej klawiaturą.</p>
+ */
+public class VectorEnv implements AutoCloseable {
+
+    /** Liczba kanałów obserwacji. */
+    public static final int CHANNELS = 5;
+
+    /** Kanał węża gracza. */
+    public static final int CH_SELF = 0;
+
+    /** Kanał węży AI. */
+    public static final int CH_OTHERS = 1;
+
+    /** Kanał owoców. */
+    public static final int CH_FOOD = 2;
+
+    /** Kanał żaby. */
+    public static final int CH_FROG = 3;
+
+    /** Kanał przeszkód. */
+    public static final int CH_OBSTACLES = 4;
+
+    /** Akcja bez zmiany kierunku. */
+    public static final int NOOP = -1;
+
+    /** Wartość głowy węża (oraz żaby i przeszkody) w obserwacji. */
+    public static final float HEAD = 1f;
+
+    /** Wartość segmentu ciała węża w obserwacji. */
+    public static final float BODY = 0.5f;
+
+    /** Wartość złotego jabłka w obserwacji. */
+    public static final float GOLDEN = 1f;
+
+    /** Wartość zwykłego owocu w obserwacji. */
+    public static final float FRUIT = 0.5f;
+
+    /** Kierunki według numeru akcji. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Liczba plansz. */
+    private final int count;
+
+    /** Plansza wspólna dla wszystkich gier (rozmiar). */
+    private final Board board;
+
+    /** Liczba komórek jednego kanału. */
+    private final int plane;
+
+    /** Liczba wartości obserwacji jednej planszy. */
+    private final int stride;
+
+    /** Poziom trudności epizodów. */
+    private final GameLevel level;
+
+    /** Limit kroków epizodu (po jego osiągnięciu epizod kończy się przyczyną {@link DeathCause#TIMEOUT}). */
+    private final int maxTicks;
+
+    /** Gry według numeru planszy. */
+    private final Game[] games;
+
+    /** Wynik gracza po poprzednim kroku według numeru planszy. */
+    private final int[] lastScores;
+
+    /** Executor zadań części plansz. */
+    private final GameExecutor executor;
+
+    /** Zadania części plansz (tworzone raz). */
+    private final List<Shard> shards = new ArrayList<>();
+
+    /** Akcje bieżącego kroku ({@code null} – reset). */
+    private int[] actions;
+
+    /** Obserwacje bieżącego kroku w tablicy ({@code null}, jeśli zapis idzie do bufora). */
+    private float[] obsArray;
+
+    /** Obserwacje bieżącego kroku w buforze ({@code null}, jeśli zapis idzie do tablicy). */
+    private ByteBuffer obsBuffer;
+
+    /** Nagrody bieżącego kroku. */
+    private float[] rewards;
+
+    /** Flagi końca epizodu bieżącego kroku. */
+    private boolean[] dones;
+
+    /** Ziarno bieżącego resetu. */
+    private long seed;
+
+    /**
+     * Tworzy środowisko. Przed pierwszym krokiem należy wywołać {@code reset}.
+     *
+     * @param count     liczba plansz
+     * @param boardSize rozmiar planszy (liczba komórek w wierszu)
+     * @param level     poziom trudności (liczba przeszkód)
+     * @param maxTicks  limit kroków epizodu
+     * @param threads   liczba wątków (1 – wszystko w wątku wywołującym)
+     * @throws IllegalArgumentException jeśli któryś parametr nie jest dodatni
+     */
+    public VectorEnv(int count, int boardSize, GameLevel level, int maxTicks, int threads) {
+        if (count < 1 || boardSize < 1 || maxTicks < 1 || threads < 1) {
+            throw new IllegalArgumentException("Parametry środowiska muszą być dodatnie");
+        }
+        this.count = count;
+        this.board = new Board(boardSize);
+        this.plane = boardSize * boardSize;
+        this.stride = CHANNELS * plane;
+        this.level = level;
+        this.maxTicks = maxTicks;
+        this.games = new Game[count];
+        this.lastScores = new int[count];
+        int parts = Math.min(threads, count);
+        for (int s = 0; s < parts; s++) {
+            shards.add(new Shard(s * count / parts, (s + 1) * count / parts));
+        }
+        this.executor = new GameExecutor(parts == 1 ? ExecutionBackend.INLINE : ExecutionBackend.PLATFORM, "env", parts);
+        executor.start();
+    }
+
+    /**
+     * Rozpoczyna nowe epizody na wszystkich planszach; plansza {@code i} dostaje ziarno {@code seed + i},
+     * więc ten sam reset i te same akcje dają tę samą rozgrywkę.
+     *
+     * @param seed ziarno pierwszej planszy
+     * @param obs  tablica obserwacji o długości co najmniej {@link #observationSize()}
+     */
+    public void reset(long seed, float[] obs) {
+        checkArray(obs);
+        run(seed, null, obs, null, null, null);
+    }
+
+    /**
+     * Rozpoczyna nowe epizody na wszystkich planszach (zob. {@link #reset(long, float[])}),
+     * zapisując obserwacje jako liczby {@code float} w porządku bajtów bufora.
+     *
+     * @param seed ziarno pierwszej planszy
+     * @param obs  bufor (najlepiej bezpośredni) o pojemności co najmniej {@code 4 * observationSize()} bajtów
+     */
+    public void reset(long seed, ByteBuffer obs) {
+        checkBuffer(obs);
+        run(seed, null, null, obs, null, null);
+    }
+
+    /**
+     * Wykonuje jeden krok na wszystkich planszach.
+     *
+     * @param actions akcje według planszy (numer kierunku lub {@link #NOOP})
+     * @param obs     tablica obserwacji o długości co najmniej {@link #observationSize()}
+     * @param rewards nagrody według planszy (przyrost wyniku gracza w tym kroku)
+     * @param dones   flagi końca epizodu według planszy
+     */
+    public void step(int[] actions, float[] obs, float[] rewards, boolean[] dones) {
+        checkArray(obs);
+        checkStep(actions, rewards, dones);
+        run(seed, actions, obs, null, rewards, dones);
+    }
+
+    /**
+     * Wykonuje jeden krok na wszystkich planszach (zob. {@link #step(int[], float[], float[], boolean[])}),
+     * zapisując obserwacje jako liczby {@code float} w porządku bajtów bufora.
+     *
+     * @param actions akcje według planszy (numer kierunku lub {@link #NOOP})
+     * @param obs     bufor (najlepiej bezpośredni) o pojemności co najmniej {@code 4 * observationSize()} bajtów
+     * @param rewards nagrody według planszy (przyrost wyniku gracza w tym kroku)
+     * @param dones   flagi końca epizodu według planszy
+     */
+    public void step(int[] actions, ByteBuffer obs, float[] rewards, boolean[] dones) {
+        checkBuffer(obs);
+        checkStep(actions, rewards, dones);
+        run(seed, actions, null, obs, rewards, dones);
+    }
+
+    /**
+     * Zwraca liczbę plansz.
+     *
+     * @return liczba plansz
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Zwraca liczbę wartości obserwacji wszystkich plansz ({@code count * CHANNELS * n * n}).
+     *
+     * @return rozmiar obserwacji
+     */
+    public int observationSize() {
+        return count * stride;
+    }
+
+    /**
+     * Zwraca grę planszy, np. aby odczytać wynik i przyczynę zakończenia ostatniego epizodu.
+     * Gry nie należy zmieniać między krokami.
+     *
+     * @param index numer planszy
+     * @return gra planszy ({@code null} przed pierwszym resetem)
+     */
+    public Game getGame(int index) {
+        return games[index];
+    }
+
+    /**
+     * Zatrzymuje wątki środowiska.
+     */
+    @Override
+    public void close() {
+        executor.stop();
+    }
+
+    /**
+     * Zapamiętuje argumenty kroku i wykonuje zadania wszystkich części plansz.
+     *
+     * @param seed      ziarno pierwszej planszy (używane przy resecie)
+     * @param actions   akcje lub {@code null} przy resecie
+     * @param obsArray  tablica obserwacji lub {@code null}
+     * @param obsBuffer bufor obserwacji lub {@code null}
+     * @param rewards   nagrody lub {@code null} przy resecie
+     * @param dones     flagi końca lub {@code null} przy resecie
+     */
+    private void run(long seed, int[] actions, float[] obsArray, ByteBuffer obsBuffer, float[] rewards, boolean[] dones) {
+        this.seed = seed;
+        this.actions = actions;
+        this.obsArray = obsArray;
+        this.obsBuffer = obsBuffer;
+        this.rewards = rewards;
+        this.dones = dones;
+        try {
+            executor.invokeAll(shards);
+        } finally {
+            this.obsArray = null;
+            this.obsBuffer = null;
+        }
+    }
+
+    /**
+     * Sprawdza rozmiar tablicy obserwacji.
+     *
+     * @param obs tablica obserwacji
+     */
+    private void checkArray(float[] obs) {
+        if (obs.length < observationSize()) {
+            throw new IllegalArgumentException("Tablica obserwacji musi mieć co najmniej " + observationSize() + " elementów");
+        }
+    }
+
+    /**
+     * Sprawdza pojemność bufora obserwacji.
+     *
+     * @param obs bufor obserwacji
+     */
+    private void checkBuffer(ByteBuffer obs) {
+        if (obs.capacity() < (long) observationSize() * Float.BYTES) {
+            throw new IllegalArgumentException("Bufor obserwacji musi mieć co najmniej " + observationSize() * Float.BYTES + " B");
+        }
+    }
+
+    /**
+     * Sprawdza tablice akcji, nagród i flag końca oraz to, czy środowisko zostało zresetowane.
+     *
+     * @param actions akcje
+     * @param rewards nagrody
+     * @param dones   flagi końca
+     */
+    private void checkStep(int[] actions, float[] rewards, boolean[] dones) {
+        if (actions.length < count || rewards.length < count || dones.length < count) {
+            throw new IllegalArgumentException("Akcje, nagrody i flagi końca muszą mieć co najmniej " + count + " elementów");
+        }
+        if (games[0] == null) {
+            throw new IllegalStateException("Przed pierwszym krokiem należy wywołać reset");
+        }
+    }
+
+    /**
+     * Zadanie obsługujące ciągły zakres plansz {@code [from, to)} w jednym wątku.
+     */
+    private final class Shard implements Callable<Void> {
+
+        /** Pierwsza plansza (włącznie). */
+        private final int from;
+
+        /** Ostatnia plansza (wyłącznie). */
+        private final int to;
+
+        /** Bufor komórek węża (rośnie razem z najdłuższym wężem). */
+        private int[] cells = new int[64];
+
+        Shard(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Void call() {
+            for (int i = from; i < to; i++) {
+                if (actions == null) {
+                    resetBoard(i);
+                } else {
+                    stepBoard(i);
+                }
+                observe(i);
+            }
+            return null;
+        }
+
+        /**
+         * Tworzy grę planszy z ziarnem i rozpoczyna epizod.
+         *
+         * @param i numer planszy
+         */
+        private void resetBoard(int i) {
+            Game game = Game.headless(board, seed + i);
+            game.startGame(level);
+            games[i] = game;
+            lastScores[i] = 0;
+        }
+
+        /**
+         * Stosuje akcję, wykonuje krok gry, wylicza nagrodę i w razie końca epizodu rozpoczyna kolejny.
+         *
+         * @param i numer planszy
+         */
+        private void stepBoard(int i) {
+            Game game = games[i];
+            int action = actions[i];
+            if (action >= 0 && action < DIRECTIONS.length) {
+                game.getSnake(SnakeType.PLAYER).moveDirection(DIRECTIONS[action]);
+            }
+            game.update();
+            boolean done = game.getGameScreen() != GameScreen.GAME;
+            if (!done && game.getTicks() >= maxTicks) {
+                game.endGame(DeathCause.TIMEOUT);
+                done = true;
+            }
+            int score = done ? game.getLastScore() : game.getScore();
+            rewards[i] = score - lastScores[i];
+            dones[i] = done;
+            if (done) {
+                game.startGame(level);
+                lastScores[i] = 0;
+            } else {
+                lastScores[i] = score;
+            }
+        }
+
+        /**
+         * Zapisuje obserwację planszy.
+         *
+         * @param i numer planszy
+         */
+        private void observe(int i) {
+            Game game = games[i];
+            int base = i * stride;
+            if (obsArray != null) {
+                Arrays.fill(obsArray, base, base + stride, 0f);
+            } else {
+                for (int b = base * Float.BYTES, end = (base + stride) * Float.BYTES; b < end; b += Long.BYTES) {
+                    if (end - b >= Long.BYTES) {
+                        obsBuffer.putLong(b, 0L);
+                    } else {
+                        obsBuffer.putInt(b, 0);
+                    }
+                }
+            }
+
+            markSnake(base + CH_SELF * plane, game.getSnake(SnakeType.PLAYER));
+            markSnake(base + CH_OTHERS * plane, game.getSnake(SnakeType.AI1));
+            markSnake(base + CH_OTHERS * plane, game.getSnake(SnakeType.AI2));
+
+            Food food = game.getFood();
+            for (int f = 0; f < food.getCount(); f++) {
+                mark(base + CH_FOOD * plane, food.getPosition(f),
+                        food.getType(f) == Food.GOLDEN_APPLE_INDEX ? GOLDEN : FRUIT);
+            }
+            int frog = game.getFrog().getPosition();
+            if (frog != Cell.NONE) {
+                mark(base + CH_FROG * plane, frog, HEAD);
+            }
+            Obstacle obstacle = game.getObstacle();
+            for (int o = 0; o < obstacle.getCount(); o++) {
+                mark(base + CH_OBSTACLES * plane, obstacle.getCell(o), HEAD);
+            }
+        }
+
+        /**
+         * Zaznacza żywego węża w kanale: od końca ogona do głowy, aby głowa nie została nadpisana.
+         *
+         * @param offset początek kanału
+         * @param snake  wąż
+         */
+        private void markSnake(int offset, Snake snake) {
+            if (!snake.isAlive()) return;
+            SnakeBody body = snake.getBody();
+            if (cells.length < body.size()) {
+                cells = new int[Math.max(body.size(), cells.length * 2)];
+            }
+            int length = body.copyTo(cells);
+            for (int k = length - 1; k > 0; k--) {
+                mark(offset, cells[k], BODY);
+            }
+            if (length > 0) {
+                mark(offset, cells[0], HEAD);
+            }
+        }
+
+        /**
+         * Ustawia wartość komórki kanału (komórki poza planszą są pomijane).
+         *
+         * @param offset początek kanału
+         * @param cell   komórka
+         * @param value  wartość
+         */
+        private void mark(int offset, int cell, float value) {
+            int n = board.getCellCount();
+            if (!Cell.inside(cell, n)) return;
+            int index = offset + Cell.y(cell) * n + Cell.x(cell);
+            if (obsArray != null) {
+                obsArray[index] = value;
+            } else {
+                obsBuffer.putFloat(index * Float.BYTES, value);
+            }
+        }
+    }
+}
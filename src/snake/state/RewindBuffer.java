@@ -0,0 +1,291 @@
+package snake.state;
+
+import snake.core.Board;
+import snake.core.Game;
+import snake.net.Protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Klasa {@code RewindBuffer} przechowuje ostatnie kroki rozgrywki w buforze cyklicznym o stałym rozmiarze,
+ * aby po śmierci gracza można było od razu obejrzeć jej przebieg ({@link RewindPlayer}) lub przewinąć
+ * rozgrywkę krok po kroku przy szukaniu błędów.
+ *
+ * <p>Każdy krok zapisywany jest jako migawka różnicowa {@link SnapshotCodec} (kierunek i przyrost każdego węża –
+ * nowa głowa i zwolniony ogon wynikają z nich – zmienione owoce i pozycja żaby), a co
+ * {@value #KEYFRAME_INTERVAL} kroków oraz na początku rozgrywki – jako migawka pełna. Migawki trafiają do jednej
+ * tablicy bajtów zapisywanej po okręgu; najstarsze są usuwane, gdy brakuje miejsca lub pozycji w indeksie,
+ * a bufor zawsze zaczyna się od migawki pełnej, od której można odtworzyć każdy późniejszy krok.</p>
+ *
+ * <p>Razem z każdym krokiem zapamiętywany jest hasz stanu gry ({@link Game#getStateHash()}); przewinięcie
+ * porównuje z nim hasz stanu odtworzonego z migawek, więc rozjechanie się kodeka ze stanem gry jest zgłaszane
+ * zamiast wyświetlania innej pozycji niż rozegrana.</p>
+ *
+ * <p>Cała pamięć (tablica migawek, indeks i bufor kodowania) rezerwowana jest w konstruktorze, więc zapis kroku
+ * niczego nie alokuje. Zapis i odczyt odbywają się w wątku gry (pod jej blokadą).</p>
+ */
+public final class RewindBuffer {
+
+    /** Domyślna długość przechowywanej historii w sekundach. */
+    public static final int DEFAULT_SECONDS = 10;
+
+    /** Co ile kroków zapisywana jest migawka pełna (ogranicza koszt przewijania do dowolnego kroku). */
+    public static final int KEYFRAME_INTERVAL = 32;
+
+    /** Szacowany największy rozmiar migawki różnicowej w bajtach (do doboru rozmiaru bufora). */
+    private static final int DELTA_BYTES = 64;
+
+    /** Koder kolejnych kroków gry. */
+    private SnapshotCodec encoder = new SnapshotCodec();
+
+    /** Dekoder używany przy przewijaniu. */
+    private final SnapshotCodec decoder = new SnapshotCodec();
+
+    /** Bufor, do którego kodowana jest migawka przed skopiowaniem do {@link #data}. */
+    private final ByteBuffer scratch;
+
+    /** Zapisane migawki (bufor cykliczny). */
+    private final byte[] data;
+
+    /** Widok {@link #data} używany przy dekodowaniu. */
+    private final ByteBuffer reader;
+
+    /** Położenie migawek w {@link #data} (indeks cykliczny). */
+    private final int[] offsets;
+
+    /** Długości migawek w bajtach. */
+    private final int[] lengths;
+
+    /** Numery kroków gry zapisanych w migawkach. */
+    private final int[] ticks;
+
+    /** Hasze stanu gry w zapisanych krokach. */
+    private final long[] hashes;
+
+    /** Rodzaje migawek ({@link SnapshotCodec#KEYFRAME} lub {@link SnapshotCodec#DELTA}). */
+    private final byte[] kinds;
+
+    /** Pozycja najstarszej migawki w indeksie. */
+    private int first = 0;
+
+    /** Liczba przechowywanych migawek. */
+    private int size = 0;
+
+    /** Miejsce w {@link #data}, od którego zostanie zapisana następna migawka. */
+    private int writeOffset = 0;
+
+    /** Liczba kroków od ostatniej migawki pełnej. */
+    private int sinceKeyframe = 0;
+
+    /** Numer ostatnio odtworzonej migawki w grze widoku (-1 – żadnej). */
+    private int decoded = -1;
+
+    /**
+     * Tworzy bufor przechowujący podaną liczbę ostatnich kroków gry na planszy.
+     *
+     * @param board    plansza gry (rozmiar migawki pełnej zależy od liczby komórek)
+     * @param capacity liczba przechowywanych kroków
+     * @throws IllegalArgumentException jeśli liczba kroków jest mniejsza niż 1
+     */
+    public RewindBuffer(Board board, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Bufor przewijania musi mieścić co najmniej jeden krok: " + capacity);
+        }
+        int cells = board.getCellCount() * board.getCellCount();
+        int keyframeBytes = 128 + 16 * cells;
+        this.scratch = ByteBuffer.allocate(keyframeBytes);
+        this.data = new byte[keyframeBytes * (capacity / KEYFRAME_INTERVAL + 2) + DELTA_BYTES * capacity];
+        this.reader = ByteBuffer.wrap(data);
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        this.ticks = new int[capacity];
+        this.hashes = new long[capacity];
+        this.kinds = new byte[capacity];
+    }
+
+    /**
+     * Tworzy bufor przechowujący historię o długości podanej właściwością {@code snake.rewind}
+     * (w sekundach, domyślnie {@value #DEFAULT_SECONDS}; 0 wyłącza przewijanie).
+     *
+     * @param board plansza gry
+     * @return bufor lub {@code null}, jeśli przewijanie jest wyłączone
+     */
+    public static RewindBuffer fromProperty(Board board) {
+        String value = System.getProperty("snake.rewind", String.valueOf(DEFAULT_SECONDS));
+        double seconds;
+        try {
+            seconds = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Niepoprawna długość historii przewijania: " + value);
+            seconds = DEFAULT_SECONDS;
+        }
+        int capacity = (int) Math.round(seconds * 1000 / Protocol.TICK_MILLIS);
+        return capacity > 0 ? new RewindBuffer(board, capacity) : null;
+    }
+
+    /**
+     * Zapisuje bieżący stan gry jako kolejny krok historii. Wywoływana w wątku gry po każdym kroku
+     * (oraz na początku i w chwili końca rozgrywki); nie alokuje pamięci.
+     *
+     * @param game gra
+     */
+    public void record(Game game) {
+        scratch.clear();
+        boolean keyframe = sinceKeyframe + 1 >= KEYFRAME_INTERVAL;
+        byte kind = encoder.encode(game, scratch, keyframe);
+        sinceKeyframe = kind == SnapshotCodec.KEYFRAME ? 0 : sinceKeyframe + 1;
+        int length = scratch.position();
+
+        if (writeOffset + length > data.length) {
+            // migawki z końca tablicy pochodzą z poprzedniego okrążenia – są najstarsze
+            while (size > 0 && offsets[first] >= writeOffset) {
+                evict();
+            }
+            writeOffset = 0;
+        }
+        while (size > 0 && (size == offsets.length
+                || (offsets[first] >= writeOffset && offsets[first] < writeOffset + length))) {
+            evict();
+        }
+        // delty bez poprzedzającej migawki pełnej nie dają się odtworzyć
+        while (size > 0 && kinds[first] != SnapshotCodec.KEYFRAME) {
+            evict();
+        }
+        if (size == 0 && kind != SnapshotCodec.KEYFRAME) {
+            sinceKeyframe = KEYFRAME_INTERVAL;
+            return;
+        }
+
+        System.arraycopy(scratch.array(), 0, data, writeOffset, length);
+        int slot = (first + size) % offsets.length;
+        offsets[slot] = writeOffset;
+        lengths[slot] = length;
+        ticks[slot] = game.getTicks();
+        hashes[slot] = game.getStateHash();
+        kinds[slot] = kind;
+        size++;
+        writeOffset += length;
+        decoded = -1;
+    }
+
+    /**
+     * Usuwa najstarszą migawkę.
+     */
+    private void evict() {
+        first = (first + 1) % offsets.length;
+        size--;
+    }
+
+    /**
+     * Odtwarza w grze widoku stan z podanego kroku historii: od najbliższej wcześniejszej migawki pełnej
+     * stosuje kolejne delty (najwyżej {@value #KEYFRAME_INTERVAL}), a przy przewijaniu o jeden krok do przodu –
+     * tylko jedną deltę. Klatkę do narysowania publikuje wywołujący ({@link Game#publish()}).
+     *
+     * @param index numer kroku w historii (0 – najstarszy)
+     * @param view  gra służąca do wyświetlania (np. {@link Game#view(Board, snake.core.Pictures)})
+     * @throws IndexOutOfBoundsException jeśli historia nie zawiera kroku o tym numerze
+     * @throws IllegalStateException     jeśli odtworzony stan nie zgadza się z haszem zapisanym dla kroku
+     */
+    public void seek(int index, Game view) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Krok " + index + " poza historią o długości " + size);
+        }
+        int from = index;
+        if (decoded < 0 || index != decoded + 1 || kinds[slot(index)] == SnapshotCodec.KEYFRAME) {
+            while (kinds[slot(from)] != SnapshotCodec.KEYFRAME) {
+                from--;
+            }
+        } else {
+            from = decoded + 1;
+        }
+        for (int i = from; i <= index; i++) {
+            int slot = slot(i);
+            reader.limit(offsets[slot] + lengths[slot]).position(offsets[slot]);
+            decoder.decode(reader, view);
+        }
+        if (view.computeStateHash() != hashes[slot(index)]) {
+            decoded = -1;
+            throw new IllegalStateException("Stan odtworzony w kroku " + ticks[slot(index)]
+                    + " nie zgadza się z zapisanym haszem");
+        }
+        decoded = index;
+    }
+
+    /**
+     * Zamienia numer kroku w historii na pozycję w indeksie cyklicznym.
+     *
+     * @param index numer kroku w historii
+     * @return pozycja w indeksie
+     */
+    private int slot(int index) {
+        return (first + index) % offsets.length;
+    }
+
+    /**
+     * Wyznacza początek ostatniej zapisanej rozgrywki: najstarszy krok, od którego numery kroków gry
+     * rosną bez przerw aż do końca historii.
+     *
+     * @return numer kroku w historii lub -1, jeśli historia jest pusta
+     */
+    public int lastGameStart() {
+        if (size == 0) return -1;
+        int index = size - 1;
+        while (index > 0 && ticks[slot(index - 1)] == ticks[slot(index)] - 1) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Zwraca numer kroku gry zapisanego w podanym kroku historii.
+     *
+     * @param index numer kroku w historii
+     * @return numer kroku gry
+     */
+    public int getTick(int index) {
+        return ticks[slot(index)];
+    }
+
+    /**
+     * Zwraca liczbę przechowywanych kroków.
+     *
+     * @return liczba kroków historii
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Zwraca największą liczbę przechowywanych kroków.
+     *
+     * @return pojemność historii
+     */
+    public int capacity() {
+        return offsets.length;
+    }
+
+    /**
+     * Zwraca liczbę bajtów zajmowanych przez przechowywane migawki.
+     *
+     * @return rozmiar historii w bajtach
+     */
+    public int bytesUsed() {
+        int bytes = 0;
+        for (int i = 0; i < size; i++) {
+            bytes += lengths[slot(i)];
+        }
+        return bytes;
+    }
+
+    /**
+     * Usuwa całą historię, np. gdy stan gry został przywrócony z zewnątrz i nie wynika z zapisanych kroków.
+     */
+    public void clear() {
+        first = 0;
+        size = 0;
+        writeOffset = 0;
+        sinceKeyframe = 0;
+        decoded = -1;
+        encoder = new SnapshotCodec();
+    }
+}
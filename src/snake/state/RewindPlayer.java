@@ -0,0 +1,144 @@
+package snake.state;
+
+import snake.core.Board;
+import snake.core.Game;
+import snake.core.Pictures;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+
+/**
+ * Klasa {@code RewindPlayer} odtwarza historię z {@link RewindBuffer} na ekranie powtórki:
+ * po śmierci gracza pokazuje ostatnie kroki rozgrywki aż do chwili śmierci, a zatrzymana działa jak
+ * suwak do przeglądania rozgrywki krok po kroku (np. przy szukaniu błędów w logice gry lub strategiach AI).
+ *
+ * <p>Stan odtwarzany jest w osobnej grze służącej do wyświetlania ({@link Game#view(Board, Pictures)}),
+ * więc powtórka nie zmienia stanu właściwej gry. Wszystkie metody wywoływane są w wątku gry (pod jej blokadą),
+ * a rysowanie korzysta z klatki opublikowanej przez grę widoku.</p>
+ */
+public class RewindPlayer {
+
+    /** Liczba kroków przewijanych klawiszami PAGE UP / PAGE DOWN. */
+    private static final int PAGE = 10;
+
+    /** Odtwarzana historia. */
+    private final RewindBuffer buffer;
+
+    /** Gra, w której odtwarzany jest stan. */
+    private final Game view;
+
+    /** Rozmiar planszy (do położenia opisu pod planszą). */
+    private final Board board;
+
+    /** Numer wyświetlanego kroku historii (odczytywany także przez wątek rysujący). */
+    private volatile int position = -1;
+
+    /** Czy powtórka jest odtwarzana, a nie zatrzymana (odczytywane także przez wątek rysujący). */
+    private volatile boolean playing;
+
+    /**
+     * Tworzy odtwarzacz historii.
+     *
+     * @param buffer   odtwarzana historia
+     * @param board    plansza gry
+     * @param pictures zasoby graficzne
+     */
+    public RewindPlayer(RewindBuffer buffer, Board board, Pictures pictures) {
+        this.buffer = buffer;
+        this.board = board;
+        this.view = Game.view(board, pictures);
+    }
+
+    /**
+     * Rozpoczyna powtórkę od początku ostatniej zapisanej rozgrywki (w granicach przechowywanej historii).
+     *
+     * @return {@code false}, jeśli historia jest pusta
+     */
+    public boolean open() {
+        int start = buffer.lastGameStart();
+        if (start < 0) return false;
+        seek(start);
+        playing = true;
+        return true;
+    }
+
+    /**
+     * Wykonuje krok powtórki (w tempie kroków gry): przechodzi do następnego kroku historii
+     * i zatrzymuje się na ostatnim, czyli na chwili śmierci.
+     */
+    public void update() {
+        if (!playing) return;
+        if (position + 1 < buffer.size()) {
+            seek(position + 1);
+        }
+        if (position + 1 >= buffer.size()) {
+            playing = false;
+        }
+    }
+
+    /**
+     * Obsługuje klawisze powtórki: SPACJA – odtwarzanie / pauza, strzałki w lewo i w prawo – krok wstecz i naprzód,
+     * PAGE UP / PAGE DOWN – {@value #PAGE} kroków, HOME / END – początek i koniec historii.
+     *
+     * @param keyCode kod naciśniętego klawisza
+     */
+    public void onKeyPress(int keyCode) {
+        int last = buffer.size() - 1;
+        switch (keyCode) {
+            case KeyEvent.VK_SPACE -> {
+                if (!playing && position == last) seek(buffer.lastGameStart());
+                playing = !playing;
+            }
+            case KeyEvent.VK_LEFT -> step(-1);
+            case KeyEvent.VK_RIGHT -> step(1);
+            case KeyEvent.VK_PAGE_UP -> step(-PAGE);
+            case KeyEvent.VK_PAGE_DOWN -> step(PAGE);
+            case KeyEvent.VK_HOME -> step(-position);
+            case KeyEvent.VK_END -> step(last - position);
+            default -> { }
+        }
+    }
+
+    /**
+     * Zatrzymuje powtórkę i przesuwa ją o podaną liczbę kroków (w granicach historii).
+     *
+     * @param delta liczba kroków (ujemna – wstecz)
+     */
+    private void step(int delta) {
+        playing = false;
+        int target = Math.max(0, Math.min(buffer.size() - 1, position + delta));
+        if (target != position) {
+            seek(target);
+        }
+    }
+
+    /**
+     * Odtwarza stan z podanego kroku historii i publikuje go do narysowania.
+     *
+     * @param index numer kroku historii
+     */
+    private void seek(int index) {
+        buffer.seek(index, view);
+        view.publish();
+        position = index;
+    }
+
+    /**
+     * Rysuje odtwarzany stan gry z opisem pozycji w historii i klawiszy sterujących.
+     *
+     * @param g           kontekst graficzny
+     * @param panelWidth  szerokość panelu
+     * @param panelHeight wysokość panelu
+     */
+    public void draw(Graphics2D g, int panelWidth, int panelHeight) {
+        view.draw(g, panelWidth, panelHeight);
+        g.setColor(Color.DARK_GRAY);
+        g.setFont(new Font("Arial", Font.PLAIN, 16));
+        int index = position;
+        String hud = String.format("REPLAY %s | tick %d (%d/%d) | SPACE play/pause | LEFT/RIGHT step | ESC – menu",
+                playing ? ">" : "||", index < 0 ? 0 : buffer.getTick(index), index + 1, buffer.size());
+        FontMetrics fm = g.getFontMetrics();
+        int y = board.getCellCount() * board.getCellSize() + 90;
+        g.drawString(hud, (panelWidth - fm.stringWidth(hud)) / 2, y);
+    }
+}
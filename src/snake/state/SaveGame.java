@@ -0,0 +1,202 @@
+package snake.state;
+
+import snake.core.Game;
+import snake.enums.GameScreen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Klasa {@code SaveGame} zawiesza trwającą rozgrywkę do pliku i wznawia ją przy następnym uruchomieniu.
+ * Stan gry (węże, owoce z typami, żaba z licznikami, przeszkody, wynik i poziom) zapisywany jest
+ * jako migawka pełna {@link SnapshotCodec} poprzedzona nagłówkiem z sygnaturą, wersją zapisu,
+ * długością, sumą kontrolną i haszem stanu gry ({@link Game#getStateHash()}). Plik jest odwzorowywany w pamięci ({@link MappedByteBuffer}) już przy starcie,
+ * więc zawieszenie przy zamykaniu okna sprowadza się do zakodowania kilkuset bajtów wprost do pamięci
+ * podręcznej systemu – bez otwierania pliku i bez kopiowania.
+ *
+ * <p>Suma kontrolna wykrywa uszkodzenie pliku, a hasz stanu – niezgodność kodeka: po wznowieniu hasz przeliczony
+ * ze stanu gry ({@link Game#computeStateHash()}) musi być równy zapisanemu, w przeciwnym razie gra wraca do menu.</p>
+ *
+ * <p>Zapis jest jednorazowy: po wznowieniu jest unieważniany, aby kolejne uruchomienie zaczynało od menu.</p>
+ */
+public class SaveGame {
+
+    /** Domyślna nazwa pliku zapisu. */
+    public static final String FILE_NAME = "savegame.bin";
+
+    /** Sygnatura pliku zapisu ("SNKS"). */
+    private static final int MAGIC = 0x534E4B53;
+
+    /**
+     * Wersja układu pliku zapisu. Przy zmianie formatu należy ją podnieść i dodać obsługę
+     * poprzedniej wersji w {@link #resume(Game)}, aby starsze zapisy nadal dało się wczytać.
+     */
+    public static final int VERSION = 2;
+
+    /** Rozmiar nagłówka wersji 1: sygnatura, wersja, długość migawki i suma kontrolna. */
+    private static final int HEADER_V1_BYTES = 4 * Integer.BYTES;
+
+    /** Rozmiar nagłówka: nagłówek wersji 1 i hasz stanu gry. */
+    private static final int HEADER_BYTES = HEADER_V1_BYTES + Long.BYTES;
+
+    /** Ścieżka pliku zapisu. */
+    private final Path path;
+
+    /** Koder migawek (osobny, aby zapis nie zależał od stanu koderów sieci czy powtórek). */
+    private final SnapshotCodec codec = new SnapshotCodec();
+
+    /** Suma kontrolna migawki. */
+    private final CRC32 crc = new CRC32();
+
+    /** Plik zapisu odwzorowany w pamięci; {@code null}, dopóki nie zostanie otwarty. */
+    private MappedByteBuffer map;
+
+    /**
+     * Tworzy zapis gry w domyślnym pliku {@value #FILE_NAME} w katalogu roboczym.
+     */
+    public SaveGame() {
+        this(Paths.get(FILE_NAME));
+    }
+
+    /**
+     * Tworzy zapis gry w podanym pliku.
+     *
+     * @param path ścieżka pliku zapisu
+     */
+    public SaveGame(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Zawiesza grę: jeśli trwa rozgrywka, zapisuje jej stan do pliku; w przeciwnym razie unieważnia stary zapis.
+     * Migawka kodowana jest bezpośrednio do odwzorowanego pliku, a sygnatura zapisywana na końcu,
+     * więc przerwany zapis nigdy nie zostanie wczytany jako poprawny.
+     *
+     * @param game gra
+     * @return {@code true}, jeśli stan został zapisany
+     */
+    public boolean suspend(Game game) {
+        long start = System.nanoTime();
+        try {
+            if (map == null) open(game);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        map.putInt(0, 0);
+        if (game.getGameScreen() != GameScreen.GAME) {
+            return false;
+        }
+        ByteBuffer snapshot = map.slice(HEADER_BYTES, map.capacity() - HEADER_BYTES);
+        codec.encodeKeyframe(game, snapshot);
+        int length = snapshot.position();
+        crc.reset();
+        crc.update(snapshot.flip());
+        map.putInt(Integer.BYTES, VERSION);
+        map.putInt(2 * Integer.BYTES, length);
+        map.putInt(3 * Integer.BYTES, (int) crc.getValue());
+        map.putLong(HEADER_V1_BYTES, game.getStateHash());
+        map.putInt(0, MAGIC);
+        System.out.printf("[save] zapisano grę (%d B) w %.3f ms%n",
+                HEADER_BYTES + length, (System.nanoTime() - start) / 1e6);
+        return true;
+    }
+
+    /**
+     * Otwiera plik zapisu, wznawia zawieszoną grę, jeśli zawiera on poprawny zapis, a następnie unieważnia go
+     * w miejscu (kolejne zawieszenie używa tego samego odwzorowania, a kolejne uruchomienie zaczyna od menu).
+     * Uszkodzony lub niezgodny zapis jest pomijany (gra zostaje w menu lub do niego wraca).
+     *
+     * @param game gra, do której przywracany jest stan
+     * @return {@code true}, jeśli gra została wznowiona
+     */
+    public boolean resume(Game game) {
+        boolean resumed = false;
+        try {
+            boolean saved = Files.isRegularFile(path);
+            open(game);
+            if (saved) {
+                try {
+                    resumed = read(map.duplicate(), game);
+                } catch (RuntimeException e) {
+                    System.err.println("Nie można wznowić zapisanej gry: " + e.getMessage());
+                    if (game.getGameScreen() == GameScreen.GAME) {
+                        game.discard();
+                    }
+                }
+            }
+            map.putInt(0, 0);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return resumed;
+    }
+
+    /**
+     * Odczytuje zapis i przywraca z niego stan gry.
+     *
+     * @param in   zawartość pliku zapisu
+     * @param game gra docelowa
+     * @return {@code true}, jeśli gra została wznowiona; {@code false}, jeśli plik nie zawiera zapisu
+     * @throws IllegalStateException jeśli zapis jest uszkodzony, ma nieobsługiwaną wersję albo przywrócony stan
+     *                               nie zgadza się z haszem zapisu
+     */
+    private boolean read(ByteBuffer in, Game game) {
+        if (in.remaining() < HEADER_V1_BYTES || in.getInt() != MAGIC) {
+            return false;
+        }
+        int version = in.getInt();
+        int length = in.getInt();
+        int checksum = in.getInt();
+        int header = version == 1 ? HEADER_V1_BYTES : HEADER_BYTES;
+        if (in.capacity() < header || length < 0 || length > in.capacity() - header) {
+            throw new IllegalStateException("Niepoprawna długość zapisu: " + length);
+        }
+        ByteBuffer snapshot = in.slice(header, length);
+        crc.reset();
+        crc.update(snapshot.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalStateException("Niezgodna suma kontrolna zapisu");
+        }
+        switch (version) {
+            case 1 -> codec.decode(snapshot, game);
+            case 2 -> {
+                long hash = in.getLong(HEADER_V1_BYTES);
+                codec.decode(snapshot, game);
+                if (game.computeStateHash() != hash) {
+                    throw new IllegalStateException("Stan wznowionej gry nie zgadza się z haszem zapisu");
+                }
+            }
+            default -> throw new IllegalStateException("Nieobsługiwana wersja zapisu: " + version);
+        }
+        game.publish();
+        System.out.printf("[save] wznowiono grę: poziom %s, wynik %d, krok %d%n",
+                game.getGameLevel(), game.getScore(), game.getTicks());
+        return true;
+    }
+
+    /**
+     * Otwiera plik zapisu (tworząc go w razie potrzeby) i odwzorowuje go w pamięci do odczytu i zapisu,
+     * w rozmiarze co najmniej największej migawki dla planszy gry. Plik nie jest obcinany: poprzedni zapis
+     * odczytywany jest przez to samo odwzorowanie, a w Windows nie da się obciąć pliku, który ma aktywne
+     * odwzorowanie. Odwzorowanie pozostaje ważne po zamknięciu kanału.
+     *
+     * @param game gra (wyznacza rozmiar planszy)
+     * @throws IOException w przypadku błędu pliku
+     */
+    private void open(Game game) throws IOException {
+        int cells = game.getBoard().getCellCount() * game.getBoard().getCellCount();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(channel.size(), HEADER_BYTES + 128 + 16L * cells));
+        }
+    }
+}
@@ -0,0 +1,574 @@
+package snake.state;
+
+import snake.core.Cell;
+import snake.core.Food;
+import snake.core.Frog;
+import snake.core.Game;
+import snake.core.Obstacle;
+import snake.core.Snake;
+import snake.core.SnakeBody;
+import snake.enums.Direction;
+import snake.enums.GameLevel;
+import snake.enums.SnakeType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Klasa {@code SnapshotCodec} koduje stan gry do zwartego formatu binarnego i odtwarza go w innej grze.
+ * Format jest wspólny dla sieci, zapisu gry i powtórek.
+ *
+ * <p>Strumień składa się z segmentów. Segment zaczyna się migawką pełną (keyframe) z całym stanem:
+ * przeszkodami, owocami, żabą (z licznikami kroków) i ciałami węży. Kolejne kroki tego segmentu
+ * to migawki różnicowe (delta), stosowane po kolei na stanie odtworzonym z migawki pełnej:
+ * dla każdego węża jeden bajt flag z kierunkiem (nowa głowa wynika z kierunku)
+ * i ewentualny przyrost długości, maska zmienionych owoców oraz pozycja żaby.
+ * Gdy stanu nie da się opisać deltą (np. nowa rozgrywka), zaczyna się nowy segment.
+ * Migawkę pełną można też wysłać w środku segmentu (np. nowemu klientowi) – ma wtedy ten sam numer segmentu.</p>
+ *
+ * <p>Delty są celowo łańcuchowe – każda opisuje zmianę względem poprzedniego kroku, a nie względem migawki pełnej
+ * segmentu. Delta względem migawki pełnej musiałaby zawierać wszystkie komórki, w które wąż wszedł od jej
+ * zapisania, więc rosłaby z każdym krokiem segmentu; delta łańcuchowa ma stały rozmiar (bajt flag na węża).
+ * Ceną jest to, że brak jednej delty unieważnia resztę segmentu. Wszyscy użytkownicy formatu przekazują
+ * migawki w kolejności i bez strat (TCP, {@link RewindBuffer}, powtórki), dekoder wykrywa lukę po numerach
+ * segmentu i kroku (wyjątek zamiast błędnego stanu), a odbiorca zaczyna wtedy od migawki pełnej: serwer wysyła
+ * ją klientowi, któremu nie udało się wysłać ramki, a bufor przewijania co
+ * {@value RewindBuffer#KEYFRAME_INTERVAL} kroków.</p>
+ *
+ * <p>Komórki zapisywane są jako liczby o zmiennej długości (varint) z indeksem {@code y * n + x + 1}
+ * (0 oznacza brak komórki), a ciało węża w migawce pełnej jako głowa i jednobajtowe kroki do kolejnych segmentów.
+ * Koder nie alokuje pamięci – pisze do podanego, wielokrotnie używanego {@link ByteBuffer}.</p>
+ */
+public class SnapshotCodec {
+
+    /** Znacznik migawki pełnej (pierwszy bajt migawki). */
+    public static final byte KEYFRAME = 0;
+
+    /** Znacznik migawki różnicowej (pierwszy bajt migawki). */
+    public static final byte DELTA = 1;
+
+    /** Wersja formatu zapisywana w migawce pełnej. */
+    public static final int VERSION = 2;
+
+    /** Flaga: wąż żyje. */
+    private static final int ALIVE = 1;
+
+    /** Flaga: wąż wykonał ruch w tym kroku. */
+    private static final int MOVED = 2;
+
+    /** Flaga: wąż już się porusza. */
+    private static final int RUNNING = 4;
+
+    /** Flaga: wąż urósł w tym kroku (po bajcie flag następuje przyrost). */
+    private static final int GREW = 8;
+
+    /** Przesunięcie numeru kierunku w bajcie flag. */
+    private static final int DIR_SHIFT = 4;
+
+    /** Krok ciała: segment w tej samej komórce co poprzedni (świeżo dodany ogon). */
+    private static final int STEP_SAME = 0;
+
+    /** Krok ciała: dowolna komórka zapisana w całości. */
+    private static final int STEP_ESCAPE = 5;
+
+    /** Kolejność węży w migawce. */
+    private static final SnakeType[] TYPES = SnakeType.values();
+
+    /** Kierunki według numeru. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Poziomy trudności według numeru. */
+    private static final GameLevel[] LEVELS = GameLevel.values();
+
+    /** Głowy węży w zapamiętanym stanie. */
+    private final int[] lastHead = new int[TYPES.length];
+
+    /** Długości węży w zapamiętanym stanie. */
+    private final int[] lastLength = new int[TYPES.length];
+
+    /** Czy węże żyły w zapamiętanym stanie. */
+    private final boolean[] lastAlive = new boolean[TYPES.length];
+
+    /** Pozycje owoców w zapamiętanym stanie. */
+    private int[] lastFood = new int[0];
+
+    /** Typy owoców w zapamiętanym stanie. */
+    private int[] lastFoodType = new int[0];
+
+    /** Numer kroku zapamiętanego stanu. */
+    private int lastTick;
+
+    /** Wynik w zapamiętanym stanie. */
+    private int lastScore;
+
+    /** Czy jakikolwiek stan został zapamiętany. */
+    private boolean hasLast = false;
+
+    /** Numer bieżącego segmentu (koder) lub segmentu ostatniej migawki pełnej (dekoder). */
+    private int segment = 0;
+
+    /** Bufor komórek używany przy dekodowaniu ciał i przeszkód. */
+    private int[] scratch = new int[0];
+
+    // === Kodowanie ===
+
+    /**
+     * Zapisuje migawkę pełną bieżącego stanu gry. Jeśli stan nie wynika z zapamiętanego o jeden krok,
+     * rozpoczyna nowy segment.
+     *
+     * @param game gra
+     * @param out  bufor wyjściowy
+     */
+    public void encodeKeyframe(Game game, ByteBuffer out) {
+        if (!canDelta(game) && !isRemembered(game)) {
+            segment++;
+        }
+        int n = game.getBoard().getCellCount();
+        out.put(KEYFRAME);
+        out.put((byte) VERSION);
+        putVarint(out, segment);
+        putVarint(out, game.getTicks());
+        out.put((byte) game.getGameLevel().ordinal());
+        putVarint(out, game.getScore());
+        putVarint(out, n);
+
+        Obstacle obstacle = game.getObstacle();
+        putVarint(out, obstacle.getCount());
+        for (int i = 0; i < obstacle.getCount(); i++) {
+            putCell(out, obstacle.getCell(i), n);
+        }
+
+        Food food = game.getFood();
+        putVarint(out, food.getCount());
+        for (int i = 0; i < food.getCount(); i++) {
+            putCell(out, food.getPosition(i), n);
+            out.put((byte) food.getType(i));
+        }
+
+        Frog frog = game.getFrog();
+        putCell(out, frog.getPosition(), n);
+        putVarint(out, frog.getTicksSinceMove());
+        putVarint(out, Math.max(0, frog.getRespawnTicks()));
+
+        for (SnakeType type : TYPES) {
+            Snake s = game.getSnake(type);
+            SnakeBody body = s.getBody();
+            out.put((byte) flags(s, false, false));
+            putVarint(out, body.size());
+            if (body.isEmpty()) continue;
+            int prev = body.getFirst();
+            putCell(out, prev, n);
+            for (int i = 1; i < body.size(); i++) {
+                int cell = body.get(i);
+                int step = step(prev, cell);
+                out.put((byte) step);
+                if (step == STEP_ESCAPE) {
+                    putCell(out, cell, n);
+                }
+                prev = cell;
+            }
+        }
+    }
+
+    /**
+     * Zapisuje migawkę różnicową względem stanu zapamiętanego w poprzednim kroku (delta łańcuchowa – dekoder
+     * musi wcześniej zastosować wszystkie migawki segmentu od ostatniej pełnej).
+     *
+     * @param game gra
+     * @param out  bufor wyjściowy
+     * @return {@code false}, jeśli stanu nie da się opisać deltą (nic nie zostało zapisane)
+     */
+    public boolean encodeDelta(Game game, ByteBuffer out) {
+        if (!canDelta(game)) return false;
+        int n = game.getBoard().getCellCount();
+        out.put(DELTA);
+        putVarint(out, segment);
+        putVarint(out, game.getTicks());
+        putVarint(out, zigzag(game.getScore() - lastScore));
+
+        for (int t = 0; t < TYPES.length; t++) {
+            Snake s = game.getSnake(TYPES[t]);
+            boolean moved = s.isAlive() && s.getHead() != lastHead[t];
+            int growth = moved ? s.getBody().size() - lastLength[t] : 0;
+            out.put((byte) flags(s, moved, growth > 0));
+            if (growth > 0) {
+                putVarint(out, growth);
+            }
+        }
+
+        Food food = game.getFood();
+        int mask = 0;
+        for (int i = 0; i < food.getCount(); i++) {
+            if (food.getPosition(i) != lastFood[i] || food.getType(i) != lastFoodType[i]) {
+                mask |= 1 << i;
+            }
+        }
+        putVarint(out, mask);
+        for (int i = 0; i < food.getCount(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                putCell(out, food.getPosition(i), n);
+                out.put((byte) food.getType(i));
+            }
+        }
+        putCell(out, game.getFrog().getPosition(), n);
+        return true;
+    }
+
+    /**
+     * Zapamiętuje bieżący stan gry jako punkt odniesienia dla następnej delty.
+     *
+     * @param game gra
+     */
+    public void remember(Game game) {
+        for (int t = 0; t < TYPES.length; t++) {
+            Snake s = game.getSnake(TYPES[t]);
+            lastHead[t] = s.getHead();
+            lastLength[t] = s.getBody().size();
+            lastAlive[t] = s.isAlive();
+        }
+        Food food = game.getFood();
+        if (lastFood.length != food.getCount()) {
+            lastFood = new int[food.getCount()];
+            lastFoodType = new int[food.getCount()];
+        }
+        for (int i = 0; i < food.getCount(); i++) {
+            lastFood[i] = food.getPosition(i);
+            lastFoodType[i] = food.getType(i);
+        }
+        lastTick = game.getTicks();
+        lastScore = game.getScore();
+        hasLast = true;
+    }
+
+    /**
+     * Zapisuje migawkę bieżącego kroku – różnicową, jeśli to możliwe, a w przeciwnym razie pełną –
+     * i zapamiętuje stan jako punkt odniesienia dla następnego kroku.
+     *
+     * @param game          gra
+     * @param out           bufor wyjściowy
+     * @param forceKeyframe czy wymusić migawkę pełną (np. co określoną liczbę kroków powtórki)
+     * @return znacznik zapisanej migawki ({@link #KEYFRAME} lub {@link #DELTA})
+     */
+    public byte encode(Game game, ByteBuffer out, boolean forceKeyframe) {
+        byte kind = DELTA;
+        if (forceKeyframe || !encodeDelta(game, out)) {
+            encodeKeyframe(game, out);
+            kind = KEYFRAME;
+        }
+        remember(game);
+        return kind;
+    }
+
+    // === Dekodowanie ===
+
+    /**
+     * Odczytuje migawkę i przenosi zapisany w niej stan do gry (np. służącej do wyświetlania).
+     * Delta jest stosowana względem bieżącego stanu tej gry, który musi pochodzić z migawek tego samego segmentu.
+     *
+     * @param in   bufor z migawką
+     * @param view gra, do której przywracany jest stan
+     * @return znacznik odczytanej migawki
+     * @throws IllegalStateException jeśli migawka nie pasuje do stanu gry lub formatu
+     */
+    public byte decode(ByteBuffer in, Game view) {
+        byte kind = in.get();
+        if (kind == KEYFRAME) {
+            decodeKeyframe(in, view);
+        } else if (kind == DELTA) {
+            decodeDelta(in, view);
+        } else {
+            throw new IllegalStateException("Nieznany rodzaj migawki: " + kind);
+        }
+        return kind;
+    }
+
+    /**
+     * Odczytuje migawkę pełną.
+     *
+     * @param in   bufor z migawką
+     * @param view gra docelowa
+     */
+    private void decodeKeyframe(ByteBuffer in, Game view) {
+        int version = in.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Nieobsługiwana wersja migawki: " + version);
+        }
+        segment = getVarint(in);
+        int tick = getVarint(in);
+        GameLevel level = LEVELS[in.get()];
+        int score = getVarint(in);
+        int n = getVarint(in);
+        if (n != view.getBoard().getCellCount()) {
+            throw new IllegalStateException("Migawka dotyczy planszy " + n + "x" + n);
+        }
+
+        int obstacles = getVarint(in);
+        int[] cells = scratch(obstacles);
+        for (int i = 0; i < obstacles; i++) {
+            cells[i] = getCell(in, n);
+        }
+        view.getObstacle().restore(cells, obstacles);
+
+        Food food = view.getFood();
+        int fruits = getVarint(in);
+        if (fruits != food.getCount()) {
+            throw new IllegalStateException("Migawka zawiera " + fruits + " owoców, gra " + food.getCount());
+        }
+        for (int i = 0; i < fruits; i++) {
+            int cell = getCell(in, n);
+            food.set(i, cell, in.get());
+        }
+
+        int frog = getCell(in, n);
+        int ticksSinceMove = getVarint(in);
+        view.getFrog().restore(frog, ticksSinceMove, getVarint(in));
+
+        for (SnakeType type : TYPES) {
+            int flags = in.get();
+            int length = getVarint(in);
+            cells = scratch(length);
+            if (length > 0) {
+                cells[0] = getCell(in, n);
+                for (int i = 1; i < length; i++) {
+                    int step = in.get();
+                    cells[i] = (step == STEP_ESCAPE) ? getCell(in, n) : applyStep(cells[i - 1], step);
+                }
+            }
+            view.getSnake(type).restore(cells, length, direction(flags), (flags & ALIVE) != 0, (flags & RUNNING) != 0);
+        }
+        view.restore(level, score, tick);
+    }
+
+    /**
+     * Odczytuje migawkę różnicową.
+     *
+     * @param in   bufor z migawką
+     * @param view gra docelowa
+     */
+    private void decodeDelta(ByteBuffer in, Game view) {
+        int seg = getVarint(in);
+        int tick = getVarint(in);
+        if (seg != segment || tick != view.getTicks() + 1) {
+            throw new IllegalStateException("Delta (segment " + seg + ", krok " + tick
+                    + ") nie pasuje do stanu (segment " + segment + ", krok " + view.getTicks() + ")");
+        }
+        int score = view.getScore() + unzigzag(getVarint(in));
+        int n = view.getBoard().getCellCount();
+
+        for (SnakeType type : TYPES) {
+            Snake s = view.getSnake(type);
+            int flags = in.get();
+            Direction dir = direction(flags);
+            int growth = (flags & GREW) != 0 ? getVarint(in) : 0;
+            if ((flags & MOVED) != 0) {
+                s.applyMove(Cell.offset(s.getHead(), dir.getDx(), dir.getDy()), growth, dir);
+            }
+            if ((flags & ALIVE) == 0 && s.isAlive()) {
+                s.die();
+            }
+        }
+
+        Food food = view.getFood();
+        int mask = getVarint(in);
+        for (int i = 0; i < food.getCount(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                int cell = getCell(in, n);
+                food.set(i, cell, in.get());
+            }
+        }
+        view.getFrog().restore(getCell(in, n));
+        view.restore(view.getGameLevel(), score, tick);
+    }
+
+    // === Pomocnicze ===
+
+    /**
+     * Sprawdza, czy bieżący stan wynika z zapamiętanego o jeden krok
+     * (każdy żywy wąż przesunął się co najwyżej o jedną komórkę w swoim kierunku i tylko urósł).
+     *
+     * @param game gra
+     * @return {@code true}, jeśli można zapisać deltę
+     */
+    private boolean canDelta(Game game) {
+        if (!hasLast || game.getTicks() != lastTick + 1) return false;
+        if (game.getFood().getCount() != lastFood.length || lastFood.length > Integer.SIZE - 1) return false;
+        for (int t = 0; t < TYPES.length; t++) {
+            Snake s = game.getSnake(TYPES[t]);
+            if (!s.isAlive()) continue;
+            if (!lastAlive[t]) return false;
+            SnakeBody body = s.getBody();
+            int head = s.getHead();
+            if (head == lastHead[t]) {
+                if (body.size() != lastLength[t]) return false;
+                continue;
+            }
+            Direction dir = s.getDirection();
+            if (head != Cell.offset(lastHead[t], dir.getDx(), dir.getDy())) return false;
+            if (body.size() < 2 || body.get(1) != lastHead[t] || body.size() < lastLength[t]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sprawdza, czy bieżący stan jest dokładnie stanem zapamiętanym (migawka pełna w środku segmentu
+     * wysyłana po delcie z tego samego kroku).
+     *
+     * @param game gra
+     * @return {@code true}, jeśli stan nie zmienił się od zapamiętania
+     */
+    private boolean isRemembered(Game game) {
+        return hasLast && game.getTicks() == lastTick && game.getScore() == lastScore;
+    }
+
+    /**
+     * Buduje bajt flag węża.
+     *
+     * @param s     wąż
+     * @param moved czy wąż wykonał ruch
+     * @param grew  czy wąż urósł
+     * @return flagi z numerem kierunku
+     */
+    private static int flags(Snake s, boolean moved, boolean grew) {
+        int flags = s.getDirection().ordinal() << DIR_SHIFT;
+        if (s.isAlive()) flags |= ALIVE;
+        if (moved) flags |= MOVED;
+        if (s.isGameRunning()) flags |= RUNNING;
+        if (grew) flags |= GREW;
+        return flags;
+    }
+
+    /**
+     * Odczytuje kierunek z bajtu flag.
+     *
+     * @param flags flagi
+     * @return kierunek
+     */
+    private static Direction direction(int flags) {
+        return DIRECTIONS[(flags >> DIR_SHIFT) & 3];
+    }
+
+    /**
+     * Wyznacza kod kroku między sąsiednimi segmentami ciała.
+     *
+     * @param from poprzedni segment
+     * @param to   następny segment
+     * @return {@link #STEP_SAME}, numer kierunku + 1 lub {@link #STEP_ESCAPE}
+     */
+    private static int step(int from, int to) {
+        if (from == to) return STEP_SAME;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (to == Cell.offset(from, DIRECTIONS[d].getDx(), DIRECTIONS[d].getDy())) return d + 1;
+        }
+        return STEP_ESCAPE;
+    }
+
+    /**
+     * Wyznacza komórkę segmentu na podstawie poprzedniego segmentu i kodu kroku.
+     *
+     * @param from poprzedni segment
+     * @param step kod kroku
+     * @return komórka segmentu
+     */
+    private static int applyStep(int from, int step) {
+        if (step == STEP_SAME) return from;
+        Direction d = DIRECTIONS[step - 1];
+        return Cell.offset(from, d.getDx(), d.getDy());
+    }
+
+    /**
+     * Zapisuje komórkę: 0 – brak, {@code y * n + x + 1} – komórka planszy,
+     * {@code n * n + 1} i współrzędne – komórka poza planszą.
+     *
+     * @param out  bufor wyjściowy
+     * @param cell komórka
+     * @param n    rozmiar planszy
+     */
+    static void putCell(ByteBuffer out, int cell, int n) {
+        if (cell == Cell.NONE) {
+            putVarint(out, 0);
+        } else if (Cell.inside(cell, n)) {
+            putVarint(out, Cell.y(cell) * n + Cell.x(cell) + 1);
+        } else {
+            putVarint(out, n * n + 1);
+            putVarint(out, zigzag(Cell.x(cell)));
+            putVarint(out, zigzag(Cell.y(cell)));
+        }
+    }
+
+    /**
+     * Odczytuje komórkę zapisaną metodą {@link #putCell(ByteBuffer, int, int)}.
+     *
+     * @param in bufor wejściowy
+     * @param n  rozmiar planszy
+     * @return komórka
+     */
+    static int getCell(ByteBuffer in, int n) {
+        int code = getVarint(in);
+        if (code == 0) return Cell.NONE;
+        if (code <= n * n) return Cell.of((code - 1) % n, (code - 1) / n);
+        int x = unzigzag(getVarint(in));
+        return Cell.of(x, unzigzag(getVarint(in)));
+    }
+
+    /**
+     * Zapisuje nieujemną liczbę w kodowaniu o zmiennej długości (7 bitów na bajt).
+     *
+     * @param out   bufor wyjściowy
+     * @param value liczba (traktowana jako bez znaku)
+     */
+    static void putVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Odczytuje liczbę zapisaną metodą {@link #putVarint(ByteBuffer, int)}.
+     *
+     * @param in bufor wejściowy
+     * @return liczba
+     */
+    static int getVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalStateException("Niepoprawna liczba varint");
+    }
+
+    /**
+     * Przekształca liczbę ze znakiem tak, aby małe wartości bezwzględne miały krótki zapis.
+     *
+     * @param value liczba ze znakiem
+     * @return liczba nieujemna
+     */
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Odwraca przekształcenie {@link #zigzag(int)}.
+     *
+     * @param value liczba nieujemna
+     * @return liczba ze znakiem
+     */
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Zwraca bufor komórek o co najmniej podanym rozmiarze.
+     *
+     * @param size wymagany rozmiar
+     * @return bufor
+     */
+    private int[] scratch(int size) {
+        if (scratch.length < size) {
+            scratch = new int[Math.max(size, scratch.length * 2)];
+        }
+        return scratch;
+    }
+}